@@ -16,6 +16,7 @@
 package io.atomix.cluster.messaging;
 
 import io.atomix.utils.config.Config;
+import io.atomix.utils.memory.MemorySize;
 
 import java.time.Duration;
 import java.util.ArrayList;
@@ -29,6 +30,8 @@ public class MessagingConfig implements Config {
   private Integer port;
   private int connectionPoolSize = 8;
   private Duration connectTimeout = Duration.ofSeconds(10);
+  private boolean flushConsolidation;
+  private MemorySize maxFlushSize = MemorySize.from(1024 * 64);
   private TlsConfig tlsConfig = new TlsConfig();
 
   /**
@@ -111,6 +114,52 @@ public class MessagingConfig implements Config {
     return this;
   }
 
+  /**
+   * Returns whether flushes are consolidated.
+   *
+   * @return whether flushes are consolidated
+   */
+  public boolean isFlushConsolidation() {
+    return flushConsolidation;
+  }
+
+  /**
+   * Sets whether flushes are consolidated.
+   * <p>
+   * When enabled, messages sent on a connection are written without being flushed, and the connection is flushed
+   * once all messages queued on its event loop have been written or once the unflushed messages reach the maximum
+   * flush size. This sends many small messages with a single system call under load.
+   *
+   * @param flushConsolidation whether flushes are consolidated
+   * @return the messaging configuration
+   */
+  public MessagingConfig setFlushConsolidation(boolean flushConsolidation) {
+    this.flushConsolidation = flushConsolidation;
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of bytes written to a connection between flushes.
+   *
+   * @return the maximum number of bytes written to a connection between flushes
+   */
+  public MemorySize getMaxFlushSize() {
+    return maxFlushSize;
+  }
+
+  /**
+   * Sets the maximum number of bytes written to a connection between flushes.
+   * <p>
+   * The maximum flush size only applies when flushes are consolidated.
+   *
+   * @param maxFlushSize the maximum number of bytes written to a connection between flushes
+   * @return the messaging configuration
+   */
+  public MessagingConfig setMaxFlushSize(MemorySize maxFlushSize) {
+    this.maxFlushSize = maxFlushSize;
+    return this;
+  }
+
   /**
    * Returns the TLS configuration.
    *
@@ -15,9 +15,12 @@
  */
 package io.atomix.cluster.messaging;
 
+import io.atomix.utils.misc.LatencyHistogram;
 import io.atomix.utils.net.Address;
 
 import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
@@ -198,4 +201,28 @@ public interface MessagingService {
    */
   abstract class Builder implements io.atomix.utils.Builder<MessagingService> {
   }
+
+  /**
+   * Returns the latencies of requests sent to remote nodes by message type.
+   * <p>
+   * Latencies are measured in microseconds from the time a request is sent until its reply is received. Requests that
+   * fail or time out are not recorded. The histograms are cumulative and are not used to compute request timeouts,
+   * which only consider recent reply times.
+   *
+   * @return the request latency histograms by message type
+   */
+  default Map<String, LatencyHistogram> getRequestLatencies() {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Returns the average number of messages sent per flush of the connections to remote nodes.
+   * <p>
+   * Without flush consolidation, every message is flushed on its own and the average is {@code 1}.
+   *
+   * @return the average number of messages sent per flush or {@code 0} if no messages have been sent
+   */
+  default double getMessagesPerFlush() {
+    return 0;
+  }
 }
@@ -15,50 +15,71 @@
  */
 package io.atomix.cluster.messaging.impl;
 
-import com.google.common.collect.Maps;
 import io.atomix.cluster.messaging.MessagingException;
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
-import org.apache.commons.math3.stat.descriptive.SynchronizedDescriptiveStatistics;
+import io.atomix.utils.misc.LatencyHistogram;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.ConnectException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Base class for client-side connections. Manages request futures and timeouts.
+ * <p>
+ * In-flight callbacks are kept in primitive maps that are striped by message ID, so concurrent requests and replies
+ * rarely contend on the same lock. Timeouts are scheduled on a shared hashed wheel timer but are completed on the
+ * connection's executor so that the timer's single worker thread never runs request callbacks.
  */
 abstract class AbstractClientConnection implements ClientConnection {
-  private static final int WINDOW_SIZE = 10;
+  private static final int CALLBACK_STRIPES = 16;
   private static final int MIN_SAMPLES = 50;
+  private static final int WINDOW_SAMPLES = 100;
+  private static final double TIMEOUT_PERCENTILE = 99;
   private static final int TIMEOUT_FACTOR = 5;
   private static final long MIN_TIMEOUT_MILLIS = 100;
   private static final long MAX_TIMEOUT_MILLIS = 5000;
 
   private final Logger log = LoggerFactory.getLogger(getClass());
 
-  private final ScheduledExecutorService executorService;
-  private final Map<Long, Callback> callbacks = Maps.newConcurrentMap();
+  private final Timer timer;
+  private final Executor executor;
+  private final CallbackStripe[] callbacks = new CallbackStripe[CALLBACK_STRIPES];
 
-  private final Map<String, DescriptiveStatistics> replySamples = new ConcurrentHashMap<>();
+  private final Map<String, LatencyHistogram> replyLatencies;
+  private final Map<String, ReplyWindow> replyWindows = new ConcurrentHashMap<>();
 
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
-  AbstractClientConnection(ScheduledExecutorService executorService) {
-    this.executorService = executorService;
+  AbstractClientConnection(Timer timer, Executor executor) {
+    this(timer, executor, new ConcurrentHashMap<>());
+  }
+
+  AbstractClientConnection(Timer timer, Executor executor, Map<String, LatencyHistogram> replyLatencies) {
+    this.timer = timer;
+    this.executor = executor;
+    this.replyLatencies = replyLatencies;
+    for (int i = 0; i < CALLBACK_STRIPES; i++) {
+      callbacks[i] = new CallbackStripe();
+    }
   }
 
   @Override
   public void dispatch(ProtocolReply message) {
-    Callback callback = callbacks.remove(message.id());
+    Callback callback = removeCallback(message.id());
     if (callback != null) {
       if (message.status() == ProtocolReply.Status.OK) {
         callback.complete(message.payload());
@@ -74,18 +95,69 @@ abstract class AbstractClientConnection implements ClientConnection {
     }
   }
 
+  /**
+   * Adds a callback to the in-flight callbacks.
+   *
+   * @param callback the callback to add
+   */
+  private void addCallback(Callback callback) {
+    stripe(callback.id).put(callback);
+  }
+
+  /**
+   * Removes a callback from the in-flight callbacks.
+   *
+   * @param id the callback identifier
+   * @return the removed callback or {@code null} if no callback with the given identifier is in flight
+   */
+  private Callback removeCallback(long id) {
+    return stripe(id).remove(id);
+  }
+
+  /**
+   * Returns the callback stripe for the given callback identifier.
+   *
+   * @param id the callback identifier
+   * @return the stripe in which the callback is stored
+   */
+  private CallbackStripe stripe(long id) {
+    return callbacks[(int) (id & (CALLBACK_STRIPES - 1))];
+  }
+
+  /**
+   * Returns the number of in-flight callbacks.
+   *
+   * @return the number of in-flight callbacks
+   */
+  int pendingCallbacks() {
+    int count = 0;
+    for (CallbackStripe stripe : callbacks) {
+      count += stripe.size();
+    }
+    return count;
+  }
+
   /**
    * Adds a reply time to the history.
+   * <p>
+   * Reply times are recorded both in the cumulative latency histograms reported by the messaging service and in the
+   * connection's rotating reply windows from which request timeouts are computed.
    *
    * @param type      the message type
-   * @param replyTime the reply time to add to the history
+   * @param replyTime the reply time in microseconds to add to the history
    */
-  private void addReplyTime(String type, long replyTime) {
-    DescriptiveStatistics samples = replySamples.get(type);
-    if (samples == null) {
-      samples = replySamples.computeIfAbsent(type, t -> new SynchronizedDescriptiveStatistics(WINDOW_SIZE));
+  void addReplyTime(String type, long replyTime) {
+    LatencyHistogram latencies = replyLatencies.get(type);
+    if (latencies == null) {
+      latencies = replyLatencies.computeIfAbsent(type, t -> new LatencyHistogram());
+    }
+    latencies.record(replyTime);
+
+    ReplyWindow window = replyWindows.get(type);
+    if (window == null) {
+      window = replyWindows.computeIfAbsent(type, t -> new ReplyWindow());
     }
-    samples.addValue(replyTime);
+    window.record(replyTime);
   }
 
   /**
@@ -101,46 +173,132 @@ abstract class AbstractClientConnection implements ClientConnection {
 
   /**
    * Computes the timeout for the next request.
+   * <p>
+   * The timeout is computed from the most recent reply window rather than from all reply times ever recorded, so the
+   * timeout follows changes in the remote node's latency.
    *
    * @param type the message type
    * @return the computed timeout for the next request
    */
-  private long computeTimeoutMillis(String type) {
-    DescriptiveStatistics samples = replySamples.get(type);
-    if (samples == null || samples.getN() < MIN_SAMPLES) {
+  long computeTimeoutMillis(String type) {
+    ReplyWindow window = replyWindows.get(type);
+    LatencyHistogram latencies = window != null ? window.latencies() : null;
+    if (latencies == null) {
       return MAX_TIMEOUT_MILLIS;
     }
-    return Math.min(Math.max((int) samples.getMax() * TIMEOUT_FACTOR, MIN_TIMEOUT_MILLIS), MAX_TIMEOUT_MILLIS);
+    long replyTimeMillis = TimeUnit.MICROSECONDS.toMillis(latencies.getValueAtPercentile(TIMEOUT_PERCENTILE));
+    return Math.min(Math.max(replyTimeMillis * TIMEOUT_FACTOR, MIN_TIMEOUT_MILLIS), MAX_TIMEOUT_MILLIS);
   }
 
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
-      for (Callback callback : callbacks.values()) {
+      List<Callback> callbacks = new ArrayList<>();
+      for (CallbackStripe stripe : this.callbacks) {
+        stripe.drainTo(callbacks);
+      }
+      for (Callback callback : callbacks) {
         callback.completeExceptionally(new ConnectException());
       }
     }
   }
 
+  /**
+   * Stripe of in-flight callbacks guarded by its own lock.
+   */
+  private static final class CallbackStripe {
+    private final LongObjectMap<Callback> callbacks = new LongObjectHashMap<>();
+
+    synchronized void put(Callback callback) {
+      callbacks.put(callback.id, callback);
+    }
+
+    synchronized Callback remove(long id) {
+      return callbacks.remove(id);
+    }
+
+    synchronized int size() {
+      return callbacks.size();
+    }
+
+    synchronized void drainTo(List<Callback> callbacks) {
+      callbacks.addAll(this.callbacks.values());
+      this.callbacks.clear();
+    }
+  }
+
+  /**
+   * Rotating window of recent reply times for a single message type.
+   * <p>
+   * Reply times are recorded in the current interval histogram until it holds {@code WINDOW_SAMPLES} samples, at which
+   * point it becomes the previous window and a new interval histogram is started.
+   */
+  private static final class ReplyWindow {
+    private volatile LatencyHistogram current = new LatencyHistogram();
+    private volatile LatencyHistogram previous;
+
+    /**
+     * Records a reply time in the current window.
+     *
+     * @param replyTime the reply time in microseconds
+     */
+    void record(long replyTime) {
+      LatencyHistogram current = this.current;
+      current.record(replyTime);
+      if (current.getCount() >= WINDOW_SAMPLES) {
+        rotate(current);
+      }
+    }
+
+    /**
+     * Rotates the given histogram out of the current window.
+     *
+     * @param current the full histogram
+     */
+    private synchronized void rotate(LatencyHistogram current) {
+      if (this.current == current) {
+        this.previous = current;
+        this.current = new LatencyHistogram();
+      }
+    }
+
+    /**
+     * Returns the most recent histogram with enough samples to compute a timeout.
+     *
+     * @return the most recent histogram with at least {@code MIN_SAMPLES} samples or {@code null} if no such
+     *     histogram exists
+     */
+    LatencyHistogram latencies() {
+      LatencyHistogram current = this.current;
+      if (current.getCount() >= MIN_SAMPLES) {
+        return current;
+      }
+      return previous;
+    }
+  }
+
   /**
    * Client connection callback.
+   * <p>
+   * Callback timeouts are scheduled on a hashed wheel timer, which inserts and cancels timeouts in constant time.
+   * When a timeout expires, the callback is failed on the connection's executor.
    */
   final class Callback {
     private final long id;
     private final String type;
-    private final long time = System.currentTimeMillis();
+    private final long time = System.nanoTime();
     private final long timeout;
-    private final ScheduledFuture<?> scheduledFuture;
+    private final Timeout scheduledTimeout;
     private final CompletableFuture<byte[]> replyFuture;
 
     Callback(long id, String type, Duration timeout, CompletableFuture<byte[]> future) {
       this.id = id;
       this.type = type;
       this.timeout = getTimeoutMillis(type, timeout);
-      this.scheduledFuture = executorService.schedule(this::timeout, this.timeout, TimeUnit.MILLISECONDS);
       this.replyFuture = future;
-      future.thenRun(() -> addReplyTime(type, System.currentTimeMillis() - time));
-      callbacks.put(id, this);
+      future.thenRun(() -> addReplyTime(type, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - time)));
+      addCallback(this);
+      this.scheduledTimeout = timer.newTimeout(t -> expire(), this.timeout, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -153,11 +311,23 @@ abstract class AbstractClientConnection implements ClientConnection {
     }
 
     /**
-     * Fails the callback future with a timeout exception.
+     * Hands the expired timeout off from the timer thread to the connection's executor.
+     */
+    private void expire() {
+      try {
+        executor.execute(this::timeout);
+      } catch (RejectedExecutionException e) {
+        timeout();
+      }
+    }
+
+    /**
+     * Fails the callback future with a timeout exception if a reply has not been received.
      */
     private void timeout() {
-      replyFuture.completeExceptionally(new TimeoutException("Request type " + type + " timed out in " + timeout + " milliseconds"));
-      callbacks.remove(id);
+      if (removeCallback(id) != null) {
+        replyFuture.completeExceptionally(new TimeoutException("Request type " + type + " timed out in " + timeout + " milliseconds"));
+      }
     }
 
     /**
@@ -166,7 +336,7 @@ abstract class AbstractClientConnection implements ClientConnection {
      * @param value the value with which to complete the callback
      */
     void complete(byte[] value) {
-      scheduledFuture.cancel(false);
+      scheduledTimeout.cancel();
       replyFuture.complete(value);
     }
 
@@ -176,9 +346,9 @@ abstract class AbstractClientConnection implements ClientConnection {
      * @param error the callback exception
      */
     void completeExceptionally(Throwable error) {
-      scheduledFuture.cancel(false);
+      scheduledTimeout.cancel();
       replyFuture.completeExceptionally(error);
-      callbacks.remove(id);
+      removeCallback(id);
     }
   }
 }
@@ -32,6 +32,9 @@ abstract class AbstractMessageEncoder extends MessageToByteEncoder<Object> {
 // Effectively MessageToByteEncoder<InternalMessage>,
 // had to specify <Object> to avoid Class Loader not being able to find some classes.
 
+  // Upper bound on the size of the message type, identifier, payload length, subject identifier and status fields.
+  private static final int MAX_HEADER_SIZE = 32;
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   protected final Address address;
@@ -42,6 +45,25 @@ abstract class AbstractMessageEncoder extends MessageToByteEncoder<Object> {
     this.address = address;
   }
 
+  /**
+   * Allocates an output buffer large enough to hold the entire message.
+   * <p>
+   * Sizing the buffer up front ensures the payload is copied into the buffer once rather than being copied again each
+   * time the default 256 byte buffer has to grow.
+   */
+  @Override
+  protected ByteBuf allocateBuffer(ChannelHandlerContext context, Object rawMessage, boolean preferDirect) {
+    ProtocolMessage message = (ProtocolMessage) rawMessage;
+    int size = MAX_HEADER_SIZE + message.payload().length;
+    if (!addressWritten) {
+      size += Short.BYTES + ByteBufUtil.utf8MaxBytes(address.host()) + Integer.BYTES;
+    }
+    if (message instanceof ProtocolRequest) {
+      size += Short.BYTES + ByteBufUtil.utf8MaxBytes(((ProtocolRequest) message).subject());
+    }
+    return preferDirect ? context.alloc().ioBuffer(size) : context.alloc().heapBuffer(size);
+  }
+
   @Override
   protected void encode(
       ChannelHandlerContext context,
@@ -70,14 +92,11 @@ abstract class AbstractMessageEncoder extends MessageToByteEncoder<Object> {
   protected abstract void encodeReply(ProtocolReply reply, ByteBuf out);
 
   static void writeString(ByteBuf buffer, String value) {
-    final ByteBuf buf = buffer.alloc().buffer(ByteBufUtil.utf8MaxBytes(value));
-    try {
-      final int length = ByteBufUtil.writeUtf8(buf, value);
-      buffer.writeShort(length);
-      buffer.writeBytes(buf);
-    } finally {
-      buf.release();
-    }
+    // Encode the string directly into the buffer and fill in the length afterwards to avoid a temporary buffer.
+    final int lengthIndex = buffer.writerIndex();
+    buffer.writeShort(0);
+    final int length = ByteBufUtil.writeUtf8(buffer, value);
+    buffer.setShort(lengthIndex, length);
   }
 
   static void writeInt(ByteBuf buf, int value) {
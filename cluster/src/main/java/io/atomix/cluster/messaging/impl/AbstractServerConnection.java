@@ -18,6 +18,8 @@ package io.atomix.cluster.messaging.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 
@@ -27,6 +29,8 @@ import java.util.function.BiConsumer;
 abstract class AbstractServerConnection implements ServerConnection {
   private final Logger log = LoggerFactory.getLogger(getClass());
   private final HandlerRegistry handlers;
+  private final List<BiConsumer<ProtocolRequest, ServerConnection>> cachedHandlers = new ArrayList<>();
+  private int cachedVersion;
 
   AbstractServerConnection(HandlerRegistry handlers) {
     this.handlers = handlers;
@@ -34,7 +38,7 @@ abstract class AbstractServerConnection implements ServerConnection {
 
   @Override
   public void dispatch(ProtocolRequest message) {
-    BiConsumer<ProtocolRequest, ServerConnection> handler = handlers.get(message.subject());
+    BiConsumer<ProtocolRequest, ServerConnection> handler = getHandler(message);
     if (handler != null) {
       log.trace("Received message type {} from {}", message.subject(), message.sender());
       handler.accept(message, this);
@@ -43,4 +47,37 @@ abstract class AbstractServerConnection implements ServerConnection {
       reply(message, ProtocolReply.Status.ERROR_NO_HANDLER, Optional.empty());
     }
   }
+
+  /**
+   * Returns the handler for the given request.
+   * <p>
+   * Requests are dispatched on the connection's event loop. Handlers for requests with a subject identifier are
+   * cached by identifier until the handler registry changes.
+   */
+  private BiConsumer<ProtocolRequest, ServerConnection> getHandler(ProtocolRequest message) {
+    int subjectId = message.subjectId();
+    if (subjectId == ProtocolRequest.NO_SUBJECT_ID) {
+      return handlers.get(message.subject());
+    }
+
+    int version = handlers.version();
+    if (version != cachedVersion) {
+      cachedHandlers.clear();
+      cachedVersion = version;
+    }
+
+    BiConsumer<ProtocolRequest, ServerConnection> handler = subjectId < cachedHandlers.size()
+        ? cachedHandlers.get(subjectId)
+        : null;
+    if (handler == null) {
+      handler = handlers.get(message.subject());
+      if (handler != null) {
+        while (cachedHandlers.size() <= subjectId) {
+          cachedHandlers.add(null);
+        }
+        cachedHandlers.set(subjectId, handler);
+      }
+    }
+    return handler;
+  }
 }
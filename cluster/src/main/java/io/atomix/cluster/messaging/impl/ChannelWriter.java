@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+
+/**
+ * Writes messages to a Netty channel, optionally consolidating flushes.
+ * <p>
+ * When flush consolidation is enabled, messages are written to the channel without being flushed, and a single flush
+ * is queued on the channel's event loop behind the writes. All messages written before the flush runs are sent with a
+ * single system call. The channel is flushed early once the unflushed messages reach the maximum flush size.
+ */
+final class ChannelWriter {
+  private final Channel channel;
+  private final boolean consolidate;
+  private final int maxFlushSize;
+  private final FlushStats stats;
+  private final Runnable flushTask = this::flush;
+  private int pendingMessages;
+  private int pendingBytes;
+  private boolean flushScheduled;
+
+  ChannelWriter(Channel channel, boolean consolidate, int maxFlushSize, FlushStats stats) {
+    this.channel = channel;
+    this.consolidate = consolidate;
+    this.maxFlushSize = maxFlushSize;
+    this.stats = stats;
+  }
+
+  /**
+   * Writes the given message to the channel.
+   *
+   * @param message the message to write
+   * @param size the approximate size of the message in bytes
+   * @param promise the promise to be completed once the message has been written
+   */
+  void write(Object message, int size, ChannelPromise promise) {
+    if (!consolidate) {
+      stats.recordFlush(1);
+      channel.writeAndFlush(message, promise);
+      return;
+    }
+
+    // Writes are handled on the event loop so the flush is always queued behind them.
+    EventLoop eventLoop = channel.eventLoop();
+    if (eventLoop.inEventLoop()) {
+      doWrite(message, size, promise);
+    } else {
+      eventLoop.execute(() -> doWrite(message, size, promise));
+    }
+  }
+
+  private void doWrite(Object message, int size, ChannelPromise promise) {
+    channel.write(message, promise);
+    pendingMessages++;
+    pendingBytes += size;
+    if (pendingBytes >= maxFlushSize) {
+      flush();
+    } else if (!flushScheduled) {
+      flushScheduled = true;
+      channel.eventLoop().execute(flushTask);
+    }
+  }
+
+  /**
+   * Flushes the messages written since the last flush.
+   */
+  private void flush() {
+    flushScheduled = false;
+    if (pendingMessages > 0) {
+      stats.recordFlush(pendingMessages);
+      channel.flush();
+      pendingMessages = 0;
+      pendingBytes = 0;
+    }
+  }
+}
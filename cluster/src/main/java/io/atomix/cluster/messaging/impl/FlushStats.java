@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics for the flushes of the connections of a messaging service.
+ */
+final class FlushStats {
+  private final LongAdder flushes = new LongAdder();
+  private final LongAdder messages = new LongAdder();
+
+  /**
+   * Records a flush.
+   *
+   * @param messages the number of messages sent by the flush
+   */
+  void recordFlush(int messages) {
+    this.flushes.increment();
+    this.messages.add(messages);
+  }
+
+  /**
+   * Returns the number of flushes.
+   *
+   * @return the number of flushes
+   */
+  long getFlushes() {
+    return flushes.sum();
+  }
+
+  /**
+   * Returns the number of messages sent by all flushes.
+   *
+   * @return the number of messages sent by all flushes
+   */
+  long getMessages() {
+    return messages.sum();
+  }
+
+  /**
+   * Returns the average number of messages sent per flush.
+   *
+   * @return the average number of messages sent per flush
+   */
+  double getMessagesPerFlush() {
+    long flushes = this.flushes.sum();
+    return flushes > 0 ? (double) messages.sum() / flushes : 0;
+  }
+}
@@ -17,6 +17,7 @@ package io.atomix.cluster.messaging.impl;
 
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 
 /**
@@ -24,6 +25,7 @@ import java.util.function.BiConsumer;
  */
 final class HandlerRegistry {
   private final Map<String, BiConsumer<ProtocolRequest, ServerConnection>> handlers = new ConcurrentHashMap<>();
+  private final AtomicInteger version = new AtomicInteger();
 
   /**
    * Registers a message type handler.
@@ -33,6 +35,7 @@ final class HandlerRegistry {
    */
   void register(String type, BiConsumer<ProtocolRequest, ServerConnection> handler) {
     handlers.put(type, handler);
+    version.incrementAndGet();
   }
 
   /**
@@ -42,6 +45,19 @@ final class HandlerRegistry {
    */
   void unregister(String type) {
     handlers.remove(type);
+    version.incrementAndGet();
+  }
+
+  /**
+   * Returns the registry version.
+   * <p>
+   * The version changes after each handler is registered or unregistered, so handlers looked up before reading a
+   * version can be cached for as long as the version is unchanged.
+   *
+   * @return the registry version
+   */
+  int version() {
+    return version.get();
   }
 
   /**
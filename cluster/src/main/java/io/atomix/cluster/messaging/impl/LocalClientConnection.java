@@ -15,9 +15,11 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.netty.util.Timer;
+
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executor;
 
 /**
  * Local client-side connection.
@@ -25,8 +27,8 @@ import java.util.concurrent.ScheduledExecutorService;
 final class LocalClientConnection extends AbstractClientConnection {
   private final LocalServerConnection serverConnection;
 
-  LocalClientConnection(ScheduledExecutorService executorService, HandlerRegistry handlers) {
-    super(executorService);
+  LocalClientConnection(Timer timer, Executor executor, HandlerRegistry handlers) {
+    super(timer, executor);
     this.serverConnection = new LocalServerConnection(handlers, this);
   }
 
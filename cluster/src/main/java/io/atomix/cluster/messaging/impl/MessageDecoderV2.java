@@ -135,17 +135,11 @@ class MessageDecoderV2 extends AbstractMessageDecoder {
       case REQUEST:
         switch (currentState) {
           case READ_SUBJECT_LENGTH:
-            if (buffer.readableBytes() < Short.BYTES) {
-              return;
-            }
-            subjectLength = buffer.readShort();
-            currentState = DecoderState.READ_SUBJECT;
           case READ_SUBJECT:
-            if (buffer.readableBytes() < subjectLength) {
+            ProtocolRequest message = readRequest(buffer, messageId, senderAddress, content);
+            if (message == null) {
               return;
             }
-            final String subject = readString(buffer, subjectLength);
-            ProtocolRequest message = new ProtocolRequest(messageId, senderAddress, subject, content);
             out.add(message);
             currentState = DecoderState.READ_TYPE;
             break;
@@ -172,4 +166,47 @@ class MessageDecoderV2 extends AbstractMessageDecoder {
         checkState(false, "Must not be here");
     }
   }
+
+  /**
+   * Reads the subject that follows the content of a request and returns the decoded request.
+   *
+   * @param buffer the buffer from which to read the subject
+   * @param messageId the request message ID
+   * @param sender the request sender
+   * @param content the request content
+   * @return the decoded request, or {@code null} if the buffer does not yet contain the full subject
+   */
+  protected ProtocolRequest readRequest(ByteBuf buffer, long messageId, Address sender, byte[] content) {
+    final String subject = readSubject(buffer);
+    if (subject == null) {
+      return null;
+    }
+    return new ProtocolRequest(messageId, sender, subject, content);
+  }
+
+  /**
+   * Reads a length-prefixed request subject.
+   *
+   * @param buffer the buffer from which to read the subject
+   * @return the subject, or {@code null} if the buffer does not yet contain the full subject
+   */
+  @SuppressWarnings("squid:S128") // suppress switch fall through warning
+  protected String readSubject(ByteBuf buffer) {
+    switch (currentState) {
+      case READ_SUBJECT_LENGTH:
+        if (buffer.readableBytes() < Short.BYTES) {
+          return null;
+        }
+        subjectLength = buffer.readShort();
+        currentState = DecoderState.READ_SUBJECT;
+      case READ_SUBJECT:
+        if (buffer.readableBytes() < subjectLength) {
+          return null;
+        }
+        return readString(buffer, subjectLength);
+      default:
+        checkState(false, "Must not be here");
+        return null;
+    }
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.atomix.utils.net.Address;
+import io.netty.buffer.ByteBuf;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Protocol version 3 message decoder.
+ * <p>
+ * The decoder maintains the subject dictionary defined by the peer's {@link MessageEncoderV3} and resolves subject
+ * identifiers with a list lookup. Decoded requests carry their subject identifier so that handlers can also be
+ * resolved by identifier.
+ */
+class MessageDecoderV3 extends MessageDecoderV2 {
+  private static final int NO_SUBJECT = -1;
+
+  private final List<String> subjects = new ArrayList<>();
+  private int subjectId = NO_SUBJECT;
+
+  @Override
+  protected ProtocolRequest readRequest(ByteBuf buffer, long messageId, Address sender, byte[] content) {
+    if (subjectId == NO_SUBJECT) {
+      try {
+        subjectId = readInt(buffer);
+      } catch (Escape e) {
+        return null;
+      }
+    }
+
+    if (subjectId >= MessageEncoderV3.SUBJECT_ID_OFFSET) {
+      final int index = subjectId - MessageEncoderV3.SUBJECT_ID_OFFSET;
+      checkState(index < subjects.size(), "Unknown subject identifier");
+      subjectId = NO_SUBJECT;
+      return new ProtocolRequest(messageId, sender, subjects.get(index), index, content);
+    }
+
+    final String subject = readSubject(buffer);
+    if (subject == null) {
+      return null;
+    }
+
+    int index = ProtocolRequest.NO_SUBJECT_ID;
+    if (subjectId == MessageEncoderV3.NEW_SUBJECT) {
+      index = subjects.size();
+      subjects.add(subject);
+    }
+    subjectId = NO_SUBJECT;
+    return new ProtocolRequest(messageId, sender, subject, index, content);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.atomix.utils.net.Address;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * V3 message encoder.
+ * <p>
+ * The V3 encoder replaces request subjects with subject identifiers. The first request for each subject on a
+ * connection defines the subject with its full name, and later requests for the same subject carry only the
+ * variable-length subject identifier. Once the subject dictionary is full, new subjects are sent in full without
+ * being assigned an identifier.
+ */
+class MessageEncoderV3 extends MessageEncoderV2 {
+  static final int LITERAL_SUBJECT = 0;
+  static final int NEW_SUBJECT = 1;
+  static final int SUBJECT_ID_OFFSET = 2;
+  static final int MAX_SUBJECTS = 1024 * 16;
+
+  private final Map<String, Integer> subjectIds = new HashMap<>();
+
+  MessageEncoderV3(Address address) {
+    super(address);
+  }
+
+  @Override
+  protected void encodeRequest(ProtocolRequest request, ByteBuf out) {
+    final String subject = request.subject();
+    final Integer subjectId = subjectIds.get(subject);
+    if (subjectId != null) {
+      writeInt(out, subjectId + SUBJECT_ID_OFFSET);
+    } else if (subjectIds.size() < MAX_SUBJECTS) {
+      subjectIds.put(subject, subjectIds.size());
+      writeInt(out, NEW_SUBJECT);
+      writeString(out, subject);
+    } else {
+      writeInt(out, LITERAL_SUBJECT);
+      writeString(out, subject);
+    }
+  }
+}
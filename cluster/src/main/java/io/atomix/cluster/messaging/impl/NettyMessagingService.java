@@ -26,6 +26,7 @@ import java.security.KeyStore;
 import java.security.MessageDigest;
 import java.security.cert.Certificate;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.Map;
@@ -33,10 +34,10 @@ import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
@@ -55,6 +56,7 @@ import io.atomix.cluster.messaging.MessagingService;
 import io.atomix.utils.AtomixRuntimeException;
 import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.concurrent.OrderedFuture;
+import io.atomix.utils.misc.LatencyHistogram;
 import io.atomix.utils.net.Address;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.bootstrap.ServerBootstrap;
@@ -80,6 +82,7 @@ import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.util.HashedWheelTimer;
 import io.netty.util.concurrent.Future;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +93,8 @@ import static io.atomix.utils.concurrent.Threads.namedThreads;
  * Netty based MessagingService.
  */
 public class NettyMessagingService implements ManagedMessagingService {
+  private static final long TIMEOUT_TICK_MILLIS = 10;
+
   private final Logger log = LoggerFactory.getLogger(getClass());
 
   private final Address returnAddress;
@@ -102,12 +107,14 @@ public class NettyMessagingService implements ManagedMessagingService {
   private final Map<Channel, RemoteClientConnection> connections = Maps.newConcurrentMap();
   private final AtomicLong messageIdGenerator = new AtomicLong(0);
   private final ChannelPool channelPool;
+  private final FlushStats flushStats = new FlushStats();
+  private final Map<String, LatencyHistogram> requestLatencies = new ConcurrentHashMap<>();
 
   private EventLoopGroup serverGroup;
   private EventLoopGroup clientGroup;
   private Class<? extends ServerChannel> serverChannelClass;
   private Class<? extends Channel> clientChannelClass;
-  private ScheduledExecutorService timeoutExecutor;
+  private HashedWheelTimer timeoutTimer;
   private Channel serverChannel;
 
   protected boolean enableNettyTls;
@@ -142,9 +149,9 @@ public class NettyMessagingService implements ManagedMessagingService {
     enableNettyTls = loadKeyStores();
     initEventLoopGroup();
     return bootstrapServer().thenRun(() -> {
-      timeoutExecutor = Executors.newScheduledThreadPool(
-          4, namedThreads("netty-messaging-timeout-%d", log));
-      localConnection = new LocalClientConnection(timeoutExecutor, handlers);
+      timeoutTimer = new HashedWheelTimer(
+          namedThreads("netty-messaging-timeout-%d", log), TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+      localConnection = new LocalClientConnection(timeoutTimer, clientGroup.next(), handlers);
       started.set(true);
       log.info("Started");
     }).thenApply(v -> this);
@@ -397,10 +404,38 @@ public class NettyMessagingService implements ManagedMessagingService {
     return future;
   }
 
+  @Override
+  public Map<String, LatencyHistogram> getRequestLatencies() {
+    return Collections.unmodifiableMap(requestLatencies);
+  }
+
+  @Override
+  public double getMessagesPerFlush() {
+    return flushStats.getMessagesPerFlush();
+  }
+
+  /**
+   * Returns the flush statistics of the remote connections.
+   *
+   * @return the flush statistics of the remote connections
+   */
+  FlushStats getFlushStats() {
+    return flushStats;
+  }
+
+  private ChannelWriter newWriter(Channel channel) {
+    return new ChannelWriter(
+        channel,
+        config.isFlushConsolidation(),
+        (int) Math.min(config.getMaxFlushSize().bytes(), Integer.MAX_VALUE),
+        flushStats);
+  }
+
   private RemoteClientConnection getOrCreateClientConnection(Channel channel) {
     RemoteClientConnection connection = connections.get(channel);
     if (connection == null) {
-      connection = connections.computeIfAbsent(channel, c -> new RemoteClientConnection(timeoutExecutor, c));
+      connection = connections.computeIfAbsent(channel, c ->
+          new RemoteClientConnection(timeoutTimer, requestLatencies, c, newWriter(c)));
       channel.closeFuture().addListener(f -> {
         RemoteClientConnection removedConnection = connections.remove(channel);
         if (removedConnection != null) {
@@ -605,7 +640,7 @@ public class NettyMessagingService implements ManagedMessagingService {
           } catch (InterruptedException e) {
             interrupted = true;
           }
-          timeoutExecutor.shutdown();
+          timeoutTimer.stop();
         } finally {
           log.info("Stopped");
           if (interrupted) {
@@ -799,7 +834,9 @@ public class NettyMessagingService implements ManagedMessagingService {
               protocolVersion = ProtocolVersion.latest();
             }
             writeProtocolVersion(context, protocolVersion);
-            activateProtocolVersion(context, new RemoteServerConnection(handlers, context.channel()), protocolVersion);
+            RemoteServerConnection connection = new RemoteServerConnection(
+                handlers, context.channel(), newWriter(context.channel()));
+            activateProtocolVersion(context, connection, protocolVersion);
           });
     }
 
@@ -23,13 +23,21 @@ import io.atomix.utils.net.Address;
  * Internal request message.
  */
 public final class ProtocolRequest extends ProtocolMessage {
+  static final int NO_SUBJECT_ID = -1;
+
   private final Address sender;
   private final String subject;
+  private final int subjectId;
 
   public ProtocolRequest(long id, Address sender, String subject, byte[] payload) {
+    this(id, sender, subject, NO_SUBJECT_ID, payload);
+  }
+
+  ProtocolRequest(long id, Address sender, String subject, int subjectId, byte[] payload) {
     super(id, payload);
     this.sender = sender;
     this.subject = subject;
+    this.subjectId = subjectId;
   }
 
   @Override
@@ -41,6 +49,15 @@ public final class ProtocolRequest extends ProtocolMessage {
     return subject;
   }
 
+  /**
+   * Returns the connection-specific identifier of the request subject.
+   *
+   * @return the subject identifier or {@code -1} if the subject was not sent with an identifier
+   */
+  int subjectId() {
+    return subjectId;
+  }
+
   public Address sender() {
     return sender;
   }
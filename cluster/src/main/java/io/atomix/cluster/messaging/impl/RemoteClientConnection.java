@@ -15,33 +15,41 @@
  */
 package io.atomix.cluster.messaging.impl;
 
+import io.atomix.utils.misc.LatencyHistogram;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.Timer;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledExecutorService;
 
 /**
  * Client-side Netty remote connection.
  */
 final class RemoteClientConnection extends AbstractClientConnection {
   private final Channel channel;
+  private final ChannelWriter writer;
 
-  RemoteClientConnection(ScheduledExecutorService executorService, Channel channel) {
-    super(executorService);
+  RemoteClientConnection(
+      Timer timer, Map<String, LatencyHistogram> replyLatencies, Channel channel, ChannelWriter writer) {
+    super(timer, channel.eventLoop(), replyLatencies);
     this.channel = channel;
+    this.writer = writer;
   }
 
   @Override
   public CompletableFuture<Void> sendAsync(ProtocolRequest message) {
     CompletableFuture<Void> future = new CompletableFuture<>();
-    channel.writeAndFlush(message).addListener(channelFuture -> {
+    ChannelPromise promise = channel.newPromise();
+    promise.addListener(channelFuture -> {
       if (!channelFuture.isSuccess()) {
         future.completeExceptionally(channelFuture.cause());
       } else {
         future.complete(null);
       }
     });
+    writer.write(message, message.payload().length, promise);
     return future;
   }
 
@@ -49,11 +57,13 @@ final class RemoteClientConnection extends AbstractClientConnection {
   public CompletableFuture<byte[]> sendAndReceive(ProtocolRequest message, Duration timeout) {
     CompletableFuture<byte[]> future = new CompletableFuture<>();
     Callback callback = new Callback(message.id(), message.subject(), timeout, future);
-    channel.writeAndFlush(message).addListener(channelFuture -> {
+    ChannelPromise promise = channel.newPromise();
+    promise.addListener(channelFuture -> {
       if (!channelFuture.isSuccess()) {
         callback.completeExceptionally(channelFuture.cause());
       }
     });
+    writer.write(message, message.payload().length, promise);
     return future;
   }
 }
@@ -26,10 +26,12 @@ final class RemoteServerConnection extends AbstractServerConnection {
   private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
   private final Channel channel;
+  private final ChannelWriter writer;
 
-  RemoteServerConnection(HandlerRegistry handlers, Channel channel) {
+  RemoteServerConnection(HandlerRegistry handlers, Channel channel, ChannelWriter writer) {
     super(handlers);
     this.channel = channel;
+    this.writer = writer;
   }
 
   @Override
@@ -38,6 +40,6 @@ final class RemoteServerConnection extends AbstractServerConnection {
         message.id(),
         payload.orElse(EMPTY_PAYLOAD),
         status);
-    channel.writeAndFlush(response, channel.voidPromise());
+    writer.write(response, response.payload().length, channel.voidPromise());
   }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import io.atomix.utils.misc.LatencyHistogram;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Client connection test.
+ */
+public class AbstractClientConnectionTest {
+  private static final String EXECUTOR_THREAD = "test-connection-executor";
+
+  private final AtomicLong messageId = new AtomicLong();
+  private Timer timer;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() {
+    timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+    executor = Executors.newSingleThreadExecutor(r -> new Thread(r, EXECUTOR_THREAD));
+  }
+
+  @After
+  public void tearDown() {
+    timer.stop();
+    executor.shutdownNow();
+  }
+
+  private ProtocolRequest newRequest() {
+    return new ProtocolRequest(messageId.incrementAndGet(), null, "test", new byte[0]);
+  }
+
+  @Test
+  public void testReply() throws Exception {
+    TestClientConnection connection = new TestClientConnection(timer, executor, new ConcurrentHashMap<>());
+    List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+    List<ProtocolRequest> requests = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      ProtocolRequest request = newRequest();
+      requests.add(request);
+      futures.add(connection.sendAndReceive(request, Duration.ofSeconds(5)));
+    }
+    assertEquals(100, connection.pendingCallbacks());
+
+    for (ProtocolRequest request : requests) {
+      connection.dispatch(new ProtocolReply(request.id(), "hello".getBytes(), ProtocolReply.Status.OK));
+    }
+    for (CompletableFuture<byte[]> future : futures) {
+      assertArrayEquals("hello".getBytes(), future.get(1, TimeUnit.SECONDS));
+    }
+    assertEquals(0, connection.pendingCallbacks());
+    connection.close();
+  }
+
+  @Test
+  public void testTimeout() throws Exception {
+    TestClientConnection connection = new TestClientConnection(timer, executor, new ConcurrentHashMap<>());
+    ProtocolRequest request = newRequest();
+    AtomicReference<String> thread = new AtomicReference<>();
+    CompletableFuture<byte[]> future = connection.sendAndReceive(request, Duration.ofMillis(50))
+        .whenComplete((result, error) -> thread.set(Thread.currentThread().getName()));
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+
+    // Timeouts are completed on the connection's executor rather than the timer thread, and the callback is removed.
+    assertEquals(EXECUTOR_THREAD, thread.get());
+    assertEquals(0, connection.pendingCallbacks());
+
+    // A reply that arrives after the request has timed out is ignored.
+    connection.dispatch(new ProtocolReply(request.id(), "hello".getBytes(), ProtocolReply.Status.OK));
+    assertTrue(future.isCompletedExceptionally());
+    assertEquals(0, connection.pendingCallbacks());
+    connection.close();
+  }
+
+  @Test
+  public void testClose() throws Exception {
+    TestClientConnection connection = new TestClientConnection(timer, executor, new ConcurrentHashMap<>());
+    List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      futures.add(connection.sendAndReceive(newRequest(), Duration.ofSeconds(5)));
+    }
+    connection.close();
+    assertEquals(0, connection.pendingCallbacks());
+    for (CompletableFuture<byte[]> future : futures) {
+      try {
+        future.get(1, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof ConnectException);
+      }
+    }
+  }
+
+  @Test
+  public void testTimeoutFollowsLatencyShift() throws Exception {
+    Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    TestClientConnection connection = new TestClientConnection(timer, executor, latencies);
+    assertEquals(5000, connection.computeTimeoutMillis("test"));
+
+    for (int i = 0; i < 100; i++) {
+      connection.addReplyTime("test", TimeUnit.MILLISECONDS.toMicros(100));
+    }
+    long timeout = connection.computeTimeoutMillis("test");
+    assertTrue(timeout >= 500 && timeout < 550);
+
+    // Once the remote node becomes faster, the timeout is no longer based on the slow replies.
+    for (int i = 0; i < 50; i++) {
+      connection.addReplyTime("test", TimeUnit.MILLISECONDS.toMicros(20));
+    }
+    timeout = connection.computeTimeoutMillis("test");
+    assertTrue(timeout >= 100 && timeout < 110);
+
+    // Once the remote node becomes slower, the timeout grows again.
+    for (int i = 0; i < 100; i++) {
+      connection.addReplyTime("test", TimeUnit.MILLISECONDS.toMicros(200));
+    }
+    timeout = connection.computeTimeoutMillis("test");
+    assertTrue(timeout >= 1000 && timeout < 1100);
+
+    // The cumulative histograms still hold all reply times.
+    assertEquals(250, latencies.get("test").getCount());
+    connection.close();
+  }
+
+  /**
+   * Test client connection.
+   */
+  private static class TestClientConnection extends AbstractClientConnection {
+    TestClientConnection(Timer timer, Executor executor, Map<String, LatencyHistogram> replyLatencies) {
+      super(timer, executor, replyLatencies);
+    }
+
+    @Override
+    public CompletableFuture<Void> sendAsync(ProtocolRequest message) {
+      return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<byte[]> sendAndReceive(ProtocolRequest message, Duration timeout) {
+      CompletableFuture<byte[]> future = new CompletableFuture<>();
+      new Callback(message.id(), message.subject(), timeout, future);
+      return future;
+    }
+  }
+}
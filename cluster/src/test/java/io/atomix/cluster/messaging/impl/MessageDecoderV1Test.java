@@ -49,6 +49,21 @@ public class MessageDecoderV1Test {
     assertEquals(10, MessageDecoderV1.readLong(buffer));
   }
 
+  @Test
+  public void testWriteString() throws Exception {
+    String value = "huuhaa \u00e4\u00f6";
+    ByteBuf buffer = Unpooled.buffer(4);
+    try {
+      MessageEncoderV1.writeString(buffer, value);
+      int length = buffer.readShort();
+      assertEquals(value.getBytes(StandardCharsets.UTF_8).length, length);
+      assertEquals(value, MessageDecoderV1.readString(buffer, length));
+      assertEquals(0, buffer.readableBytes());
+    } finally {
+      buffer.release();
+    }
+  }
+
   @Test
   public void testReadStringFromHeapBuffer() throws Exception {
     String payload = "huuhaa";
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.cluster.messaging.impl;
+
+import io.atomix.utils.net.Address;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * V3 message decoder test.
+ */
+public class MessageDecoderV3Test {
+  @Test
+  public void testDecodeSubjectIdentifiers() throws Exception {
+    Address address = Address.from("localhost", 5000);
+    MessageEncoderV3 encoder = new MessageEncoderV3(address);
+    ByteBuf buffer = Unpooled.buffer();
+    encoder.encode(null, new ProtocolRequest(1, address, "foo", new byte[]{1}), buffer);
+    encoder.encode(null, new ProtocolRequest(2, address, "foo", new byte[]{2}), buffer);
+    encoder.encode(null, new ProtocolReply(3, new byte[]{3}, ProtocolReply.Status.OK), buffer);
+    encoder.encode(null, new ProtocolRequest(4, address, "bar", new byte[0]), buffer);
+    encoder.encode(null, new ProtocolRequest(5, address, "foo", new byte[]{5}), buffer);
+
+    // Feed the decoder a byte at a time to resume decoding at every field.
+    MessageDecoderV3 decoder = new MessageDecoderV3();
+    List<Object> messages = new ArrayList<>();
+    ByteBuf input = Unpooled.buffer();
+    while (buffer.isReadable()) {
+      input.writeByte(buffer.readByte());
+      int readable;
+      int decoded;
+      do {
+        readable = input.readableBytes();
+        decoded = messages.size();
+        decoder.decode(null, input, messages);
+      } while (input.isReadable() && (input.readableBytes() != readable || messages.size() != decoded));
+    }
+    assertEquals(0, input.readableBytes());
+
+    assertEquals(5, messages.size());
+    assertRequest(messages.get(0), 1, "foo", 0, new byte[]{1});
+    assertRequest(messages.get(1), 2, "foo", 0, new byte[]{2});
+    ProtocolReply reply = (ProtocolReply) messages.get(2);
+    assertEquals(3, reply.id());
+    assertEquals(ProtocolReply.Status.OK, reply.status());
+    assertRequest(messages.get(3), 4, "bar", 1, new byte[0]);
+    assertRequest(messages.get(4), 5, "foo", 0, new byte[]{5});
+  }
+
+  private void assertRequest(Object message, long id, String subject, int subjectId, byte[] payload) {
+    ProtocolRequest request = (ProtocolRequest) message;
+    assertEquals(id, request.id());
+    assertEquals(subject, request.subject());
+    assertEquals(subjectId, request.subjectId());
+    assertArrayEquals(payload, request.payload());
+  }
+}
@@ -19,6 +19,8 @@ import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Uninterruptibles;
 import io.atomix.cluster.messaging.ManagedMessagingService;
 import io.atomix.cluster.messaging.MessagingConfig;
+import io.atomix.utils.memory.MemorySize;
+import io.atomix.utils.misc.LatencyHistogram;
 import io.atomix.utils.net.Address;
 import org.junit.After;
 import org.junit.Before;
@@ -30,7 +32,9 @@ import java.io.IOException;
 import java.net.ConnectException;
 import java.net.ServerSocket;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -45,6 +49,7 @@ import java.util.function.BiFunction;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -176,6 +181,29 @@ public class NettyMessagingServiceTest {
     assertEquals(address1.address(), sender.get().address());
   }
 
+  @Test
+  public void testRequestLatencies() throws Exception {
+    String subject = nextSubject();
+    netty2.registerHandler(subject, (ep, data) -> data, MoreExecutors.directExecutor());
+
+    for (int i = 0; i < 10; i++) {
+      netty1.sendAndReceive(address2, subject, "hello world".getBytes()).join();
+    }
+
+    // Reply times are recorded once the response future has completed, so allow the last one to settle.
+    long deadline = System.currentTimeMillis() + 1000;
+    while (System.currentTimeMillis() < deadline
+        && (!netty1.getRequestLatencies().containsKey(subject)
+        || netty1.getRequestLatencies().get(subject).getCount() < 10)) {
+      Thread.sleep(10);
+    }
+    LatencyHistogram latencies = netty1.getRequestLatencies().get(subject);
+    assertNotNull(latencies);
+    assertEquals(10, latencies.getCount());
+    assertTrue(latencies.getValueAtPercentile(50) <= latencies.getMax());
+    assertFalse(netty2.getRequestLatencies().containsKey(subject));
+  }
+
   @Test
   public void testTransientSendAndReceive() {
     String subject = nextSubject();
@@ -288,6 +316,60 @@ public class NettyMessagingServiceTest {
     assertArrayEquals(payload, response);
   }
 
+  @Test
+  public void testV3() throws Exception {
+    String subject1 = nextSubject();
+    String subject2 = nextSubject();
+    netty2.registerHandler(subject1, (address, bytes) -> CompletableFuture.completedFuture(bytes));
+    netty2.registerHandler(subject2, (address, bytes) -> CompletableFuture.completedFuture(new byte[0]));
+
+    // Send each subject repeatedly to exercise the subject dictionary.
+    for (int i = 0; i < 3; i++) {
+      byte[] payload = String.valueOf(i).getBytes();
+      assertArrayEquals(payload, netty1.sendAndReceive(address2, subject1, payload).get(10, TimeUnit.SECONDS));
+      assertArrayEquals(new byte[0], netty1.sendAndReceive(address2, subject2, payload).get(10, TimeUnit.SECONDS));
+    }
+
+    // Ensure cached handlers are invalidated when handlers change.
+    netty2.unregisterHandler(subject2);
+    netty2.registerHandler(subject2, (address, bytes) -> CompletableFuture.completedFuture(bytes));
+    byte[] payload = "Hello world!".getBytes();
+    assertArrayEquals(payload, netty1.sendAndReceive(address2, subject2, payload).get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testFlushConsolidation() throws Exception {
+    MessagingConfig config = new MessagingConfig()
+        .setFlushConsolidation(true)
+        .setMaxFlushSize(MemorySize.from(1024));
+    Address address3 = Address.from(findAvailablePort(5008));
+    NettyMessagingService netty3 = (NettyMessagingService) new NettyMessagingService("test", address3, config).start().join();
+    Address address4 = Address.from(findAvailablePort(5009));
+    NettyMessagingService netty4 = (NettyMessagingService) new NettyMessagingService("test", address4, config).start().join();
+    try {
+      String subject = nextSubject();
+      netty4.registerHandler(subject, (address, bytes) -> CompletableFuture.completedFuture(bytes));
+
+      List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+      for (int i = 0; i < 1000; i++) {
+        futures.add(netty3.sendAndReceive(address4, subject, String.valueOf(i).getBytes()));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        assertArrayEquals(String.valueOf(i).getBytes(), futures.get(i).get(10, TimeUnit.SECONDS));
+      }
+
+      // The burst of requests is sent with fewer flushes than messages.
+      assertEquals(1000, netty3.getFlushStats().getMessages());
+      assertTrue(netty3.getFlushStats().getFlushes() < 1000);
+      assertTrue(netty3.getMessagesPerFlush() > 1);
+      assertEquals(1000, netty4.getFlushStats().getMessages());
+      assertTrue(netty4.getMessagesPerFlush() >= 1);
+    } finally {
+      netty3.stop().join();
+      netty4.stop().join();
+    }
+  }
+
   @Test
   public void testVersionNegotiation() throws Exception {
     String subject;
@@ -21,6 +21,7 @@ import io.atomix.primitive.service.BackupInput;
 import io.atomix.primitive.service.BackupOutput;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 /**
  * Atomix long state.
@@ -37,6 +38,12 @@ public class DefaultAtomicCounterService extends AbstractPrimitiveService implem
     writer.writeLong(counter.get());
   }
 
+  @Override
+  public Consumer<BackupOutput> fork() {
+    long value = counter.get();
+    return writer -> writer.writeLong(value);
+  }
+
   @Override
   public void restore(BackupInput reader) {
     counter.set(reader.readLong());
@@ -28,6 +28,7 @@ import io.atomix.utils.serializer.Serializer;
 
 import java.util.Arrays;
 import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Abstract atomic value service.
@@ -52,7 +53,18 @@ public abstract class AbstractAtomicValueService extends AbstractPrimitiveServic
 
   @Override
   public void backup(BackupOutput writer) {
+    backup(writer, value, listeners);
+  }
+
+  @Override
+  public Consumer<BackupOutput> fork() {
+    // Values are replaced rather than modified, so only the listeners need to be copied.
     byte[] value = this.value;
+    Set<SessionId> listeners = Sets.newHashSet(this.listeners);
+    return writer -> backup(writer, value, listeners);
+  }
+
+  private void backup(BackupOutput writer, byte[] value, Set<SessionId> listeners) {
     if (value == null) {
       value = new byte[0];
     }
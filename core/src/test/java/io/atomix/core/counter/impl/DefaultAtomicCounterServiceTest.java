@@ -15,12 +15,15 @@
  */
 package io.atomix.core.counter.impl;
 
+import io.atomix.primitive.service.BackupOutput;
 import io.atomix.primitive.service.impl.DefaultBackupInput;
 import io.atomix.primitive.service.impl.DefaultBackupOutput;
 import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.HeapBuffer;
 import org.junit.Test;
 
+import java.util.function.Consumer;
+
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -41,4 +44,22 @@ public class DefaultAtomicCounterServiceTest {
     long value = service.get();
     assertEquals(1, value);
   }
+
+  @Test
+  public void testForkedSnapshot() throws Exception {
+    DefaultAtomicCounterService service = new DefaultAtomicCounterService();
+    service.set(1);
+
+    Consumer<BackupOutput> fork = service.fork();
+    service.incrementAndGet();
+
+    Buffer buffer = HeapBuffer.allocate();
+    fork.accept(new DefaultBackupOutput(buffer, service.serializer()));
+
+    service = new DefaultAtomicCounterService();
+    service.restore(new DefaultBackupInput(buffer.flip(), service.serializer()));
+
+    long value = service.get();
+    assertEquals(1, value);
+  }
 }
@@ -17,6 +17,7 @@ package io.atomix.core.value.impl;
 
 import io.atomix.core.map.AtomicMapType;
 import io.atomix.primitive.PrimitiveId;
+import io.atomix.primitive.service.BackupOutput;
 import io.atomix.primitive.service.ServiceContext;
 import io.atomix.primitive.service.impl.DefaultBackupInput;
 import io.atomix.primitive.service.impl.DefaultBackupOutput;
@@ -27,6 +28,8 @@ import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.utils.time.WallClock;
 import org.junit.Test;
 
+import java.util.function.Consumer;
+
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
@@ -80,4 +83,30 @@ public class DefaultAtomicValueServiceTest {
     service.set(null);
     assertNull(service.get());
   }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testForkedSnapshot() throws Exception {
+    ServiceContext context = mock(ServiceContext.class);
+    when(context.serviceType()).thenReturn(AtomicMapType.instance());
+    when(context.serviceName()).thenReturn("test");
+    when(context.serviceId()).thenReturn(PrimitiveId.from(1));
+    when(context.wallClock()).thenReturn(new WallClock());
+
+    DefaultAtomicValueService service = new DefaultAtomicValueService();
+    service.init(context);
+
+    service.set("Hello world!".getBytes());
+    Consumer<BackupOutput> fork = service.fork();
+    service.set("Goodbye world!".getBytes());
+
+    Buffer buffer = HeapBuffer.allocate();
+    fork.accept(new DefaultBackupOutput(buffer, service.serializer()));
+    assertArrayEquals("Goodbye world!".getBytes(), service.get());
+
+    service = new DefaultAtomicValueService();
+    service.restore(new DefaultBackupInput(buffer.flip(), service.serializer()));
+
+    assertArrayEquals("Hello world!".getBytes(), service.get());
+  }
 }
@@ -20,6 +20,8 @@ import io.atomix.primitive.session.SessionId;
 import io.atomix.utils.serializer.Serializer;
 import io.atomix.utils.time.WallClockTimestamp;
 
+import java.util.function.Consumer;
+
 /**
  * Base class for user-provided services.
  *
@@ -58,6 +60,20 @@ public interface PrimitiveService {
    */
   void backup(BackupOutput output);
 
+  /**
+   * Forks the service state for a background backup.
+   * <p>
+   * The service state is forked on the service thread, but the returned function may be called on any thread to back
+   * up the forked state while the service continues to apply commits. Services that keep copy-on-write or otherwise
+   * immutable state can override this method so that backups don't block commits. By default, the service cannot be
+   * forked and is backed up on the service thread with {@link #backup(BackupOutput)}.
+   *
+   * @return a function with which to back up the forked state, or {@code null} if the service cannot be forked
+   */
+  default Consumer<BackupOutput> fork() {
+    return null;
+  }
+
   /**
    * Restores the service state from the given buffer.
    *
@@ -24,6 +24,7 @@ import io.atomix.protocols.log.impl.DistributedLogServerContext;
 import io.atomix.protocols.log.protocol.LogEntry;
 import io.atomix.protocols.log.protocol.LogServerProtocol;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.storage.journal.SegmentedJournal;
 import io.atomix.utils.Managed;
 import io.atomix.utils.concurrent.ThreadContextFactory;
@@ -137,6 +138,7 @@ public class DistributedLogServer implements Managed<DistributedLogServer> {
     protected int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
     protected double indexDensity = DEFAULT_INDEX_DENSITY;
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private CompressionType compressionType = CompressionType.NONE;
     protected long maxLogSize = DEFAULT_MAX_LOG_SIZE;
     protected Duration maxLogAge = DEFAULT_MAX_LOG_AGE;
 
@@ -373,6 +375,20 @@ public class DistributedLogServer implements Managed<DistributedLogServer> {
       return this;
     }
 
+    /**
+     * Sets the compression type for committed log segments, returning the builder for method chaining.
+     * <p>
+     * Log segments are always written uncompressed. When compression is enabled, segments in which all entries have
+     * been committed are compressed in the background and decompressed transparently when they're read.
+     *
+     * @param compressionType the compression type for committed log segments
+     * @return The storage builder.
+     */
+    public Builder withCompressionType(CompressionType compressionType) {
+      this.compressionType = checkNotNull(compressionType, "compressionType cannot be null");
+      return this;
+    }
+
     /**
      * Sets the maximum log size.
      *
@@ -425,6 +441,7 @@ public class DistributedLogServer implements Managed<DistributedLogServer> {
           .withMaxEntrySize(maxEntrySize)
           .withIndexDensity(indexDensity)
           .withFlushOnCommit(flushOnCommit)
+          .withCompressionType(compressionType)
           .build();
 
       return new DistributedLogServer(new DistributedLogServerContext(
@@ -16,6 +16,7 @@
 package io.atomix.protocols.log.partition;
 
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.utils.memory.MemorySize;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -35,6 +36,7 @@ public class LogStorageConfig {
   private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
   private long segmentSize = DEFAULT_MAX_SEGMENT_SIZE;
   private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+  private CompressionType compressionType = CompressionType.NONE;
 
   /**
    * Returns the partition storage level.
@@ -116,6 +118,26 @@ public class LogStorageConfig {
     return this;
   }
 
+  /**
+   * Returns the compression type for committed log segments.
+   *
+   * @return the compression type for committed log segments
+   */
+  public CompressionType getCompressionType() {
+    return compressionType;
+  }
+
+  /**
+   * Sets the compression type for committed log segments.
+   *
+   * @param compressionType the compression type for committed log segments
+   * @return the log partition group configuration
+   */
+  public LogStorageConfig setCompressionType(CompressionType compressionType) {
+    this.compressionType = checkNotNull(compressionType);
+    return this;
+  }
+
   /**
    * Returns the partition data directory.
    *
@@ -84,6 +84,7 @@ public class LogPartitionServer implements Managed<LogPartitionServer> {
         .withMaxSegmentSize((int) config.getStorageConfig().getSegmentSize().bytes())
         .withMaxEntrySize((int) config.getStorageConfig().getMaxEntrySize().bytes())
         .withFlushOnCommit(config.getStorageConfig().isFlushOnCommit())
+        .withCompressionType(config.getStorageConfig().getCompressionType())
         .withMaxLogSize(config.getCompactionConfig().getSize().bytes())
         .withMaxLogAge(config.getCompactionConfig().getAge())
         .withThreadContextFactory(threadFactory)
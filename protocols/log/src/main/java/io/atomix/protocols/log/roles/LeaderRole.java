@@ -15,6 +15,8 @@
  */
 package io.atomix.protocols.log.roles;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
@@ -34,6 +36,7 @@ import io.atomix.protocols.log.protocol.ResetRequest;
 import io.atomix.storage.StorageException;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.storage.journal.JournalReader;
+import io.atomix.storage.journal.JournalWriter;
 
 import static io.atomix.protocols.log.DistributedLogServer.Role;
 
@@ -43,6 +46,8 @@ import static io.atomix.protocols.log.DistributedLogServer.Role;
 public class LeaderRole extends LogServerRole {
   private final Replicator replicator;
   private final Map<ConsumerKey, ConsumerSender> consumers = Maps.newHashMap();
+  private final List<LogEntry> pendingEntries = new ArrayList<>();
+  private final List<CompletableFuture<AppendResponse>> pendingAppends = new ArrayList<>();
 
   public LeaderRole(DistributedLogServerContext context) {
     super(Role.LEADER, context);
@@ -61,18 +66,62 @@ public class LeaderRole extends LogServerRole {
   @Override
   public CompletableFuture<AppendResponse> append(AppendRequest request) {
     logRequest(request);
+    CompletableFuture<AppendResponse> future = new CompletableFuture<>();
+    if (pendingEntries.isEmpty()) {
+      context.threadContext().execute(this::appendPending);
+    }
+    pendingEntries.add(new LogEntry(context.currentTerm(), System.currentTimeMillis(), request.value()));
+    pendingAppends.add(future);
+    return future;
+  }
+
+  /**
+   * Appends all pending entries to the journal in a single batch and replicates them.
+   * <p>
+   * Append requests received while handling the requests already queued on the server thread are appended to the
+   * journal together once those requests have been handled.
+   */
+  private void appendPending() {
+    List<LogEntry> entries = new ArrayList<>(pendingEntries);
+    List<CompletableFuture<AppendResponse>> futures = new ArrayList<>(pendingAppends);
+    pendingEntries.clear();
+    pendingAppends.clear();
+    if (entries.isEmpty()) {
+      return;
+    }
+
+    JournalWriter<LogEntry> writer = context.journal().writer();
+    long lastIndex = writer.getLastIndex();
+    int count;
     try {
-      Indexed<LogEntry> entry = context.journal().writer().append(
-          new LogEntry(context.currentTerm(), System.currentTimeMillis(), request.value()));
-      return replicator.replicate(new BackupOperation(
-          entry.index(), entry.entry().term(), entry.entry().timestamp(), entry.entry().value()))
-          .thenApply(v -> {
-            consumers.values().forEach(consumer -> consumer.next());
-            return logResponse(AppendResponse.ok(entry.index()));
-          });
+      count = writer.appendAll(entries).size();
     } catch (StorageException e) {
-      return CompletableFuture.completedFuture(logResponse(AppendResponse.error()));
+      // Entries preceding the entry that failed to append remain in the journal.
+      count = (int) (writer.getLastIndex() - lastIndex);
     }
+
+    for (int i = 0; i < entries.size(); i++) {
+      if (i < count) {
+        replicate(lastIndex + i + 1, entries.get(i), futures.get(i));
+      } else {
+        futures.get(i).complete(logResponse(AppendResponse.error()));
+      }
+    }
+  }
+
+  /**
+   * Replicates an appended entry, completing the given future once the entry has been replicated.
+   */
+  private void replicate(long index, LogEntry entry, CompletableFuture<AppendResponse> future) {
+    replicator.replicate(new BackupOperation(index, entry.term(), entry.timestamp(), entry.value()))
+        .whenComplete((v, error) -> {
+          if (error == null) {
+            consumers.values().forEach(consumer -> consumer.next());
+            future.complete(logResponse(AppendResponse.ok(index)));
+          } else {
+            future.completeExceptionally(error);
+          }
+        });
   }
 
   @Override
@@ -96,6 +145,9 @@ public class LeaderRole extends LogServerRole {
 
   @Override
   public void close() {
+    pendingAppends.forEach(future -> future.complete(logResponse(AppendResponse.error())));
+    pendingEntries.clear();
+    pendingAppends.clear();
     replicator.close();
     consumers.values().forEach(consumer -> consumer.close());
   }
@@ -572,6 +572,8 @@ public interface RaftServer {
     protected PrimitiveTypeRegistry primitiveTypes;
     protected ThreadModel threadModel = DEFAULT_THREAD_MODEL;
     protected int threadPoolSize = DEFAULT_THREAD_POOL_SIZE;
+    protected boolean appendPipelining;
+    protected boolean parallelApply;
     protected ThreadContextFactory threadContextFactory;
 
     protected Builder(MemberId localMemberId) {
@@ -696,6 +698,37 @@ public interface RaftServer {
       return this;
     }
 
+    /**
+     * Sets whether to pipeline append requests to followers.
+     * <p>
+     * By default, the leader sends at most two append requests to each follower at a time. When pipelining is enabled,
+     * the leader sends append requests to each follower until a sliding window of requests and bytes in flight is full,
+     * with the window sized by the round trip time and bandwidth observed for the follower.
+     *
+     * @param appendPipelining whether to pipeline append requests
+     * @return The server builder.
+     */
+    public Builder withAppendPipelining(boolean appendPipelining) {
+      this.appendPipelining = appendPipelining;
+      return this;
+    }
+
+    /**
+     * Sets whether to apply commands to independent services in parallel.
+     * <p>
+     * By default, all committed entries are applied to the state machine on a single thread. When parallel apply is
+     * enabled, commands and queries are applied on an ordered executor per service, so a busy service does not delay
+     * other services in the partition. Session, keep-alive and configuration entries still act as barriers across all
+     * services.
+     *
+     * @param parallelApply whether to apply commands to independent services in parallel
+     * @return The server builder.
+     */
+    public Builder withParallelApply(boolean parallelApply) {
+      this.parallelApply = parallelApply;
+      return this;
+    }
+
     /**
      * Sets the server thread pool size.
      *
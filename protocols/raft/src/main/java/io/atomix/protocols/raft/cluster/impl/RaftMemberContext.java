@@ -29,24 +29,40 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public final class RaftMemberContext {
   private static final int MAX_APPENDS = 2;
   private static final int APPEND_WINDOW_SIZE = 8;
+  private static final int MAX_PIPELINED_APPENDS = 16;
+  private static final int MIN_PIPELINE_WINDOW = 1024 * 32;
+  private static final int MAX_PIPELINE_WINDOW = 1024 * 1024 * 16;
+  private static final int MAX_PIPELINE_BATCH_SIZE = 1024 * 1024;
+  private static final int MAX_INSTALLS = 4;
+  private static final int MIN_SNAPSHOT_CHUNK_SIZE = 1024 * 32;
+  private static final int MAX_SNAPSHOT_CHUNK_SIZE = 1024 * 1024;
   private final DefaultRaftMember member;
   private long term;
   private long configIndex;
   private long snapshotIndex;
   private long nextSnapshotIndex;
   private int nextSnapshotOffset;
+  private int acknowledgedSnapshotOffset;
+  private int nextSnapshotChunk;
+  private int acknowledgedSnapshotChunk;
+  private boolean nextSnapshotComplete;
+  private int snapshotChunkSize = MIN_SNAPSHOT_CHUNK_SIZE;
   private long matchIndex;
-  private long heartbeatTime;
-  private long responseTime;
+  private long heartbeatTime = Long.MIN_VALUE;
+  private long responseTime = Long.MIN_VALUE;
   private int appending;
   private boolean appendSucceeded;
   private long appendTime;
+  private int appendBytes;
+  private int nextAppendBytes;
+  private long appendEpoch;
   private boolean configuring;
-  private boolean installing;
+  private int installing;
   private int failures;
   private long failureTime;
   private volatile RaftLogReader reader;
   private final DescriptiveStatistics timeStats = new DescriptiveStatistics(APPEND_WINDOW_SIZE);
+  private final DescriptiveStatistics bandwidthStats = new DescriptiveStatistics(APPEND_WINDOW_SIZE);
 
   RaftMemberContext(DefaultRaftMember member, RaftClusterContext cluster) {
     this.member = checkNotNull(member, "member cannot be null").setCluster(cluster);
@@ -59,13 +75,22 @@ public final class RaftMemberContext {
     snapshotIndex = 0;
     nextSnapshotIndex = 0;
     nextSnapshotOffset = 0;
+    acknowledgedSnapshotOffset = 0;
+    nextSnapshotChunk = 0;
+    acknowledgedSnapshotChunk = 0;
+    nextSnapshotComplete = false;
+    snapshotChunkSize = MIN_SNAPSHOT_CHUNK_SIZE;
     matchIndex = 0;
-    heartbeatTime = 0;
-    responseTime = 0;
+    heartbeatTime = Long.MIN_VALUE;
+    responseTime = Long.MIN_VALUE;
     appending = 0;
+    appendBytes = 0;
+    nextAppendBytes = 0;
+    appendEpoch++;
     timeStats.clear();
+    bandwidthStats.clear();
     configuring = false;
-    installing = false;
+    installing = 0;
     appendSucceeded = false;
     failures = 0;
     failureTime = 0;
@@ -172,7 +197,7 @@ public final class RaftMemberContext {
   }
 
   /**
-   * Returns the member's snapshot offset.
+   * Returns the byte offset of the next snapshot chunk to send to the member.
    *
    * @return The member's snapshot offset.
    */
@@ -181,7 +206,7 @@ public final class RaftMemberContext {
   }
 
   /**
-   * Sets the member's snapshot offset.
+   * Sets the byte offset of the next snapshot chunk to send to the member.
    *
    * @param nextSnapshotOffset The member's snapshot offset.
    */
@@ -189,6 +214,103 @@ public final class RaftMemberContext {
     this.nextSnapshotOffset = nextSnapshotOffset;
   }
 
+  /**
+   * Returns the snapshot offset up to which the member has acknowledged receipt of the next snapshot.
+   *
+   * @return The member's acknowledged snapshot offset.
+   */
+  public int getAcknowledgedSnapshotOffset() {
+    return acknowledgedSnapshotOffset;
+  }
+
+  /**
+   * Sets the snapshot offset up to which the member has acknowledged receipt of the next snapshot.
+   *
+   * @param acknowledgedSnapshotOffset The member's acknowledged snapshot offset.
+   */
+  public void setAcknowledgedSnapshotOffset(int acknowledgedSnapshotOffset) {
+    this.acknowledgedSnapshotOffset = acknowledgedSnapshotOffset;
+  }
+
+  /**
+   * Returns the index of the next snapshot chunk to send to the member.
+   *
+   * @return The index of the next snapshot chunk to send to the member.
+   */
+  public int getNextSnapshotChunk() {
+    return nextSnapshotChunk;
+  }
+
+  /**
+   * Sets the index of the next snapshot chunk to send to the member.
+   *
+   * @param nextSnapshotChunk The index of the next snapshot chunk to send to the member.
+   */
+  public void setNextSnapshotChunk(int nextSnapshotChunk) {
+    this.nextSnapshotChunk = nextSnapshotChunk;
+  }
+
+  /**
+   * Returns the number of snapshot chunks the member has acknowledged.
+   *
+   * @return The number of snapshot chunks the member has acknowledged.
+   */
+  public int getAcknowledgedSnapshotChunk() {
+    return acknowledgedSnapshotChunk;
+  }
+
+  /**
+   * Sets the number of snapshot chunks the member has acknowledged.
+   *
+   * @param acknowledgedSnapshotChunk The number of snapshot chunks the member has acknowledged.
+   */
+  public void setAcknowledgedSnapshotChunk(int acknowledgedSnapshotChunk) {
+    this.acknowledgedSnapshotChunk = acknowledgedSnapshotChunk;
+  }
+
+  /**
+   * Returns a boolean indicating whether the last chunk of the next snapshot has been sent to the member.
+   *
+   * @return Indicates whether the last chunk of the next snapshot has been sent to the member.
+   */
+  public boolean isNextSnapshotComplete() {
+    return nextSnapshotComplete;
+  }
+
+  /**
+   * Sets whether the last chunk of the next snapshot has been sent to the member.
+   *
+   * @param nextSnapshotComplete Whether the last chunk of the next snapshot has been sent to the member.
+   */
+  public void setNextSnapshotComplete(boolean nextSnapshotComplete) {
+    this.nextSnapshotComplete = nextSnapshotComplete;
+  }
+
+  /**
+   * Returns the size of the next snapshot chunk to send to the member.
+   * <p>
+   * The chunk size grows as chunks are acknowledged by the member and shrinks when install requests fail.
+   *
+   * @return The size of the next snapshot chunk to send to the member.
+   */
+  public int getSnapshotChunkSize() {
+    return snapshotChunkSize;
+  }
+
+  /**
+   * Doubles the snapshot chunk size after a chunk has been acknowledged.
+   */
+  public void increaseSnapshotChunkSize() {
+    snapshotChunkSize = Math.min(snapshotChunkSize * 2, MAX_SNAPSHOT_CHUNK_SIZE);
+  }
+
+  /**
+   * Halves the snapshot chunk size after an install request has failed.
+   */
+  public void decreaseSnapshotChunkSize() {
+    snapshotChunkSize = Math.max(snapshotChunkSize / 2, MIN_SNAPSHOT_CHUNK_SIZE);
+  }
+
   /**
    * Returns the member's match index.
    *
@@ -217,6 +339,89 @@ public final class RaftMemberContext {
     return appending == 0 || (appendSucceeded && appending < MAX_APPENDS && System.currentTimeMillis() - (timeStats.getMean() / MAX_APPENDS) >= appendTime);
   }
 
+  /**
+   * Returns a boolean indicating whether a pipelined append request can be sent to the member.
+   * <p>
+   * Pipelined appends are limited by a sliding window of requests and bytes in flight. The byte window is sized at twice
+   * the bandwidth-delay product observed for the member, so appends can saturate the link without queueing indefinitely.
+   *
+   * @return Indicates whether a pipelined append request can be sent to the member.
+   */
+  public boolean canPipelineAppend() {
+    return appending == 0 || (appendSucceeded && appending < MAX_PIPELINED_APPENDS && appendBytes < getPipelineWindow());
+  }
+
+  /**
+   * Returns the size of the pipeline window in bytes.
+   * <p>
+   * The window is the highest observed delivery rate multiplied by the lowest observed round trip time, doubled to leave
+   * room for variance in response times.
+   *
+   * @return the size of the pipeline window in bytes
+   */
+  public int getPipelineWindow() {
+    if (bandwidthStats.getN() == 0) {
+      return MIN_PIPELINE_WINDOW;
+    }
+    double window = bandwidthStats.getMax() * Math.max(timeStats.getMin(), 1) * 2;
+    return (int) Math.max(MIN_PIPELINE_WINDOW, Math.min(MAX_PIPELINE_WINDOW, window));
+  }
+
+  /**
+   * Returns the maximum size of a pipelined append request in bytes.
+   *
+   * @return the maximum size of a pipelined append request in bytes
+   */
+  public int getPipelineBatchSize() {
+    return Math.max(MIN_PIPELINE_WINDOW, Math.min(MAX_PIPELINE_BATCH_SIZE, getPipelineWindow() / MAX_PIPELINED_APPENDS));
+  }
+
+  /**
+   * Returns the number of bytes in flight to the member.
+   *
+   * @return the number of bytes in flight to the member
+   */
+  public int getAppendBytes() {
+    return appendBytes;
+  }
+
+  /**
+   * Sets the number of entry bytes in the next append request to the member.
+   *
+   * @param nextAppendBytes the number of entry bytes in the next append request
+   */
+  public void setNextAppendBytes(int nextAppendBytes) {
+    this.nextAppendBytes = nextAppendBytes;
+  }
+
+  /**
+   * Returns the number of entry bytes in the next append request to the member.
+   *
+   * @return the number of entry bytes in the next append request
+   */
+  public int getNextAppendBytes() {
+    return nextAppendBytes;
+  }
+
+  /**
+   * Returns the current append epoch.
+   * <p>
+   * The epoch is incremented each time the member's next index is rewound. Responses to requests sent in an earlier
+   * epoch describe log positions that have already been superseded.
+   *
+   * @return the current append epoch
+   */
+  public long getAppendEpoch() {
+    return appendEpoch;
+  }
+
+  /**
+   * Increments the append epoch.
+   */
+  public void nextAppendEpoch() {
+    appendEpoch++;
+  }
+
   /**
    * Returns whether a heartbeat can be sent to the member.
    *
@@ -257,6 +462,16 @@ public final class RaftMemberContext {
     appendTime = System.currentTimeMillis();
   }
 
+  /**
+   * Starts an append request to the member.
+   *
+   * @param bytes The number of entry bytes in the append request.
+   */
+  public void startAppend(int bytes) {
+    startAppend();
+    appendBytes += bytes;
+  }
+
   /**
    * Completes an append request to the member.
    */
@@ -264,6 +479,21 @@ public final class RaftMemberContext {
     appending--;
   }
 
+  /**
+   * Completes an append request to the member, recording the delivery rate of the request.
+   *
+   * @param bytes The number of entry bytes in the append request.
+   * @param bytesInFlight The number of bytes in flight when the request was sent.
+   * @param time The time in milliseconds for the append.
+   */
+  public void completeAppend(int bytes, int bytesInFlight, long time) {
+    completeAppend(time);
+    appendBytes = Math.max(appendBytes - bytes, 0);
+    if (bytes > 0) {
+      bandwidthStats.addValue((double) bytesInFlight / Math.max(time, 1));
+    }
+  }
+
   /**
    * Completes an append request to the member.
    *
@@ -300,28 +530,33 @@ public final class RaftMemberContext {
   /**
    * Returns a boolean indicating whether an install request can be sent to the member.
    *
+   * Multiple install requests may be in flight to the member at once. Once the last chunk of the snapshot has been
+   * sent, no further install requests can be sent until it has been acknowledged.
+   *
    * @return Indicates whether an install request can be sent to the member.
    */
   public boolean canInstall() {
-    return !installing;
+    return installing < MAX_INSTALLS && !nextSnapshotComplete;
   }
 
   /**
    * Starts an install request to the member.
    */
   public void startInstall() {
-    installing = true;
+    installing++;
   }
 
   /**
    * Completes an install request to the member.
    */
   public void completeInstall() {
-    installing = false;
+    installing = Math.max(installing - 1, 0);
   }
 
   /**
    * Returns the member heartbeat time.
+   * <p>
+   * The heartbeat time is the {@link System#nanoTime()} at which the last acknowledged request was sent.
    *
    * @return The member heartbeat time.
    */
@@ -340,6 +575,8 @@ public final class RaftMemberContext {
 
   /**
    * Returns the member response time.
+   * <p>
+   * The response time is the {@link System#nanoTime()} at which the last response was received.
    *
    * @return The member response time.
    */
@@ -404,12 +641,16 @@ public final class RaftMemberContext {
         .add("snapshotIndex", snapshotIndex)
         .add("nextSnapshotIndex", nextSnapshotIndex)
         .add("nextSnapshotOffset", nextSnapshotOffset)
+        .add("acknowledgedSnapshotOffset", acknowledgedSnapshotOffset)
+        .add("nextSnapshotChunk", nextSnapshotChunk)
         .add("matchIndex", matchIndex)
         .add("nextIndex", reader != null ? reader.getNextIndex() : matchIndex + 1)
         .add("heartbeatTime", heartbeatTime)
         .add("appending", appending)
         .add("appendSucceeded", appendSucceeded)
         .add("appendTime", appendTime)
+        .add("appendBytes", appendBytes)
+        .add("appendEpoch", appendEpoch)
         .add("configuring", configuring)
         .add("installing", installing)
         .add("failures", failures)
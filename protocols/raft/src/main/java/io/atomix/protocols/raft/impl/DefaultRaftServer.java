@@ -272,11 +272,14 @@ public class DefaultRaftServer implements RaftServer {
           protocol,
           storage,
           primitiveTypes,
+          threadModel,
           threadContextFactory,
           closeOnStop);
       raft.setElectionTimeout(electionTimeout);
       raft.setHeartbeatInterval(heartbeatInterval);
       raft.setSessionTimeout(sessionTimeout);
+      raft.setAppendPipelining(appendPipelining);
+      raft.setParallelApply(parallelApply);
 
       return new DefaultRaftServer(raft);
     }
@@ -54,12 +54,15 @@ import io.atomix.utils.concurrent.ComposableFuture;
 import io.atomix.utils.concurrent.SingleThreadContext;
 import io.atomix.utils.concurrent.ThreadContext;
 import io.atomix.utils.concurrent.ThreadContextFactory;
+import io.atomix.utils.concurrent.ThreadModel;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArraySet;
@@ -111,10 +114,14 @@ public class RaftContext implements AutoCloseable {
   private Duration electionTimeout = Duration.ofMillis(500);
   private Duration heartbeatInterval = Duration.ofMillis(150);
   private Duration sessionTimeout = Duration.ofMillis(5000);
+  private boolean appendPipelining;
+  private volatile boolean parallelApply;
   private volatile MemberId leader;
   private volatile long term;
   private MemberId lastVotedFor;
   private long commitIndex;
+  private CompletableFuture<Void> commitFuture = CompletableFuture.completedFuture(null);
+  private final Queue<CommitCallback> commitCallbacks = new ArrayDeque<>();
   private volatile long firstCommitIndex;
   private volatile long lastApplied;
 
@@ -128,6 +135,20 @@ public class RaftContext implements AutoCloseable {
       PrimitiveTypeRegistry primitiveTypes,
       ThreadContextFactory threadContextFactory,
       boolean closeOnStop) {
+    this(name, localMemberId, membershipService, protocol, storage, primitiveTypes, ThreadModel.SHARED_THREAD_POOL, threadContextFactory, closeOnStop);
+  }
+
+  @SuppressWarnings("unchecked")
+  public RaftContext(
+      String name,
+      MemberId localMemberId,
+      ClusterMembershipService membershipService,
+      RaftServerProtocol protocol,
+      RaftStorage storage,
+      PrimitiveTypeRegistry primitiveTypes,
+      ThreadModel threadModel,
+      ThreadContextFactory threadContextFactory,
+      boolean closeOnStop) {
     this.name = checkNotNull(name, "name cannot be null");
     this.membershipService = checkNotNull(membershipService, "membershipService cannot be null");
     this.protocol = checkNotNull(protocol, "protocol cannot be null");
@@ -142,12 +163,20 @@ public class RaftContext implements AutoCloseable {
       throw new StorageException("Failed to acquire storage lock; ensure each Raft server is configured with a distinct storage directory");
     }
 
-    String baseThreadName = String.format("raft-server-%s", name);
-    this.threadContext = new SingleThreadContext(namedThreads(baseThreadName, log));
-    this.loadContext = new SingleThreadContext(namedThreads(baseThreadName + "-load", log));
-    this.stateContext = new SingleThreadContext(namedThreads(baseThreadName + "-state", log));
-
     this.threadContextFactory = checkNotNull(threadContextFactory, "threadContextFactory cannot be null");
+
+    // With the shared event loop thread model, the server's contexts are multiplexed onto the event loops of the
+    // thread context factory. The contexts are created consecutively so they're assigned to distinct event loops.
+    if (threadModel == ThreadModel.SHARED_EVENT_LOOP) {
+      this.threadContext = threadContextFactory.createContext();
+      this.loadContext = threadContextFactory.createContext();
+      this.stateContext = threadContextFactory.createContext();
+    } else {
+      String baseThreadName = String.format("raft-server-%s", name);
+      this.threadContext = new SingleThreadContext(namedThreads(baseThreadName, log));
+      this.loadContext = new SingleThreadContext(namedThreads(baseThreadName + "-load", log));
+      this.stateContext = new SingleThreadContext(namedThreads(baseThreadName + "-state", log));
+    }
     this.closeOnStop = closeOnStop;
 
     this.loadMonitor = new LoadMonitor(LOAD_WINDOW_SIZE, HIGH_LOAD_THRESHOLD, loadContext);
@@ -362,6 +391,42 @@ public class RaftContext implements AutoCloseable {
     this.sessionTimeout = checkNotNull(sessionTimeout, "sessionTimeout cannot be null");
   }
 
+  /**
+   * Returns whether append requests are pipelined to followers.
+   *
+   * @return whether append requests are pipelined to followers
+   */
+  public boolean isAppendPipelining() {
+    return appendPipelining;
+  }
+
+  /**
+   * Sets whether append requests are pipelined to followers.
+   *
+   * @param appendPipelining whether append requests are pipelined to followers
+   */
+  public void setAppendPipelining(boolean appendPipelining) {
+    this.appendPipelining = appendPipelining;
+  }
+
+  /**
+   * Returns whether commands are applied to independent services in parallel.
+   *
+   * @return whether commands are applied to independent services in parallel
+   */
+  public boolean isParallelApply() {
+    return parallelApply;
+  }
+
+  /**
+   * Sets whether commands are applied to independent services in parallel.
+   *
+   * @param parallelApply whether commands are applied to independent services in parallel
+   */
+  public void setParallelApply(boolean parallelApply) {
+    this.parallelApply = parallelApply;
+  }
+
   /**
    * Sets the state leader.
    *
@@ -484,7 +549,13 @@ public class RaftContext implements AutoCloseable {
     long previousCommitIndex = this.commitIndex;
     if (commitIndex > previousCommitIndex) {
       this.commitIndex = commitIndex;
-      logWriter.commit(Math.min(commitIndex, logWriter.getLastIndex()));
+      long flushIndex = Math.min(commitIndex, logWriter.getLastIndex());
+      commitFuture = logWriter.commitAsync(flushIndex);
+      commitFuture.whenComplete((result, error) -> {
+        if (error != null) {
+          log.error("Failed to flush committed entries up to index {}", flushIndex, error);
+        }
+      });
       long configurationIndex = cluster.getConfiguration().index();
       if (configurationIndex > previousCommitIndex && configurationIndex <= commitIndex) {
         cluster.commit();
@@ -503,6 +574,53 @@ public class RaftContext implements AutoCloseable {
     return commitIndex;
   }
 
+  /**
+   * Returns a future to be completed on the Raft thread once all committed entries are durable.
+   * <p>
+   * When group commit is enabled, committed entries may not yet have been flushed to disk when the commit index is
+   * updated. Entries must not be applied to the state machine or acknowledged to clients until the commit has
+   * completed. Returned futures are completed in the order in which they're requested, and are completed
+   * exceptionally if the entries could not be flushed. This method must be called on the Raft thread.
+   *
+   * @return a future to be completed once the commit index is durable
+   */
+  public CompletableFuture<Void> awaitCommit() {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (commitFuture.isDone() && commitCallbacks.isEmpty()) {
+      completeCommitCallback(new CommitCallback(commitFuture, future));
+    } else {
+      CompletableFuture<Void> commit = commitFuture;
+      commitCallbacks.add(new CommitCallback(commit, future));
+      commit.whenCompleteAsync((result, error) -> completeCommitCallbacks(), threadContext);
+    }
+    return future;
+  }
+
+  /**
+   * Completes callbacks waiting on completed commits in the order in which they were registered.
+   */
+  private void completeCommitCallbacks() {
+    CommitCallback commitCallback = commitCallbacks.peek();
+    while (commitCallback != null && commitCallback.commit.isDone()) {
+      commitCallbacks.remove();
+      completeCommitCallback(commitCallback);
+      commitCallback = commitCallbacks.peek();
+    }
+  }
+
+  /**
+   * Completes a callback waiting on a completed commit.
+   */
+  private void completeCommitCallback(CommitCallback commitCallback) {
+    commitCallback.commit.whenComplete((result, error) -> {
+      if (error == null) {
+        commitCallback.future.complete(null);
+      } else {
+        commitCallback.future.completeExceptionally(error);
+      }
+    });
+  }
+
   /**
    * Sets the first commit index.
    *
@@ -689,6 +807,7 @@ public class RaftContext implements AutoCloseable {
     protocol.registerReconfigureHandler(request -> runOnContext(() -> role.onReconfigure(request)));
     protocol.registerLeaveHandler(request -> runOnContext(() -> role.onLeave(request)));
     protocol.registerTransferHandler(request -> runOnContext(() -> role.onTransfer(request)));
+    protocol.registerReadIndexHandler(request -> runOnContext(() -> role.onReadIndex(request)));
     protocol.registerAppendHandler(request -> runOnContext(() -> role.onAppend(request)));
     protocol.registerPollHandler(request -> runOnContext(() -> role.onPoll(request)));
     protocol.registerVoteHandler(request -> runOnContext(() -> role.onVote(request)));
@@ -736,6 +855,7 @@ public class RaftContext implements AutoCloseable {
     protocol.unregisterReconfigureHandler();
     protocol.unregisterLeaveHandler();
     protocol.unregisterTransferHandler();
+    protocol.unregisterReadIndexHandler();
     protocol.unregisterAppendHandler();
     protocol.unregisterPollHandler();
     protocol.unregisterVoteHandler();
@@ -937,4 +1057,17 @@ public class RaftContext implements AutoCloseable {
     READY,
   }
 
+  /**
+   * Callback waiting on a commit to be flushed to disk.
+   */
+  private static class CommitCallback {
+    private final CompletableFuture<Void> commit;
+    private final CompletableFuture<Void> future;
+
+    CommitCallback(CompletableFuture<Void> commit, CompletableFuture<Void> future) {
+      this.commit = commit;
+      this.future = future;
+    }
+  }
+
 }
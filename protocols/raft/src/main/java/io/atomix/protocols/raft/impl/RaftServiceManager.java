@@ -15,6 +15,7 @@
  */
 package io.atomix.protocols.raft.impl;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.google.common.primitives.Longs;
 import io.atomix.cluster.MemberId;
@@ -39,10 +40,12 @@ import io.atomix.protocols.raft.storage.log.entry.MetadataEntry;
 import io.atomix.protocols.raft.storage.log.entry.OpenSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
+import io.atomix.protocols.raft.storage.log.entry.SessionEntry;
 import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.utils.AtomixIOException;
 import io.atomix.utils.concurrent.ComposableFuture;
@@ -58,12 +61,19 @@ import io.atomix.utils.time.WallClockTimestamp;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -84,12 +94,19 @@ public class RaftServiceManager implements AutoCloseable {
   private final RaftContext raft;
   private final ThreadContext stateContext;
   private final ThreadContextFactory threadContextFactory;
+  private final ThreadContext snapshotContext;
   private final RaftLog log;
   private final RaftLogReader reader;
   private final Map<Long, CompletableFuture> futures = Maps.newHashMap();
+  private final Map<PrimitiveId, ThreadContext> serviceContexts = Maps.newHashMap();
+  private final Queue<PendingApply> pendingApplies = new ArrayDeque<>();
+  private final NavigableSet<Long> applyingIndexes = new ConcurrentSkipListSet<>();
+  private int parallelApplies;
   private volatile CompletableFuture<Void> compactFuture;
+  private volatile Map<PrimitiveId, ServiceSnapshot> serviceSnapshots = Collections.emptyMap();
   private long lastEnqueued;
   private long lastCompacted;
+  private long lastCompleted;
 
   public RaftServiceManager(RaftContext raft, ThreadContext stateContext, ThreadContextFactory threadContextFactory) {
     this.raft = checkNotNull(raft, "state cannot be null");
@@ -97,6 +114,7 @@ public class RaftServiceManager implements AutoCloseable {
     this.reader = log.openReader(1, RaftLogReader.Mode.COMMITS);
     this.stateContext = stateContext;
     this.threadContextFactory = threadContextFactory;
+    this.snapshotContext = threadContextFactory.createContext();
     this.logger = ContextualLoggerFactory.getLogger(getClass(), LoggerContext.builder(RaftServer.class)
         .addValue(raft.getName())
         .build());
@@ -113,6 +131,19 @@ public class RaftServiceManager implements AutoCloseable {
     return stateContext;
   }
 
+  /**
+   * Returns the thread context on which entries are applied to the given service.
+   * <p>
+   * When entries are applied in parallel, each service is applied on its own ordered context. Otherwise, all services
+   * are applied on the service thread context. This method must be called on the service thread context.
+   *
+   * @param service the service for which to return the thread context
+   * @return the thread context on which entries are applied to the given service
+   */
+  public ThreadContext executor(RaftServiceContext service) {
+    return raft.isParallelApply() ? getServiceContext(service) : stateContext;
+  }
+
   /**
    * Returns a boolean indicating whether the node is running out of disk space.
    */
@@ -128,7 +159,7 @@ public class RaftServiceManager implements AutoCloseable {
    */
   private boolean isRunningOutOfMemory() {
     StorageLevel level = raft.getStorage().storageLevel();
-    if (level == StorageLevel.MEMORY || level == StorageLevel.MAPPED) {
+    if (level == StorageLevel.MEMORY || level == StorageLevel.MAPPED || level == StorageLevel.TIERED) {
       long freeMemory = raft.getStorage().statistics().getFreeMemory();
       long totalMemory = raft.getStorage().statistics().getTotalMemory();
       if (freeMemory > 0 && totalMemory > 0) {
@@ -233,13 +264,13 @@ public class RaftServiceManager implements AutoCloseable {
    */
   private CompletableFuture<Snapshot> takeSnapshots() {
     ComposableFuture<Snapshot> future = new ComposableFuture<>();
-    stateContext.execute(() -> {
+    stateContext.execute(() -> executeExclusive(() -> {
       try {
-        future.complete(snapshot());
+        snapshot().whenComplete(future);
       } catch (Exception e) {
         future.completeExceptionally(e);
       }
-    });
+    }));
     return future;
   }
 
@@ -314,12 +345,15 @@ public class RaftServiceManager implements AutoCloseable {
    * Applies all commits up to the given index.
    * <p>
    * Calls to this method are assumed not to expect a result. This allows some optimizations to be made internally since
-   * linearizable events don't have to be waited to complete the command.
+   * linearizable events don't have to be waited to complete the command. The returned future is completed on the Raft
+   * thread once all entries up to the given index have been submitted to the state machine, so operations submitted
+   * to the state machine from its callbacks are applied after those entries.
    *
    * @param index The index up to which to apply commits.
+   * @return A completable future to be completed once entries up to the index have been submitted to the state machine.
    */
-  public void applyAll(long index) {
-    enqueueBatch(index);
+  public CompletableFuture<Void> applyAll(long index) {
+    return enqueueBatch(index);
   }
 
   /**
@@ -340,12 +374,45 @@ public class RaftServiceManager implements AutoCloseable {
 
   /**
    * Applies all entries up to the given index.
+   * <p>
+   * Entries are not enqueued until the commit index has been flushed to disk to ensure committed entries are
+   * durable before they're applied to the state machine and results are returned to clients. If the flush fails,
+   * the entries are not applied and operations waiting on them are failed.
    *
    * @param index the index up to which to apply entries
+   * @return a future to be completed once entries up to the index have been submitted to the state machine
+   */
+  private CompletableFuture<Void> enqueueBatch(long index) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    raft.awaitCommit().whenComplete((result, error) -> {
+      if (error == null) {
+        while (lastEnqueued < index) {
+          enqueueIndex(++lastEnqueued);
+        }
+        // Indexes are applied by tasks on the Raft thread, so complete the future once those tasks have run.
+        raft.getThreadContext().execute(() -> future.complete(null));
+      } else {
+        failBatch(index, error);
+        future.completeExceptionally(error);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Fails operations waiting on entries up to the given index that could not be made durable.
+   *
+   * @param index the index up to which to fail operations
+   * @param error the flush error
    */
-  private void enqueueBatch(long index) {
-    while (lastEnqueued < index) {
-      enqueueIndex(++lastEnqueued);
+  private void failBatch(long index, Throwable error) {
+    Iterator<Map.Entry<Long, CompletableFuture>> iterator = futures.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<Long, CompletableFuture> entry = iterator.next();
+      if (entry.getKey() <= index) {
+        iterator.remove();
+        entry.getValue().completeExceptionally(new RaftException.Unavailable(error));
+      }
     }
   }
 
@@ -375,8 +442,11 @@ public class RaftServiceManager implements AutoCloseable {
           throw new IllegalStateException("inconsistent index applying entry " + index + ": " + entry);
         }
         CompletableFuture future = futures.remove(index);
+        if (raft.isParallelApply()) {
+          startIndex(index);
+        }
         apply(entry).whenComplete((r, e) -> {
-          raft.setLastApplied(index);
+          completeIndex(index);
           if (future != null) {
             if (e == null) {
               future.complete(r);
@@ -397,6 +467,35 @@ public class RaftServiceManager implements AutoCloseable {
     }
   }
 
+  /**
+   * Records that the entry at the given index is being applied in parallel with other entries.
+   *
+   * @param index the index of the entry being applied
+   */
+  @VisibleForTesting
+  void startIndex(long index) {
+    applyingIndexes.add(index);
+  }
+
+  /**
+   * Updates the last applied index once the entry at the given index has been applied.
+   * <p>
+   * When entries are applied in parallel, they may complete out of order. The last applied index is then the highest
+   * completed index below the lowest index that is still being applied.
+   *
+   * @param index the index of the applied entry
+   */
+  @VisibleForTesting
+  synchronized void completeIndex(long index) {
+    applyingIndexes.remove(index);
+    lastCompleted = Math.max(lastCompleted, index);
+    if (applyingIndexes.isEmpty()) {
+      raft.setLastApplied(lastCompleted);
+    } else {
+      raft.setLastApplied(Math.min(applyingIndexes.first() - 1, lastCompleted));
+    }
+  }
+
   /**
    * Applies an entry to the state machine.
    * <p>
@@ -406,78 +505,312 @@ public class RaftServiceManager implements AutoCloseable {
    * @param entry The entry to apply.
    * @return A completable future to be completed with the result.
    */
-  @SuppressWarnings("unchecked")
   public <T> CompletableFuture<T> apply(Indexed<? extends RaftLogEntry> entry) {
     CompletableFuture<T> future = new CompletableFuture<>();
     stateContext.execute(() -> {
+      if (raft.isParallelApply()) {
+        enqueueApply(new PendingApply(entry, future, null));
+      } else {
+        applyEntry(entry, future);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Runs a task that requires exclusive access to all services.
+   * <p>
+   * When entries are applied in parallel, the task is run once all commands and queries that precede it have been
+   * applied and before any that follow it. This method must be called on the state thread.
+   *
+   * @param task the task to run
+   */
+  private void executeExclusive(Runnable task) {
+    if (raft.isParallelApply()) {
+      enqueueApply(new PendingApply(null, null, task));
+    } else {
+      task.run();
+    }
+  }
+
+  /**
+   * Enqueues an entry or task to be applied in order.
+   *
+   * @param apply the entry or task to apply
+   */
+  private void enqueueApply(PendingApply apply) {
+    pendingApplies.add(apply);
+    drainApplies();
+  }
+
+  /**
+   * Applies pending entries and tasks until a barrier is reached while entries are being applied to services.
+   */
+  private void drainApplies() {
+    PendingApply apply = pendingApplies.peek();
+    while (apply != null && (parallelApplies == 0 || !apply.isBarrier())) {
+      pendingApplies.remove();
+      apply.run();
+      apply = pendingApplies.peek();
+    }
+  }
+
+  /**
+   * Applies a command or query on the ordered context of the service to which it belongs.
+   *
+   * @param entry the command or query entry
+   * @param future the future to complete with the result
+   */
+  @SuppressWarnings("unchecked")
+  private <T> void applyService(Indexed<? extends RaftLogEntry> entry, CompletableFuture<T> future) {
+    // Skip commands that are already contained in the current snapshot.
+    if (entry.type() == CommandEntry.class) {
+      Snapshot snapshot = raft.getSnapshotStore().getCurrentSnapshot();
+      if (snapshot != null && snapshot.index() >= entry.index()) {
+        future.complete(null);
+        return;
+      }
+    }
+
+    // If the session is unknown, apply the entry on the state thread to fail it.
+    RaftSession session = raft.getSessions().getSession(((SessionEntry) entry.entry()).session());
+    if (session == null) {
+      applyEntry(entry, future);
+      return;
+    }
+
+    parallelApplies++;
+    getServiceContext(session.getService()).execute(() -> {
       logger.trace("Applying {}", entry);
-      try {
-        if (entry.type() == QueryEntry.class) {
-          applyQuery(entry.cast()).whenComplete((r, e) -> {
-            if (e != null) {
-              future.completeExceptionally(e);
-            } else {
-              future.complete((T) r);
-            }
-          });
-        } else {
-          // Get the current snapshot. If the snapshot is for a higher index then skip this operation.
-          // If the snapshot is for the prior index, install it.
-          Snapshot snapshot = raft.getSnapshotStore().getCurrentSnapshot();
-          if (snapshot != null) {
-            if (snapshot.index() >= entry.index()) {
-              future.complete(null);
-              return;
-            } else if (snapshot.index() == entry.index() - 1) {
-              install(snapshot);
-            }
+      if (entry.type() == CommandEntry.class) {
+        OperationResult result = null;
+        Throwable error = null;
+        try {
+          result = applyCommand(entry.cast());
+        } catch (Exception e) {
+          error = e;
+        }
+        completeService(future, (T) result, error);
+      } else {
+        // Queries may wait for later commands to be applied, so only the synchronous part of the query
+        // prevents barriers from being applied.
+        CompletableFuture<OperationResult> queryFuture;
+        try {
+          queryFuture = applyQuery(entry.cast());
+        } catch (Exception e) {
+          queryFuture = Futures.exceptionalFuture(e);
+        }
+        completeService(null, null, null);
+        queryFuture.whenComplete((r, e) -> {
+          if (e == null) {
+            future.complete((T) r);
+          } else {
+            future.completeExceptionally(e);
           }
+        });
+      }
+    });
+  }
 
-          if (entry.type() == CommandEntry.class) {
-            future.complete((T) applyCommand(entry.cast()));
-          } else if (entry.type() == OpenSessionEntry.class) {
-            future.complete((T) (Long) applyOpenSession(entry.cast()));
-          } else if (entry.type() == KeepAliveEntry.class) {
-            future.complete((T) applyKeepAlive(entry.cast()));
-          } else if (entry.type() == CloseSessionEntry.class) {
-            applyCloseSession(entry.cast());
-            future.complete(null);
-          } else if (entry.type() == MetadataEntry.class) {
-            future.complete((T) applyMetadata(entry.cast()));
-          } else if (entry.type() == InitializeEntry.class) {
-            future.complete((T) applyInitialize(entry.cast()));
-          } else if (entry.type() == ConfigurationEntry.class) {
-            future.complete((T) applyConfiguration(entry.cast()));
+  /**
+   * Completes an entry applied on a service context and applies any pending entries.
+   */
+  private <T> void completeService(CompletableFuture<T> future, T result, Throwable error) {
+    stateContext.execute(() -> {
+      parallelApplies--;
+      if (future != null) {
+        if (error == null) {
+          future.complete(result);
+        } else {
+          future.completeExceptionally(error);
+        }
+      }
+      drainApplies();
+    });
+  }
+
+  /**
+   * Returns the ordered context on which to apply entries to the given service.
+   */
+  private ThreadContext getServiceContext(RaftServiceContext service) {
+    return serviceContexts.computeIfAbsent(service.serviceId(), id -> threadContextFactory.createContext());
+  }
+
+  /**
+   * Closes the context on which entries are applied to the given service.
+   */
+  private void closeServiceContext(RaftServiceContext service) {
+    ThreadContext context = serviceContexts.remove(service.serviceId());
+    if (context != null) {
+      context.close();
+    }
+  }
+
+  /**
+   * Applies an entry to the state machine on the state thread.
+   *
+   * @param entry The entry to apply.
+   * @param future A completable future to be completed with the result.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> void applyEntry(Indexed<? extends RaftLogEntry> entry, CompletableFuture<T> future) {
+    logger.trace("Applying {}", entry);
+    try {
+      if (entry.type() == QueryEntry.class) {
+        applyQuery(entry.cast()).whenComplete((r, e) -> {
+          if (e != null) {
+            future.completeExceptionally(e);
           } else {
-            future.completeExceptionally(new RaftException.ProtocolException("Unknown entry type"));
+            future.complete((T) r);
+          }
+        });
+      } else {
+        // Get the current snapshot. If the snapshot is for a higher index then skip this operation.
+        // If the snapshot is for the prior index, install it.
+        Snapshot snapshot = raft.getSnapshotStore().getCurrentSnapshot();
+        if (snapshot != null) {
+          if (snapshot.index() >= entry.index()) {
+            future.complete(null);
+            return;
+          } else if (snapshot.index() == entry.index() - 1) {
+            install(snapshot);
           }
         }
-      } catch (Exception e) {
-        future.completeExceptionally(e);
+
+        if (entry.type() == CommandEntry.class) {
+          future.complete((T) applyCommand(entry.cast()));
+        } else if (entry.type() == OpenSessionEntry.class) {
+          future.complete((T) (Long) applyOpenSession(entry.cast()));
+        } else if (entry.type() == KeepAliveEntry.class) {
+          future.complete((T) applyKeepAlive(entry.cast()));
+        } else if (entry.type() == CloseSessionEntry.class) {
+          applyCloseSession(entry.cast());
+          future.complete(null);
+        } else if (entry.type() == MetadataEntry.class) {
+          future.complete((T) applyMetadata(entry.cast()));
+        } else if (entry.type() == InitializeEntry.class) {
+          future.complete((T) applyInitialize(entry.cast()));
+        } else if (entry.type() == ConfigurationEntry.class) {
+          future.complete((T) applyConfiguration(entry.cast()));
+        } else {
+          future.completeExceptionally(new RaftException.ProtocolException("Unknown entry type"));
+        }
       }
-    });
-    return future;
+    } catch (Exception e) {
+      future.completeExceptionally(e);
+    }
   }
 
   /**
    * Takes snapshots for the given index.
+   * <p>
+   * Services are snapshotted incrementally. A service that has not changed since it was written to the current
+   * snapshot is copied from the current snapshot rather than serialized again. Services that can fork their state are
+   * forked on the state thread and written to the snapshot in the background along with the copied services, so
+   * only services that cannot be forked block the state thread.
+   *
+   * @return a future to be completed once the snapshot has been written
    */
-  Snapshot snapshot() {
+  CompletableFuture<Snapshot> snapshot() {
+    Snapshot previous = raft.getSnapshotStore().getCurrentSnapshot();
+    Map<PrimitiveId, ServiceSnapshot> previousSnapshots = serviceSnapshots;
+    Map<PrimitiveId, ServiceSnapshot> snapshots = Maps.newHashMap();
+    List<Runnable> backgroundSnapshots = new ArrayList<>();
+
     Snapshot snapshot = raft.getSnapshotStore().newSnapshot(raft.getLastApplied(), new WallClockTimestamp());
-    try (SnapshotWriter writer = snapshot.openWriter()) {
+    SnapshotWriter writer = snapshot.openWriter();
+    SnapshotReader reader = null;
+    try {
+      int start = writer.buffer().position();
       for (RaftServiceContext service : raft.getServices()) {
-        writer.buffer().mark();
-        SnapshotWriter serviceWriter = new SnapshotWriter(writer.buffer().writeInt(0).slice(), writer.snapshot());
-        snapshotService(serviceWriter, service);
-        int length = serviceWriter.buffer().position();
-        writer.buffer().reset().writeInt(length).skip(length);
+        PrimitiveId serviceId = service.serviceId();
+        long serviceIndex = service.currentIndex();
+
+        // If the service has not changed since it was written to the current snapshot, copy it from that snapshot.
+        ServiceSnapshot previousSnapshot = previousSnapshots.get(serviceId);
+        if (previous != null && previousSnapshot != null
+            && previousSnapshot.snapshot == previous
+            && previousSnapshot.serviceIndex == serviceIndex) {
+          if (reader == null) {
+            reader = previous.openReader();
+          }
+          Buffer buffer = reader.buffer();
+          int offset = buffer.position() + previousSnapshot.offset;
+          backgroundSnapshots.add(() -> snapshots.put(serviceId, writeService(writer, start, serviceIndex,
+              serviceWriter -> serviceWriter.write(buffer.slice(offset, previousSnapshot.length)))));
+          continue;
+        }
+
+        // If the service state can be forked, write the forked state in the background.
+        Consumer<SnapshotWriter> fork = forkService(snapshot, service);
+        if (fork != null) {
+          backgroundSnapshots.add(() -> snapshots.put(serviceId, writeService(writer, start, serviceIndex, fork)));
+        } else {
+          snapshots.put(serviceId, writeService(writer, start, serviceIndex,
+              serviceWriter -> snapshotService(serviceWriter, service)));
+        }
       }
     } catch (Exception e) {
-      snapshot.close();
+      closeSnapshot(snapshot, writer, reader);
       logger.error("Failed to snapshot services", e);
       throw e;
     }
-    return snapshot;
+
+    if (backgroundSnapshots.isEmpty()) {
+      writer.close();
+      serviceSnapshots = snapshots;
+      return CompletableFuture.completedFuture(snapshot);
+    }
+
+    SnapshotReader previousReader = reader;
+    CompletableFuture<Snapshot> future = new CompletableFuture<>();
+    snapshotContext.execute(() -> {
+      try {
+        backgroundSnapshots.forEach(Runnable::run);
+        writer.close();
+        if (previousReader != null) {
+          previousReader.close();
+        }
+        serviceSnapshots = snapshots;
+        future.complete(snapshot);
+      } catch (Exception e) {
+        closeSnapshot(snapshot, writer, previousReader);
+        logger.error("Failed to snapshot services", e);
+        future.completeExceptionally(e);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Writes a service section to the given snapshot writer.
+   *
+   * @param writer the snapshot writer
+   * @param start the position at which the writer was opened
+   * @param serviceIndex the index of the service state being written
+   * @param section the function with which to write the service section
+   * @return the location of the service in the snapshot
+   */
+  private ServiceSnapshot writeService(
+      SnapshotWriter writer, int start, long serviceIndex, Consumer<SnapshotWriter> section) {
+    writer.buffer().mark();
+    SnapshotWriter serviceWriter = new SnapshotWriter(writer.buffer().writeInt(0).slice(), writer.snapshot());
+    int offset = writer.buffer().position() - start;
+    section.accept(serviceWriter);
+    int length = serviceWriter.buffer().position();
+    writer.buffer().reset().writeInt(length).skip(length);
+    return new ServiceSnapshot(writer.snapshot(), serviceIndex, offset, length);
+  }
+
+  /**
+   * Closes a failed snapshot.
+   */
+  private void closeSnapshot(Snapshot snapshot, SnapshotWriter writer, SnapshotReader reader) {
+    writer.close();
+    if (reader != null) {
+      reader.close();
+    }
+    snapshot.close();
   }
 
   /**
@@ -487,11 +820,7 @@ public class RaftServiceManager implements AutoCloseable {
    * @param service the service to snapshot
    */
   private void snapshotService(SnapshotWriter writer, RaftServiceContext service) {
-    writer.writeLong(service.serviceId().id());
-    writer.writeString(service.serviceType().name());
-    writer.writeString(service.serviceName());
-    byte[] config = Serializer.using(service.serviceType().namespace()).encode(service.serviceConfig());
-    writer.writeInt(config.length).writeBytes(config);
+    writeServiceHeader(writer, service);
     try {
       service.takeSnapshot(writer);
     } catch (Exception e) {
@@ -499,6 +828,49 @@ public class RaftServiceManager implements AutoCloseable {
     }
   }
 
+  /**
+   * Forks a snapshot of the given service.
+   *
+   * @param snapshot the snapshot being taken
+   * @param service the service to snapshot
+   * @return a function with which to write the forked service, or {@code null} if the service cannot be forked
+   */
+  private Consumer<SnapshotWriter> forkService(Snapshot snapshot, RaftServiceContext service) {
+    Consumer<SnapshotWriter> fork;
+    try {
+      fork = service.forkSnapshot(snapshot);
+    } catch (Exception e) {
+      logger.error("Failed to fork snapshot of service {}", service.serviceId(), e);
+      return null;
+    }
+
+    if (fork == null) {
+      return null;
+    }
+    return writer -> {
+      writeServiceHeader(writer, service);
+      try {
+        fork.accept(writer);
+      } catch (Exception e) {
+        logger.error("Failed to take snapshot of service {}", service.serviceId(), e);
+      }
+    };
+  }
+
+  /**
+   * Writes the header identifying the given service to a snapshot.
+   *
+   * @param writer the snapshot writer
+   * @param service the service being snapshotted
+   */
+  private void writeServiceHeader(SnapshotWriter writer, RaftServiceContext service) {
+    writer.writeLong(service.serviceId().id());
+    writer.writeString(service.serviceType().name());
+    writer.writeString(service.serviceName());
+    byte[] config = Serializer.using(service.serviceType().namespace()).encode(service.serviceConfig());
+    writer.writeInt(config.length).writeBytes(config);
+  }
+
   /**
    * Prepares sessions for the given index.
    *
@@ -751,6 +1123,7 @@ public class RaftServiceManager implements AutoCloseable {
     if (entry.entry().delete()) {
       raft.getServices().unregisterService(service);
       service.close();
+      closeServiceContext(service);
     }
   }
 
@@ -865,5 +1238,71 @@ public class RaftServiceManager implements AutoCloseable {
   @Override
   public void close() {
     // Don't close the thread context here since state machines can be reused.
+    snapshotContext.close();
+    serviceContexts.values().forEach(ThreadContext::close);
+  }
+
+  /**
+   * Entry or task pending application while entries are applied in parallel.
+   */
+  private final class PendingApply {
+    private final Indexed<? extends RaftLogEntry> entry;
+    private final CompletableFuture future;
+    private final Runnable task;
+
+    PendingApply(Indexed<? extends RaftLogEntry> entry, CompletableFuture future, Runnable task) {
+      this.entry = entry;
+      this.future = future;
+      this.task = task;
+    }
+
+    /**
+     * Returns whether the entry or task requires exclusive access to all services.
+     * <p>
+     * Commands and queries are applied to a single service unless a command must first install a snapshot.
+     * All other entries and tasks may access multiple services and sessions and thus act as barriers.
+     */
+    boolean isBarrier() {
+      if (task != null) {
+        return true;
+      } else if (entry.type() == QueryEntry.class) {
+        return false;
+      } else if (entry.type() == CommandEntry.class) {
+        Snapshot snapshot = raft.getSnapshotStore().getCurrentSnapshot();
+        return snapshot != null && snapshot.index() == entry.index() - 1;
+      }
+      return true;
+    }
+
+    /**
+     * Applies the entry or runs the task.
+     */
+    @SuppressWarnings("unchecked")
+    void run() {
+      if (task != null) {
+        task.run();
+      } else if (isBarrier()) {
+        applyEntry(entry, future);
+      } else {
+        applyService(entry, future);
+      }
+    }
+  }
+
+  /**
+   * Location of a service's state in a snapshot.
+   */
+  private static class ServiceSnapshot {
+    private final Snapshot snapshot;
+    private final long serviceIndex;
+    private final int offset;
+    private final int length;
+
+    ServiceSnapshot(Snapshot snapshot, long serviceIndex, int offset, int length) {
+      this.snapshot = snapshot;
+      this.serviceIndex = serviceIndex;
+      this.offset = offset;
+      this.length = length;
+    }
   }
 }
@@ -22,9 +22,11 @@ import io.atomix.primitive.partition.PartitionManagementService;
 import io.atomix.primitive.partition.PartitionMetadata;
 import io.atomix.protocols.raft.RaftServer.Role;
 import io.atomix.protocols.raft.partition.impl.RaftClientCommunicator;
+import io.atomix.protocols.raft.partition.impl.RaftHeartbeatMultiplexer;
 import io.atomix.protocols.raft.partition.impl.RaftNamespaces;
 import io.atomix.protocols.raft.partition.impl.RaftPartitionClient;
 import io.atomix.protocols.raft.partition.impl.RaftPartitionServer;
+import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.concurrent.ThreadContextFactory;
 import io.atomix.utils.serializer.Serializer;
 
@@ -47,20 +49,31 @@ public class RaftPartition implements Partition {
   private final RaftPartitionGroupConfig config;
   private final File dataDirectory;
   private final ThreadContextFactory threadContextFactory;
+  private final RaftHeartbeatMultiplexer heartbeatMultiplexer;
   private final Set<Consumer<Role>> deferredRoleChangeListeners = new CopyOnWriteArraySet<>();
   private PartitionMetadata partition;
   private RaftPartitionClient client;
-  private RaftPartitionServer server;
+  private volatile RaftPartitionServer server;
 
   public RaftPartition(
       PartitionId partitionId,
       RaftPartitionGroupConfig config,
       File dataDirectory,
       ThreadContextFactory threadContextFactory) {
+    this(partitionId, config, dataDirectory, threadContextFactory, null);
+  }
+
+  public RaftPartition(
+      PartitionId partitionId,
+      RaftPartitionGroupConfig config,
+      File dataDirectory,
+      ThreadContextFactory threadContextFactory,
+      RaftHeartbeatMultiplexer heartbeatMultiplexer) {
     this.partitionId = partitionId;
     this.config = config;
     this.dataDirectory = dataDirectory;
     this.threadContextFactory = threadContextFactory;
+    this.heartbeatMultiplexer = heartbeatMultiplexer;
   }
 
   @Override
@@ -138,6 +151,29 @@ public class RaftPartition implements Partition {
     return CompletableFuture.completedFuture(null);
   }
 
+  /**
+   * Returns whether the local member is the leader of the partition.
+   *
+   * @return whether the local member is the leader of the partition
+   */
+  public boolean isLeader() {
+    RaftPartitionServer server = this.server;
+    return server != null && server.isLeader();
+  }
+
+  /**
+   * Requests that leadership of the partition be transferred to the local member.
+   *
+   * @return a future to be completed once the local member has been promoted
+   */
+  public CompletableFuture<Void> promote() {
+    RaftPartitionServer server = this.server;
+    if (server != null) {
+      return server.promote();
+    }
+    return Futures.exceptionalFuture(new IllegalStateException("Not a member of the partition"));
+  }
+
   @Override
   public RaftPartitionClient getClient() {
     return client;
@@ -207,7 +243,8 @@ public class RaftPartition implements Partition {
         managementService.getMembershipService(),
         managementService.getMessagingService(),
         managementService.getPrimitiveTypes(),
-        threadContextFactory);
+        threadContextFactory,
+        heartbeatMultiplexer);
   }
 
   private void initServer(final PartitionManagementService managementService) {
@@ -34,15 +34,20 @@ import io.atomix.primitive.protocol.ProxyProtocol;
 import io.atomix.protocols.raft.MultiRaftProtocol;
 import io.atomix.protocols.raft.RaftClient;
 import io.atomix.protocols.raft.impl.DefaultRaftClient;
+import io.atomix.protocols.raft.partition.impl.RaftHeartbeatMultiplexer;
+import io.atomix.protocols.raft.partition.impl.RaftLeaderBalancer;
+import io.atomix.protocols.raft.partition.impl.RaftNamespaces;
 import io.atomix.storage.StorageLevel;
 import io.atomix.utils.concurrent.BlockingAwareThreadPoolContextFactory;
 import io.atomix.utils.concurrent.Futures;
 import io.atomix.utils.concurrent.ThreadContextFactory;
+import io.atomix.utils.concurrent.ThreadModel;
 import io.atomix.utils.logging.ContextualLoggerFactory;
 import io.atomix.utils.logging.LoggerContext;
 import io.atomix.utils.memory.MemorySize;
 import io.atomix.utils.serializer.Namespace;
 import io.atomix.utils.serializer.Namespaces;
+import io.atomix.utils.serializer.Serializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -98,6 +103,7 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
           .register(RaftStorageConfig.class)
           .register(RaftCompactionConfig.class)
           .register(StorageLevel.class)
+          .register(ThreadModel.class)
           .build();
     }
 
@@ -116,7 +122,8 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
 
   private static Collection<RaftPartition> buildPartitions(
       RaftPartitionGroupConfig config,
-      ThreadContextFactory threadContextFactory) {
+      ThreadContextFactory threadContextFactory,
+      RaftHeartbeatMultiplexer heartbeatMultiplexer) {
     File partitionsDir = new File(config.getStorageConfig().getDirectory(config.getName()), "partitions");
     List<RaftPartition> partitions = new ArrayList<>(config.getPartitions());
     for (int i = 0; i < config.getPartitions(); i++) {
@@ -124,7 +131,8 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
           PartitionId.from(config.getName(), i + 1),
           config,
           new File(partitionsDir, String.valueOf(i + 1)),
-          threadContextFactory));
+          threadContextFactory,
+          heartbeatMultiplexer));
     }
     return partitions;
   }
@@ -135,6 +143,8 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
   private final RaftPartitionGroupConfig config;
   private final int partitionSize;
   private final ThreadContextFactory threadContextFactory;
+  private final RaftHeartbeatMultiplexer heartbeatMultiplexer;
+  private final RaftLeaderBalancer leaderBalancer;
   private final Map<PartitionId, RaftPartition> partitions = Maps.newConcurrentMap();
   private final List<PartitionId> sortedPartitionIds = Lists.newCopyOnWriteArrayList();
   private Collection<PartitionMetadata> metadata;
@@ -149,16 +159,34 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
     this.config = config;
     this.partitionSize = config.getPartitionSize();
 
-    int threadPoolSize = Math.max(Math.min(Runtime.getRuntime().availableProcessors() * 2, 16), 4);
-    this.threadContextFactory = new BlockingAwareThreadPoolContextFactory(
-        "raft-partition-group-" + name + "-%d", threadPoolSize, log);
+    if (config.getThreadModel() == ThreadModel.SHARED_EVENT_LOOP) {
+      // Each partition's Raft contexts are assigned to distinct event loops, so at least three are required.
+      int eventLoops = Math.max(Runtime.getRuntime().availableProcessors(), 3);
+      this.threadContextFactory = ThreadModel.SHARED_EVENT_LOOP.factory(
+          "raft-partition-group-" + name + "-%d", eventLoops, log);
+    } else {
+      int threadPoolSize = Math.max(Math.min(Runtime.getRuntime().availableProcessors() * 2, 16), 4);
+      this.threadContextFactory = new BlockingAwareThreadPoolContextFactory(
+          "raft-partition-group-" + name + "-%d", threadPoolSize, log);
+    }
     this.snapshotSubject = "raft-partition-group-" + name + "-snapshot";
-
-    buildPartitions(config, threadContextFactory).forEach(p -> {
+    this.heartbeatMultiplexer = new RaftHeartbeatMultiplexer(
+        name,
+        Serializer.using(RaftNamespaces.RAFT_PROTOCOL),
+        config.getHeartbeatWindow(),
+        config.getHeartbeatInterval(),
+        threadContextFactory.createContext());
+
+    buildPartitions(config, threadContextFactory, heartbeatMultiplexer).forEach(p -> {
       this.partitions.put(p.id(), p);
       this.sortedPartitionIds.add(p.id());
     });
     Collections.sort(sortedPartitionIds);
+    this.leaderBalancer = new RaftLeaderBalancer(
+        name,
+        partitions.values(),
+        config.getLeaderBalancingInterval(),
+        threadContextFactory.createContext());
   }
 
   @Override
@@ -205,6 +233,33 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
     return sortedPartitionIds;
   }
 
+  /**
+   * Returns the number of partitions led by each member of the group.
+   *
+   * @return the number of partitions led by each member
+   */
+  public Map<MemberId, Integer> getLeaderDistribution() {
+    return leaderBalancer.getLeaderDistribution();
+  }
+
+  /**
+   * Returns the difference between the largest and smallest number of partitions led by any member of the group.
+   *
+   * @return the leader imbalance of the group
+   */
+  public int getLeaderImbalance() {
+    return leaderBalancer.getLeaderImbalance();
+  }
+
+  /**
+   * Returns the number of leadership transfers requested by the local member to balance the group.
+   *
+   * @return the number of leadership transfers requested by the local member
+   */
+  public long getLeaderTransfers() {
+    return leaderBalancer.getLeaderTransfers();
+  }
+
   /**
    * Takes snapshots of all Raft partitions.
    *
@@ -235,6 +290,8 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
     this.metadata = buildPartitions();
     this.communicationService = managementService.getMessagingService();
     communicationService.<Void, Void>subscribe(snapshotSubject, m -> handleSnapshot());
+    heartbeatMultiplexer.open(communicationService);
+    leaderBalancer.open(managementService.getMembershipService().getLocalMember().id(), communicationService);
     List<CompletableFuture<Partition>> futures = metadata.stream()
         .map(metadata -> {
           RaftPartition partition = partitions.get(metadata.id());
@@ -284,6 +341,8 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
         .map(RaftPartition::close)
         .collect(Collectors.toList());
     return CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).thenRun(() -> {
+      heartbeatMultiplexer.close();
+      leaderBalancer.close();
       threadContextFactory.close();
       communicationService.unsubscribe(snapshotSubject);
       LOGGER.info("Stopped");
@@ -408,6 +467,61 @@ public class RaftPartitionGroup implements ManagedPartitionGroup {
       return this;
     }
 
+    /**
+     * Sets whether append requests are pipelined to followers.
+     *
+     * @param appendPipelining whether append requests are pipelined to followers
+     * @return the Raft partition group builder
+     */
+    public Builder withAppendPipelining(boolean appendPipelining) {
+      config.setAppendPipelining(appendPipelining);
+      return this;
+    }
+
+    /**
+     * Sets whether commands are applied to independent services in parallel.
+     *
+     * @param parallelApply whether commands are applied to independent services in parallel
+     * @return the Raft partition group builder
+     */
+    public Builder withParallelApply(boolean parallelApply) {
+      config.setParallelApply(parallelApply);
+      return this;
+    }
+
+    /**
+     * Sets the heartbeat window.
+     *
+     * @param heartbeatWindow the heartbeat window
+     * @return the Raft partition group builder
+     */
+    public Builder withHeartbeatWindow(Duration heartbeatWindow) {
+      config.setHeartbeatWindow(heartbeatWindow);
+      return this;
+    }
+
+    /**
+     * Sets the leader balancing interval.
+     *
+     * @param leaderBalancingInterval the leader balancing interval
+     * @return the Raft partition group builder
+     */
+    public Builder withLeaderBalancingInterval(Duration leaderBalancingInterval) {
+      config.setLeaderBalancingInterval(leaderBalancingInterval);
+      return this;
+    }
+
+    /**
+     * Sets the thread model.
+     *
+     * @param threadModel the thread model
+     * @return the Raft partition group builder
+     */
+    public Builder withThreadModel(ThreadModel threadModel) {
+      config.setThreadModel(threadModel);
+      return this;
+    }
+
     /**
      * Sets the storage level.
      *
@@ -17,6 +17,7 @@ package io.atomix.protocols.raft.partition;
 
 import io.atomix.primitive.partition.PartitionGroup;
 import io.atomix.primitive.partition.PartitionGroupConfig;
+import io.atomix.utils.concurrent.ThreadModel;
 
 import java.time.Duration;
 import java.util.HashSet;
@@ -36,6 +37,11 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
   private Duration electionTimeout = DEFAULT_ELECTION_TIMEOUT;
   private Duration heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
   private Duration defaultSessionTimeout = DEFAULT_DEFAULT_SESSION_TIMEOUT;
+  private boolean appendPipelining;
+  private boolean parallelApply;
+  private Duration heartbeatWindow = Duration.ZERO;
+  private Duration leaderBalancingInterval = Duration.ZERO;
+  private ThreadModel threadModel = ThreadModel.SHARED_THREAD_POOL;
   private RaftStorageConfig storageConfig = new RaftStorageConfig();
   private RaftCompactionConfig compactionConfig = new RaftCompactionConfig();
 
@@ -149,6 +155,119 @@ public class RaftPartitionGroupConfig extends PartitionGroupConfig<RaftPartition
     return this;
   }
 
+  /**
+   * Returns whether append requests are pipelined to followers.
+   *
+   * @return whether append requests are pipelined to followers
+   */
+  public boolean isAppendPipelining() {
+    return appendPipelining;
+  }
+
+  /**
+   * Sets whether append requests are pipelined to followers.
+   *
+   * @param appendPipelining whether append requests are pipelined to followers
+   * @return the Raft partition group configuration
+   */
+  public RaftPartitionGroupConfig setAppendPipelining(boolean appendPipelining) {
+    this.appendPipelining = appendPipelining;
+    return this;
+  }
+
+  /**
+   * Returns whether commands are applied to independent services in parallel.
+   *
+   * @return whether commands are applied to independent services in parallel
+   */
+  public boolean isParallelApply() {
+    return parallelApply;
+  }
+
+  /**
+   * Sets whether commands are applied to independent services in parallel.
+   *
+   * @param parallelApply whether commands are applied to independent services in parallel
+   * @return the Raft partition group configuration
+   */
+  public RaftPartitionGroupConfig setParallelApply(boolean parallelApply) {
+    this.parallelApply = parallelApply;
+    return this;
+  }
+
+  /**
+   * Returns the heartbeat window.
+   *
+   * @return the heartbeat window
+   */
+  public Duration getHeartbeatWindow() {
+    return heartbeatWindow;
+  }
+
+  /**
+   * Sets the heartbeat window.
+   * <p>
+   * Heartbeats sent by partitions led by this node to the same member within the heartbeat window are bundled into a
+   * single message. Bundling reduces the number of messages between nodes that share many partitions, but delays each
+   * heartbeat by up to the window, which also delays leadership confirmation for linearizable reads. The window should
+   * be no greater than the heartbeat interval. A zero window disables bundling.
+   *
+   * @param heartbeatWindow the heartbeat window
+   * @return the Raft partition group configuration
+   */
+  public RaftPartitionGroupConfig setHeartbeatWindow(Duration heartbeatWindow) {
+    this.heartbeatWindow = heartbeatWindow;
+    return this;
+  }
+
+  /**
+   * Returns the leader balancing interval.
+   *
+   * @return the leader balancing interval
+   */
+  public Duration getLeaderBalancingInterval() {
+    return leaderBalancingInterval;
+  }
+
+  /**
+   * Sets the leader balancing interval.
+   * <p>
+   * When enabled, members periodically exchange the partitions they lead and a member leading at least two fewer
+   * partitions than the leader of one of its partitions requests a leadership transfer for that partition, spreading
+   * leaders evenly across the group. A zero interval disables leader balancing.
+   *
+   * @param leaderBalancingInterval the leader balancing interval
+   * @return the Raft partition group configuration
+   */
+  public RaftPartitionGroupConfig setLeaderBalancingInterval(Duration leaderBalancingInterval) {
+    this.leaderBalancingInterval = leaderBalancingInterval;
+    return this;
+  }
+
+  /**
+   * Returns the thread model.
+   *
+   * @return the thread model
+   */
+  public ThreadModel getThreadModel() {
+    return threadModel;
+  }
+
+  /**
+   * Sets the thread model.
+   * <p>
+   * With the {@link ThreadModel#SHARED_EVENT_LOOP} thread model, the Raft threads of all partitions in the group and
+   * their services are multiplexed onto one event loop per processor. Otherwise, each partition's server runs its own
+   * Raft threads and services share a thread pool.
+   *
+   * @param threadModel the thread model
+   * @return the Raft partition group configuration
+   */
+  public RaftPartitionGroupConfig setThreadModel(ThreadModel threadModel) {
+    this.threadModel = threadModel;
+    return this;
+  }
+
   /**
    * Returns the storage configuration.
    *
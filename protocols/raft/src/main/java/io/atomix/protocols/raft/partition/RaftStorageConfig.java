@@ -16,8 +16,11 @@
 package io.atomix.protocols.raft.partition;
 
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.utils.memory.MemorySize;
 
+import java.time.Duration;
+
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
@@ -29,12 +32,21 @@ public class RaftStorageConfig {
   private static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
   private static final int DEFAULT_MAX_ENTRY_SIZE = 1024 * 1024;
   private static final boolean DEFAULT_FLUSH_ON_COMMIT = false;
+  private static final Duration DEFAULT_GROUP_COMMIT_WINDOW = Duration.ZERO;
+  private static final int DEFAULT_GROUP_COMMIT_SIZE = 1024 * 1024;
+  private static final int DEFAULT_MAPPED_SEGMENTS = 2;
+  private static final int DEFAULT_PREALLOCATED_SEGMENTS = 0;
 
   private String directory;
   private StorageLevel level = DEFAULT_STORAGE_LEVEL;
   private int maxEntrySize = DEFAULT_MAX_ENTRY_SIZE;
   private long segmentSize = DEFAULT_MAX_SEGMENT_SIZE;
   private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+  private Duration groupCommitWindow = DEFAULT_GROUP_COMMIT_WINDOW;
+  private long groupCommitSize = DEFAULT_GROUP_COMMIT_SIZE;
+  private CompressionType compressionType = CompressionType.NONE;
+  private int mappedSegments = DEFAULT_MAPPED_SEGMENTS;
+  private int preallocatedSegments = DEFAULT_PREALLOCATED_SEGMENTS;
 
   /**
    * Returns the partition storage level.
@@ -116,6 +128,106 @@ public class RaftStorageConfig {
     return this;
   }
 
+  /**
+   * Returns the window within which commits are grouped into a single flush.
+   *
+   * @return the group commit window
+   */
+  public Duration getGroupCommitWindow() {
+    return groupCommitWindow;
+  }
+
+  /**
+   * Sets the window within which commits are grouped into a single flush.
+   *
+   * @param groupCommitWindow the group commit window
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setGroupCommitWindow(Duration groupCommitWindow) {
+    this.groupCommitWindow = checkNotNull(groupCommitWindow);
+    return this;
+  }
+
+  /**
+   * Returns the maximum number of bytes to group in a single commit.
+   *
+   * @return the maximum group commit size
+   */
+  public MemorySize getGroupCommitSize() {
+    return MemorySize.from(groupCommitSize);
+  }
+
+  /**
+   * Sets the maximum number of bytes to group in a single commit.
+   *
+   * @param groupCommitSize the maximum group commit size
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setGroupCommitSize(MemorySize groupCommitSize) {
+    this.groupCommitSize = groupCommitSize.bytes();
+    return this;
+  }
+
+  /**
+   * Returns the compression type for committed log segments.
+   *
+   * @return the compression type for committed log segments
+   */
+  public CompressionType getCompressionType() {
+    return compressionType;
+  }
+
+  /**
+   * Sets the compression type for committed log segments.
+   *
+   * @param compressionType the compression type for committed log segments
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setCompressionType(CompressionType compressionType) {
+    this.compressionType = checkNotNull(compressionType);
+    return this;
+  }
+
+  /**
+   * Returns the number of log segments to map into memory when using the tiered storage level.
+   *
+   * @return the number of log segments to map into memory
+   */
+  public int getMappedSegments() {
+    return mappedSegments;
+  }
+
+  /**
+   * Sets the number of log segments to map into memory when using the tiered storage level.
+   *
+   * @param mappedSegments the number of log segments to map into memory
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setMappedSegments(int mappedSegments) {
+    this.mappedSegments = mappedSegments;
+    return this;
+  }
+
+  /**
+   * Returns the number of log segment files to pre-allocate in the background.
+   *
+   * @return the number of log segment files to pre-allocate
+   */
+  public int getPreallocatedSegments() {
+    return preallocatedSegments;
+  }
+
+  /**
+   * Sets the number of log segment files to pre-allocate in the background.
+   *
+   * @param preallocatedSegments the number of log segment files to pre-allocate
+   * @return the Raft storage configuration
+   */
+  public RaftStorageConfig setPreallocatedSegments(int preallocatedSegments) {
+    this.preallocatedSegments = preallocatedSegments;
+    return this;
+  }
+
   /**
    * Returns the partition data directory.
    *
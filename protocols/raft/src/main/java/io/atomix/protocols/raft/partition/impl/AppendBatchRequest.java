@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition.impl;
+
+import java.util.Map;
+
+import io.atomix.protocols.raft.protocol.AppendRequest;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Batch of append requests for multiple partitions sent to a single member.
+ */
+class AppendBatchRequest {
+  private final Map<String, AppendRequest> requests;
+
+  AppendBatchRequest(Map<String, AppendRequest> requests) {
+    this.requests = checkNotNull(requests, "requests cannot be null");
+  }
+
+  /**
+   * Returns the append requests in the batch.
+   *
+   * @return the append requests indexed by partition name
+   */
+  Map<String, AppendRequest> requests() {
+    return requests;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("requests", requests)
+        .toString();
+  }
+}
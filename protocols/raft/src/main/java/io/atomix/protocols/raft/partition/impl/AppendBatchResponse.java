@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Batch of append responses for multiple partitions.
+ */
+class AppendBatchResponse {
+  private final Map<String, AppendResponse> responses;
+  private final Map<String, RaftError> errors;
+
+  AppendBatchResponse(Map<String, AppendResponse> responses) {
+    this(responses, new HashMap<>());
+  }
+
+  AppendBatchResponse(Map<String, AppendResponse> responses, Map<String, RaftError> errors) {
+    this.responses = checkNotNull(responses, "responses cannot be null");
+    this.errors = checkNotNull(errors, "errors cannot be null");
+  }
+
+  /**
+   * Returns the append responses in the batch.
+   * <p>
+   * Partitions for which no server is running on the responding member are omitted from the batch.
+   *
+   * @return the append responses indexed by partition name
+   */
+  Map<String, AppendResponse> responses() {
+    return responses;
+  }
+
+  /**
+   * Returns the errors for partitions that failed to handle their heartbeat in the batch.
+   *
+   * @return the errors indexed by partition name
+   */
+  Map<String, RaftError> errors() {
+    return errors;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("responses", responses)
+        .add("errors", errors)
+        .toString();
+  }
+}
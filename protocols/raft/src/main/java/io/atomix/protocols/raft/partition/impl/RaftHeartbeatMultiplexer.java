@@ -0,0 +1,280 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.MessagingException;
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.protocol.AppendRequest;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.ThreadContext;
+import io.atomix.utils.serializer.Serializer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Node-level multiplexer for Raft heartbeats.
+ * <p>
+ * The leader of each Raft partition sends heartbeats to its followers as empty {@link AppendRequest}s. When a node
+ * leads many partitions, most of the messages it sends to its peers are heartbeats for different partitions. The
+ * multiplexer bundles the heartbeats sent to the same member within the heartbeat window into a single message, and
+ * demultiplexes the bundled heartbeats to the partition servers on the receiving node.
+ * <p>
+ * Heartbeats are only bundled if the heartbeat window is positive, but bundled heartbeats are always handled, so
+ * members configured with different windows can communicate. Partition leaders align their heartbeat timers to the
+ * heartbeat interval, so the heartbeats of all partitions led by a node are sent at about the same time and a window
+ * of a few milliseconds is enough to bundle them.
+ * <p>
+ * Each partition on the receiving node is given the handler timeout to handle its heartbeat. Once all partitions have
+ * responded or the timeout has elapsed, the responses that have completed are returned, and partitions that failed or
+ * did not respond in time are returned as errors, so a slow partition does not delay the heartbeats of the others
+ * past the timeout.
+ */
+public class RaftHeartbeatMultiplexer {
+  private final String subject;
+  private final Serializer serializer;
+  private final Duration window;
+  private final Duration timeout;
+  private final ThreadContext context;
+  private final Map<String, Function<AppendRequest, CompletableFuture<AppendResponse>>> handlers = new ConcurrentHashMap<>();
+  private final Map<MemberId, Batch> batches = new HashMap<>();
+  private ClusterCommunicationService clusterCommunicator;
+
+  public RaftHeartbeatMultiplexer(String name, Serializer serializer, Duration window, Duration timeout, ThreadContext context) {
+    this.subject = "raft-partition-group-" + name + "-heartbeats";
+    this.serializer = checkNotNull(serializer, "serializer cannot be null");
+    this.window = checkNotNull(window, "window cannot be null");
+    this.timeout = checkNotNull(timeout, "timeout cannot be null");
+    this.context = checkNotNull(context, "context cannot be null");
+  }
+
+  /**
+   * Opens the multiplexer.
+   *
+   * @param clusterCommunicator the cluster communication service
+   */
+  public void open(ClusterCommunicationService clusterCommunicator) {
+    this.clusterCommunicator = checkNotNull(clusterCommunicator, "clusterCommunicator cannot be null");
+    clusterCommunicator.<AppendBatchRequest, AppendBatchResponse>subscribe(
+        subject, serializer::decode, this::handleBatch, serializer::encode);
+  }
+
+  /**
+   * Returns whether heartbeats are bundled.
+   *
+   * @return whether heartbeats are bundled
+   */
+  boolean isEnabled() {
+    return !window.isZero() && !window.isNegative();
+  }
+
+  /**
+   * Sends a heartbeat for the given partition to the given member.
+   * <p>
+   * The heartbeat is sent with all other heartbeats to the same member once the heartbeat window has elapsed. If the
+   * partition has already queued a heartbeat to the member, the pending heartbeats are sent immediately and the new
+   * heartbeat starts a new batch, so every heartbeat is completed with its own response.
+   *
+   * @param partition the partition name
+   * @param memberId the member to which to send the heartbeat
+   * @param request the heartbeat request
+   * @return a future to be completed with the heartbeat response
+   */
+  CompletableFuture<AppendResponse> append(String partition, MemberId memberId, AppendRequest request) {
+    CompletableFuture<AppendResponse> future = new CompletableFuture<>();
+    context.execute(() -> {
+      Batch batch = batches.get(memberId);
+      if (batch != null && batch.contains(partition)) {
+        flush(memberId, batch);
+        batch = null;
+      }
+      if (batch == null) {
+        Batch newBatch = new Batch();
+        batches.put(memberId, newBatch);
+        context.schedule(window, () -> flush(memberId, newBatch));
+        batch = newBatch;
+      }
+      batch.add(partition, request, future);
+    });
+    return future;
+  }
+
+  /**
+   * Sends the given batch of pending heartbeats for the given member if it has not already been sent.
+   */
+  private void flush(MemberId memberId, Batch batch) {
+    if (batches.remove(memberId, batch)) {
+      clusterCommunicator.<AppendBatchRequest, AppendBatchResponse>send(
+          subject, new AppendBatchRequest(batch.requests), serializer::encode, serializer::decode, memberId)
+          .whenComplete(batch::complete);
+    }
+  }
+
+  /**
+   * Registers an append request handler for the given partition.
+   *
+   * @param partition the partition name
+   * @param handler the append request handler
+   */
+  void registerAppendHandler(String partition, Function<AppendRequest, CompletableFuture<AppendResponse>> handler) {
+    handlers.put(partition, handler);
+  }
+
+  /**
+   * Unregisters the append request handler for the given partition.
+   *
+   * @param partition the partition name
+   */
+  void unregisterAppendHandler(String partition) {
+    handlers.remove(partition);
+  }
+
+  /**
+   * Handles a batch of heartbeats, dispatching each heartbeat to its partition.
+   */
+  CompletableFuture<AppendBatchResponse> handleBatch(AppendBatchRequest batch) {
+    CompletableFuture<AppendBatchResponse> future = new CompletableFuture<>();
+    context.execute(() -> {
+      PendingBatch pending = new PendingBatch(future);
+      batch.requests().forEach((partition, request) -> {
+        Function<AppendRequest, CompletableFuture<AppendResponse>> handler = handlers.get(partition);
+        if (handler != null) {
+          pending.partitions.put(partition, request);
+          CompletableFuture<AppendResponse> response;
+          try {
+            response = handler.apply(request);
+          } catch (Exception e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+          }
+          response.whenCompleteAsync((r, e) -> pending.complete(partition, r, e), context);
+        }
+      });
+      if (pending.partitions.isEmpty()) {
+        pending.respond();
+      } else {
+        pending.timer = context.schedule(timeout, pending::respond);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Closes the multiplexer.
+   */
+  public void close() {
+    if (clusterCommunicator != null) {
+      clusterCommunicator.unsubscribe(subject);
+    }
+    context.close();
+  }
+
+  /**
+   * Pending heartbeats for a single member.
+   */
+  private static class Batch {
+    private final Map<String, AppendRequest> requests = new HashMap<>();
+    private final Map<String, CompletableFuture<AppendResponse>> futures = new HashMap<>();
+
+    boolean contains(String partition) {
+      return requests.containsKey(partition);
+    }
+
+    void add(String partition, AppendRequest request, CompletableFuture<AppendResponse> future) {
+      requests.put(partition, request);
+      futures.put(partition, future);
+    }
+
+    void complete(AppendBatchResponse response, Throwable error) {
+      futures.forEach((partition, future) -> {
+        AppendResponse partitionResponse = response != null ? response.responses().get(partition) : null;
+        RaftError partitionError = response != null ? response.errors().get(partition) : null;
+        if (error != null) {
+          future.completeExceptionally(error);
+        } else if (partitionError != null) {
+          future.completeExceptionally(partitionError.createException());
+        } else if (partitionResponse == null) {
+          future.completeExceptionally(new MessagingException.NoRemoteHandler());
+        } else {
+          future.complete(partitionResponse);
+        }
+      });
+    }
+  }
+
+  /**
+   * Heartbeats received in a batch that are being handled by their partitions.
+   */
+  private class PendingBatch {
+    private final CompletableFuture<AppendBatchResponse> future;
+    private final Map<String, AppendRequest> partitions = new HashMap<>();
+    private final Map<String, AppendResponse> responses = new HashMap<>();
+    private final Map<String, RaftError> errors = new HashMap<>();
+    private Scheduled timer;
+
+    PendingBatch(CompletableFuture<AppendBatchResponse> future) {
+      this.future = future;
+    }
+
+    void complete(String partition, AppendResponse response, Throwable error) {
+      if (future.isDone()) {
+        return;
+      }
+      if (error == null) {
+        responses.put(partition, response);
+      } else {
+        errors.put(partition, toError(error));
+      }
+      if (responses.size() + errors.size() == partitions.size()) {
+        respond();
+      }
+    }
+
+    void respond() {
+      if (future.isDone()) {
+        return;
+      }
+      if (timer != null) {
+        timer.cancel();
+      }
+      partitions.keySet().forEach(partition -> {
+        if (!responses.containsKey(partition) && !errors.containsKey(partition)) {
+          errors.put(partition, new RaftError(RaftError.Type.UNAVAILABLE, "Timed out handling heartbeat"));
+        }
+      });
+      future.complete(new AppendBatchResponse(new HashMap<>(responses), new HashMap<>(errors)));
+    }
+
+    private RaftError toError(Throwable error) {
+      Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+      if (cause instanceof RaftException) {
+        return new RaftError(((RaftException) cause).getType(), cause.getMessage());
+      }
+      return new RaftError(RaftError.Type.PROTOCOL_ERROR, cause.toString());
+    }
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition.impl;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.protocols.raft.partition.RaftPartition;
+import io.atomix.utils.concurrent.Scheduled;
+import io.atomix.utils.concurrent.ThreadContext;
+import io.atomix.utils.serializer.Namespaces;
+import io.atomix.utils.serializer.Serializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Leader balancer for Raft partition groups.
+ * <p>
+ * Elections are won by whichever member times out first, so the leaders of the partitions in a group tend to pile up
+ * on a single node, for example after nodes are restarted one at a time. The balancer periodically broadcasts the
+ * partitions led by the local member and collects the reports of its peers to build the leader distribution of the
+ * group. When the local member leads at least two fewer partitions than the leader of a partition of which it is a
+ * member, and it is the least loaded follower of that partition, it requests a leadership transfer for the partition.
+ * <p>
+ * Every member computes the same candidate for a partition from the same reports, so at most one member tries to take
+ * over any partition. Each member transfers at most one partition per round and waits at least two rounds between
+ * transfers, which bounds churn while the reports converge.
+ */
+public class RaftLeaderBalancer {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RaftLeaderBalancer.class);
+  private static final Serializer SERIALIZER = Serializer.using(Namespaces.BASIC);
+  private static final int REPORT_EXPIRATION_ROUNDS = 3;
+  private static final int TRANSFER_ROUNDS = 2;
+  private static final int MIN_IMBALANCE = 2;
+
+  private final String subject;
+  private final Collection<RaftPartition> partitions;
+  private final Duration interval;
+  private final ThreadContext context;
+  private final Map<MemberId, Report> reports = new ConcurrentHashMap<>();
+  private final AtomicLong transfers = new AtomicLong();
+  private ClusterCommunicationService clusterCommunicator;
+  private MemberId localMemberId;
+  private Scheduled balanceTimer;
+  private long lastTransferTime;
+
+  public RaftLeaderBalancer(String name, Collection<RaftPartition> partitions, Duration interval, ThreadContext context) {
+    this.subject = "raft-partition-group-" + name + "-leaders";
+    this.partitions = checkNotNull(partitions, "partitions cannot be null");
+    this.interval = checkNotNull(interval, "interval cannot be null");
+    this.context = checkNotNull(context, "context cannot be null");
+  }
+
+  /**
+   * Opens the balancer.
+   *
+   * @param localMemberId the local member identifier
+   * @param clusterCommunicator the cluster communication service
+   */
+  public void open(MemberId localMemberId, ClusterCommunicationService clusterCommunicator) {
+    this.localMemberId = checkNotNull(localMemberId, "localMemberId cannot be null");
+    this.clusterCommunicator = checkNotNull(clusterCommunicator, "clusterCommunicator cannot be null");
+    if (isEnabled()) {
+      clusterCommunicator.<int[]>subscribe(subject, SERIALIZER::decode, this::handleReport, context);
+      balanceTimer = context.schedule(interval, interval, this::balance);
+    }
+  }
+
+  /**
+   * Returns whether leader balancing is enabled.
+   *
+   * @return whether leader balancing is enabled
+   */
+  boolean isEnabled() {
+    return !interval.isZero() && !interval.isNegative();
+  }
+
+  /**
+   * Returns the number of partitions led by each member.
+   * <p>
+   * If balancing is enabled, the distribution is computed from the latest reports of the members of the group.
+   * Otherwise, it's computed from the leaders known to the local partition clients.
+   *
+   * @return the number of partitions led by each member
+   */
+  public Map<MemberId, Integer> getLeaderDistribution() {
+    return getDistribution(getLeaders());
+  }
+
+  /**
+   * Returns the difference between the largest and smallest number of partitions led by any member of the group.
+   *
+   * @return the leader imbalance of the group
+   */
+  public int getLeaderImbalance() {
+    return getImbalance(getLeaderDistribution());
+  }
+
+  /**
+   * Returns the number of leadership transfers requested by the local member.
+   *
+   * @return the number of leadership transfers requested by the local member
+   */
+  public long getLeaderTransfers() {
+    return transfers.get();
+  }
+
+  /**
+   * Returns the difference between the largest and smallest number of partitions led by any member.
+   */
+  private static int getImbalance(Map<MemberId, Integer> distribution) {
+    if (distribution.isEmpty()) {
+      return 0;
+    }
+    int min = Integer.MAX_VALUE;
+    int max = 0;
+    for (int count : distribution.values()) {
+      min = Math.min(min, count);
+      max = Math.max(max, count);
+    }
+    return max - min;
+  }
+
+  /**
+   * Handles a leader report from a peer.
+   */
+  void handleReport(MemberId memberId, int[] partitionIds) {
+    reports.put(memberId, new Report(partitionIds, System.currentTimeMillis()));
+  }
+
+  /**
+   * Returns the known leader of each partition.
+   */
+  private Map<Integer, MemberId> getLeaders() {
+    Map<Integer, MemberId> leaders = new HashMap<>();
+    if (isEnabled()) {
+      long expiration = System.currentTimeMillis() - interval.toMillis() * REPORT_EXPIRATION_ROUNDS;
+      reports.forEach((memberId, report) -> {
+        if (report.time >= expiration) {
+          for (int partitionId : report.partitionIds) {
+            leaders.put(partitionId, memberId);
+          }
+        }
+      });
+    } else {
+      for (RaftPartition partition : partitions) {
+        MemberId leader = partition.primary();
+        if (leader != null) {
+          leaders.put(partition.id().id(), leader);
+        }
+      }
+    }
+    return leaders;
+  }
+
+  /**
+   * Returns the number of partitions led by each member of any partition.
+   */
+  private Map<MemberId, Integer> getDistribution(Map<Integer, MemberId> leaders) {
+    Map<MemberId, Integer> distribution = new HashMap<>();
+    for (RaftPartition partition : partitions) {
+      for (MemberId member : partition.members()) {
+        distribution.putIfAbsent(member, 0);
+      }
+    }
+    for (MemberId leader : leaders.values()) {
+      distribution.merge(leader, 1, Integer::sum);
+    }
+    return distribution;
+  }
+
+  /**
+   * Reports the partitions led by the local member and transfers leadership of a partition if the leaders of the
+   * group are unbalanced.
+   */
+  void balance() {
+    long currentTime = System.currentTimeMillis();
+    int[] partitionIds = partitions.stream()
+        .filter(RaftPartition::isLeader)
+        .mapToInt(partition -> partition.id().id())
+        .toArray();
+    reports.put(localMemberId, new Report(partitionIds, currentTime));
+    clusterCommunicator.broadcast(subject, partitionIds, SERIALIZER::encode);
+
+    Map<Integer, MemberId> leaders = getLeaders();
+    Map<MemberId, Integer> distribution = getDistribution(leaders);
+    LOGGER.debug("Partition leaders: {} (imbalance: {})", distribution, getImbalance(distribution));
+
+    // Don't balance while partitions are electing leaders or a recent transfer may not be reported yet.
+    if (leaders.size() < partitions.size() || currentTime - lastTransferTime < interval.toMillis() * TRANSFER_ROUNDS) {
+      return;
+    }
+
+    int localCount = distribution.getOrDefault(localMemberId, 0);
+    RaftPartition transferPartition = null;
+    int transferCount = 0;
+    for (RaftPartition partition : partitions) {
+      MemberId leader = leaders.get(partition.id().id());
+      if (leader == null || leader.equals(localMemberId) || !partition.members().contains(localMemberId)) {
+        continue;
+      }
+      int leaderCount = distribution.get(leader);
+      if (leaderCount - localCount >= MIN_IMBALANCE
+          && leaderCount > transferCount
+          && localMemberId.equals(getCandidate(partition, leader, distribution))) {
+        transferPartition = partition;
+        transferCount = leaderCount;
+      }
+    }
+
+    if (transferPartition != null) {
+      RaftPartition partition = transferPartition;
+      MemberId leader = leaders.get(partition.id().id());
+      lastTransferTime = currentTime;
+      transfers.incrementAndGet();
+      LOGGER.info("Transferring leadership of {} from {} to {}", partition.name(), leader, localMemberId);
+      partition.promote().whenComplete((result, error) -> {
+        if (error != null) {
+          LOGGER.warn("Failed to transfer leadership of {}", partition.name(), error);
+        }
+      });
+    }
+  }
+
+  /**
+   * Returns the follower of the given partition with the fewest leaders, breaking ties by member identifier.
+   */
+  private MemberId getCandidate(RaftPartition partition, MemberId leader, Map<MemberId, Integer> distribution) {
+    return partition.members().stream()
+        .filter(member -> !member.equals(leader))
+        .min(Comparator.<MemberId>comparingInt(member -> distribution.getOrDefault(member, 0))
+            .thenComparing(Comparator.naturalOrder()))
+        .orElse(null);
+  }
+
+  /**
+   * Closes the balancer.
+   */
+  public void close() {
+    if (balanceTimer != null) {
+      balanceTimer.cancel();
+    }
+    if (clusterCommunicator != null && isEnabled()) {
+      clusterCommunicator.unsubscribe(subject);
+    }
+    context.close();
+  }
+
+  /**
+   * Partitions reported as led by a member.
+   */
+  private static class Report {
+    private final int[] partitionIds;
+    private final long time;
+
+    Report(int[] partitionIds, long time) {
+      this.partitionIds = partitionIds;
+      this.time = time;
+    }
+  }
+}
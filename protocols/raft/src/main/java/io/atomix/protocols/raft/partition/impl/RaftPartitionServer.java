@@ -60,8 +60,9 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
   private final ClusterCommunicationService clusterCommunicator;
   private final PrimitiveTypeRegistry primitiveTypes;
   private final ThreadContextFactory threadContextFactory;
+  private final RaftHeartbeatMultiplexer heartbeatMultiplexer;
   private final Set<Consumer<Role>> deferredRoleChangeListeners = new CopyOnWriteArraySet<>();
-  private RaftServer server;
+  private volatile RaftServer server;
 
   public RaftPartitionServer(
       RaftPartition partition,
@@ -70,7 +71,8 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
       ClusterMembershipService membershipService,
       ClusterCommunicationService clusterCommunicator,
       PrimitiveTypeRegistry primitiveTypes,
-      ThreadContextFactory threadContextFactory) {
+      ThreadContextFactory threadContextFactory,
+      RaftHeartbeatMultiplexer heartbeatMultiplexer) {
     this.partition = partition;
     this.config = config;
     this.localMemberId = localMemberId;
@@ -78,6 +80,7 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
     this.clusterCommunicator = clusterCommunicator;
     this.primitiveTypes = primitiveTypes;
     this.threadContextFactory = threadContextFactory;
+    this.heartbeatMultiplexer = heartbeatMultiplexer;
   }
 
   @Override
@@ -131,6 +134,29 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
     return server.compact();
   }
 
+  /**
+   * Returns whether the partition server is the leader.
+   *
+   * @return whether the partition server is the leader
+   */
+  public boolean isLeader() {
+    RaftServer server = this.server;
+    return server != null && server.isLeader();
+  }
+
+  /**
+   * Requests that leadership of the partition be transferred to the partition server.
+   *
+   * @return a future to be completed once the partition server has been promoted
+   */
+  public CompletableFuture<Void> promote() {
+    RaftServer server = this.server;
+    if (server == null) {
+      return Futures.exceptionalFuture(new IllegalStateException("Server not started"));
+    }
+    return server.promote().thenApply(v -> null);
+  }
+
   public void addRoleChangeListener(Consumer<Role> listener) {
     if (server == null) {
       deferredRoleChangeListeners.add(listener);
@@ -174,11 +200,15 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
         .withProtocol(new RaftServerCommunicator(
             partition.name(),
             Serializer.using(RaftNamespaces.RAFT_PROTOCOL),
-            clusterCommunicator))
+            clusterCommunicator,
+            heartbeatMultiplexer))
         .withPrimitiveTypes(primitiveTypes)
         .withElectionTimeout(config.getElectionTimeout())
         .withHeartbeatInterval(config.getHeartbeatInterval())
         .withSessionTimeout(config.getDefaultSessionTimeout())
+        .withAppendPipelining(config.isAppendPipelining())
+        .withParallelApply(config.isParallelApply())
+        .withThreadModel(config.getThreadModel())
         .withStorage(RaftStorage.builder()
             .withPrefix(partition.name())
             .withDirectory(partition.dataDirectory())
@@ -186,6 +216,11 @@ public class RaftPartitionServer implements Managed<RaftPartitionServer> {
             .withMaxSegmentSize((int) config.getStorageConfig().getSegmentSize().bytes())
             .withMaxEntrySize((int) config.getStorageConfig().getMaxEntrySize().bytes())
             .withFlushOnCommit(config.getStorageConfig().isFlushOnCommit())
+            .withGroupCommitWindow(config.getStorageConfig().getGroupCommitWindow())
+            .withGroupCommitBytes((int) config.getStorageConfig().getGroupCommitSize().bytes())
+            .withCompressionType(config.getStorageConfig().getCompressionType())
+            .withMappedSegments(config.getStorageConfig().getMappedSegments())
+            .withPreallocatedSegments(config.getStorageConfig().getPreallocatedSegments())
             .withDynamicCompaction(config.getCompactionConfig().isDynamic())
             .withFreeDiskBuffer(config.getCompactionConfig().getFreeDiskBuffer())
             .withFreeMemoryBuffer(config.getCompactionConfig().getFreeMemoryBuffer())
@@ -55,6 +55,8 @@ import io.atomix.protocols.raft.protocol.RaftServerProtocol;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
 import io.atomix.protocols.raft.protocol.TransferResponse;
 import io.atomix.protocols.raft.protocol.VoteRequest;
@@ -65,18 +67,31 @@ import io.atomix.utils.serializer.Serializer;
  * Raft server protocol that uses a {@link ClusterCommunicationService}.
  */
 public class RaftServerCommunicator implements RaftServerProtocol {
+  private final String prefix;
   private final RaftMessageContext context;
   private final Serializer serializer;
   private final ClusterCommunicationService clusterCommunicator;
+  private final RaftHeartbeatMultiplexer heartbeatMultiplexer;
 
   public RaftServerCommunicator(Serializer serializer, ClusterCommunicationService clusterCommunicator) {
     this(null, serializer, clusterCommunicator);
   }
 
   public RaftServerCommunicator(String prefix, Serializer serializer, ClusterCommunicationService clusterCommunicator) {
+    this(prefix, serializer, clusterCommunicator, null);
+  }
+
+  public RaftServerCommunicator(
+      String prefix,
+      Serializer serializer,
+      ClusterCommunicationService clusterCommunicator,
+      RaftHeartbeatMultiplexer heartbeatMultiplexer) {
+    this.prefix = prefix;
     this.context = new RaftMessageContext(prefix);
     this.serializer = Preconditions.checkNotNull(serializer, "serializer cannot be null");
     this.clusterCommunicator = Preconditions.checkNotNull(clusterCommunicator, "clusterCommunicator cannot be null");
+    this.heartbeatMultiplexer = heartbeatMultiplexer;
+    Preconditions.checkArgument(heartbeatMultiplexer == null || prefix != null, "prefix cannot be null");
   }
 
   private <T, U> CompletableFuture<U> sendAndReceive(String subject, T request, MemberId memberId) {
@@ -143,6 +158,11 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     return sendAndReceive(context.transferSubject, request, memberId);
   }
 
+  @Override
+  public CompletableFuture<ReadIndexResponse> readIndex(MemberId memberId, ReadIndexRequest request) {
+    return sendAndReceive(context.readIndexSubject, request, memberId);
+  }
+
   @Override
   public CompletableFuture<PollResponse> poll(MemberId memberId, PollRequest request) {
     return sendAndReceive(context.pollSubject, request, memberId);
@@ -155,6 +175,10 @@ public class RaftServerCommunicator implements RaftServerProtocol {
 
   @Override
   public CompletableFuture<AppendResponse> append(MemberId memberId, AppendRequest request) {
+    // Heartbeats are bundled with the heartbeats of other partitions if a multiplexer is configured.
+    if (heartbeatMultiplexer != null && heartbeatMultiplexer.isEnabled() && request.entries().isEmpty()) {
+      return heartbeatMultiplexer.append(prefix, memberId, request);
+    }
     return sendAndReceive(context.appendSubject, request, memberId);
   }
 
@@ -288,6 +312,16 @@ public class RaftServerCommunicator implements RaftServerProtocol {
     clusterCommunicator.unsubscribe(context.transferSubject);
   }
 
+  @Override
+  public void registerReadIndexHandler(Function<ReadIndexRequest, CompletableFuture<ReadIndexResponse>> handler) {
+    clusterCommunicator.subscribe(context.readIndexSubject, serializer::decode, handler, serializer::encode);
+  }
+
+  @Override
+  public void unregisterReadIndexHandler() {
+    clusterCommunicator.unsubscribe(context.readIndexSubject);
+  }
+
   @Override
   public void registerPollHandler(Function<PollRequest, CompletableFuture<PollResponse>> handler) {
     clusterCommunicator.subscribe(context.pollSubject, serializer::decode, handler, serializer::encode);
@@ -311,11 +345,17 @@ public class RaftServerCommunicator implements RaftServerProtocol {
   @Override
   public void registerAppendHandler(Function<AppendRequest, CompletableFuture<AppendResponse>> handler) {
     clusterCommunicator.subscribe(context.appendSubject, serializer::decode, handler, serializer::encode);
+    if (heartbeatMultiplexer != null) {
+      heartbeatMultiplexer.registerAppendHandler(prefix, handler);
+    }
   }
 
   @Override
   public void unregisterAppendHandler() {
     clusterCommunicator.unsubscribe(context.appendSubject);
+    if (heartbeatMultiplexer != null) {
+      heartbeatMultiplexer.unregisterAppendHandler(prefix);
+    }
   }
 
   @Override
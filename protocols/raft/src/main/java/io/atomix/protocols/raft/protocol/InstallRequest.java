@@ -34,6 +34,10 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * the follower, the snapshot is reconstructed based on the provided {@link #chunkOffset()} and other
  * metadata. The last install request will be sent with {@link #complete()} being {@code true} to
  * indicate that all chunks of the snapshot have been sent.
+ * <p>
+ * Leaders that send chunks of varying sizes also provide the {@link #chunkPosition() byte position}
+ * of each chunk and the {@link #snapshotChecksum() checksum} of the complete snapshot. Requests
+ * without a position identify chunks by their index alone.
  */
 public class InstallRequest extends AbstractRaftRequest {
 
@@ -52,16 +56,24 @@ public class InstallRequest extends AbstractRaftRequest {
   private final long timestamp;
   private final int version;
   private final int offset;
+  private final int position;
+  private final long checksum;
   private final byte[] data;
   private final boolean complete;
 
   public InstallRequest(long term, MemberId leader, long index, long timestamp, int version, int offset, byte[] data, boolean complete) {
+    this(term, leader, index, timestamp, version, offset, -1, 0, data, complete);
+  }
+
+  public InstallRequest(long term, MemberId leader, long index, long timestamp, int version, int offset, int position, long checksum, byte[] data, boolean complete) {
     this.term = term;
     this.leader = leader;
     this.index = index;
     this.timestamp = timestamp;
     this.version = version;
     this.offset = offset;
+    this.position = position;
+    this.checksum = checksum;
     this.data = data;
     this.complete = complete;
   }
@@ -120,6 +132,24 @@ public class InstallRequest extends AbstractRaftRequest {
     return offset;
   }
 
+  /**
+   * Returns the byte position of the snapshot chunk within the snapshot.
+   *
+   * @return The byte position of the snapshot chunk, or {@code -1} if the chunk is identified only by its offset.
+   */
+  public int chunkPosition() {
+    return position;
+  }
+
+  /**
+   * Returns the checksum of the complete snapshot.
+   *
+   * @return The CRC32 checksum of the complete snapshot, or {@code 0} if no checksum was provided.
+   */
+  public long snapshotChecksum() {
+    return checksum;
+  }
+
   /**
    * Returns the snapshot data.
    *
@@ -140,7 +170,7 @@ public class InstallRequest extends AbstractRaftRequest {
 
   @Override
   public int hashCode() {
-    return Objects.hash(getClass(), term, leader, index, offset, complete, data);
+    return Objects.hash(getClass(), term, leader, index, offset, position, checksum, complete, data);
   }
 
   @Override
@@ -151,6 +181,8 @@ public class InstallRequest extends AbstractRaftRequest {
           && request.leader == leader
           && request.index == index
           && request.offset == offset
+          && request.position == position
+          && request.checksum == checksum
           && request.complete == complete
           && Arrays.equals(request.data, data);
     }
@@ -166,6 +198,8 @@ public class InstallRequest extends AbstractRaftRequest {
         .add("timestamp", timestamp)
         .add("version", version)
         .add("offset", offset)
+        .add("position", position)
+        .add("checksum", checksum)
         .add("data", ArraySizeHashPrinter.of(data))
         .add("complete", complete)
         .toString();
@@ -181,6 +215,8 @@ public class InstallRequest extends AbstractRaftRequest {
     private long timestamp;
     private int version;
     private int offset;
+    private int position = -1;
+    private long checksum;
     private byte[] data;
     private boolean complete;
 
@@ -257,6 +293,29 @@ public class InstallRequest extends AbstractRaftRequest {
       return this;
     }
 
+    /**
+     * Sets the byte position of the chunk within the snapshot.
+     *
+     * @param position The byte position of the chunk within the snapshot.
+     * @return The request builder.
+     */
+    public Builder withPosition(int position) {
+      checkArgument(position >= 0, "position must be positive");
+      this.position = position;
+      return this;
+    }
+
+    /**
+     * Sets the checksum of the complete snapshot.
+     *
+     * @param checksum The CRC32 checksum of the complete snapshot.
+     * @return The request builder.
+     */
+    public Builder withChecksum(long checksum) {
+      this.checksum = checksum;
+      return this;
+    }
+
     /**
      * Sets the request snapshot bytes.
      *
@@ -296,7 +355,7 @@ public class InstallRequest extends AbstractRaftRequest {
     @Override
     public InstallRequest build() {
       validate();
-      return new InstallRequest(term, leader, index, timestamp, version, offset, data, complete);
+      return new InstallRequest(term, leader, index, timestamp, version, offset, position, checksum, data, complete);
     }
   }
 
@@ -17,12 +17,18 @@ package io.atomix.protocols.raft.protocol;
 
 import io.atomix.protocols.raft.RaftError;
 
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
 /**
  * Snapshot installation response.
  * <p>
  * Install responses are sent once a snapshot installation request has been received and processed.
- * Install responses provide no additional metadata aside from indicating whether or not the request
- * was successful.
+ * In addition to indicating whether or not the request was successful, install responses carry the
+ * offset of the next snapshot byte expected by the receiver, allowing the sender to skip chunks that
+ * have already been received or to rewind to the first missing chunk.
  */
 public class InstallResponse extends AbstractRaftResponse {
 
@@ -35,18 +41,77 @@ public class InstallResponse extends AbstractRaftResponse {
     return new Builder();
   }
 
-  public InstallResponse(Status status, RaftError error) {
+  private final int nextOffset;
+
+  public InstallResponse(Status status, RaftError error, int nextOffset) {
     super(status, error);
+    this.nextOffset = nextOffset;
+  }
+
+  /**
+   * Returns the offset of the next snapshot byte expected by the receiver.
+   *
+   * @return the offset of the next snapshot byte expected by the receiver
+   */
+  public int nextOffset() {
+    return nextOffset;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(getClass(), status, nextOffset);
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (object instanceof InstallResponse) {
+      InstallResponse response = (InstallResponse) object;
+      return response.status == status
+          && Objects.equals(response.error, error)
+          && response.nextOffset == nextOffset;
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    if (status == Status.OK) {
+      return toStringHelper(this)
+          .add("status", status)
+          .add("nextOffset", nextOffset)
+          .toString();
+    } else {
+      return toStringHelper(this)
+          .add("status", status)
+          .add("error", error)
+          .add("nextOffset", nextOffset)
+          .toString();
+    }
   }
 
   /**
    * Install response builder.
    */
   public static class Builder extends AbstractRaftResponse.Builder<Builder, InstallResponse> {
+    private int nextOffset;
+
+    /**
+     * Sets the offset of the next snapshot byte expected by the receiver.
+     *
+     * @param nextOffset the offset of the next snapshot byte expected by the receiver
+     * @return the install response builder
+     * @throws IllegalArgumentException if {@code nextOffset} is negative
+     */
+    public Builder withNextOffset(int nextOffset) {
+      checkArgument(nextOffset >= 0, "nextOffset must be positive");
+      this.nextOffset = nextOffset;
+      return this;
+    }
+
     @Override
     public InstallResponse build() {
       validate();
-      return new InstallResponse(status, error);
+      return new InstallResponse(status, error, nextOffset);
     }
   }
 }
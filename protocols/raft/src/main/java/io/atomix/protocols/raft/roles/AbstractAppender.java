@@ -39,6 +39,7 @@ import org.slf4j.Logger;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -131,12 +132,13 @@ abstract class AbstractAppender implements AutoCloseable {
     // Build a list of entries to send to the member.
     final List<RaftLogEntry> entries = new ArrayList<>();
 
-    // Build a list of entries up to the MAX_BATCH_SIZE. Note that entries in the log may
+    // Build a list of entries up to the batch size. Note that entries in the log may
     // be null if they've been compacted and the member to which we're sending entries is just
     // joining the cluster or is otherwise far behind. Null entries are simply skipped and not
     // counted towards the size of the batch.
-    // If there exists an entry in the log with size >= MAX_BATCH_SIZE the logic ensures that
+    // If there exists an entry in the log with size >= the batch size the logic ensures that
     // entry will be sent in a batch of size one
+    final int batchSize = getBatchSize(member);
     int size = 0;
 
     // Iterate through the log until the last index or the end of the log is reached.
@@ -145,15 +147,26 @@ abstract class AbstractAppender implements AutoCloseable {
       Indexed<RaftLogEntry> entry = reader.next();
       entries.add(entry.entry());
       size += entry.size();
-      if (entry.index() == lastIndex || size >= MAX_BATCH_SIZE) {
+      if (entry.index() == lastIndex || size >= batchSize) {
         break;
       }
     }
+    member.setNextAppendBytes(size);
 
     // Add the entries to the request builder and build the request.
     return builder.withEntries(entries).build();
   }
 
+  /**
+   * Returns the maximum number of entry bytes to send to the given member in a single append request.
+   *
+   * @param member the member to which to send entries
+   * @return the maximum size of an append request to the member
+   */
+  protected int getBatchSize(RaftMemberContext member) {
+    return MAX_BATCH_SIZE;
+  }
+
   /**
    * Connects to the member and sends a commit message.
    */
@@ -164,15 +177,18 @@ abstract class AbstractAppender implements AutoCloseable {
     }
 
     // Start the append to the member.
-    member.startAppend();
+    final int bytes = request.entries().isEmpty() ? 0 : member.getNextAppendBytes();
+    member.startAppend(bytes);
 
-    long timestamp = System.currentTimeMillis();
+    final int bytesInFlight = member.getAppendBytes();
+    final long epoch = member.getAppendEpoch();
+    long timestamp = System.nanoTime();
 
     log.trace("Sending {} to {}", request, member.getMember().memberId());
     raft.getProtocol().append(member.getMember().memberId(), request).whenCompleteAsync((response, error) -> {
       // Complete the append to the member.
       if (!request.entries().isEmpty()) {
-        member.completeAppend(System.currentTimeMillis() - timestamp);
+        member.completeAppend(bytes, bytesInFlight, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timestamp));
       } else {
         member.completeAppend();
       }
@@ -180,7 +196,11 @@ abstract class AbstractAppender implements AutoCloseable {
       if (open) {
         if (error == null) {
           log.trace("Received {} from {}", response, member.getMember().memberId());
-          handleAppendResponse(member, request, response, timestamp);
+          if (isStaleRejection(member, response, epoch)) {
+            handleStaleAppendResponse(member, request, response, timestamp);
+          } else {
+            handleAppendResponse(member, request, response, timestamp);
+          }
         } else {
           handleAppendResponseFailure(member, request, error);
         }
@@ -192,6 +212,27 @@ abstract class AbstractAppender implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns whether the given response rejects a request that was sent before the member's next index was last rewound.
+   * <p>
+   * When multiple append requests are in flight, a rejection will typically be followed by rejections of the requests
+   * that were sent after the rejected request. Once the next index has been rewound for the first rejection, later
+   * rejections carry no new information and must not rewind the next index again.
+   */
+  private boolean isStaleRejection(RaftMemberContext member, AppendResponse response, long epoch) {
+    return response.status() == RaftResponse.Status.OK
+        && !response.succeeded()
+        && response.term() <= raft.getTerm()
+        && epoch != member.getAppendEpoch();
+  }
+
+  /**
+   * Handles a rejection of an append request that was sent before the member's next index was rewound.
+   */
+  protected void handleStaleAppendResponse(RaftMemberContext member, AppendRequest request, AppendResponse response, long timestamp) {
+    succeedAttempt(member);
+  }
+
   /**
    * Handles an append failure.
    */
@@ -290,8 +331,11 @@ abstract class AbstractAppender implements AutoCloseable {
    * Updates the match index when a response is received.
    */
   protected void updateMatchIndex(RaftMemberContext member, AppendResponse response) {
-    // If the replica returned a valid match index then update the existing match index.
-    member.setMatchIndex(response.lastLogIndex());
+    // If the replica returned a valid match index then update the existing match index. Responses may be received
+    // out of order when multiple requests are in flight, so the match index is never decreased by a successful response.
+    if (response.lastLogIndex() > member.getMatchIndex()) {
+      member.setMatchIndex(response.lastLogIndex());
+    }
   }
 
   /**
@@ -311,6 +355,7 @@ abstract class AbstractAppender implements AutoCloseable {
     long nextIndex = response.lastLogIndex() + 1;
     if (member.getLogReader().getNextIndex() != nextIndex) {
       member.getLogReader().reset(nextIndex);
+      member.nextAppendEpoch();
       log.trace("Reset next index for {} to {}", member, nextIndex);
     }
   }
@@ -349,7 +394,7 @@ abstract class AbstractAppender implements AutoCloseable {
     // Start the configure to the member.
     member.startConfigure();
 
-    long timestamp = System.currentTimeMillis();
+    long timestamp = System.nanoTime();
 
     log.trace("Sending {} to {}", request, member.getMember().memberId());
     raft.getProtocol().configure(member.getMember().memberId(), request).whenCompleteAsync((response, error) -> {
@@ -422,16 +467,18 @@ abstract class AbstractAppender implements AutoCloseable {
   protected InstallRequest buildInstallRequest(RaftMemberContext member, Snapshot snapshot) {
     if (member.getNextSnapshotIndex() != snapshot.index()) {
       member.setNextSnapshotIndex(snapshot.index());
-      member.setNextSnapshotOffset(0);
+      resetSnapshotOffset(member, 0, 0);
     }
 
     InstallRequest request;
     synchronized (snapshot) {
       // Open a new snapshot reader.
       try (SnapshotReader reader = snapshot.openReader()) {
-        // Skip to the next batch of bytes according to the snapshot chunk size and current offset.
-        reader.skip(member.getNextSnapshotOffset() * MAX_BATCH_SIZE);
-        byte[] data = new byte[Math.min(MAX_BATCH_SIZE, reader.remaining())];
+        // Skip to the next chunk of bytes according to the current offset. Chunk sizes vary with the member's
+        // throughput, so chunks are sent with their byte position in addition to their index.
+        int offset = member.getNextSnapshotOffset();
+        reader.skip(offset);
+        byte[] data = new byte[Math.min(member.getSnapshotChunkSize(), reader.remaining())];
         reader.read(data);
 
         // Create the install request, indicating whether this is the last chunk of data based on the number
@@ -443,16 +490,37 @@ abstract class AbstractAppender implements AutoCloseable {
             .withIndex(snapshot.index())
             .withTimestamp(snapshot.timestamp().unixTimestamp())
             .withVersion(snapshot.version())
-            .withOffset(member.getNextSnapshotOffset())
+            .withOffset(member.getNextSnapshotChunk())
+            .withPosition(offset)
+            .withChecksum(snapshot.checksum())
             .withData(data)
             .withComplete(!reader.hasRemaining())
             .build();
       }
     }
 
+    // Advance the member's offset so that the next chunk can be sent before this one is acknowledged.
+    member.setNextSnapshotOffset(request.chunkPosition() + request.data().length);
+    member.setNextSnapshotChunk(request.chunkOffset() + 1);
+    member.setNextSnapshotComplete(request.complete());
     return request;
   }
 
+  /**
+   * Resets the position from which to send the next snapshot chunk to the member.
+   *
+   * @param member the member for which to reset the snapshot offset
+   * @param offset the byte position from which to resume sending the snapshot
+   * @param chunk the index of the chunk at the given position
+   */
+  protected void resetSnapshotOffset(RaftMemberContext member, int offset, int chunk) {
+    member.setNextSnapshotOffset(offset);
+    member.setAcknowledgedSnapshotOffset(offset);
+    member.setNextSnapshotChunk(chunk);
+    member.setAcknowledgedSnapshotChunk(chunk);
+    member.setNextSnapshotComplete(false);
+  }
+
   /**
    * Connects to the member and sends a snapshot request.
    */
@@ -460,7 +528,7 @@ abstract class AbstractAppender implements AutoCloseable {
     // Start the install to the member.
     member.startInstall();
 
-    long timestamp = System.currentTimeMillis();
+    long timestamp = System.nanoTime();
 
     log.trace("Sending {} to {}", request, member.getMember().memberId());
     raft.getProtocol().install(member.getMember().memberId(), request).whenCompleteAsync((response, error) -> {
@@ -485,10 +553,12 @@ abstract class AbstractAppender implements AutoCloseable {
    * Handles an install response failure.
    */
   protected void handleInstallResponseFailure(RaftMemberContext member, InstallRequest request, Throwable error) {
-    // Reset the member's snapshot index and offset to resend the snapshot from the start
-    // once a connection to the member is re-established.
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotOffset(0);
+    // Rewind the member's snapshot offset to resend the snapshot from the last acknowledged chunk
+    // once a connection to the member is re-established, and reduce the chunk size.
+    if (request.snapshotIndex() == member.getNextSnapshotIndex()) {
+      resetSnapshotOffset(member, member.getAcknowledgedSnapshotOffset(), member.getAcknowledgedSnapshotChunk());
+      member.decreaseSnapshotChunkSize();
+    }
 
     // Log the failed attempt to contact the member.
     failAttempt(member, request, error);
@@ -513,16 +583,28 @@ abstract class AbstractAppender implements AutoCloseable {
     // Reset the member failure count and update the member's status if necessary.
     succeedAttempt(member);
 
-    // If the install request was completed successfully, set the member's snapshotIndex and reset
-    // the next snapshot index/offset.
-    if (request.complete()) {
-      member.setNextSnapshotIndex(0);
-      member.setNextSnapshotOffset(0);
-      member.setSnapshotIndex(request.snapshotIndex());
-    }
-    // If more install requests remain, increment the member's snapshot offset.
-    else {
-      member.setNextSnapshotOffset(request.chunkOffset() + 1);
+    // Ignore responses to chunks of a snapshot that is no longer being sent to the member.
+    if (request.snapshotIndex() == member.getNextSnapshotIndex()) {
+      // If the install request was completed successfully, set the member's snapshotIndex and reset
+      // the next snapshot index/offset.
+      if (request.complete()) {
+        member.setNextSnapshotIndex(0);
+        resetSnapshotOffset(member, 0, 0);
+        member.setSnapshotIndex(request.snapshotIndex());
+      }
+      // If more install requests remain, record the acknowledged offset and increase the chunk size.
+      else {
+        int acknowledgedOffset = Math.max(request.chunkPosition() + request.data().length, response.nextOffset());
+        member.setAcknowledgedSnapshotOffset(Math.max(member.getAcknowledgedSnapshotOffset(), acknowledgedOffset));
+        member.setAcknowledgedSnapshotChunk(Math.max(member.getAcknowledgedSnapshotChunk(), request.chunkOffset() + 1));
+        member.increaseSnapshotChunkSize();
+
+        // If the member has already received chunks that have not yet been sent, e.g. prior to a change
+        // in leadership, skip ahead to the member's next expected offset.
+        if (response.nextOffset() > member.getNextSnapshotOffset() && !member.isNextSnapshotComplete()) {
+          member.setNextSnapshotOffset(response.nextOffset());
+        }
+      }
     }
 
     // Recursively append entries to the member.
@@ -535,8 +617,14 @@ abstract class AbstractAppender implements AutoCloseable {
   @SuppressWarnings("unused")
   protected void handleInstallResponseError(RaftMemberContext member, InstallRequest request, InstallResponse response) {
     log.warn("Failed to install {}", member.getMember().memberId());
-    member.setNextSnapshotIndex(0);
-    member.setNextSnapshotOffset(0);
+
+    // Resume sending the snapshot from the offset expected by the member. If the member has no record
+    // of the snapshot, the response offset is 0 and the snapshot is resent from the start. Members that
+    // report an offset track chunks by position, so the chunk index is only restarted with the snapshot.
+    if (request.snapshotIndex() == member.getNextSnapshotIndex()) {
+      int offset = response.nextOffset();
+      resetSnapshotOffset(member, offset, offset == 0 ? 0 : member.getAcknowledgedSnapshotChunk());
+    }
   }
 
   @Override
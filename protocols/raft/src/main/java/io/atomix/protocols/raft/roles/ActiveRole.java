@@ -64,12 +64,14 @@ public abstract class ActiveRole extends PassiveRole {
   public CompletableFuture<PollResponse> onPoll(PollRequest request) {
     raft.checkThread();
     logRequest(request);
-    updateTermAndLeader(request.term(), null);
     return CompletableFuture.completedFuture(logResponse(handlePoll(request)));
   }
 
   /**
    * Handles a poll request.
+   * <p>
+   * Polls are pre-votes: they never change the local term or leader, so a member that rejoins the cluster after a
+   * partition cannot disrupt a healthy leader by polling it with a greater term.
    */
   protected PollResponse handlePoll(PollRequest request) {
     // If the request term is not as great as the current context term then don't
@@ -82,6 +84,16 @@ public abstract class ActiveRole extends PassiveRole {
           .withTerm(raft.getTerm())
           .withAccepted(false)
           .build();
+    }
+    // If a leader has been heard from within the election timeout then reject the request. This also
+    // guarantees that no leader is elected while the current leader holds a lease.
+    else if (isLeaderAlive()) {
+      log.debug("Rejected {}: leader heard from within the election timeout", request);
+      return PollResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .withTerm(raft.getTerm())
+          .withAccepted(false)
+          .build();
     } else if (isLogUpToDate(request.lastLogIndex(), request.lastLogTerm(), request)) {
       return PollResponse.builder()
           .withStatus(RaftResponse.Status.OK)
@@ -97,6 +109,13 @@ public abstract class ActiveRole extends PassiveRole {
     }
   }
 
+  /**
+   * Returns a boolean indicating whether a leader has been heard from within the election timeout.
+   */
+  protected boolean isLeaderAlive() {
+    return false;
+  }
+
   @Override
   public CompletableFuture<VoteResponse> onVote(VoteRequest request) {
     raft.checkThread();
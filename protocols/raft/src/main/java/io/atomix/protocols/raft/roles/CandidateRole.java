@@ -118,13 +118,12 @@ public final class CandidateRole extends ActiveRole {
     Duration delay = raft.getElectionTimeout().plus(Duration.ofMillis(random.nextInt((int) raft.getElectionTimeout().toMillis())));
     currentTimer = raft.getThreadContext().schedule(delay, () -> {
       if (!complete.get()) {
-        // When the election times out, clear the previous majority vote
-        // check and restart the election.
+        // When the election times out, clear the previous majority vote check and return to the
+        // follower state. The next election is started only once a majority of the cluster accepts
+        // a new poll, so a candidate that is partitioned from the cluster doesn't keep increasing its term.
         log.debug("Election timed out");
         quorum.cancel();
-
-        sendVoteRequests();
-        log.debug("Restarted election");
+        raft.transition(RaftServer.Role.FOLLOWER);
       }
     });
 
@@ -17,7 +17,10 @@ package io.atomix.protocols.raft.roles;
 
 import io.atomix.cluster.ClusterMembershipEvent;
 import io.atomix.cluster.ClusterMembershipEventListener;
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.RaftException;
 import io.atomix.protocols.raft.RaftServer;
+import io.atomix.protocols.raft.ReadConsistency;
 import io.atomix.protocols.raft.cluster.RaftMember;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.protocols.raft.cluster.impl.RaftMemberContext;
@@ -29,16 +32,27 @@ import io.atomix.protocols.raft.protocol.ConfigureResponse;
 import io.atomix.protocols.raft.protocol.InstallRequest;
 import io.atomix.protocols.raft.protocol.InstallResponse;
 import io.atomix.protocols.raft.protocol.PollRequest;
+import io.atomix.protocols.raft.protocol.QueryRequest;
+import io.atomix.protocols.raft.protocol.QueryResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
 import io.atomix.protocols.raft.protocol.VoteRequest;
 import io.atomix.protocols.raft.protocol.VoteResponse;
+import io.atomix.protocols.raft.session.RaftSession;
+import io.atomix.protocols.raft.storage.log.entry.QueryEntry;
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.protocols.raft.utils.Quorum;
 import io.atomix.storage.journal.Indexed;
 import io.atomix.utils.concurrent.Scheduled;
 
 import java.time.Duration;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NavigableMap;
 import java.util.Random;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
@@ -49,7 +63,12 @@ import java.util.stream.Collectors;
 public final class FollowerRole extends ActiveRole {
   private final ClusterMembershipEventListener clusterListener = this::handleClusterEvent;
   private final Random random = new Random();
+  private final NavigableMap<Long, List<CompletableFuture<Void>>> pendingReads = new TreeMap<>();
+  private CompletableFuture<Long> readIndexFuture;
+  private boolean readIndexPending;
   private Scheduled heartbeatTimer;
+  private long heartbeatTime;
+  private boolean heartbeatReceived;
 
   public FollowerRole(RaftContext context) {
     super(context);
@@ -79,11 +98,27 @@ public final class FollowerRole extends ActiveRole {
       RaftMember leader = raft.getLeader();
       if (leader != null && event.type() == ClusterMembershipEvent.Type.MEMBER_REMOVED && event.subject().id().equals(leader.memberId())) {
         raft.setLeader(null);
+        heartbeatReceived = false;
         sendPollRequests();
       }
     });
   }
 
+  @Override
+  protected boolean isLeaderAlive() {
+    return heartbeatReceived && System.nanoTime() - heartbeatTime < raft.getElectionTimeout().toNanos();
+  }
+
+  /**
+   * Records a heartbeat from the leader of the current term.
+   */
+  private void updateHeartbeatTime(long term) {
+    if (term == raft.getTerm()) {
+      heartbeatTime = System.nanoTime();
+      heartbeatReceived = true;
+    }
+  }
+
   /**
    * Resets the heartbeat timer.
    */
@@ -197,6 +232,7 @@ public final class FollowerRole extends ActiveRole {
   @Override
   public CompletableFuture<InstallResponse> onInstall(InstallRequest request) {
     CompletableFuture<InstallResponse> future = super.onInstall(request);
+    updateHeartbeatTime(request.term());
     resetHeartbeatTimeout();
     return future;
   }
@@ -204,6 +240,7 @@ public final class FollowerRole extends ActiveRole {
   @Override
   public CompletableFuture<ConfigureResponse> onConfigure(ConfigureRequest request) {
     CompletableFuture<ConfigureResponse> future = super.onConfigure(request);
+    updateHeartbeatTime(request.term());
     resetHeartbeatTimeout();
     return future;
   }
@@ -212,11 +249,168 @@ public final class FollowerRole extends ActiveRole {
   public CompletableFuture<AppendResponse> onAppend(AppendRequest request) {
     CompletableFuture<AppendResponse> future = super.onAppend(request);
 
+    // Complete reads waiting for the commit index to reach their read index.
+    if (!pendingReads.isEmpty()) {
+      completeReads();
+    }
+
     // Reset the heartbeat timeout.
+    updateHeartbeatTime(request.term());
     resetHeartbeatTimeout();
     return future;
   }
 
+  @Override
+  public CompletableFuture<QueryResponse> onQuery(QueryRequest request) {
+    raft.checkThread();
+
+    // Linearizable queries for sessions known to this server are served locally once the state machine has caught
+    // up to a read index confirmed by the leader. All other queries are handled as usual.
+    if (raft.getState() != RaftContext.State.READY || raft.getLastApplied() < request.session()) {
+      return super.onQuery(request);
+    }
+
+    RaftSession session = raft.getSessions().getSession(request.session());
+    if (session == null || session.readConsistency() != ReadConsistency.LINEARIZABLE) {
+      return super.onQuery(request);
+    }
+
+    logRequest(request);
+
+    final Indexed<QueryEntry> entry = new Indexed<>(
+        request.index(),
+        new QueryEntry(
+            raft.getTerm(),
+            System.currentTimeMillis(),
+            request.session(),
+            request.sequenceNumber(),
+            request.operation()), 0);
+
+    CompletableFuture<QueryResponse> future = new CompletableFuture<>();
+    readIndex().whenComplete((readIndex, readError) -> {
+      // If the leader could not provide a read index, forward the query to the leader.
+      if (readError != null) {
+        log.trace("Failed to obtain read index, forwarding query to leader");
+        queryForward(request).whenComplete((response, error) -> {
+          if (error == null) {
+            future.complete(response);
+          } else {
+            future.completeExceptionally(error);
+          }
+        });
+        return;
+      }
+
+      awaitCommit(readIndex).whenComplete((result, commitError) -> {
+        if (commitError == null) {
+          applyQuery(entry).whenComplete((response, error) -> {
+            if (error == null) {
+              future.complete(logResponse(response));
+            } else {
+              future.completeExceptionally(error);
+            }
+          });
+        } else {
+          future.complete(logResponse(QueryResponse.builder()
+              .withStatus(RaftResponse.Status.ERROR)
+              .withError(RaftError.Type.ILLEGAL_MEMBER_STATE)
+              .build()));
+        }
+      });
+    });
+    return future;
+  }
+
+  /**
+   * Requests a read index from the leader.
+   * <p>
+   * Queries that are waiting for a read index share a single request to the leader. At most one request is in
+   * progress at any given time. Queries received while a request is in progress are given the read index of the next
+   * request, which is only sent once the current request completes. This ensures the read index for a query is
+   * always confirmed by the leader after the query was received.
+   *
+   * @return A completable future to be completed with the read index.
+   */
+  private CompletableFuture<Long> readIndex() {
+    CompletableFuture<Long> future = readIndexFuture;
+    if (future == null) {
+      future = new CompletableFuture<>();
+      readIndexFuture = future;
+      if (!readIndexPending) {
+        sendReadIndexRequest();
+      }
+    }
+    return future;
+  }
+
+  /**
+   * Sends a read index request to the leader for pending queries.
+   */
+  private void sendReadIndexRequest() {
+    CompletableFuture<Long> future = readIndexFuture;
+    readIndexFuture = null;
+
+    RaftMember leader = raft.getLeader();
+    if (leader == null) {
+      future.completeExceptionally(new RaftException.NoLeader("No leader found"));
+      return;
+    }
+
+    readIndexPending = true;
+    raft.getProtocol().readIndex(leader.memberId(), ReadIndexRequest.builder().build())
+        .whenCompleteAsync((response, error) -> {
+          readIndexPending = false;
+          if (error != null) {
+            future.completeExceptionally(error);
+          } else if (response.status() == RaftResponse.Status.OK) {
+            future.complete(response.index());
+          } else {
+            future.completeExceptionally(response.error().createException());
+          }
+
+          // If queries were received while the request was in progress, request a new read index for them.
+          if (readIndexFuture != null && isRunning()) {
+            sendReadIndexRequest();
+          }
+        }, raft.getThreadContext());
+  }
+
+  /**
+   * Returns a future to be completed once entries up to the given index have been committed and submitted to the
+   * state machine.
+   */
+  private CompletableFuture<Void> awaitCommit(long index) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (raft.getCommitIndex() >= index) {
+      completeRead(future);
+    } else {
+      pendingReads.computeIfAbsent(index, i -> new LinkedList<>()).add(future);
+    }
+    return future;
+  }
+
+  /**
+   * Completes pending reads for which the read index has been committed.
+   */
+  private void completeReads() {
+    SortedMap<Long, List<CompletableFuture<Void>>> reads = pendingReads.headMap(raft.getCommitIndex(), true);
+    reads.values().forEach(futures -> futures.forEach(this::completeRead));
+    reads.clear();
+  }
+
+  /**
+   * Completes a read once all committed entries have been submitted to the state machine.
+   */
+  private void completeRead(CompletableFuture<Void> future) {
+    raft.getServiceManager().applyAll(raft.getCommitIndex()).whenComplete((result, error) -> {
+      if (error == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(error);
+      }
+    });
+  }
+
   @Override
   protected VoteResponse handleVote(VoteRequest request) {
     // Reset the heartbeat timeout if we voted for another candidate.
@@ -237,9 +431,23 @@ public final class FollowerRole extends ActiveRole {
     }
   }
 
+  /**
+   * Fails pending reads.
+   */
+  private void failReads() {
+    if (readIndexFuture != null) {
+      readIndexFuture.completeExceptionally(new RaftException.IllegalMemberState("Inactive state"));
+      readIndexFuture = null;
+    }
+    pendingReads.values().forEach(futures -> futures.forEach(future ->
+        future.completeExceptionally(new RaftException.IllegalMemberState("Inactive state"))));
+    pendingReads.clear();
+  }
+
   @Override
   public synchronized CompletableFuture<Void> stop() {
     raft.getMembershipService().removeListener(clusterListener);
+    failReads();
     return super.stop().thenRun(this::cancelHeartbeatTimers);
   }
 
@@ -43,22 +43,31 @@ final class LeaderAppender extends AbstractAppender {
   private static final long MAX_HEARTBEAT_WAIT = 60000;
   private static final int MIN_BACKOFF_FAILURE_COUNT = 5;
   private static final int MIN_STEP_DOWN_FAILURE_COUNT = 3;
+  private static final int LEASE_CLOCK_DRIFT_DIVISOR = 10;
 
   private final long leaderTime;
   private final long leaderIndex;
   private final long electionTimeout;
   private final long heartbeatInterval;
+  private final boolean pipelining;
+  private final long leaseTimeout;
   private long heartbeatTime;
+  private long leaseTime;
   private final Map<Long, CompletableFuture<Long>> appendFutures = new HashMap<>();
   private final List<TimestampedFuture<Long>> heartbeatFutures = new ArrayList<>();
+  private CompletableFuture<Void> readFuture;
+  private boolean confirming;
 
   LeaderAppender(LeaderRole leader) {
     super(leader.raft);
-    this.leaderTime = System.currentTimeMillis();
+    this.leaderTime = System.nanoTime();
     this.leaderIndex = raft.getLogWriter().getNextIndex();
-    this.heartbeatTime = leaderTime;
-    this.electionTimeout = raft.getElectionTimeout().toMillis();
+    this.heartbeatTime = System.currentTimeMillis();
+    this.electionTimeout = raft.getElectionTimeout().toNanos();
     this.heartbeatInterval = raft.getHeartbeatInterval().toMillis();
+    this.pipelining = raft.isAppendPipelining();
+    this.leaseTimeout = electionTimeout - electionTimeout / LEASE_CLOCK_DRIFT_DIVISOR;
+    this.leaseTime = leaderTime - leaseTimeout;
   }
 
   /**
@@ -70,6 +79,23 @@ final class LeaderAppender extends AbstractAppender {
     return heartbeatTime;
   }
 
+  /**
+   * Returns whether this server holds a leader lease.
+   * <p>
+   * The lease starts when a heartbeat that is acknowledged by a majority of the cluster is sent, and is renewed by
+   * each such heartbeat. Followers only accept polls once they have not heard from a leader for at least an election
+   * timeout, so no other leader can be elected until an election timeout after the lease started. The lease expires
+   * somewhat earlier than that to tolerate clock drift between members.
+   *
+   * @return whether this server holds a leader lease
+   */
+  public boolean hasLease() {
+    if (raft.getCluster().getActiveMemberStates().isEmpty()) {
+      return true;
+    }
+    return System.nanoTime() - leaseTime < leaseTimeout;
+  }
+
   /**
    * Returns the leader index.
    *
@@ -118,6 +144,52 @@ final class LeaderAppender extends AbstractAppender {
     return future;
   }
 
+  /**
+   * Confirms this server's leadership for a batch of reads.
+   * <p>
+   * Reads that are pending confirmation share a single heartbeat round to a majority of the cluster. At most one
+   * confirmation round is in progress at any given time. Reads requested while a round is in progress are
+   * confirmed by the next round, which is only started once the current round completes. This ensures the
+   * round confirming a read is always started after the read was requested.
+   *
+   * @return A completable future to be completed once leadership has been confirmed by a majority of the cluster.
+   */
+  public CompletableFuture<Void> confirmLeadership() {
+    raft.checkThread();
+
+    CompletableFuture<Void> future = readFuture;
+    if (future == null) {
+      future = new CompletableFuture<>();
+      readFuture = future;
+      if (!confirming) {
+        confirmReads();
+      }
+    }
+    return future;
+  }
+
+  /**
+   * Starts a heartbeat round to confirm leadership for pending reads.
+   */
+  private void confirmReads() {
+    CompletableFuture<Void> future = readFuture;
+    readFuture = null;
+    confirming = true;
+    appendEntries().whenComplete((result, error) -> {
+      confirming = false;
+      if (error == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(error);
+      }
+
+      // If reads were requested while the round was in progress, start another round to confirm them.
+      if (readFuture != null && open) {
+        confirmReads();
+      }
+    });
+  }
+
   /**
    * Registers a commit handler for the given commit index.
    *
@@ -199,18 +271,35 @@ final class LeaderAppender extends AbstractAppender {
           return;
         }
 
+        // Keep multiple chunks of the snapshot in flight to the member until the last chunk has been sent.
         log.debug("Replicating snapshot {} to {}", snapshot.index(), member.getMember().memberId());
-        sendInstallRequest(member, buildInstallRequest(member, snapshot));
-      } else if (member.canAppend()) {
+        while (member.canInstall()) {
+          sendInstallRequest(member, buildInstallRequest(member, snapshot));
+        }
+      } else if (canAppend(member)) {
         sendAppendRequest(member, buildAppendRequest(member, -1));
       }
     }
     // If no AppendRequest is already being sent, send an AppendRequest.
-    else if (member.canAppend()) {
+    else if (canAppend(member)) {
       sendAppendRequest(member, buildAppendRequest(member, -1));
     }
   }
 
+  /**
+   * Returns whether an append request can be sent to the given member.
+   * <p>
+   * When append pipelining is enabled, requests are sent to the member until its pipeline window is full.
+   */
+  private boolean canAppend(RaftMemberContext member) {
+    return pipelining ? member.canPipelineAppend() : member.canAppend();
+  }
+
+  @Override
+  protected int getBatchSize(RaftMemberContext member) {
+    return pipelining ? member.getPipelineBatchSize() : super.getBatchSize(member);
+  }
+
   @Override
   protected boolean hasMoreEntries(RaftMemberContext member) {
     // If the member's nextIndex is an entry in the local log then more entries can be sent.
@@ -229,7 +318,7 @@ final class LeaderAppender extends AbstractAppender {
     if (quorumIndex >= 0) {
       return raft.getCluster().getActiveMemberStates((m1, m2) -> Long.compare(m2.getHeartbeatTime(), m1.getHeartbeatTime())).get(quorumIndex).getHeartbeatTime();
     }
-    return System.currentTimeMillis();
+    return System.nanoTime();
   }
 
   private long computeResponseTime() {
@@ -237,7 +326,7 @@ final class LeaderAppender extends AbstractAppender {
     if (quorumIndex >= 0) {
       return raft.getCluster().getActiveMemberStates((m1, m2) -> Long.compare(m2.getResponseTime(), m1.getResponseTime())).get(quorumIndex).getResponseTime();
     }
-    return System.currentTimeMillis();
+    return System.nanoTime();
   }
 
   /**
@@ -248,11 +337,12 @@ final class LeaderAppender extends AbstractAppender {
 
     // Update the member's heartbeat time. This will be used when calculating the quorum heartbeat time.
     member.setHeartbeatTime(timestamp);
-    member.setResponseTime(System.currentTimeMillis());
+    member.setResponseTime(System.nanoTime());
 
-    // Compute the quorum heartbeat time.
+    // Compute the quorum heartbeat time, which renews the leader lease.
     long heartbeatTime = computeHeartbeatTime();
-    long currentTimestamp = System.currentTimeMillis();
+    leaseTime = Math.max(leaseTime, heartbeatTime);
+    long currentTimestamp = System.nanoTime();
 
     // Iterate through pending timestamped heartbeat futures and complete all futures where the timestamp
     // is greater than the last timestamp a quorum of the cluster was contacted.
@@ -290,7 +380,7 @@ final class LeaderAppender extends AbstractAppender {
 
     // Iterate through pending timestamped heartbeat futures and fail futures that have been pending longer
     // than an election timeout.
-    long currentTimestamp = System.currentTimeMillis();
+    long currentTimestamp = System.nanoTime();
     Iterator<TimestampedFuture<Long>> iterator = heartbeatFutures.iterator();
     while (iterator.hasNext()) {
       TimestampedFuture<Long> future = iterator.next();
@@ -372,6 +462,12 @@ final class LeaderAppender extends AbstractAppender {
     recordHeartbeat(member, timestamp);
   }
 
+  @Override
+  protected void handleStaleAppendResponse(RaftMemberContext member, AppendRequest request, AppendResponse response, long timestamp) {
+    super.handleStaleAppendResponse(member, request, response, timestamp);
+    recordHeartbeat(member, timestamp);
+  }
+
   @Override
   protected void handleAppendResponseOk(RaftMemberContext member, AppendRequest request, AppendResponse response) {
     // Reset the member failure count and update the member's availability status if necessary.
@@ -438,7 +534,7 @@ final class LeaderAppender extends AbstractAppender {
     // Verify that the leader has contacted a majority of the cluster within the last two election timeouts.
     // If the leader is not able to contact a majority of the cluster within two election timeouts, assume
     // that a partition occurred and transition back to the FOLLOWER state.
-    if (member.getFailureCount() >= MIN_STEP_DOWN_FAILURE_COUNT && System.currentTimeMillis() - Math.max(computeResponseTime(), leaderTime) > electionTimeout * 2) {
+    if (member.getFailureCount() >= MIN_STEP_DOWN_FAILURE_COUNT && System.nanoTime() - Math.max(computeResponseTime(), leaderTime) > electionTimeout * 2) {
       log.warn("Suspected network partition. Stepping down");
       raft.setLeader(null);
       raft.transition(RaftServer.Role.FOLLOWER);
@@ -464,6 +560,9 @@ final class LeaderAppender extends AbstractAppender {
         future.completeExceptionally(new IllegalStateException("Inactive state")));
     heartbeatFutures.forEach(future ->
         future.completeExceptionally(new RaftException.ProtocolException("Failed to reach consensus")));
+    if (readFuture != null) {
+      readFuture.completeExceptionally(new RaftException.ProtocolException("Failed to reach consensus"));
+    }
   }
 
   /**
@@ -473,7 +572,7 @@ final class LeaderAppender extends AbstractAppender {
     private final long timestamp;
 
     TimestampedFuture() {
-      this(System.currentTimeMillis());
+      this(System.nanoTime());
     }
 
     TimestampedFuture(long timestamp) {
@@ -51,6 +51,8 @@ import io.atomix.protocols.raft.protocol.PollResponse;
 import io.atomix.protocols.raft.protocol.QueryRequest;
 import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.TransferRequest;
@@ -75,7 +77,9 @@ import io.atomix.utils.concurrent.Scheduled;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
@@ -94,6 +98,8 @@ public final class LeaderRole extends ActiveRole {
   private final Set<SessionId> expiring = Sets.newHashSet();
   private long configuring;
   private boolean transferring;
+  private final List<CommandEntry> pendingEntries = new ArrayList<>();
+  private final List<CompletableFuture<Indexed<CommandEntry>>> pendingAppends = new ArrayList<>();
 
   public LeaderRole(RaftContext context) {
     super(context);
@@ -173,7 +179,13 @@ public final class LeaderRole extends ActiveRole {
     // in the cluster. This timer acts as a heartbeat to ensure this node remains
     // the leader.
     log.trace("Starting append timer");
-    appendTimer = raft.getThreadContext().schedule(Duration.ZERO, raft.getHeartbeatInterval(), this::appendMembers);
+    raft.getThreadContext().execute(this::appendMembers);
+
+    // Align the timer to the heartbeat interval so the heartbeats of all partitions led by this node are sent at about
+    // the same time and can be bundled by a heartbeat multiplexer.
+    long interval = Math.max(raft.getHeartbeatInterval().toMillis(), 1);
+    Duration delay = Duration.ofMillis(interval - System.currentTimeMillis() % interval);
+    appendTimer = raft.getThreadContext().schedule(delay, raft.getHeartbeatInterval(), this::appendMembers);
   }
 
   /**
@@ -699,7 +711,7 @@ public final class LeaderRole extends ActiveRole {
     final long timestamp = System.currentTimeMillis();
 
     CommandEntry command = new CommandEntry(term, timestamp, request.session(), request.sequenceNumber(), request.operation());
-    appendAndCompact(command)
+    appendCommand(command)
         .whenCompleteAsync((entry, error) -> {
           if (error != null) {
             Throwable cause = Throwables.getRootCause(error);
@@ -798,27 +810,94 @@ public final class LeaderRole extends ActiveRole {
   /**
    * Executes a bounded linearizable query.
    * <p>
-   * Bounded linearizable queries succeed as long as this server remains the leader. This is possible
-   * since the leader will step down in the event it fails to contact a majority of the cluster.
+   * Bounded linearizable queries are applied locally without contacting the cluster while this server holds a
+   * leader lease and its initial entry has been committed. Otherwise, the query falls back to a linearizable
+   * query, which confirms leadership with a majority of the cluster.
    */
   private CompletableFuture<QueryResponse> queryBoundedLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry);
+    if (appender.hasLease() && raft.getCommitIndex() >= appender.getIndex()) {
+      return applyQuery(entry);
+    }
+    return queryLinearizable(entry);
   }
 
   /**
    * Executes a linearizable query.
    * <p>
-   * Linearizable queries are first sequenced with commands and then applied to the state machine. Once
-   * applied, we verify the node's leadership prior to responding successfully to the query.
+   * Linearizable queries are executed using the read index. The commit index is recorded as the query's read
+   * index when the query is received, and the leader then verifies its leadership with a majority of the cluster.
+   * Concurrent queries share a single leadership confirmation round. Once leadership has been confirmed, the query
+   * is applied to the state machine after all entries up to the read index have been applied.
+   * <p>
+   * Because a leader may not know the commit index of prior terms until its own initial entry has been committed,
+   * the read index is at least the index of the leader's initial entry.
    */
   private CompletableFuture<QueryResponse> queryLinearizable(Indexed<QueryEntry> entry) {
-    return applyQuery(entry)
-        .thenComposeAsync(response -> appender.appendEntries()
-            .thenApply(index -> response)
-            .exceptionally(error -> QueryResponse.builder()
+    CompletableFuture<QueryResponse> future = new CompletableFuture<>();
+    readIndex().whenComplete((readIndex, error) -> {
+      if (error == null) {
+        // Apply the query once entries up to the read index have been submitted to the state machine.
+        raft.getServiceManager().applyAll(readIndex).whenComplete((result, applyError) -> {
+          if (applyError == null) {
+            applyQuery(entry).whenComplete((response, queryError) -> {
+              if (queryError == null) {
+                future.complete(response);
+              } else {
+                future.completeExceptionally(queryError);
+              }
+            });
+          } else {
+            future.complete(QueryResponse.builder()
                 .withStatus(RaftResponse.Status.ERROR)
-                .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
-                .build()), raft.getThreadContext());
+                .withError(RaftError.Type.QUERY_FAILURE, applyError.getMessage())
+                .build());
+          }
+        });
+      } else {
+        future.complete(QueryResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.QUERY_FAILURE, error.getMessage())
+            .build());
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Returns a read index for linearizable reads.
+   * <p>
+   * The commit index is recorded as the read index, and the returned future is completed once this server's
+   * leadership has been confirmed and the read index has been committed.
+   *
+   * @return A completable future to be completed with the read index.
+   */
+  private CompletableFuture<Long> readIndex() {
+    final long readIndex = Math.max(raft.getCommitIndex(), appender.getIndex());
+    return appender.confirmLeadership()
+        .thenCompose(v -> appender.appendEntries(readIndex))
+        .thenApply(index -> readIndex);
+  }
+
+  @Override
+  public CompletableFuture<ReadIndexResponse> onReadIndex(ReadIndexRequest request) {
+    raft.checkThread();
+    logRequest(request);
+
+    CompletableFuture<ReadIndexResponse> future = new CompletableFuture<>();
+    readIndex().whenComplete((readIndex, error) -> {
+      if (error == null) {
+        future.complete(logResponse(ReadIndexResponse.builder()
+            .withStatus(RaftResponse.Status.OK)
+            .withIndex(readIndex)
+            .build()));
+      } else {
+        future.complete(logResponse(ReadIndexResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.PROTOCOL_ERROR, error.getMessage())
+            .build()));
+      }
+    });
+    return future;
   }
 
   @Override
@@ -1044,6 +1123,70 @@ public final class LeaderRole extends ActiveRole {
     return future;
   }
 
+  /**
+   * Appends a command to the Raft log in a batch with other commands.
+   * <p>
+   * Commands received while handling the requests already queued on the Raft thread are collected and appended to the
+   * log together once those requests have been handled.
+   *
+   * @param entry the command entry to append
+   * @return a completable future to be completed once the entry has been appended
+   */
+  private CompletableFuture<Indexed<CommandEntry>> appendCommand(CommandEntry entry) {
+    CompletableFuture<Indexed<CommandEntry>> future = new CompletableFuture<>();
+    if (pendingEntries.isEmpty()) {
+      raft.getThreadContext().execute(this::appendPendingCommands);
+    }
+    pendingEntries.add(entry);
+    pendingAppends.add(future);
+    return future;
+  }
+
+  /**
+   * Appends all pending commands to the Raft log in a single batch.
+   */
+  private void appendPendingCommands() {
+    List<CommandEntry> entries = new ArrayList<>(pendingEntries);
+    List<CompletableFuture<Indexed<CommandEntry>>> futures = new ArrayList<>(pendingAppends);
+    pendingEntries.clear();
+    pendingAppends.clear();
+    if (entries.isEmpty()) {
+      return;
+    }
+
+    if (!isRunning()) {
+      futures.forEach(future -> future.completeExceptionally(new IllegalStateException("Not the leader")));
+      return;
+    }
+
+    long lastIndex = raft.getLogWriter().getLastIndex();
+    try {
+      List<Indexed<CommandEntry>> appended = raft.getLogWriter().appendAll(entries);
+      for (int i = 0; i < appended.size(); i++) {
+        log.trace("Appended {}", appended.get(i));
+        futures.get(i).complete(appended.get(i));
+      }
+    } catch (StorageException e) {
+      // Entries preceding the entry that failed to append remain in the log. Append the remaining entries
+      // individually so storage failures are handled for each entry.
+      int count = (int) (raft.getLogWriter().getLastIndex() - lastIndex);
+      for (int i = 0; i < entries.size(); i++) {
+        CompletableFuture<Indexed<CommandEntry>> future = futures.get(i);
+        if (i < count) {
+          future.complete(new Indexed<>(lastIndex + i + 1, entries.get(i), 0));
+        } else {
+          appendAndCompact(entries.get(i)).whenComplete((indexed, error) -> {
+            if (error == null) {
+              future.complete(indexed);
+            } else {
+              future.completeExceptionally(error);
+            }
+          });
+        }
+      }
+    }
+  }
+
   /**
    * Appends an entry to the Raft log and compacts logs if necessary.
    *
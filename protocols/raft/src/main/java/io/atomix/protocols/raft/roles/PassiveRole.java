@@ -63,6 +63,7 @@ import io.atomix.utils.time.WallClockTimestamp;
 
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 
@@ -418,7 +419,7 @@ public class PassiveRole extends InactiveRole {
   /**
    * Forwards the query to the leader.
    */
-  private CompletableFuture<QueryResponse> queryForward(QueryRequest request) {
+  protected CompletableFuture<QueryResponse> queryForward(QueryRequest request) {
     if (raft.getLeader() == null) {
       return CompletableFuture.completedFuture(logResponse(QueryResponse.builder()
           .withStatus(RaftResponse.Status.ERROR)
@@ -536,15 +537,17 @@ public class PassiveRole extends InactiveRole {
     // will be responsible in sending the correct snapshot to this server. Leaders must dictate
     // where snapshots must be sent since entries can still legitimately exist prior to the snapshot,
     // and so snapshots aren't simply sent at the beginning of the follower's log, but rather the
-    // leader dictates when a snapshot needs to be sent.
-    if (pendingSnapshot != null && request.snapshotIndex() != pendingSnapshot.snapshot().index()) {
+    // leader dictates when a snapshot needs to be sent. Snapshots taken at the same index by different
+    // leaders are not necessarily byte-for-byte identical, so a partially received snapshot is only resumed
+    // if its checksum matches as well, allowing a new leader with an identical snapshot to resume the install.
+    if (pendingSnapshot != null && !pendingSnapshot.matches(request)) {
       rollbackPendingSnapshot();
     }
 
     // If there is no pending snapshot, create a new snapshot.
     if (pendingSnapshot == null) {
       // For new snapshots, the initial snapshot offset must be 0.
-      if (request.chunkOffset() > 0) {
+      if (request.chunkOffset() > 0 || request.chunkPosition() > 0) {
         return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
             .withStatus(RaftResponse.Status.ERROR)
             .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset is invalid")
@@ -554,30 +557,58 @@ public class PassiveRole extends InactiveRole {
       Snapshot snapshot = raft.getSnapshotStore().newSnapshot(
           request.snapshotIndex(),
           WallClockTimestamp.from(request.snapshotTimestamp()));
-      pendingSnapshot = new PendingSnapshot(snapshot);
+      pendingSnapshot = new PendingSnapshot(snapshot, request.snapshotChecksum());
     }
 
-    // If the request offset is greater than the next expected snapshot offset, fail the request.
-    if (request.chunkOffset() > pendingSnapshot.nextOffset()) {
+    // Chunks sent without a byte position are identified by their index alone. Translate the index to the
+    // position at which the chunk must be written.
+    int position = request.chunkPosition();
+    if (position < 0) {
+      if (request.chunkOffset() > pendingSnapshot.nextChunk()) {
+        return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset does not match the next chunk offset")
+            .build()));
+      } else if (request.chunkOffset() < pendingSnapshot.nextChunk()) {
+        return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+            .withStatus(RaftResponse.Status.OK)
+            .build()));
+      }
+      position = pendingSnapshot.nextOffset();
+    }
+
+    // If the request position is greater than the next expected snapshot position, fail the request and
+    // indicate the position from which the leader should resume sending the snapshot.
+    if (position > pendingSnapshot.nextOffset()) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.ERROR)
           .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Request chunk offset does not match the next chunk offset")
+          .withNextOffset(pendingSnapshot.nextOffset())
           .build()));
     }
-    // If the request offset has already been written, return OK to skip to the next chunk.
-    else if (request.chunkOffset() < pendingSnapshot.nextOffset()) {
+    // If the request data has already been written, return OK to skip to the next expected position.
+    else if (position + request.data().length <= pendingSnapshot.nextOffset() && !request.complete()) {
       return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
           .withStatus(RaftResponse.Status.OK)
+          .withNextOffset(pendingSnapshot.nextOffset())
           .build()));
     }
 
-    // Write the data to the snapshot.
-    try (SnapshotWriter writer = pendingSnapshot.snapshot().openWriter()) {
-      writer.write(request.data());
-    }
+    // Write the data that has not already been received directly to the snapshot.
+    pendingSnapshot.write(request.data(), pendingSnapshot.nextOffset() - position);
 
     // If the snapshot is complete, store the snapshot and reset state, otherwise update the next snapshot offset.
     if (request.complete()) {
+      // If the received data does not match the leader's snapshot, discard it and restart the install.
+      if (!pendingSnapshot.verify()) {
+        log.warn("Snapshot {} checksum does not match, rolling back", pendingSnapshot.snapshot().index());
+        rollbackPendingSnapshot();
+        return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+            .withStatus(RaftResponse.Status.ERROR)
+            .withError(RaftError.Type.ILLEGAL_MEMBER_STATE, "Snapshot checksum does not match")
+            .build()));
+      }
+
       final long index = pendingSnapshot.snapshot().index();
       log.debug("Committing snapshot {}", index);
       try {
@@ -593,12 +624,14 @@ public class PassiveRole extends InactiveRole {
       }
 
       pendingSnapshot = null;
-    } else {
-      pendingSnapshot.incrementOffset();
+      return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
+          .withStatus(RaftResponse.Status.OK)
+          .build()));
     }
 
     return CompletableFuture.completedFuture(logResponse(InstallResponse.builder()
         .withStatus(RaftResponse.Status.OK)
+        .withNextOffset(pendingSnapshot.nextOffset())
         .build()));
   }
 
@@ -804,10 +837,17 @@ public class PassiveRole extends InactiveRole {
    */
   private static class PendingSnapshot {
     private final Snapshot snapshot;
-    private long nextOffset;
-
-    PendingSnapshot(Snapshot snapshot) {
+    private final long checksum;
+    private final SnapshotWriter writer;
+    private final CRC32 crc32 = new CRC32();
+    private boolean writing = true;
+    private int nextOffset;
+    private int nextChunk;
+
+    PendingSnapshot(Snapshot snapshot, long checksum) {
       this.snapshot = snapshot;
+      this.checksum = checksum;
+      this.writer = snapshot.openWriter();
     }
 
     /**
@@ -820,25 +860,69 @@ public class PassiveRole extends InactiveRole {
     }
 
     /**
-     * Returns and increments the next snapshot offset.
+     * Returns the next snapshot offset.
      *
      * @return the next snapshot offset
      */
-    public long nextOffset() {
+    public int nextOffset() {
       return nextOffset;
     }
 
     /**
-     * Increments the next snapshot offset.
+     * Returns the index of the next snapshot chunk.
+     *
+     * @return the index of the next snapshot chunk
      */
-    public void incrementOffset() {
-      nextOffset++;
+    public int nextChunk() {
+      return nextChunk;
+    }
+
+    /**
+     * Returns whether the given install request continues the pending snapshot.
+     * <p>
+     * If the request carries a checksum, the snapshot is continued only if the checksums match, regardless of
+     * which leader took the snapshot. Otherwise, the snapshot timestamps must match.
+     *
+     * @param request the install request
+     * @return whether the request continues the pending snapshot
+     */
+    public boolean matches(InstallRequest request) {
+      if (request.snapshotIndex() != snapshot.index()) {
+        return false;
+      }
+      if (request.snapshotChecksum() != 0 || checksum != 0) {
+        return request.snapshotChecksum() == checksum;
+      }
+      return request.snapshotTimestamp() == snapshot.timestamp().unixTimestamp();
+    }
+
+    /**
+     * Writes a chunk of data to the snapshot and advances the next snapshot offset.
+     *
+     * @param data the chunk data
+     * @param offset the offset within the chunk from which to write
+     */
+    public void write(byte[] data, int offset) {
+      writer.write(data, offset, data.length - offset);
+      crc32.update(data, offset, data.length - offset);
+      nextOffset += data.length - offset;
+      nextChunk++;
+    }
+
+    /**
+     * Returns whether the received data matches the snapshot checksum.
+     *
+     * @return whether the received data matches the snapshot checksum, or {@code true} if no checksum was provided
+     */
+    public boolean verify() {
+      return checksum == 0 || crc32.getValue() == checksum;
     }
 
     /**
      * Commits the snapshot to disk.
      */
     public void commit() {
+      closeWriter();
       snapshot.complete();
     }
 
@@ -846,13 +930,25 @@ public class PassiveRole extends InactiveRole {
      * Closes the snapshot.
      */
     public void rollback() {
+      closeWriter();
       snapshot.close();
     }
 
+    /**
+     * Closes the snapshot writer if it is still open.
+     */
+    private void closeWriter() {
+      if (writing) {
+        writing = false;
+        writer.close();
+      }
+    }
+
     @Override
     public String toString() {
       return toStringHelper(this)
           .add("snapshot", snapshot)
+          .add("checksum", checksum)
           .add("nextOffset", nextOffset)
           .toString();
     }
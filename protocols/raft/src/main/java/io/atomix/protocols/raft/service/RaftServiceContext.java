@@ -21,6 +21,7 @@ import io.atomix.primitive.PrimitiveId;
 import io.atomix.primitive.PrimitiveType;
 import io.atomix.primitive.operation.OperationType;
 import io.atomix.primitive.operation.PrimitiveOperation;
+import io.atomix.primitive.service.BackupOutput;
 import io.atomix.primitive.service.Commit;
 import io.atomix.primitive.service.PrimitiveService;
 import io.atomix.primitive.service.ServiceConfig;
@@ -36,9 +37,12 @@ import io.atomix.protocols.raft.impl.OperationResult;
 import io.atomix.protocols.raft.impl.RaftContext;
 import io.atomix.protocols.raft.session.RaftSession;
 import io.atomix.protocols.raft.session.RaftSessionRegistry;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
 import io.atomix.protocols.raft.storage.snapshot.SnapshotWriter;
+import io.atomix.storage.buffer.Buffer;
 import io.atomix.storage.buffer.Bytes;
+import io.atomix.storage.buffer.HeapBuffer;
 import io.atomix.utils.concurrent.ThreadContextFactory;
 import io.atomix.utils.config.ConfigurationException;
 import io.atomix.utils.logging.ContextualLoggerFactory;
@@ -50,7 +54,9 @@ import io.atomix.utils.time.WallClock;
 import io.atomix.utils.time.WallClockTimestamp;
 import org.slf4j.Logger;
 
+import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -293,6 +299,40 @@ public class RaftServiceContext implements ServiceContext {
     log.debug("Taking snapshot {}", writer.snapshot().index());
 
     // Serialize sessions to the in-memory snapshot and request a snapshot from the state machine.
+    writeSessions(writer);
+    service.backup(new DefaultBackupOutput(writer, service.serializer()));
+  }
+
+  /**
+   * Forks a snapshot of the service state.
+   * <p>
+   * If the service supports forking its state, the service's sessions are serialized immediately and the returned
+   * function writes the sessions and the forked service state to a snapshot. The function may be called on any thread.
+   *
+   * @param snapshot the snapshot for which to fork the service state
+   * @return a function with which to write the snapshot, or {@code null} if the service cannot be forked
+   */
+  public Consumer<SnapshotWriter> forkSnapshot(Snapshot snapshot) {
+    Consumer<BackupOutput> backup = service.fork();
+    if (backup == null) {
+      return null;
+    }
+
+    log.debug("Forking snapshot {}", snapshot.index());
+    Buffer sessions = HeapBuffer.allocate();
+    writeSessions(new SnapshotWriter(sessions, snapshot));
+    sessions.flip();
+    return writer -> {
+      writer.write(sessions);
+      sessions.release();
+      backup.accept(new DefaultBackupOutput(writer, service.serializer()));
+    };
+  }
+
+  /**
+   * Writes the service's clock and sessions to the given snapshot writer.
+   */
+  private void writeSessions(SnapshotWriter writer) {
     writer.writeLong(primitiveId.id());
     writer.writeString(primitiveType.name());
     writer.writeString(serviceName);
@@ -300,8 +340,9 @@ public class RaftServiceContext implements ServiceContext {
     writer.writeLong(currentTimestamp);
     writer.writeLong(timestampDelta);
 
-    writer.writeInt(sessions.getSessions().size());
-    for (RaftSession session : sessions.getSessions()) {
+    Collection<RaftSession> sessions = this.sessions.getSessions(primitiveId);
+    writer.writeInt(sessions.size());
+    for (RaftSession session : sessions) {
       writer.writeLong(session.sessionId().id());
       writer.writeString(session.memberId().id());
       writer.writeString(session.readConsistency().name());
@@ -313,7 +354,6 @@ public class RaftServiceContext implements ServiceContext {
       writer.writeLong(session.getEventIndex());
       writer.writeLong(session.getLastCompleted());
     }
-    service.backup(new DefaultBackupOutput(writer, service.serializer()));
   }
 
   /**
@@ -67,9 +67,10 @@ public enum  CommunicationStrategy {
   /**
    * The {@code FOLLOWERS} selection strategy forces the client to connect only to followers. Connecting to
    * followers ensures that the leader is not overloaded with direct client requests. This strategy should be
-   * used when clients frequently submit operations with lower consistency levels that don't need to
-   * be forwarded to the cluster leader. For clients that frequently submit commands or queries with linearizable
-   * consistency, the {@link #LEADER} ConnectionStrategy may be more performant.
+   * used when clients frequently submit queries that don't need to be forwarded to the cluster leader. Followers
+   * serve linearizable queries locally once they have caught up to a read index confirmed by the leader, so
+   * read-heavy clients can spread linearizable queries across the cluster. For clients that frequently submit
+   * commands, the {@link #LEADER} ConnectionStrategy may be more performant.
    */
   FOLLOWERS {
     @Override
@@ -553,7 +553,7 @@ public class RaftSession extends AbstractSession {
    */
   public void open() {
     setState(State.OPEN);
-    protocol.registerResetListener(sessionId(), request -> resendEvents(request.index()), server.getServiceManager().executor());
+    protocol.registerResetListener(sessionId(), request -> resendEvents(request.index()), server.getServiceManager().executor(context));
   }
 
   /**
@@ -23,6 +23,7 @@ import io.atomix.protocols.raft.storage.system.MetaStore;
 import io.atomix.storage.StorageException;
 import io.atomix.storage.StorageLevel;
 import io.atomix.storage.buffer.FileBuffer;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.storage.journal.JournalSegmentDescriptor;
 import io.atomix.storage.journal.JournalSegmentFile;
 import io.atomix.storage.statistics.StorageStatistics;
@@ -32,6 +33,7 @@ import io.atomix.utils.serializer.Serializer;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.time.Duration;
 import java.util.function.Predicate;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
@@ -77,6 +79,11 @@ public class RaftStorage {
   private final double freeDiskBuffer;
   private final double freeMemoryBuffer;
   private final boolean flushOnCommit;
+  private final Duration groupCommitWindow;
+  private final int groupCommitBytes;
+  private final CompressionType compressionType;
+  private final int mappedSegments;
+  private final int preallocatedSegments;
   private final boolean retainStaleSnapshots;
   private final StorageStatistics statistics;
 
@@ -92,6 +99,11 @@ public class RaftStorage {
       double freeDiskBuffer,
       double freeMemoryBuffer,
       boolean flushOnCommit,
+      Duration groupCommitWindow,
+      int groupCommitBytes,
+      CompressionType compressionType,
+      int mappedSegments,
+      int preallocatedSegments,
       boolean retainStaleSnapshots) {
     this.prefix = prefix;
     this.storageLevel = storageLevel;
@@ -104,6 +116,11 @@ public class RaftStorage {
     this.freeDiskBuffer = freeDiskBuffer;
     this.freeMemoryBuffer = freeMemoryBuffer;
     this.flushOnCommit = flushOnCommit;
+    this.groupCommitWindow = groupCommitWindow;
+    this.groupCommitBytes = groupCommitBytes;
+    this.compressionType = compressionType;
+    this.mappedSegments = mappedSegments;
+    this.preallocatedSegments = preallocatedSegments;
     this.retainStaleSnapshots = retainStaleSnapshots;
     this.statistics = new StorageStatistics(directory);
     directory.mkdirs();
@@ -213,6 +230,51 @@ public class RaftStorage {
     return flushOnCommit;
   }
 
+  /**
+   * Returns the window within which commits are grouped into a single flush.
+   *
+   * @return The group commit window.
+   */
+  public Duration groupCommitWindow() {
+    return groupCommitWindow;
+  }
+
+  /**
+   * Returns the maximum number of bytes to group in a single commit.
+   *
+   * @return The maximum number of bytes to group in a single commit.
+   */
+  public int groupCommitBytes() {
+    return groupCommitBytes;
+  }
+
+  /**
+   * Returns the compression type for committed log segments.
+   *
+   * @return The compression type for committed log segments.
+   */
+  public CompressionType compressionType() {
+    return compressionType;
+  }
+
+  /**
+   * Returns the number of log segments to map into memory when using {@link StorageLevel#TIERED} storage.
+   *
+   * @return The number of log segments to map into memory.
+   */
+  public int mappedSegments() {
+    return mappedSegments;
+  }
+
+  /**
+   * Returns the number of log segment files to pre-allocate in the background.
+   *
+   * @return The number of log segment files to pre-allocate.
+   */
+  public int preallocatedSegments() {
+    return preallocatedSegments;
+  }
+
   /**
    * Returns a boolean value indicating whether to retain stale snapshots on disk.
    * <p>
@@ -333,6 +395,11 @@ public class RaftStorage {
         .withMaxEntrySize(maxEntrySize)
         .withMaxEntriesPerSegment(maxEntriesPerSegment)
         .withFlushOnCommit(flushOnCommit)
+        .withGroupCommitWindow(groupCommitWindow)
+        .withGroupCommitBytes(groupCommitBytes)
+        .withCompressionType(compressionType)
+        .withMappedSegments(mappedSegments)
+        .withPreallocatedSegments(preallocatedSegments)
         .build();
   }
 
@@ -343,7 +410,10 @@ public class RaftStorage {
    * Deleting log files does not involve rebuilding indexes or reading any logs into memory.
    */
   public void deleteLog() {
-    deleteFiles(f -> JournalSegmentFile.isSegmentFile(prefix, f));
+    deleteFiles(f -> JournalSegmentFile.isSegmentFile(prefix, f)
+        || JournalSegmentFile.isIndexFile(prefix, f)
+        || JournalSegmentFile.isAllocatedFile(prefix, f)
+        || JournalSegmentFile.isTemporaryFile(prefix, f));
   }
 
   /**
@@ -395,6 +465,10 @@ public class RaftStorage {
     private static final double DEFAULT_FREE_DISK_BUFFER = .2;
     private static final double DEFAULT_FREE_MEMORY_BUFFER = .2;
     private static final boolean DEFAULT_FLUSH_ON_COMMIT = true;
+    private static final Duration DEFAULT_GROUP_COMMIT_WINDOW = Duration.ZERO;
+    private static final int DEFAULT_GROUP_COMMIT_BYTES = 1024 * 1024;
+    private static final int DEFAULT_MAPPED_SEGMENTS = 2;
+    private static final int DEFAULT_PREALLOCATED_SEGMENTS = 0;
     private static final boolean DEFAULT_RETAIN_STALE_SNAPSHOTS = false;
 
     private String prefix = DEFAULT_PREFIX;
@@ -408,6 +482,11 @@ public class RaftStorage {
     private double freeDiskBuffer = DEFAULT_FREE_DISK_BUFFER;
     private double freeMemoryBuffer = DEFAULT_FREE_MEMORY_BUFFER;
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private Duration groupCommitWindow = DEFAULT_GROUP_COMMIT_WINDOW;
+    private int groupCommitBytes = DEFAULT_GROUP_COMMIT_BYTES;
+    private CompressionType compressionType = CompressionType.NONE;
+    private int mappedSegments = DEFAULT_MAPPED_SEGMENTS;
+    private int preallocatedSegments = DEFAULT_PREALLOCATED_SEGMENTS;
     private boolean retainStaleSnapshots = DEFAULT_RETAIN_STALE_SNAPSHOTS;
 
     private Builder() {
@@ -615,6 +694,88 @@ public class RaftStorage {
       return this;
     }
 
+    /**
+     * Sets the group commit window, returning the builder for method chaining.
+     * <p>
+     * When flush-on-commit is enabled and the group commit window is non-zero, commits that occur within the
+     * window will be coalesced into a single flush to disk. By default, the group commit window is zero and
+     * each commit is flushed synchronously.
+     *
+     * @param groupCommitWindow the group commit window
+     * @return The storage builder.
+     * @throws NullPointerException if the {@code groupCommitWindow} is {@code null}
+     */
+    public Builder withGroupCommitWindow(Duration groupCommitWindow) {
+      this.groupCommitWindow = checkNotNull(groupCommitWindow, "groupCommitWindow cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes to group in a single commit, returning the builder for method chaining.
+     * <p>
+     * Once the number of bytes written since the last flush exceeds the maximum, pending commits will be
+     * flushed to disk immediately regardless of the group commit window.
+     *
+     * @param groupCommitBytes the maximum number of bytes to group in a single commit
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code groupCommitBytes} is not positive
+     */
+    public Builder withGroupCommitBytes(int groupCommitBytes) {
+      checkArgument(groupCommitBytes > 0, "groupCommitBytes must be positive");
+      this.groupCommitBytes = groupCommitBytes;
+      return this;
+    }
+
+    /**
+     * Sets the compression type for committed log segments, returning the builder for method chaining.
+     * <p>
+     * Log segments are always written uncompressed. When compression is enabled, segments in which all entries have
+     * been committed are compressed in the background and decompressed transparently when they're read. By default,
+     * segments are not compressed.
+     *
+     * @param compressionType the compression type for committed log segments
+     * @return The storage builder.
+     * @throws NullPointerException if the {@code compressionType} is {@code null}
+     */
+    public Builder withCompressionType(CompressionType compressionType) {
+      this.compressionType = checkNotNull(compressionType, "compressionType cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the number of log segments to map into memory when using {@link StorageLevel#TIERED} storage, returning
+     * the builder for method chaining.
+     * <p>
+     * With tiered storage, only the newest log segments are memory-mapped and older segments are read from disk.
+     * By default, the newest two segments are memory-mapped.
+     *
+     * @param mappedSegments the number of log segments to map into memory
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code mappedSegments} is not positive
+     */
+    public Builder withMappedSegments(int mappedSegments) {
+      checkArgument(mappedSegments > 0, "mappedSegments must be positive");
+      this.mappedSegments = mappedSegments;
+      return this;
+    }
+
+    /**
+     * Sets the number of log segment files to pre-allocate in the background, returning the builder for method
+     * chaining.
+     * <p>
+     * Pre-allocated segment files are zero-filled ahead of time so that rolling over to a new segment does not block
+     * on file creation. Pre-allocation is skipped when disk space runs low. By default, pre-allocation is disabled.
+     *
+     * @param preallocatedSegments the number of log segment files to pre-allocate
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code preallocatedSegments} is negative
+     */
+    public Builder withPreallocatedSegments(int preallocatedSegments) {
+      checkArgument(preallocatedSegments >= 0, "preallocatedSegments cannot be negative");
+      this.preallocatedSegments = preallocatedSegments;
+      return this;
+    }
+
     /**
      * Enables retaining stale snapshots on disk, returning the builder for method chaining.
      * <p>
@@ -666,6 +827,11 @@ public class RaftStorage {
           freeDiskBuffer,
           freeMemoryBuffer,
           flushOnCommit,
+          groupCommitWindow,
+          groupCommitBytes,
+          compressionType,
+          mappedSegments,
+          preallocatedSegments,
           retainStaleSnapshots);
     }
   }
@@ -17,11 +17,13 @@ package io.atomix.protocols.raft.storage.log;
 
 import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.StorageLevel;
+import io.atomix.storage.journal.CompressionType;
 import io.atomix.storage.journal.DelegatingJournal;
 import io.atomix.storage.journal.SegmentedJournal;
 import io.atomix.utils.serializer.Namespace;
 
 import java.io.File;
+import java.time.Duration;
 
 /**
  * Raft log.
@@ -130,6 +132,7 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
 
     private final SegmentedJournal.Builder<RaftLogEntry> journalBuilder = SegmentedJournal.builder();
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private Duration groupCommitWindow = Duration.ZERO;
 
     protected Builder() {
     }
@@ -303,8 +306,74 @@ public class RaftLog extends DelegatingJournal<RaftLogEntry> {
       return this;
     }
 
+    /**
+     * Sets the group commit window, returning the builder for method chaining.
+     * <p>
+     * When flush-on-commit is enabled and the group commit window is non-zero, commits that occur within the
+     * window will be coalesced into a single flush to disk. Committed entries are flushed to disk only when a
+     * group commit window is configured, so the default flush behavior of the log is unchanged.
+     *
+     * @param groupCommitWindow the group commit window
+     * @return The storage builder.
+     */
+    public Builder withGroupCommitWindow(Duration groupCommitWindow) {
+      journalBuilder.withGroupCommitWindow(groupCommitWindow);
+      this.groupCommitWindow = groupCommitWindow;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes to group in a single commit, returning the builder for method chaining.
+     *
+     * @param groupCommitBytes the maximum number of bytes to group in a single commit
+     * @return The storage builder.
+     */
+    public Builder withGroupCommitBytes(int groupCommitBytes) {
+      journalBuilder.withGroupCommitBytes(groupCommitBytes);
+      return this;
+    }
+
+    /**
+     * Sets the compression type for committed segments, returning the builder for method chaining.
+     * <p>
+     * Segments in which all entries have been committed are compressed in the background. The active segment is
+     * never compressed.
+     *
+     * @param compressionType the compression type for committed segments
+     * @return The storage builder.
+     */
+    public Builder withCompressionType(CompressionType compressionType) {
+      journalBuilder.withCompressionType(compressionType);
+      return this;
+    }
+
+    /**
+     * Sets the number of segments to map into memory when using {@link StorageLevel#TIERED} storage, returning the
+     * builder for method chaining.
+     *
+     * @param mappedSegments the number of segments to map into memory
+     * @return The storage builder.
+     */
+    public Builder withMappedSegments(int mappedSegments) {
+      journalBuilder.withMappedSegments(mappedSegments);
+      return this;
+    }
+
+    /**
+     * Sets the number of segment files to pre-allocate in the background, returning the builder for method chaining.
+     *
+     * @param preallocatedSegments the number of segment files to pre-allocate
+     * @return The storage builder.
+     */
+    public Builder withPreallocatedSegments(int preallocatedSegments) {
+      journalBuilder.withPreallocatedSegments(preallocatedSegments);
+      return this;
+    }
+
     @Override
     public RaftLog build() {
+      // Flushing on commit is only enabled for the journal when group commit has been opted in to.
+      journalBuilder.withFlushOnCommit(flushOnCommit && !groupCommitWindow.isZero());
       return new RaftLog(journalBuilder.build(), flushOnCommit);
     }
   }
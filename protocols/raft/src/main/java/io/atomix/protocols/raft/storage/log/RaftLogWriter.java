@@ -19,11 +19,26 @@ import io.atomix.protocols.raft.storage.log.entry.RaftLogEntry;
 import io.atomix.storage.journal.DelegatingJournalWriter;
 import io.atomix.storage.journal.SegmentedJournalWriter;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Raft log writer.
  */
 public class RaftLogWriter extends DelegatingJournalWriter<RaftLogEntry> {
+  private final SegmentedJournalWriter<RaftLogEntry> writer;
+
   public RaftLogWriter(SegmentedJournalWriter<RaftLogEntry> writer, RaftLog log) {
     super(writer);
+    this.writer = writer;
+  }
+
+  /**
+   * Commits entries up to the given index, returning a future to be completed once committed entries are durable.
+   *
+   * @param index The index up to which to commit entries.
+   * @return a future to be completed once committed entries have been flushed to disk
+   */
+  public CompletableFuture<Void> commitAsync(long index) {
+    return writer.commitAsync(index);
   }
 }
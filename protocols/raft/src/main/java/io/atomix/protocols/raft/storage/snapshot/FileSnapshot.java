@@ -58,6 +58,7 @@ final class FileSnapshot extends Snapshot {
   @Override
   protected void closeWriter(SnapshotWriter writer) {
     int length = writer.buffer.position() - (SnapshotDescriptor.BYTES + Integer.BYTES);
+    descriptor.checksum(writer.checksum(writer.buffer, SnapshotDescriptor.BYTES + Integer.BYTES, length));
     writer.buffer.writeInt(SnapshotDescriptor.BYTES, length).flush();
     super.closeWriter(writer);
   }
@@ -43,6 +43,8 @@ final class MemorySnapshot extends Snapshot {
   @Override
   protected void closeWriter(SnapshotWriter writer) {
     buffer.skip(writer.buffer.position()).mark();
+    int length = buffer.position() - SnapshotDescriptor.BYTES;
+    descriptor.checksum(writer.checksum(buffer, SnapshotDescriptor.BYTES, length));
     super.closeWriter(writer);
   }
 
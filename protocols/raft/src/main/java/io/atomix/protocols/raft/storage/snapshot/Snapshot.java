@@ -94,6 +94,17 @@ public abstract class Snapshot implements AutoCloseable {
     return descriptor.version();
   }
 
+  /**
+   * Returns the snapshot checksum.
+   * <p>
+   * The checksum is the CRC32 checksum of the snapshot contents, computed when the snapshot writer is closed.
+   *
+   * @return the snapshot checksum, or {@code 0} if the checksum is unknown
+   */
+  public long checksum() {
+    return descriptor.checksum();
+  }
+
   /**
    * Opens a new snapshot writer.
    * <p>
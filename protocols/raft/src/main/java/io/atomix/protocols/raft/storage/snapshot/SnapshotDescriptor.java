@@ -59,6 +59,7 @@ public final class SnapshotDescriptor implements AutoCloseable {
   private final long timestamp;
   private boolean locked;
   private int version;
+  private long checksum;
 
   /**
    * @throws NullPointerException if {@code buffer} is null
@@ -69,6 +70,7 @@ public final class SnapshotDescriptor implements AutoCloseable {
     this.timestamp = buffer.readLong();
     this.version = buffer.readInt();
     this.locked = buffer.readBoolean();
+    this.checksum = buffer.readLong(24);
     buffer.skip(BYTES - buffer.position());
   }
 
@@ -99,6 +101,25 @@ public final class SnapshotDescriptor implements AutoCloseable {
     return version;
   }
 
+  /**
+   * Returns the CRC32 checksum of the snapshot contents.
+   *
+   * @return the snapshot checksum, or {@code 0} if the checksum is unknown
+   */
+  public long checksum() {
+    return checksum;
+  }
+
+  /**
+   * Sets the CRC32 checksum of the snapshot contents.
+   *
+   * @param checksum the snapshot checksum
+   */
+  void checksum(long checksum) {
+    buffer.writeLong(24, checksum);
+    this.checksum = checksum;
+  }
+
   /**
    * Returns whether the snapshot has been locked by commitment.
    * <p>
@@ -129,6 +150,8 @@ public final class SnapshotDescriptor implements AutoCloseable {
         .writeLong(timestamp)
         .writeInt(version)
         .writeBoolean(locked)
+        .skip(3)
+        .writeLong(checksum)
         .skip(BYTES - buffer.position())
         .flush();
     return this;
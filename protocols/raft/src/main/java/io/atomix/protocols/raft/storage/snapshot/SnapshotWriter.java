@@ -22,6 +22,7 @@ import io.atomix.storage.buffer.BufferOutput;
 import io.atomix.storage.buffer.Bytes;
 
 import java.nio.charset.Charset;
+import java.util.zip.CRC32;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -37,8 +38,13 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * {@link RaftServer} serializer to be supported in snapshots.
  */
 public class SnapshotWriter implements BufferOutput<SnapshotWriter> {
+  private static final int CHECKSUM_BUFFER_SIZE = 1024 * 64;
+
   final Buffer buffer;
   private final Snapshot snapshot;
+  private final CRC32 crc32 = new CRC32();
+  private int checksumLength;
+  private boolean checksummed = true;
 
   public SnapshotWriter(Buffer buffer, Snapshot snapshot) {
     this.buffer = checkNotNull(buffer, "buffer cannot be null");
@@ -60,9 +66,38 @@ public class SnapshotWriter implements BufferOutput<SnapshotWriter> {
    * @return the snapshot buffer
    */
   public Buffer buffer() {
+    checksummed = false;
     return buffer;
   }
 
+  /**
+   * Returns the checksum of the given range of the snapshot buffer.
+   * <p>
+   * If the range was written entirely by byte array writes through this writer, the checksum computed while
+   * writing is returned. Otherwise, the range is read back from the buffer to compute the checksum.
+   *
+   * @param buffer the buffer containing the snapshot contents
+   * @param offset the offset of the range within the buffer
+   * @param length the length of the range
+   * @return the CRC32 checksum of the range
+   */
+  long checksum(Buffer buffer, int offset, int length) {
+    if (checksummed && checksumLength == length) {
+      return crc32.getValue();
+    }
+
+    CRC32 crc32 = new CRC32();
+    byte[] bytes = new byte[Math.min(length, CHECKSUM_BUFFER_SIZE)];
+    int position = 0;
+    while (position < length) {
+      int read = Math.min(bytes.length, length - position);
+      buffer.read(offset + position, bytes, 0, read);
+      crc32.update(bytes, 0, read);
+      position += read;
+    }
+    return crc32.getValue();
+  }
+
   @Override
   public SnapshotWriter write(Bytes bytes) {
     buffer.write(bytes);
@@ -72,6 +107,8 @@ public class SnapshotWriter implements BufferOutput<SnapshotWriter> {
   @Override
   public SnapshotWriter write(byte[] bytes) {
     buffer.write(bytes);
+    crc32.update(bytes);
+    checksumLength += bytes.length;
     return this;
   }
 
@@ -84,6 +121,8 @@ public class SnapshotWriter implements BufferOutput<SnapshotWriter> {
   @Override
   public SnapshotWriter write(byte[] bytes, int offset, int length) {
     buffer.write(bytes, offset, length);
+    crc32.update(bytes, offset, length);
+    checksumLength += length;
     return this;
   }
 
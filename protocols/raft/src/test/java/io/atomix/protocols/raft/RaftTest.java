@@ -53,6 +53,7 @@ import io.atomix.protocols.raft.cluster.RaftClusterEvent;
 import io.atomix.protocols.raft.cluster.RaftMember;
 import io.atomix.protocols.raft.cluster.impl.DefaultRaftMember;
 import io.atomix.protocols.raft.protocol.TestRaftProtocolFactory;
+import io.atomix.protocols.raft.session.CommunicationStrategy;
 import io.atomix.protocols.raft.storage.RaftStorage;
 import io.atomix.protocols.raft.storage.log.entry.CloseSessionEntry;
 import io.atomix.protocols.raft.storage.log.entry.CommandEntry;
@@ -87,6 +88,7 @@ import java.nio.file.attribute.BasicFileAttributes;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -677,6 +679,112 @@ public class RaftTest extends ConcurrentTestCase {
     await(30000);
   }
 
+  /**
+   * Tests submitting concurrent linearizable queries that share leadership confirmation rounds.
+   */
+  @Test
+  public void testConcurrentLinearizableQueries() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client, ReadConsistency.LINEARIZABLE);
+    long index = primitive.write("Hello world!").get(10, TimeUnit.SECONDS);
+    for (int i = 0; i < 100; i++) {
+      primitive.read().thenAccept(result -> {
+        threadAssertTrue(result >= index);
+        resume();
+      });
+    }
+
+    await(30000, 100);
+  }
+
+  /**
+   * Tests submitting linearizable queries to followers.
+   */
+  @Test
+  public void testFollowerLinearizableQueries() throws Throwable {
+    createServers(3);
+
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client, ReadConsistency.LINEARIZABLE, CommunicationStrategy.FOLLOWERS);
+    for (int i = 0; i < 10; i++) {
+      long index = primitive.write("Hello world!").get(10, TimeUnit.SECONDS);
+      long result = primitive.read().get(10, TimeUnit.SECONDS);
+      assertTrue(result >= index);
+    }
+  }
+
+  /**
+   * Tests that linearizable queries observe prior writes when group commit is enabled.
+   */
+  @Test
+  public void testGroupCommitLinearizableQueries() throws Throwable {
+    final List<RaftMember> members = Lists.newArrayList(createMember(), createMember(), createMember());
+    final Map<MemberId, RaftServer> servers = members.stream()
+        .map(RaftMember::memberId)
+        .collect(Collectors.toMap(Function.identity(), memberId -> createServer(memberId, b -> b.withStorage(
+            createStorage(memberId, s -> s.withFlushOnCommit(true).withGroupCommitWindow(Duration.ofMillis(10)))))));
+    startCluster(servers);
+
+    TestPrimitive writer = createPrimitive(createClient(members));
+    for (CommunicationStrategy strategy : Arrays.asList(CommunicationStrategy.LEADER, CommunicationStrategy.FOLLOWERS)) {
+      TestPrimitive reader = createPrimitive(createClient(members), ReadConsistency.LINEARIZABLE, strategy);
+      for (int i = 0; i < 10; i++) {
+        long index = writer.write("Hello world!").get(10, TimeUnit.SECONDS);
+        long result = reader.read().get(10, TimeUnit.SECONDS);
+        assertTrue(result >= index);
+      }
+    }
+  }
+
+  /**
+   * Tests replicating concurrent writes with pipelined append requests.
+   */
+  @Test
+  public void testPipelinedAppends() throws Throwable {
+    createServers(3, b -> b.withAppendPipelining(true));
+
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client, ReadConsistency.LINEARIZABLE, CommunicationStrategy.FOLLOWERS);
+    AtomicLong lastIndex = new AtomicLong();
+    for (int i = 0; i < 1000; i++) {
+      primitive.write("Hello world!").thenAccept(index -> {
+        lastIndex.accumulateAndGet(index, Math::max);
+        resume();
+      });
+    }
+    await(30000, 1000);
+
+    long result = primitive.read().get(10, TimeUnit.SECONDS);
+    assertTrue(result >= lastIndex.get());
+  }
+
+  /**
+   * Tests applying commands from multiple sessions with parallel apply enabled.
+   */
+  @Test
+  public void testParallelApply() throws Throwable {
+    createServers(3, b -> b.withParallelApply(true));
+
+    RaftClient client = createClient();
+    TestPrimitive primitive1 = createPrimitive(client);
+    TestPrimitive primitive2 = createPrimitive(client);
+    AtomicLong lastIndex = new AtomicLong();
+    for (int i = 0; i < 500; i++) {
+      for (TestPrimitive primitive : Arrays.asList(primitive1, primitive2)) {
+        primitive.write("Hello world!").thenAccept(index -> {
+          lastIndex.accumulateAndGet(index, Math::max);
+          resume();
+        });
+      }
+    }
+    await(30000, 1000);
+
+    long result = primitive1.read().get(10, TimeUnit.SECONDS);
+    assertTrue(result >= lastIndex.get());
+  }
+
   /**
    * Tests submitting a sequential event.
    */
@@ -1226,6 +1334,79 @@ public class RaftTest extends ConcurrentTestCase {
     await(5000);
   }
 
+  /**
+   * Tests that a follower rejoining the cluster after a partition does not disrupt the leader.
+   */
+  @Test
+  public void testPartitionedFollowerRejoin() throws Throwable {
+    List<RaftServer> servers = createServers(3);
+
+    RaftClient client = createClient();
+    TestPrimitive primitive = createPrimitive(client);
+    primitive.write("foo").get(5, TimeUnit.SECONDS);
+
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    RaftServer follower = servers.stream().filter(s -> !s.isLeader()).findFirst().get();
+    long term = leader.cluster().getTerm();
+
+    // Isolate the follower for several election timeouts so that it repeatedly polls the rest of the cluster.
+    protocolFactory.partition(follower.cluster().getMember().memberId());
+    Thread.sleep(5000);
+    protocolFactory.heal();
+    Thread.sleep(5000);
+
+    assertTrue(leader.isLeader());
+    for (RaftServer server : servers) {
+      assertEquals(term, server.cluster().getTerm());
+    }
+    primitive.write("bar").get(5, TimeUnit.SECONDS);
+  }
+
+  /**
+   * Tests that a partitioned leader does not serve lease reads once its lease has expired.
+   */
+  @Test
+  public void testLeaseReadAfterLeaseExpiry() throws Throwable {
+    List<RaftServer> servers = createServers(3);
+
+    MemberId clientId = nextNodeId();
+    RaftClient client1 = createClient(clientId, members);
+    TestPrimitive primitive1 = createPrimitive(client1, ReadConsistency.LINEARIZABLE_LEASE);
+    primitive1.write("foo").get(5, TimeUnit.SECONDS);
+
+    RaftServer leader = servers.stream().filter(RaftServer::isLeader).findFirst().get();
+    long term = leader.cluster().getTerm();
+
+    // Isolate the leader along with the client so that the client can only read from the old leader.
+    protocolFactory.partition(leader.cluster().getMember().memberId(), clientId);
+
+    // Wait for the majority to elect a new leader.
+    RaftServer newLeader = null;
+    long timeout = System.currentTimeMillis() + 30000;
+    while (newLeader == null && System.currentTimeMillis() < timeout) {
+      Thread.sleep(100);
+      newLeader = servers.stream()
+          .filter(s -> s != leader && s.isLeader() && s.cluster().getTerm() > term)
+          .findFirst()
+          .orElse(null);
+    }
+    assertNotNull(newLeader);
+
+    RaftClient client2 = createClient(members.stream()
+        .filter(m -> !m.memberId().equals(leader.cluster().getMember().memberId()))
+        .collect(Collectors.toList()));
+    TestPrimitive primitive2 = createPrimitive(client2, ReadConsistency.LINEARIZABLE_LEASE);
+    long index = primitive2.write("bar").get(5, TimeUnit.SECONDS);
+
+    // The old leader's lease has expired, so it must not serve a read that misses the new leader's write.
+    try {
+      long readIndex = primitive1.read().get(5, TimeUnit.SECONDS);
+      assertTrue(readIndex >= index);
+    } catch (ExecutionException | TimeoutException e) {
+      // The old leader could not confirm its leadership.
+    }
+  }
+
   @Test
   public void testSnapshotSentOnDataLoss() throws Throwable {
     final List<RaftMember> members =
@@ -1322,6 +1503,13 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a set of Raft servers.
    */
   private List<RaftServer> createServers(int nodes) throws Throwable {
+    return createServers(nodes, Function.identity());
+  }
+
+  /**
+   * Creates a set of Raft servers with the given configuration.
+   */
+  private List<RaftServer> createServers(int nodes, Function<RaftServer.Builder, RaftServer.Builder> configurator) throws Throwable {
     List<RaftServer> servers = new ArrayList<>();
 
     for (int i = 0; i < nodes; i++) {
@@ -1329,7 +1517,8 @@ public class RaftTest extends ConcurrentTestCase {
     }
 
     for (int i = 0; i < nodes; i++) {
-      RaftServer server = createServer(members.get(i).memberId());
+      MemberId memberId = members.get(i).memberId();
+      RaftServer server = createServer(memberId, b -> configurator.apply(b.withStorage(createStorage(memberId))));
       if (members.get(i).getType() == RaftMember.Type.ACTIVE) {
         server.bootstrap(members.stream().map(RaftMember::memberId).collect(Collectors.toList())).thenRun(this::resume);
       } else {
@@ -1429,7 +1618,10 @@ public class RaftTest extends ConcurrentTestCase {
   }
 
   private RaftClient createClient(List<RaftMember> members) throws Throwable {
-    final MemberId memberId = nextNodeId();
+    return createClient(nextNodeId(), members);
+  }
+
+  private RaftClient createClient(MemberId memberId, List<RaftMember> members) throws Throwable {
     final List<MemberId> memberIds = members.stream().map(RaftMember::memberId).collect(Collectors.toList());
     final RaftClient client = RaftClient.builder()
             .withMemberId(memberId)
@@ -1453,8 +1645,16 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a test session.
    */
   private SessionClient createSession(RaftClient client, ReadConsistency consistency) throws Exception {
+    return createSession(client, consistency, CommunicationStrategy.LEADER);
+  }
+
+  /**
+   * Creates a test session.
+   */
+  private SessionClient createSession(RaftClient client, ReadConsistency consistency, CommunicationStrategy communicationStrategy) throws Exception {
     return client.sessionBuilder("raft-test", TestPrimitiveType.INSTANCE, new ServiceConfig())
         .withReadConsistency(consistency)
+        .withCommunicationStrategy(communicationStrategy)
         .withMinTimeout(Duration.ofMillis(250))
         .withMaxTimeout(Duration.ofSeconds(5))
         .build()
@@ -1473,7 +1673,14 @@ public class RaftTest extends ConcurrentTestCase {
    * Creates a new primitive instance.
    */
   private TestPrimitive createPrimitive(RaftClient client, ReadConsistency consistency) throws Exception {
-    SessionClient partition = createSession(client, consistency);
+    return createPrimitive(client, consistency, CommunicationStrategy.LEADER);
+  }
+
+  /**
+   * Creates a new primitive instance.
+   */
+  private TestPrimitive createPrimitive(RaftClient client, ReadConsistency consistency, CommunicationStrategy communicationStrategy) throws Exception {
+    SessionClient partition = createSession(client, consistency, communicationStrategy);
     ProxyClient<TestPrimitiveService> proxy = new DefaultProxyClient<>(
         "test",
         TestPrimitiveType.INSTANCE,
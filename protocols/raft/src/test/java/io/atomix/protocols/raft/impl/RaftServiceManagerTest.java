@@ -15,6 +15,7 @@
  */
 package io.atomix.protocols.raft.impl;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.atomix.cluster.ClusterMembershipService;
 import io.atomix.cluster.MemberId;
 import io.atomix.primitive.PrimitiveBuilder;
@@ -67,9 +68,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
@@ -104,6 +111,9 @@ public class RaftServiceManagerTest {
   private RaftContext raft;
   private AtomicBoolean snapshotTaken;
   private AtomicBoolean snapshotInstalled;
+  private AtomicLong value;
+  private AtomicBoolean forkable;
+  private CountDownLatch forkLatch;
 
   @Test
   public void testSnapshotTakeInstall() throws Exception {
@@ -125,7 +135,7 @@ public class RaftServiceManagerTest {
 
     manager.apply(2).join();
 
-    Snapshot snapshot = manager.snapshot();
+    Snapshot snapshot = manager.snapshot().join();
     assertEquals(2, snapshot.index());
     assertTrue(snapshotTaken.get());
 
@@ -157,7 +167,7 @@ public class RaftServiceManagerTest {
 
     manager.apply(2).join();
 
-    Snapshot snapshot = manager.snapshot();
+    Snapshot snapshot = manager.snapshot().join();
     assertEquals(2, snapshot.index());
     assertTrue(snapshotTaken.get());
 
@@ -172,6 +182,112 @@ public class RaftServiceManagerTest {
     assertTrue(snapshotInstalled.get());
   }
 
+  @Test
+  public void testIncrementalSnapshot() throws Exception {
+    RaftLogWriter writer = raft.getLogWriter();
+    writer.append(new InitializeEntry(1, System.currentTimeMillis()));
+    writer.append(new OpenSessionEntry(
+        1,
+        System.currentTimeMillis(),
+        "test-1",
+        "test",
+        "test",
+        null,
+        ReadConsistency.LINEARIZABLE,
+        100,
+        1000));
+    writer.commit(2);
+
+    RaftServiceManager manager = raft.getServiceManager();
+
+    manager.apply(2).join();
+
+    Snapshot snapshot = manager.snapshot().join();
+    assertEquals(2, snapshot.index());
+    assertTrue(snapshotTaken.get());
+    snapshot.complete();
+
+    writer.append(new MetadataEntry(1, System.currentTimeMillis(), 2));
+    writer.commit(3);
+    manager.apply(3).join();
+
+    // The service has not changed, so it should be copied from the prior snapshot rather than backed up again.
+    snapshotTaken.set(false);
+    snapshot = manager.snapshot().join();
+    assertEquals(3, snapshot.index());
+    assertFalse(snapshotTaken.get());
+    snapshot = snapshot.complete();
+
+    assertEquals(3, raft.getSnapshotStore().getCurrentSnapshot().index());
+
+    snapshotInstalled.set(false);
+    manager.install(snapshot);
+    assertTrue(snapshotInstalled.get());
+  }
+
+  @Test
+  public void testForkedSnapshotWhileMutating() throws Exception {
+    forkable.set(true);
+
+    RaftLogWriter writer = raft.getLogWriter();
+    writer.append(new InitializeEntry(1, System.currentTimeMillis()));
+    writer.append(new OpenSessionEntry(
+        1,
+        System.currentTimeMillis(),
+        "test-1",
+        "test",
+        "test",
+        null,
+        ReadConsistency.LINEARIZABLE,
+        100,
+        1000));
+    writer.commit(2);
+
+    RaftServiceManager manager = raft.getServiceManager();
+
+    manager.apply(2).join();
+
+    // The forked state is written in the background, which is blocked until the latch is released.
+    CompletableFuture<Snapshot> future = manager.snapshot();
+
+    // The service continues to apply commands while the snapshot is being written.
+    writer.append(new CommandEntry(1, System.currentTimeMillis(), 2, 1, new PrimitiveOperation(RUN, new byte[0])));
+    writer.append(new CommandEntry(1, System.currentTimeMillis(), 2, 2, new PrimitiveOperation(RUN, new byte[0])));
+    writer.commit(4);
+    manager.apply(4).join();
+    assertEquals(12, value.get());
+    assertFalse(future.isDone());
+    assertFalse(snapshotTaken.get());
+
+    forkLatch.countDown();
+    Snapshot snapshot = future.get(10, TimeUnit.SECONDS);
+    assertEquals(2, snapshot.index());
+    snapshot = snapshot.complete();
+
+    // The snapshot contains the state at the time the service was forked.
+    manager.install(snapshot);
+    assertTrue(snapshotInstalled.get());
+    assertEquals(10, value.get());
+  }
+
+  @Test
+  public void testCompleteIndexesOutOfOrder() throws Exception {
+    RaftServiceManager manager = raft.getServiceManager();
+    manager.startIndex(3);
+    manager.startIndex(4);
+    manager.startIndex(5);
+
+    // The last applied index cannot advance past an index that is still being applied.
+    manager.completeIndex(5);
+    assertEquals(2, raft.getLastApplied());
+    manager.completeIndex(3);
+    assertEquals(3, raft.getLastApplied());
+
+    // Once no lower index is being applied, the highest completed index is applied.
+    manager.completeIndex(4);
+    assertEquals(5, raft.getLastApplied());
+  }
+
   private static final OperationId RUN = OperationId.command("run");
 
   private class TestService extends AbstractPrimitiveService {
@@ -186,18 +302,31 @@ public class RaftServiceManagerTest {
 
     @Override
     public void backup(BackupOutput output) {
-      output.writeLong(10);
+      output.writeLong(value.get());
       snapshotTaken.set(true);
     }
 
+    @Override
+    public Consumer<BackupOutput> fork() {
+      if (!forkable.get()) {
+        return null;
+      }
+      long forkedValue = value.get();
+      return output -> {
+        Uninterruptibles.awaitUninterruptibly(forkLatch);
+        output.writeLong(forkedValue);
+      };
+    }
+
     @Override
     public void restore(BackupInput input) {
       assertEquals(10, input.readLong());
+      value.set(10);
       snapshotInstalled.set(true);
     }
 
     private void run() {
-
+      value.incrementAndGet();
     }
   }
 
@@ -255,6 +384,9 @@ public class RaftServiceManagerTest {
 
     snapshotTaken = new AtomicBoolean();
     snapshotInstalled = new AtomicBoolean();
+    value = new AtomicLong(10);
+    forkable = new AtomicBoolean();
+    forkLatch = new CountDownLatch(1);
   }
 
   @After
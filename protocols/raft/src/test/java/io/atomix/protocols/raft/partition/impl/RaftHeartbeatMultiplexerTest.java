@@ -0,0 +1,313 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition.impl;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.MessagingException;
+import io.atomix.primitive.PrimitiveException;
+import io.atomix.protocols.raft.RaftError;
+import io.atomix.protocols.raft.RaftException;
+import io.atomix.protocols.raft.protocol.AppendRequest;
+import io.atomix.protocols.raft.protocol.AppendResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.utils.concurrent.SingleThreadContext;
+import io.atomix.utils.serializer.Namespaces;
+import io.atomix.utils.serializer.Serializer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Raft heartbeat multiplexer test.
+ */
+public class RaftHeartbeatMultiplexerTest {
+  private static final MemberId LEADER = MemberId.from("leader");
+  private static final MemberId FOLLOWER = MemberId.from("follower");
+
+  private final BlockingQueue<SentBatch> sent = new LinkedBlockingQueue<>();
+  private RaftHeartbeatMultiplexer multiplexer;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    ClusterCommunicationService communicator = mock(ClusterCommunicationService.class);
+    when(communicator.send(anyString(), any(), any(Function.class), any(Function.class), any(MemberId.class)))
+        .thenAnswer(invocation -> {
+          CompletableFuture<AppendBatchResponse> future = new CompletableFuture<>();
+          sent.add(new SentBatch((AppendBatchRequest) invocation.getArguments()[1], future));
+          return future;
+        });
+    multiplexer = new RaftHeartbeatMultiplexer(
+        "test", Serializer.using(Namespaces.BASIC), Duration.ofMillis(50), Duration.ofMillis(200), new SingleThreadContext("test-%d"));
+    multiplexer.open(communicator);
+  }
+
+  @After
+  public void tearDown() {
+    multiplexer.close();
+  }
+
+  private static AppendRequest heartbeat(long term) {
+    return AppendRequest.builder()
+        .withTerm(term)
+        .withLeader(LEADER)
+        .withPrevLogIndex(0)
+        .withPrevLogTerm(0)
+        .withEntries(Collections.emptyList())
+        .withCommitIndex(0)
+        .build();
+  }
+
+  private static AppendResponse response(long term) {
+    return AppendResponse.builder()
+        .withStatus(RaftResponse.Status.OK)
+        .withTerm(term)
+        .withSucceeded(true)
+        .withLastLogIndex(0)
+        .build();
+  }
+
+  @Test
+  public void testBatchHeartbeats() throws Exception {
+    CompletableFuture<AppendResponse> future1 = multiplexer.append("partition-1", FOLLOWER, heartbeat(1));
+    CompletableFuture<AppendResponse> future2 = multiplexer.append("partition-2", FOLLOWER, heartbeat(2));
+
+    // Heartbeats to the same member within the window are sent as a single batch.
+    SentBatch batch = sent.poll(5, TimeUnit.SECONDS);
+    assertEquals(2, batch.request.requests().size());
+    assertEquals(1, batch.request.requests().get("partition-1").term());
+    assertEquals(2, batch.request.requests().get("partition-2").term());
+    assertNull(sent.poll(100, TimeUnit.MILLISECONDS));
+
+    // The batch response is split among the partitions.
+    Map<String, AppendResponse> responses = new HashMap<>();
+    responses.put("partition-1", response(1));
+    responses.put("partition-2", response(2));
+    batch.future.complete(new AppendBatchResponse(responses));
+    assertSame(responses.get("partition-1"), future1.get(5, TimeUnit.SECONDS));
+    assertSame(responses.get("partition-2"), future2.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testMissingResponse() throws Exception {
+    CompletableFuture<AppendResponse> future1 = multiplexer.append("partition-1", FOLLOWER, heartbeat(1));
+    CompletableFuture<AppendResponse> future2 = multiplexer.append("partition-2", FOLLOWER, heartbeat(1));
+
+    SentBatch batch = sent.poll(5, TimeUnit.SECONDS);
+    batch.future.complete(new AppendBatchResponse(Collections.singletonMap("partition-1", response(1))));
+    assertEquals(1, future1.get(5, TimeUnit.SECONDS).term());
+    try {
+      future2.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof MessagingException.NoRemoteHandler);
+    }
+  }
+
+  @Test
+  public void testBatchTimeout() throws Exception {
+    CompletableFuture<AppendResponse> future1 = multiplexer.append("partition-1", FOLLOWER, heartbeat(1));
+    CompletableFuture<AppendResponse> future2 = multiplexer.append("partition-2", FOLLOWER, heartbeat(1));
+
+    // A failed batch fails the heartbeats of all partitions in the batch.
+    SentBatch batch = sent.poll(5, TimeUnit.SECONDS);
+    batch.future.completeExceptionally(new TimeoutException());
+    for (CompletableFuture<AppendResponse> future : new CompletableFuture[]{future1, future2}) {
+      try {
+        future.get(5, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof TimeoutException);
+      }
+    }
+  }
+
+  @Test
+  public void testRepeatedHeartbeat() throws Exception {
+    CompletableFuture<AppendResponse> future1 = multiplexer.append("partition-1", FOLLOWER, heartbeat(1));
+    CompletableFuture<AppendResponse> future2 = multiplexer.append("partition-1", FOLLOWER, heartbeat(2));
+
+    // A second heartbeat from the same partition sends the pending batch and starts a new one.
+    SentBatch batch1 = sent.poll(5, TimeUnit.SECONDS);
+    SentBatch batch2 = sent.poll(5, TimeUnit.SECONDS);
+    assertEquals(1, batch1.request.requests().get("partition-1").term());
+    assertEquals(2, batch2.request.requests().get("partition-1").term());
+
+    // Each heartbeat is completed with the response to its own request.
+    batch2.future.complete(new AppendBatchResponse(Collections.singletonMap("partition-1", response(2))));
+    assertEquals(2, future2.get(5, TimeUnit.SECONDS).term());
+    assertFalse(future1.isDone());
+    batch1.future.complete(new AppendBatchResponse(Collections.singletonMap("partition-1", response(1))));
+    assertEquals(1, future1.get(5, TimeUnit.SECONDS).term());
+  }
+
+  @Test
+  public void testHandleBatch() throws Exception {
+    multiplexer.registerAppendHandler("partition-1", request -> CompletableFuture.completedFuture(response(request.term())));
+    multiplexer.registerAppendHandler("partition-2", request -> CompletableFuture.completedFuture(response(request.term())));
+
+    Map<String, AppendRequest> requests = new HashMap<>();
+    requests.put("partition-1", heartbeat(1));
+    requests.put("partition-2", heartbeat(2));
+    requests.put("partition-3", heartbeat(3));
+    AppendBatchResponse response = multiplexer.handleBatch(new AppendBatchRequest(requests)).get(5, TimeUnit.SECONDS);
+
+    // Each heartbeat is dispatched to its partition, and heartbeats for unknown partitions are left unanswered.
+    assertEquals(2, response.responses().size());
+    assertEquals(1, response.responses().get("partition-1").term());
+    assertEquals(2, response.responses().get("partition-2").term());
+  }
+
+  @Test
+  public void testHandleBatchSlowPartition() throws Exception {
+    multiplexer.registerAppendHandler("partition-1", request -> CompletableFuture.completedFuture(response(request.term())));
+    multiplexer.registerAppendHandler("partition-2", request -> new CompletableFuture<>());
+
+    Map<String, AppendRequest> requests = new HashMap<>();
+    requests.put("partition-1", heartbeat(1));
+    requests.put("partition-2", heartbeat(2));
+    AppendBatchResponse response = multiplexer.handleBatch(new AppendBatchRequest(requests)).get(5, TimeUnit.SECONDS);
+
+    // A partition that does not respond within the timeout does not hold back the responses of other partitions.
+    assertEquals(1, response.responses().size());
+    assertEquals(1, response.responses().get("partition-1").term());
+    assertEquals(RaftError.Type.UNAVAILABLE, response.errors().get("partition-2").type());
+  }
+
+  @Test
+  public void testHandleBatchError() throws Exception {
+    multiplexer.registerAppendHandler("partition-1", request -> {
+      CompletableFuture<AppendResponse> future = new CompletableFuture<>();
+      future.completeExceptionally(new RaftException.IllegalMemberState("not active"));
+      return future;
+    });
+
+    AppendBatchResponse response = multiplexer.handleBatch(
+        new AppendBatchRequest(Collections.singletonMap("partition-1", heartbeat(1)))).get(5, TimeUnit.SECONDS);
+
+    // Handler errors are returned to the sender rather than dropped.
+    assertTrue(response.responses().isEmpty());
+    assertEquals(RaftError.Type.ILLEGAL_MEMBER_STATE, response.errors().get("partition-1").type());
+    assertEquals("not active", response.errors().get("partition-1").message());
+  }
+
+  @Test
+  public void testErrorResponse() throws Exception {
+    CompletableFuture<AppendResponse> future = multiplexer.append("partition-1", FOLLOWER, heartbeat(1));
+
+    SentBatch batch = sent.poll(5, TimeUnit.SECONDS);
+    batch.future.complete(new AppendBatchResponse(
+        new HashMap<>(),
+        Collections.singletonMap("partition-1", new RaftError(RaftError.Type.ILLEGAL_MEMBER_STATE, "not active"))));
+    try {
+      future.get(5, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof PrimitiveException.Unavailable);
+      assertEquals("not active", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testBundledHeartbeats() throws Exception {
+    RaftHeartbeatMultiplexer follower = new RaftHeartbeatMultiplexer(
+        "test", Serializer.using(Namespaces.BASIC), Duration.ofMillis(50), Duration.ofMillis(200), new SingleThreadContext("follower-%d"));
+    ClusterCommunicationService communicator = mock(ClusterCommunicationService.class);
+    when(communicator.send(anyString(), any(), any(Function.class), any(Function.class), any(MemberId.class)))
+        .thenAnswer(invocation -> follower.handleBatch((AppendBatchRequest) invocation.getArguments()[1]));
+    RaftHeartbeatMultiplexer leader = new RaftHeartbeatMultiplexer(
+        "test", Serializer.using(Namespaces.BASIC), Duration.ofMillis(50), Duration.ofMillis(200), new SingleThreadContext("leader-%d"));
+    leader.open(communicator);
+
+    // Each partition on the follower tracks the term and leader of the last heartbeat it received.
+    Map<String, Long> terms = new ConcurrentHashMap<>();
+    Map<String, MemberId> leaders = new ConcurrentHashMap<>();
+    for (int i = 1; i <= 7; i++) {
+      String partition = "partition-" + i;
+      follower.registerAppendHandler(partition, request -> {
+        terms.put(partition, request.term());
+        leaders.put(partition, request.leader());
+        return CompletableFuture.completedFuture(response(request.term()));
+      });
+    }
+
+    try {
+      for (int round = 0; round < 3; round++) {
+        List<CompletableFuture<AppendResponse>> futures = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+          futures.add(leader.append("partition-" + i, FOLLOWER, heartbeat(i)));
+        }
+        for (int i = 1; i <= 7; i++) {
+          assertEquals(i, futures.get(i - 1).get(5, TimeUnit.SECONDS).term());
+        }
+      }
+
+      // The heartbeats of all partitions are sent as one message per round, and every partition keeps its term and
+      // leader across rounds.
+      verify(communicator, times(3)).send(anyString(), any(), any(Function.class), any(Function.class), any(MemberId.class));
+      for (int i = 1; i <= 7; i++) {
+        assertEquals(i, terms.get("partition-" + i).longValue());
+        assertEquals(LEADER, leaders.get("partition-" + i));
+      }
+    } finally {
+      leader.close();
+      follower.close();
+    }
+  }
+
+  /**
+   * Batch sent by the multiplexer.
+   */
+  private static class SentBatch {
+    private final AppendBatchRequest request;
+    private final CompletableFuture<AppendBatchResponse> future;
+
+    SentBatch(AppendBatchRequest request, CompletableFuture<AppendBatchResponse> future) {
+      this.request = request;
+      this.future = future;
+    }
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.partition.impl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.primitive.partition.PartitionId;
+import io.atomix.protocols.raft.partition.RaftPartition;
+import io.atomix.utils.concurrent.ThreadContext;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Raft leader balancer test.
+ */
+public class RaftLeaderBalancerTest {
+  private static final MemberId A = MemberId.from("a");
+  private static final MemberId B = MemberId.from("b");
+  private static final MemberId C = MemberId.from("c");
+
+  private final List<RaftPartition> partitions = new ArrayList<>();
+
+  private RaftLeaderBalancer createBalancer(MemberId localMemberId, int partitionCount) {
+    for (int i = 1; i <= partitionCount; i++) {
+      RaftPartition partition = mock(RaftPartition.class);
+      when(partition.id()).thenReturn(PartitionId.from("test", i));
+      when(partition.name()).thenReturn("test-" + i);
+      when(partition.members()).thenReturn(Arrays.asList(A, B, C));
+      when(partition.promote()).thenReturn(CompletableFuture.completedFuture(null));
+      partitions.add(partition);
+    }
+    RaftLeaderBalancer balancer = new RaftLeaderBalancer(
+        "test", partitions, Duration.ofSeconds(1), mock(ThreadContext.class));
+    balancer.open(localMemberId, mock(ClusterCommunicationService.class));
+    return balancer;
+  }
+
+  @Test
+  public void testTransferFromOverloadedLeader() throws Exception {
+    RaftLeaderBalancer balancer = createBalancer(C, 6);
+    balancer.handleReport(A, new int[]{1, 2, 3, 4, 5});
+    balancer.handleReport(B, new int[]{6});
+
+    balancer.balance();
+    assertEquals(5, balancer.getLeaderImbalance());
+    assertEquals(1, balancer.getLeaderTransfers());
+
+    // The least loaded member takes over exactly one of the overloaded leader's partitions.
+    verify(partitions.get(0), times(1)).promote();
+    for (int i = 1; i < partitions.size(); i++) {
+      verify(partitions.get(i), never()).promote();
+    }
+
+    // No further transfers are requested until the previous transfer has had time to be reported.
+    balancer.balance();
+    assertEquals(1, balancer.getLeaderTransfers());
+    balancer.close();
+  }
+
+  @Test
+  public void testOnlyLeastLoadedFollowerTransfers() throws Exception {
+    RaftLeaderBalancer balancer = createBalancer(B, 6);
+    balancer.handleReport(A, new int[]{1, 2, 3, 4, 5});
+    balancer.handleReport(C, new int[]{});
+    when(partitions.get(5).isLeader()).thenReturn(true);
+
+    // C leads fewer partitions than B, so B leaves the transfer to C.
+    balancer.balance();
+    assertEquals(0, balancer.getLeaderTransfers());
+    for (RaftPartition partition : partitions) {
+      verify(partition, never()).promote();
+    }
+    balancer.close();
+  }
+
+  @Test
+  public void testBalancedLeaders() throws Exception {
+    RaftLeaderBalancer balancer = createBalancer(C, 6);
+    balancer.handleReport(A, new int[]{1, 2});
+    balancer.handleReport(B, new int[]{3, 4});
+    when(partitions.get(4).isLeader()).thenReturn(true);
+    when(partitions.get(5).isLeader()).thenReturn(true);
+
+    balancer.balance();
+    assertEquals(0, balancer.getLeaderImbalance());
+    assertEquals(0, balancer.getLeaderTransfers());
+    for (RaftPartition partition : partitions) {
+      verify(partition, never()).promote();
+    }
+    balancer.close();
+  }
+
+  @Test
+  public void testSkipWhileElectingLeaders() throws Exception {
+    RaftLeaderBalancer balancer = createBalancer(C, 6);
+    balancer.handleReport(A, new int[]{1, 2, 3, 4, 5});
+
+    // Partition 6 has no known leader, so the balancer waits for the election to complete.
+    balancer.balance();
+    assertEquals(0, balancer.getLeaderTransfers());
+    for (RaftPartition partition : partitions) {
+      verify(partition, never()).promote();
+    }
+    balancer.close();
+  }
+}
@@ -40,8 +40,9 @@ public class TestRaftClientProtocol extends TestRaftProtocol implements RaftClie
       MemberId memberId,
       Map<MemberId, TestRaftServerProtocol> servers,
       Map<MemberId, TestRaftClientProtocol> clients,
+      Set<MemberId> partitioned,
       ThreadContext context) {
-    super(servers, clients, context);
+    super(memberId, servers, clients, partitioned, context);
     clients.put(memberId, this);
   }
 
@@ -22,6 +22,7 @@ import io.atomix.utils.concurrent.ThreadContext;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
@@ -29,16 +30,22 @@ import java.util.concurrent.TimeoutException;
  * Base class for Raft protocol.
  */
 public abstract class TestRaftProtocol {
+  private final MemberId localMemberId;
   private final Map<MemberId, TestRaftServerProtocol> servers;
   private final Map<MemberId, TestRaftClientProtocol> clients;
+  private final Set<MemberId> partitioned;
   private final ThreadContext context;
 
   public TestRaftProtocol(
+      MemberId localMemberId,
       Map<MemberId, TestRaftServerProtocol> servers,
       Map<MemberId, TestRaftClientProtocol> clients,
+      Set<MemberId> partitioned,
       ThreadContext context) {
+    this.localMemberId = localMemberId;
     this.servers = servers;
     this.clients = clients;
+    this.partitioned = partitioned;
     this.context = context;
   }
 
@@ -51,8 +58,17 @@ public abstract class TestRaftProtocol {
     return future.whenComplete((r, e) -> scheduled.cancel());
   }
 
+  /**
+   * Returns a boolean indicating whether the given member is reachable from the local member.
+   * <p>
+   * Partitioned members can only reach one another, and members outside the partition can't reach them.
+   */
+  private boolean isReachable(MemberId memberId) {
+    return partitioned.contains(localMemberId) == partitioned.contains(memberId);
+  }
+
   TestRaftServerProtocol server(MemberId memberId) {
-    return servers.get(memberId);
+    return isReachable(memberId) ? servers.get(memberId) : null;
   }
 
   Collection<TestRaftServerProtocol> servers() {
@@ -60,6 +76,6 @@ public abstract class TestRaftProtocol {
   }
 
   TestRaftClientProtocol client(MemberId memberId) {
-    return clients.get(memberId);
+    return isReachable(memberId) ? clients.get(memberId) : null;
   }
 }
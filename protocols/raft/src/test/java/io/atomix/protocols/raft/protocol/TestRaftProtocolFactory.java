@@ -16,10 +16,13 @@
 package io.atomix.protocols.raft.protocol;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.atomix.cluster.MemberId;
 import io.atomix.utils.concurrent.ThreadContext;
 
+import java.util.Arrays;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Test Raft protocol factory.
@@ -27,6 +30,7 @@ import java.util.Map;
 public class TestRaftProtocolFactory {
   private final Map<MemberId, TestRaftServerProtocol> servers = Maps.newConcurrentMap();
   private final Map<MemberId, TestRaftClientProtocol> clients = Maps.newConcurrentMap();
+  private final Set<MemberId> partitioned = Sets.newConcurrentHashSet();
   private final ThreadContext context;
 
   public TestRaftProtocolFactory(ThreadContext context) {
@@ -40,7 +44,7 @@ public class TestRaftProtocolFactory {
    * @return a new test client protocol
    */
   public RaftClientProtocol newClientProtocol(MemberId memberId) {
-    return new TestRaftClientProtocol(memberId, servers, clients, context);
+    return new TestRaftClientProtocol(memberId, servers, clients, partitioned, context);
   }
 
   /**
@@ -50,6 +54,24 @@ public class TestRaftProtocolFactory {
    * @return a new test server protocol
    */
   public RaftServerProtocol newServerProtocol(MemberId memberId) {
-    return new TestRaftServerProtocol(memberId, servers, clients, context);
+    return new TestRaftServerProtocol(memberId, servers, clients, partitioned, context);
+  }
+
+  /**
+   * Partitions the given members from the rest of the cluster.
+   * <p>
+   * Partitioned members can communicate with one another but not with any member outside the partition.
+   *
+   * @param memberIds the members to partition
+   */
+  public void partition(MemberId... memberIds) {
+    partitioned.addAll(Arrays.asList(memberIds));
+  }
+
+  /**
+   * Heals all partitions.
+   */
+  public void heal() {
+    partitioned.clear();
   }
 }
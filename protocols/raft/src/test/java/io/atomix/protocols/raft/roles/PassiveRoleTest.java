@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.protocols.raft.roles;
+
+import io.atomix.cluster.ClusterMembershipService;
+import io.atomix.cluster.MemberId;
+import io.atomix.primitive.PrimitiveTypeRegistry;
+import io.atomix.protocols.raft.RaftServer;
+import io.atomix.protocols.raft.impl.RaftContext;
+import io.atomix.protocols.raft.partition.impl.RaftNamespaces;
+import io.atomix.protocols.raft.protocol.InstallRequest;
+import io.atomix.protocols.raft.protocol.InstallResponse;
+import io.atomix.protocols.raft.protocol.RaftResponse;
+import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.storage.RaftStorage;
+import io.atomix.protocols.raft.storage.snapshot.Snapshot;
+import io.atomix.protocols.raft.storage.snapshot.SnapshotReader;
+import io.atomix.utils.concurrent.ThreadModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Passive role snapshot install test.
+ */
+public class PassiveRoleTest {
+  private static final Path PATH = Paths.get("target/test-logs/passive/");
+  private static final int SNAPSHOT_SIZE = 1024 * 16;
+
+  private RaftContext raft;
+  private PassiveRole role;
+  private byte[] data;
+  private long checksum;
+
+  @Test
+  public void testInstallChunks() throws Exception {
+    assertOk(install(request(1, 0, 1000)), 1000);
+    assertOk(install(request(1, 1000, 4000)), 5000);
+    assertOk(install(request(1, 5000, SNAPSHOT_SIZE - 5000)), 0);
+    assertInstalled(1, data);
+  }
+
+  @Test
+  public void testInterruptedInstall() throws Exception {
+    // A chunk beyond the next expected position is rejected with the position from which to resume.
+    assertOk(install(request(1, 0, 1000)), 1000);
+    assertError(install(request(1, 2000, 1000)), 1000);
+
+    // Resending from the expected position continues the install.
+    assertOk(install(request(1, 1000, 1000)), 2000);
+
+    // A request for a different snapshot discards the partially received snapshot.
+    assertOk(install(request(2, 0, 1000)), 1000);
+    assertOk(install(request(2, 1000, SNAPSHOT_SIZE - 1000)), 0);
+    assertInstalled(2, data);
+    assertNull(raft.getSnapshotStore().getSnapshot(1));
+  }
+
+  @Test
+  public void testResumeInstallAfterLeaderChange() throws Exception {
+    assertOk(install(request(1, 0, 1000)), 1000);
+    assertOk(install(request(1, 1000, 1000)), 2000);
+
+    // A new leader with an identical snapshot, taken at a different time, starts sending the snapshot from the
+    // beginning with a different chunk size. Chunks that have already been received are skipped, and partially
+    // received chunks are written from the next expected position.
+    long timestamp = System.currentTimeMillis() + 1000;
+    assertOk(install(request(1, timestamp, checksum, 0, 0, 1500)), 2000);
+    assertOk(install(request(1, timestamp, checksum, 1, 1500, 1500)), 3000);
+    assertOk(install(request(1, timestamp, checksum, 2, 3000, SNAPSHOT_SIZE - 3000)), 0);
+    assertInstalled(1, data);
+  }
+
+  @Test
+  public void testRestartInstallOnChecksumChange() throws Exception {
+    assertOk(install(request(1, 0, 1000)), 1000);
+
+    // A new leader with a different snapshot at the same index must restart the install.
+    byte[] other = new byte[SNAPSHOT_SIZE];
+    new Random().nextBytes(other);
+    long timestamp = System.currentTimeMillis() + 1000;
+    assertError(install(request(1, timestamp, checksum(other), 1, 1000, chunk(other, 1000, 1000))), 0);
+    assertOk(install(request(1, timestamp, checksum(other), 0, 0, chunk(other, 0, 1000))), 1000);
+    assertOk(install(request(1, timestamp, checksum(other), 1, 1000, chunk(other, 1000, SNAPSHOT_SIZE - 1000))), 0);
+    assertInstalled(1, other);
+  }
+
+  @Test
+  public void testConcurrentInstallChunks() throws Exception {
+    // Pipelined chunks may arrive out of order. A chunk that arrives early is rejected, a chunk that has
+    // already been received is skipped, and a chunk that overlaps the received data is written in part.
+    assertOk(install(request(1, 0, 1000)), 1000);
+    assertError(install(request(1, 2000, 1000)), 1000);
+    assertOk(install(request(1, 1000, 1000)), 2000);
+    assertOk(install(request(1, 0, 1000)), 2000);
+    assertOk(install(request(1, 1500, 2500)), 4000);
+    assertOk(install(request(1, 4000, SNAPSHOT_SIZE - 4000)), 0);
+    assertInstalled(1, data);
+  }
+
+  @Test
+  public void testChecksumMismatch() throws Exception {
+    byte[] corrupt = data.clone();
+    corrupt[SNAPSHOT_SIZE - 1]++;
+    long timestamp = System.currentTimeMillis();
+    assertOk(install(request(1, timestamp, checksum, 0, 0, chunk(corrupt, 0, 1000))), 1000);
+    assertError(install(request(1, timestamp, checksum, 1, 1000, chunk(corrupt, 1000, SNAPSHOT_SIZE - 1000))), 0);
+    assertNull(raft.getSnapshotStore().getSnapshot(1));
+  }
+
+  @Test
+  public void testInstallChunkOffsets() throws Exception {
+    // Requests without a byte position identify chunks by their index.
+    long timestamp = System.currentTimeMillis();
+    assertOk(install(new InstallRequest(1, null, 1, timestamp, 1, 0, chunk(data, 0, 1000), false)), 1000);
+    assertError(install(new InstallRequest(1, null, 1, timestamp, 1, 2, chunk(data, 3000, 1000), false)), 0);
+    assertOk(install(new InstallRequest(1, null, 1, timestamp, 1, 1, chunk(data, 1000, 2000), false)), 3000);
+    assertOk(install(new InstallRequest(1, null, 1, timestamp, 1, 0, chunk(data, 0, 1000), false)), 0);
+    assertOk(install(new InstallRequest(1, null, 1, timestamp, 1, 2, chunk(data, 3000, SNAPSHOT_SIZE - 3000), true)), 0);
+    assertInstalled(1, data);
+  }
+
+  private InstallRequest request(long index, int position, int length) {
+    return request(index, 1, checksum, position / 1000, position, chunk(data, position, length));
+  }
+
+  private InstallRequest request(long index, long timestamp, long checksum, int chunk, int position, int length) {
+    return request(index, timestamp, checksum, chunk, position, chunk(data, position, length));
+  }
+
+  private InstallRequest request(long index, long timestamp, long checksum, int chunk, int position, byte[] bytes) {
+    return new InstallRequest(
+        1, null, index, timestamp, 1, chunk, position, checksum, bytes, position + bytes.length == SNAPSHOT_SIZE);
+  }
+
+  private static byte[] chunk(byte[] bytes, int position, int length) {
+    return Arrays.copyOfRange(bytes, position, position + length);
+  }
+
+  private static long checksum(byte[] bytes) {
+    CRC32 crc32 = new CRC32();
+    crc32.update(bytes, 0, bytes.length);
+    return crc32.getValue();
+  }
+
+  private InstallResponse install(InstallRequest request) throws Exception {
+    CompletableFuture<InstallResponse> future = new CompletableFuture<>();
+    raft.getThreadContext().execute(() -> role.onInstall(request).whenComplete((response, error) -> {
+      if (error == null) {
+        future.complete(response);
+      } else {
+        future.completeExceptionally(error);
+      }
+    }));
+    return future.get(10, TimeUnit.SECONDS);
+  }
+
+  private static void assertOk(InstallResponse response, int nextOffset) {
+    assertEquals(RaftResponse.Status.OK, response.status());
+    assertEquals(nextOffset, response.nextOffset());
+  }
+
+  private static void assertError(InstallResponse response, int nextOffset) {
+    assertEquals(RaftResponse.Status.ERROR, response.status());
+    assertEquals(nextOffset, response.nextOffset());
+  }
+
+  private void assertInstalled(long index, byte[] bytes) {
+    Snapshot snapshot = raft.getSnapshotStore().getSnapshot(index);
+    assertNotNull(snapshot);
+    try (SnapshotReader reader = snapshot.openReader()) {
+      byte[] installed = new byte[reader.remaining()];
+      reader.read(installed);
+      assertArrayEquals(bytes, installed);
+    }
+  }
+
+  @Before
+  public void setupContext() throws IOException {
+    deleteStorage();
+
+    RaftStorage storage = RaftStorage.builder()
+        .withPrefix("test")
+        .withDirectory(PATH.toFile())
+        .withNamespace(RaftNamespaces.RAFT_STORAGE)
+        .build();
+    raft = new RaftContext(
+        "test",
+        MemberId.from("test-1"),
+        mock(ClusterMembershipService.class),
+        mock(RaftServerProtocol.class),
+        storage,
+        mock(PrimitiveTypeRegistry.class),
+        ThreadModel.SHARED_THREAD_POOL.factory("raft-server-test-%d", 1, LoggerFactory.getLogger(RaftServer.class)),
+        true);
+    raft.setTerm(1);
+    role = new PassiveRole(raft);
+
+    data = new byte[SNAPSHOT_SIZE];
+    new Random().nextBytes(data);
+    checksum = checksum(data);
+  }
+
+  @After
+  public void teardownContext() throws IOException {
+    raft.close();
+    deleteStorage();
+  }
+
+  private void deleteStorage() throws IOException {
+    if (Files.exists(PATH)) {
+      Files.walkFileTree(PATH, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+          Files.delete(file);
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+          Files.delete(dir);
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    }
+  }
+}
@@ -63,7 +63,7 @@ public class RaftSessionRegistryTest {
     RaftContext server = mock(RaftContext.class);
     when(server.getProtocol()).thenReturn(mock(RaftServerProtocol.class));
     RaftServiceManager manager = mock(RaftServiceManager.class);
-    when(manager.executor()).thenReturn(mock(ThreadContext.class));
+    when(manager.executor(context)).thenReturn(mock(ThreadContext.class));
     when(server.getServiceManager()).thenReturn(manager);
 
     return new RaftSession(
@@ -18,6 +18,8 @@ package io.atomix.protocols.raft.storage.snapshot;
 import io.atomix.utils.time.WallClockTimestamp;
 import org.junit.Test;
 
+import java.util.zip.CRC32;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -74,4 +76,42 @@ public abstract class AbstractSnapshotStoreTest {
     }
   }
 
+  /**
+   * Tests that the snapshot checksum is computed when the snapshot is written.
+   */
+  @Test
+  public void testSnapshotChecksum() {
+    SnapshotStore store = createSnapshotStore();
+    Snapshot snapshot = store.newSnapshot(3, new WallClockTimestamp());
+    assertEquals(0, snapshot.checksum());
+
+    byte[] bytes = new byte[1024];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      writer.write(bytes, 0, 512);
+      writer.write(bytes, 512, 512);
+    }
+    snapshot.complete();
+
+    CRC32 crc32 = new CRC32();
+    crc32.update(bytes);
+    assertEquals(crc32.getValue(), snapshot.checksum());
+    assertEquals(crc32.getValue(), store.getSnapshot(3).checksum());
+
+    snapshot = store.newSnapshot(4, new WallClockTimestamp());
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      writer.writeInt(1);
+    }
+    try (SnapshotWriter writer = snapshot.openWriter()) {
+      writer.writeInt(2);
+    }
+    snapshot.complete();
+
+    crc32 = new CRC32();
+    crc32.update(new byte[]{0, 0, 0, 1, 0, 0, 0, 2});
+    assertEquals(crc32.getValue(), store.getSnapshot(4).checksum());
+  }
 }
@@ -34,6 +34,14 @@ public enum StorageLevel {
   /**
    * Stores data on disk.
    */
-  DISK
+  DISK,
+
+  /**
+   * Stores the most recent data in memory-mapped files and older data on disk.
+   * <p>
+   * Only the newest journal segments are memory-mapped, bounding the memory used by the journal while keeping reads
+   * and writes at the tail of the journal fast.
+   */
+  TIERED
 
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+/**
+ * Journal entry checksum type.
+ * <p>
+ * The checksum type used to verify the entries in a segment is recorded in the segment's
+ * {@link JournalSegmentDescriptor}, so segments written with different checksum types can be read by the same journal.
+ */
+public enum ChecksumType {
+
+  /**
+   * CRC-32 checksum.
+   * <p>
+   * This is the checksum used by segments written before the checksum type was recorded in the segment descriptor.
+   */
+  CRC32(0),
+
+  /**
+   * CRC-32C (Castagnoli) checksum.
+   * <p>
+   * On Java 9 and later, CRC-32C checksums are computed with {@code java.util.zip.CRC32C}, which is accelerated by
+   * hardware instructions on most platforms.
+   */
+  CRC32C(1);
+
+  /**
+   * Returns the checksum type for the given identifier.
+   *
+   * @param id the checksum type identifier
+   * @return the checksum type
+   * @throws IllegalArgumentException if the identifier is unknown
+   */
+  public static ChecksumType forId(int id) {
+    for (ChecksumType type : values()) {
+      if (type.id == id) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown checksum type " + id);
+  }
+
+  private final int id;
+
+  ChecksumType(int id) {
+    this.id = id;
+  }
+
+  /**
+   * Returns the checksum type identifier.
+   *
+   * @return the checksum type identifier
+   */
+  public int id() {
+    return id;
+  }
+}
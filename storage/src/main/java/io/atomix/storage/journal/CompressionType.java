@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+/**
+ * Journal segment compression type.
+ * <p>
+ * Segments are written uncompressed and may be compressed once all their entries have been committed. The compression
+ * type of a segment is recorded in the segment's {@link JournalSegmentDescriptor}, so compressed and uncompressed
+ * segments can be read by the same journal.
+ */
+public enum CompressionType {
+
+  /**
+   * Entries are not compressed.
+   */
+  NONE(0),
+
+  /**
+   * Entries are compressed with the DEFLATE algorithm provided by {@link java.util.zip.Deflater}.
+   */
+  DEFLATE(1);
+
+  /**
+   * Returns the compression type for the given identifier.
+   *
+   * @param id the compression type identifier
+   * @return the compression type
+   * @throws IllegalArgumentException if the identifier is unknown
+   */
+  public static CompressionType forId(int id) {
+    for (CompressionType type : values()) {
+      if (type.id == id) {
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown compression type " + id);
+  }
+
+  private final int id;
+
+  CompressionType(int id) {
+    this.id = id;
+  }
+
+  /**
+   * Returns the compression type identifier.
+   *
+   * @return the compression type identifier
+   */
+  public int id() {
+    return id;
+  }
+}
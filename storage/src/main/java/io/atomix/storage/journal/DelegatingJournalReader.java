@@ -57,6 +57,11 @@ public class DelegatingJournalReader<E> implements JournalReader<E> {
     return delegate.next();
   }
 
+  @Override
+  public RawEntry nextRaw() {
+    return delegate.nextRaw();
+  }
+
   @Override
   public void reset() {
     delegate.reset();
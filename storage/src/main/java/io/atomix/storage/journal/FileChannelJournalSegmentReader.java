@@ -17,7 +17,7 @@ package io.atomix.storage.journal;
 
 import io.atomix.storage.StorageException;
 import io.atomix.storage.journal.index.JournalIndex;
-import io.atomix.storage.journal.index.Position;
+import io.atomix.storage.journal.index.MutablePosition;
 import io.atomix.utils.serializer.Namespace;
 
 import java.io.IOException;
@@ -25,8 +25,6 @@ import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.util.NoSuchElementException;
-import java.util.zip.CRC32;
-import java.util.zip.Checksum;
 
 /**
  * Log segment reader.
@@ -37,11 +35,17 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
   private final FileChannel channel;
   private final int maxEntrySize;
   private final JournalIndex index;
+  private final MutablePosition indexPosition = new MutablePosition();
   private final Namespace namespace;
   private final ByteBuffer memory;
   private final long firstIndex;
+  private final JournalChecksum crc;
+  private final JournalCodec codec;
+  private long currentIndex;
+  private long currentPosition = -1;
   private Indexed<E> currentEntry;
-  private Indexed<E> nextEntry;
+  private RawEntry nextEntry;
+  private long nextPosition;
 
   FileChannelJournalSegmentReader(
       FileChannel channel,
@@ -55,6 +59,8 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
     this.namespace = namespace;
     this.memory = ByteBuffer.allocate((maxEntrySize + Integer.BYTES + Integer.BYTES) * 2);
     this.firstIndex = segment.index();
+    this.crc = JournalChecksum.create(segment.descriptor().checksumType());
+    this.codec = JournalCodec.create(segment.descriptor().compressionType());
     reset();
   }
 
@@ -65,27 +71,58 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
 
   @Override
   public long getCurrentIndex() {
-    return currentEntry != null ? currentEntry.index() : 0;
+    return currentIndex;
   }
 
   @Override
   public Indexed<E> getCurrentEntry() {
+    if (currentEntry == null && currentIndex != 0) {
+      if (currentPosition < 0) {
+        return new Indexed<>(currentIndex, null, 0);
+      }
+
+      // The current entry was read without being deserialized. Read the entry from the segment and deserialize it.
+      try {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        read(header, currentPosition);
+        int length = header.getInt();
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        read(buffer, currentPosition + Integer.BYTES + Integer.BYTES);
+        ByteBuffer entry = codec.decompress(buffer);
+        currentEntry = new Indexed<>(currentIndex, namespace.deserialize(entry.duplicate()), entry.remaining());
+      } catch (IOException e) {
+        throw new StorageException(e);
+      }
+    }
     return currentEntry;
   }
 
+  /**
+   * Fills the given buffer from the segment starting at the given position without modifying the channel position.
+   */
+  private void read(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new StorageException("Unexpected end of segment");
+      }
+      position += read;
+    }
+    buffer.flip();
+  }
+
   @Override
   public long getNextIndex() {
-    return currentEntry != null ? currentEntry.index() + 1 : firstIndex;
+    return currentIndex != 0 ? currentIndex + 1 : firstIndex;
   }
 
   @Override
   public void reset(long index) {
     reset();
-    Position position = this.index.lookup(index - 1);
-    if (position != null) {
-      currentEntry = new Indexed<>(position.index() - 1, null, 0);
+    if (this.index.lookup(index - 1, indexPosition)) {
+      currentIndex = indexPosition.index() - 1;
       try {
-        channel.position(position.position());
+        channel.position(indexPosition.position());
         memory.clear().flip();
       } catch (IOException e) {
         throw new StorageException(e);
@@ -93,7 +130,7 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
       readNext();
     }
     while (getNextIndex() < index && hasNext()) {
-      next();
+      nextRaw();
     }
   }
 
@@ -105,6 +142,8 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
       throw new StorageException(e);
     }
     memory.clear().limit(0);
+    currentIndex = 0;
+    currentPosition = -1;
     currentEntry = null;
     nextEntry = null;
     readNext();
@@ -121,27 +160,31 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
 
   @Override
   public Indexed<E> next() {
+    RawEntry entry = nextRaw();
+    currentEntry = new Indexed<>(entry.index(), namespace.deserialize(entry.buffer()), entry.size());
+    return currentEntry;
+  }
+
+  @Override
+  public RawEntry nextRaw() {
     if (!hasNext()) {
       throw new NoSuchElementException();
     }
 
-    // Set the current entry to the next entry.
-    currentEntry = nextEntry;
+    // Set the current entry to the next entry. The current entry will be deserialized on demand.
+    RawEntry entry = nextEntry;
+    currentIndex = entry.index();
+    currentPosition = nextPosition;
+    currentEntry = null;
 
-    // Reset the next entry to null.
+    // Reset the next entry to null. The next entry will be read on the next call to hasNext().
     nextEntry = null;
-
-    // Read the next entry in the segment.
-    readNext();
-
-    // Return the current entry.
-    return currentEntry;
+    return entry;
   }
 
   /**
-   * Reads the next entry in the segment.
+   * Reads and verifies the next entry in the segment.
    */
-  @SuppressWarnings("unchecked")
   private void readNext() {
     // Compute the index of the next entry in the segment.
     final long index = getNextIndex();
@@ -158,6 +201,7 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
       }
 
       // Mark the buffer so it can be reset if necessary.
+      final long position = channel.position() + memory.position();
       memory.mark();
 
       try {
@@ -174,17 +218,20 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
         // Read the checksum of the entry.
         long checksum = memory.getInt() & 0xFFFFFFFFL;
 
-        // Compute the checksum for the entry bytes.
-        final Checksum crc32 = new CRC32();
-        crc32.update(memory.array(), memory.position(), length);
+        // If the entry extends beyond the end of the segment then return.
+        if (length > memory.remaining()) {
+          memory.reset().limit(memory.position());
+          nextEntry = null;
+          return;
+        }
 
         // If the stored checksum equals the computed checksum, return the entry.
-        if (checksum == crc32.getValue()) {
-          int limit = memory.limit();
-          memory.limit(memory.position() + length);
-          E entry = namespace.deserialize(memory);
-          memory.limit(limit);
-          nextEntry = new Indexed<>(index, entry, length);
+        if (checksum == crc.compute(memory.array(), memory.position(), length)) {
+          ByteBuffer slice = memory.slice();
+          slice.limit(length);
+          nextEntry = newRawEntry(index, checksum, slice);
+          nextPosition = position;
+          memory.position(memory.position() + length);
         } else {
           memory.reset().limit(memory.position());
           nextEntry = null;
@@ -198,6 +245,20 @@ class FileChannelJournalSegmentReader<E> implements JournalReader<E> {
     }
   }
 
+  /**
+   * Creates a raw entry from the given stored entry bytes.
+   * <p>
+   * Stored checksums cover the entry as written to the segment. For compressed segments, the checksum of the
+   * uncompressed entry is computed so the raw entry's checksum always matches its buffer.
+   */
+  private RawEntry newRawEntry(long index, long checksum, ByteBuffer stored) {
+    ByteBuffer entry = codec.decompress(stored);
+    if (entry != stored) {
+      checksum = crc.compute(entry, entry.position(), entry.remaining());
+    }
+    return new RawEntry(index, checksum, entry.asReadOnlyBuffer());
+  }
+
   @Override
   public void close() {
     // Do nothing. The parent reader manages the channel.
@@ -25,8 +25,8 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
-import java.util.zip.CRC32;
-import java.util.zip.Checksum;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Segment writer.
@@ -51,7 +51,10 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
   private final Namespace namespace;
   private final ByteBuffer memory;
   private final long firstIndex;
+  private final JournalChecksum crc;
+  private final JournalCodec codec;
   private Indexed<E> lastEntry;
+  private int lastPosition;
 
   FileChannelJournalSegmentWriter(
       FileChannel channel,
@@ -67,16 +70,37 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
     memory.limit(0);
     this.namespace = namespace;
     this.firstIndex = segment.index();
+    this.crc = JournalChecksum.create(segment.descriptor().checksumType());
+    this.codec = JournalCodec.create(segment.descriptor().compressionType());
     reset(0);
   }
 
   @Override
   public void reset(long index) {
-    long nextIndex = firstIndex;
+    // If the segment has been checkpointed, skip to the checkpointed entry and verify only the entries following it.
+    // If the checkpointed entry cannot be read, fall back to verifying the entire segment.
+    if (index == 0) {
+      JournalSegmentDescriptor descriptor = segment.descriptor();
+      if (descriptor.checkpointIndex() >= firstIndex && descriptor.checkpointPosition() >= JournalSegmentDescriptor.BYTES) {
+        reset(index, descriptor.checkpointIndex(), descriptor.checkpointPosition());
+        if (lastEntry != null) {
+          return;
+        }
+      }
+    }
+    reset(index, firstIndex, JournalSegmentDescriptor.BYTES);
+  }
+
+  /**
+   * Resets the writer to the given index, reading entries starting at the given index and position.
+   */
+  private void reset(long index, long nextIndex, int startPosition) {
+    final long startIndex = nextIndex;
+    lastEntry = null;
 
     // Clear the buffer indexes.
     try {
-      channel.position(JournalSegmentDescriptor.BYTES);
+      channel.position(startPosition);
       memory.clear().flip();
 
       // Record the current buffer position.
@@ -100,17 +124,10 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
         // Read the checksum of the entry.
         final long checksum = memory.getInt() & 0xFFFFFFFFL;
 
-        // Compute the checksum for the entry bytes.
-        final Checksum crc32 = new CRC32();
-        crc32.update(memory.array(), memory.position(), length);
-
-        // If the stored checksum equals the computed checksum, return the entry.
-        if (checksum == crc32.getValue()) {
-          int limit = memory.limit();
-          memory.limit(memory.position() + length);
-          final E entry = namespace.deserialize(memory);
-          memory.limit(limit);
-          lastEntry = new Indexed<>(nextIndex, entry, length);
+        // If the stored checksum equals the computed checksum, index the entry.
+        if (length <= memory.remaining() && checksum == crc.compute(memory.array(), memory.position(), length)) {
+          memory.position(memory.position() + length);
+          lastPosition = (int) position;
           this.index.index(nextIndex, (int) position);
           nextIndex++;
         } else {
@@ -144,6 +161,45 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
     } catch (IOException e) {
       throw new StorageException(e);
     }
+
+    // Entries are verified without being deserialized. Deserialize only the last entry in the segment.
+    if (nextIndex > startIndex) {
+      lastEntry = readEntry(nextIndex - 1, lastPosition);
+    }
+
+    // Remove any stale index entries following the last entry in the segment.
+    this.index.truncate(nextIndex - 1);
+  }
+
+  /**
+   * Reads and deserializes the entry at the given position without modifying the channel position.
+   */
+  private Indexed<E> readEntry(long index, int position) {
+    try {
+      ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Integer.BYTES);
+      read(header, position);
+      int length = header.getInt();
+      ByteBuffer buffer = ByteBuffer.allocate(length);
+      read(buffer, position + header.capacity());
+      ByteBuffer entry = codec.decompress(buffer);
+      return new Indexed<>(index, namespace.deserialize(entry.duplicate()), entry.remaining());
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  /**
+   * Fills the given buffer from the segment starting at the given position.
+   */
+  private void read(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new StorageException("Unexpected end of segment");
+      }
+      position += read;
+    }
+    buffer.flip();
   }
 
   @Override
@@ -252,9 +308,7 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
       }
 
       // Compute the checksum for the entry.
-      final Checksum crc32 = new CRC32();
-      crc32.update(memory.array(), Integer.BYTES + Integer.BYTES, memory.limit() - (Integer.BYTES + Integer.BYTES));
-      final long checksum = crc32.getValue();
+      final long checksum = crc.compute(memory.array(), Integer.BYTES + Integer.BYTES, length);
 
       // Create a single byte[] in memory for the entire entry and write it as a batch to the underlying buffer.
       memory.putInt(0, length);
@@ -264,6 +318,7 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
       // Update the last entry with the correct index/term/length.
       Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
       this.lastEntry = indexedEntry;
+      this.lastPosition = (int) position;
       this.index.index(index, (int) position);
       return (Indexed<T>) indexedEntry;
     } catch (IOException e) {
@@ -271,6 +326,101 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
     }
   }
 
+  @Override
+  public <T extends E> List<Indexed<T>> appendAll(List<T> entries) {
+    List<Indexed<T>> appended = new ArrayList<>(entries.size());
+    if (appendBatch(entries, 0, appended) < entries.size()) {
+      throw new BufferOverflowException();
+    }
+    return appended;
+  }
+
+  /**
+   * Appends as many of the given entries as fit in the segment.
+   * <p>
+   * Entries are serialized into the in-memory buffer one after the other and the buffer is written to the segment
+   * in a single write once it may not have enough space for another entry or all entries have been serialized.
+   *
+   * @param entries the entries to append
+   * @param offset the offset of the first entry to append
+   * @param appended the list to which to add appended entries
+   * @return the number of entries appended to the segment
+   */
+  @SuppressWarnings("unchecked")
+  <T extends E> int appendBatch(List<T> entries, int offset, List<Indexed<T>> appended) {
+    final int maxSegmentSize = segment.descriptor().maxSegmentSize();
+    int count = 0;
+    try {
+      long position = channel.position();
+      memory.clear();
+      try {
+        for (int i = offset; i < entries.size(); i++) {
+          // If the buffer may not have enough space for the next entry, write the batch to the segment.
+          if (memory.remaining() < maxEntrySize + Integer.BYTES + Integer.BYTES) {
+            write();
+            memory.clear();
+          }
+
+          // Serialize the entry following the previous entry in the batch.
+          final T entry = entries.get(i);
+          final int start = memory.position();
+          memory.position(start + Integer.BYTES + Integer.BYTES);
+          try {
+            namespace.serialize(entry, memory);
+          } catch (KryoException e) {
+            memory.position(start);
+            throw new StorageException.TooLarge("Entry size exceeds maximum allowed bytes (" + maxEntrySize + ")");
+          }
+
+          final int length = memory.position() - (start + Integer.BYTES + Integer.BYTES);
+
+          // Ensure there's enough space left in the segment to store the entry.
+          if (maxSegmentSize - position < length + Integer.BYTES + Integer.BYTES) {
+            memory.position(start);
+            break;
+          }
+
+          // If the entry length exceeds the maximum entry size then throw an exception.
+          if (length > maxEntrySize) {
+            memory.position(start);
+            throw new StorageException.TooLarge("Entry size " + length + " exceeds maximum allowed bytes (" + maxEntrySize + ")");
+          }
+
+          // Compute the checksum for the entry and write the entry header.
+          final long checksum = crc.compute(memory.array(), start + Integer.BYTES + Integer.BYTES, length);
+          memory.putInt(start, length);
+          memory.putInt(start + Integer.BYTES, (int) checksum);
+
+          // Update the last entry with the correct index/term/length.
+          final long index = getNextIndex();
+          Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
+          this.lastEntry = indexedEntry;
+          this.lastPosition = (int) position;
+          this.index.index(index, (int) position);
+          appended.add((Indexed<T>) indexedEntry);
+          position += Integer.BYTES + Integer.BYTES + length;
+          count++;
+        }
+      } finally {
+        // Write any entries remaining in the batch, including those preceding a failed entry.
+        write();
+      }
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+    return count;
+  }
+
+  /**
+   * Writes the serialized entries in the in-memory buffer to the segment.
+   */
+  private void write() throws IOException {
+    memory.flip();
+    while (memory.hasRemaining()) {
+      channel.write(memory);
+    }
+  }
+
   @Override
   public void commit(long index) {
 
@@ -291,6 +441,12 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
       // Truncate the index.
       this.index.truncate(index);
 
+      // If the truncated entries were checkpointed, clear the checkpoint before modifying the segment.
+      if (segment.descriptor().checkpointIndex() > index) {
+        writeCheckpoint(0, 0);
+        channel.force(true);
+      }
+
       if (index < segment.index()) {
         channel.position(JournalSegmentDescriptor.BYTES);
         channel.write(zero());
@@ -309,6 +465,33 @@ class FileChannelJournalSegmentWriter<E> implements JournalWriter<E> {
     }
   }
 
+  /**
+   * Checkpoints the last entry in the segment.
+   * <p>
+   * The checkpoint should only be written once the entries in the segment have been flushed to disk.
+   */
+  void checkpoint() {
+    try {
+      if (lastEntry != null) {
+        writeCheckpoint(lastEntry.index(), lastPosition);
+      } else {
+        writeCheckpoint(0, 0);
+      }
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  /**
+   * Writes the given checkpoint to the segment header.
+   */
+  private void writeCheckpoint(long index, int position) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(JournalSegmentDescriptor.CHECKPOINT_LENGTH);
+    JournalSegmentDescriptor.writeCheckpoint(buffer, 0, index, position);
+    channel.write(buffer, JournalSegmentDescriptor.CHECKPOINT_POSITION);
+    segment.descriptor().checkpoint(index, position);
+  }
+
   /**
    * Returns a zeroed out byte buffer.
    */
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+
+/**
+ * Reusable journal entry checksum.
+ * <p>
+ * Each segment reader and writer owns a single checksum instance which is reset for each entry, so computing entry
+ * checksums does not allocate. Checksum instances are not thread safe.
+ */
+abstract class JournalChecksum {
+
+  // java.util.zip.CRC32C is only available on Java 9 and later, so it's accessed via method handles.
+  private static final MethodHandle CRC32C_CONSTRUCTOR;
+  private static final MethodHandle CRC32C_UPDATE;
+
+  static {
+    MethodHandle constructor = null;
+    MethodHandle update = null;
+    try {
+      Class<?> type = Class.forName("java.util.zip.CRC32C");
+      MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+      constructor = lookup.findConstructor(type, MethodType.methodType(void.class))
+          .asType(MethodType.methodType(Checksum.class));
+      update = lookup.findVirtual(Checksum.class, "update", MethodType.methodType(void.class, ByteBuffer.class));
+    } catch (ReflectiveOperationException e) {
+      constructor = null;
+      update = null;
+    }
+    CRC32C_CONSTRUCTOR = constructor;
+    CRC32C_UPDATE = update;
+  }
+
+  /**
+   * Returns the default checksum type.
+   * <p>
+   * The default checksum type is {@link ChecksumType#CRC32C} when it can be computed by the JVM, and
+   * {@link ChecksumType#CRC32} otherwise.
+   *
+   * @return the default checksum type
+   */
+  static ChecksumType defaultType() {
+    return CRC32C_CONSTRUCTOR != null ? ChecksumType.CRC32C : ChecksumType.CRC32;
+  }
+
+  /**
+   * Returns a new checksum of the given type.
+   *
+   * @param type the checksum type
+   * @return the checksum
+   */
+  static JournalChecksum create(ChecksumType type) {
+    switch (type) {
+      case CRC32:
+        return new Crc32Checksum();
+      case CRC32C:
+        if (CRC32C_CONSTRUCTOR != null) {
+          return new IntrinsicCrc32cChecksum();
+        }
+        return new Crc32cChecksum();
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  /**
+   * Computes the checksum of the given bytes.
+   *
+   * @param bytes the bytes for which to compute the checksum
+   * @param offset the offset of the first byte
+   * @param length the number of bytes
+   * @return the checksum as an unsigned 32-bit integer
+   */
+  abstract long compute(byte[] bytes, int offset, int length);
+
+  /**
+   * Computes the checksum of the given buffer's bytes.
+   * <p>
+   * The buffer's position and limit are left unchanged.
+   *
+   * @param buffer the buffer for which to compute the checksum
+   * @param offset the absolute offset of the first byte
+   * @param length the number of bytes
+   * @return the checksum as an unsigned 32-bit integer
+   */
+  abstract long compute(ByteBuffer buffer, int offset, int length);
+
+  /**
+   * {@link java.util.zip.CRC32} based checksum.
+   */
+  private static class Crc32Checksum extends JournalChecksum {
+    private final CRC32 crc32 = new CRC32();
+
+    @Override
+    long compute(byte[] bytes, int offset, int length) {
+      crc32.reset();
+      crc32.update(bytes, offset, length);
+      return crc32.getValue();
+    }
+
+    @Override
+    long compute(ByteBuffer buffer, int offset, int length) {
+      if (buffer.hasArray()) {
+        return compute(buffer.array(), buffer.arrayOffset() + offset, length);
+      }
+      int position = buffer.position();
+      int limit = buffer.limit();
+      buffer.limit(offset + length);
+      buffer.position(offset);
+      crc32.reset();
+      crc32.update(buffer);
+      buffer.limit(limit);
+      buffer.position(position);
+      return crc32.getValue();
+    }
+  }
+
+  /**
+   * {@code java.util.zip.CRC32C} based checksum.
+   */
+  private static class IntrinsicCrc32cChecksum extends JournalChecksum {
+    private final Checksum crc32c;
+
+    IntrinsicCrc32cChecksum() {
+      try {
+        this.crc32c = (Checksum) CRC32C_CONSTRUCTOR.invokeExact();
+      } catch (Throwable e) {
+        throw new AssertionError(e);
+      }
+    }
+
+    @Override
+    long compute(byte[] bytes, int offset, int length) {
+      crc32c.reset();
+      crc32c.update(bytes, offset, length);
+      return crc32c.getValue();
+    }
+
+    @Override
+    long compute(ByteBuffer buffer, int offset, int length) {
+      if (buffer.hasArray()) {
+        return compute(buffer.array(), buffer.arrayOffset() + offset, length);
+      }
+      int position = buffer.position();
+      int limit = buffer.limit();
+      buffer.limit(offset + length);
+      buffer.position(offset);
+      crc32c.reset();
+      try {
+        CRC32C_UPDATE.invokeExact(crc32c, buffer);
+      } catch (Throwable e) {
+        throw new AssertionError(e);
+      }
+      buffer.limit(limit);
+      buffer.position(position);
+      return crc32c.getValue();
+    }
+  }
+
+  /**
+   * Table based CRC-32C checksum used when {@code java.util.zip.CRC32C} is not available.
+   */
+  static class Crc32cChecksum extends JournalChecksum {
+    private static final int[] TABLE = new int[256];
+
+    static {
+      for (int i = 0; i < TABLE.length; i++) {
+        int crc = i;
+        for (int j = 0; j < 8; j++) {
+          crc = (crc & 1) != 0 ? (crc >>> 1) ^ 0x82F63B78 : crc >>> 1;
+        }
+        TABLE[i] = crc;
+      }
+    }
+
+    @Override
+    long compute(byte[] bytes, int offset, int length) {
+      int crc = 0xFFFFFFFF;
+      for (int i = offset; i < offset + length; i++) {
+        crc = (crc >>> 8) ^ TABLE[(crc ^ bytes[i]) & 0xFF];
+      }
+      return ~crc & 0xFFFFFFFFL;
+    }
+
+    @Override
+    long compute(ByteBuffer buffer, int offset, int length) {
+      if (buffer.hasArray()) {
+        return compute(buffer.array(), buffer.arrayOffset() + offset, length);
+      }
+      int crc = 0xFFFFFFFF;
+      for (int i = offset; i < offset + length; i++) {
+        crc = (crc >>> 8) ^ TABLE[(crc ^ buffer.get(i)) & 0xFF];
+      }
+      return ~crc & 0xFFFFFFFFL;
+    }
+  }
+}
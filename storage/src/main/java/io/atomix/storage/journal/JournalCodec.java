@@ -0,0 +1,160 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.atomix.storage.StorageException;
+
+/**
+ * Journal entry compression codec.
+ * <p>
+ * Compressed entries are stored as the 32-bit length of the uncompressed entry followed by the compressed bytes.
+ * Codec instances are not thread safe.
+ */
+abstract class JournalCodec {
+
+  /**
+   * Returns a new codec for the given compression type.
+   *
+   * @param type the compression type
+   * @return the codec
+   */
+  static JournalCodec create(CompressionType type) {
+    switch (type) {
+      case NONE:
+        return new NoneCodec();
+      case DEFLATE:
+        return new DeflateCodec();
+      default:
+        throw new AssertionError();
+    }
+  }
+
+  /**
+   * Compresses the given entry bytes.
+   *
+   * @param bytes the entry bytes
+   * @param offset the offset of the first byte
+   * @param length the number of bytes
+   * @return the compressed entry
+   */
+  abstract byte[] compress(byte[] bytes, int offset, int length);
+
+  /**
+   * Decompresses the given entry.
+   * <p>
+   * The given buffer's remaining bytes are decompressed. If the entry is not compressed, the given buffer is returned.
+   *
+   * @param buffer the compressed entry
+   * @return a buffer containing the uncompressed entry
+   */
+  abstract ByteBuffer decompress(ByteBuffer buffer);
+
+  /**
+   * Codec for uncompressed entries.
+   */
+  private static class NoneCodec extends JournalCodec {
+    @Override
+    byte[] compress(byte[] bytes, int offset, int length) {
+      return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
+    @Override
+    ByteBuffer decompress(ByteBuffer buffer) {
+      return buffer;
+    }
+  }
+
+  /**
+   * {@link Deflater} based codec.
+   */
+  private static class DeflateCodec extends JournalCodec {
+    private Deflater deflater;
+    private Inflater inflater;
+    private byte[] input = new byte[0];
+
+    @Override
+    byte[] compress(byte[] bytes, int offset, int length) {
+      if (deflater == null) {
+        deflater = new Deflater(Deflater.BEST_SPEED);
+      }
+      deflater.reset();
+      deflater.setInput(bytes, offset, length);
+      deflater.finish();
+
+      byte[] output = new byte[Integer.BYTES + length + (length >> 4) + 64];
+      ByteBuffer.wrap(output).putInt(length);
+      int size = Integer.BYTES;
+      while (!deflater.finished()) {
+        if (size == output.length) {
+          output = Arrays.copyOf(output, output.length * 2);
+        }
+        size += deflater.deflate(output, size, output.length - size);
+      }
+      return Arrays.copyOf(output, size);
+    }
+
+    @Override
+    ByteBuffer decompress(ByteBuffer buffer) {
+      if (inflater == null) {
+        inflater = new Inflater();
+      }
+
+      int length = buffer.getInt(buffer.position());
+      int offset = buffer.position() + Integer.BYTES;
+      int compressedLength = buffer.remaining() - Integer.BYTES;
+      byte[] bytes;
+      if (buffer.hasArray()) {
+        bytes = buffer.array();
+        offset += buffer.arrayOffset();
+      } else {
+        if (input.length < compressedLength) {
+          input = new byte[compressedLength];
+        }
+        ByteBuffer slice = buffer.duplicate();
+        slice.position(offset);
+        slice.get(input, 0, compressedLength);
+        bytes = input;
+        offset = 0;
+      }
+
+      byte[] output = new byte[length];
+      inflater.reset();
+      inflater.setInput(bytes, offset, compressedLength);
+      try {
+        int size = 0;
+        while (!inflater.finished()) {
+          int inflated = inflater.inflate(output, size, length - size);
+          if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary() || size == length)) {
+            throw new StorageException("Corrupt compressed entry");
+          }
+          size += inflated;
+        }
+        if (size != length) {
+          throw new StorageException("Corrupt compressed entry");
+        }
+      } catch (DataFormatException e) {
+        throw new StorageException(e);
+      }
+      return ByteBuffer.wrap(output);
+    }
+  }
+}
@@ -84,6 +84,19 @@ public interface JournalReader<E> extends Iterator<Indexed<E>>, AutoCloseable {
   @Override
   Indexed<E> next();
 
+  /**
+   * Returns the next entry in the reader without deserializing it.
+   * <p>
+   * The returned entry's bytes may be backed by a buffer owned by the reader and are only valid until the next call
+   * to any method of the reader, including {@link #hasNext()}. Callers that need to retain the entry beyond that
+   * must {@link RawEntry#copy() copy} it. Once the entry has been read, {@link #getCurrentEntry()} will deserialize
+   * it on demand.
+   *
+   * @return The next entry in the reader in its serialized form.
+   * @throws java.util.NoSuchElementException if the reader has no next entry
+   */
+  RawEntry nextRaw();
+
   /**
    * Resets the reader to the start.
    */
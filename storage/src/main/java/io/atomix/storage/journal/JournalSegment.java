@@ -18,15 +18,18 @@ package io.atomix.storage.journal;
 import com.google.common.collect.Sets;
 import io.atomix.storage.StorageException;
 import io.atomix.storage.StorageLevel;
-import io.atomix.storage.journal.index.JournalIndex;
-import io.atomix.storage.journal.index.SparseJournalIndex;
+import io.atomix.storage.journal.index.DenseJournalIndex;
 import io.atomix.utils.serializer.Namespace;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -40,15 +43,17 @@ import static com.google.common.base.Preconditions.checkState;
  * @author <a href="http://github.com/kuujo">Jordan Halterman</a>
  */
 public class JournalSegment<E> implements AutoCloseable {
+  private final Logger log = LoggerFactory.getLogger(getClass());
   private final JournalSegmentFile file;
   private final JournalSegmentDescriptor descriptor;
   private final StorageLevel storageLevel;
   private final int maxEntrySize;
-  private final JournalIndex index;
+  private final DenseJournalIndex index;
   private final Namespace namespace;
   private final MappableJournalSegmentWriter<E> writer;
   private final Set<MappableJournalSegmentReader<E>> readers = Sets.newConcurrentHashSet();
   private final AtomicInteger references = new AtomicInteger();
+  private volatile boolean mappable = true;
   private boolean open = true;
 
   public JournalSegment(
@@ -62,8 +67,9 @@ public class JournalSegment<E> implements AutoCloseable {
     this.descriptor = descriptor;
     this.storageLevel = storageLevel;
     this.maxEntrySize = maxEntrySize;
-    this.index = new SparseJournalIndex(indexDensity);
+    this.index = new DenseJournalIndex(indexDensity);
     this.namespace = namespace;
+    loadIndex();
     this.writer = new MappableJournalSegmentWriter<>(openChannel(file.file()), this, maxEntrySize, index, namespace);
   }
 
@@ -75,6 +81,68 @@ public class JournalSegment<E> implements AutoCloseable {
     }
   }
 
+  /**
+   * Loads the segment index from the index file if one exists.
+   * <p>
+   * The index file is only a hint. If the file cannot be read or does not belong to this segment, the index will be
+   * rebuilt from the segment entries.
+   */
+  private void loadIndex() {
+    File indexFile = file.indexFile();
+    if (!indexFile.exists()) {
+      return;
+    }
+
+    try {
+      ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexFile.toPath()));
+      if (buffer.remaining() < Long.BYTES || buffer.getLong() != descriptor.index() || !index.load(buffer)) {
+        log.debug("Discarding invalid index file {}", indexFile.getName());
+      }
+    } catch (IOException e) {
+      log.debug("Failed to load index file {}", indexFile.getName(), e);
+    }
+  }
+
+  /**
+   * Checkpoints the segment.
+   * <p>
+   * The segment is flushed to disk and the position of the last entry is recorded in the segment header along with
+   * the sparse index, allowing the segment to be recovered without verifying checkpointed entries.
+   */
+  void checkpoint() {
+    persistIndex();
+    writer.checkpoint();
+  }
+
+  /**
+   * Persists the segment index to the index file.
+   * <p>
+   * The index is written to a temporary file which is then moved over the existing index file to ensure a partially
+   * written index is never loaded.
+   */
+  private void persistIndex() {
+    File indexFile = file.indexFile();
+    File tempFile = new File(indexFile.getParentFile(), indexFile.getName() + ".tmp");
+    ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + index.bytes());
+    buffer.putLong(descriptor.index());
+    index.copyTo(buffer);
+    buffer.flip();
+    try (FileChannel channel = FileChannel.open(tempFile.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+
+    try {
+      Files.move(tempFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
   /**
    * Returns the segment ID.
    *
@@ -174,11 +242,36 @@ public class JournalSegment<E> implements AutoCloseable {
     }
   }
 
+  /**
+   * Returns the number of references to the log segment.
+   *
+   * @return The number of references to the log segment.
+   */
+  int references() {
+    return references.get();
+  }
+
+  /**
+   * Sets whether the log segment may be mapped into memory.
+   * <p>
+   * This is used by the {@link StorageLevel#TIERED} storage level to move segments between the mapped and disk tiers.
+   * The change only takes effect once the segment is no longer in use: a segment that leaves the mapped tier stays
+   * mapped until its last reference is released, and a segment that enters the mapped tier is mapped the next time
+   * it's acquired. This ensures a buffer is never unmapped while a reader or writer on another thread may be using it.
+   *
+   * @param mappable whether the segment may be mapped into memory
+   */
+  void setMappable(boolean mappable) {
+    if (storageLevel == StorageLevel.TIERED) {
+      this.mappable = mappable;
+    }
+  }
+
   /**
    * Maps the log segment into memory.
    */
   private void map() {
-    if (storageLevel == StorageLevel.MAPPED) {
+    if (storageLevel == StorageLevel.MAPPED || (storageLevel == StorageLevel.TIERED && mappable)) {
       MappedByteBuffer buffer = writer.map();
       readers.forEach(reader -> reader.map(buffer));
     }
@@ -188,7 +281,7 @@ public class JournalSegment<E> implements AutoCloseable {
    * Unmaps the log segment from memory.
    */
   private void unmap() {
-    if (storageLevel == StorageLevel.MAPPED) {
+    if (storageLevel == StorageLevel.MAPPED || storageLevel == StorageLevel.TIERED) {
       writer.unmap();
       readers.forEach(reader -> reader.unmap());
     }
@@ -251,6 +344,22 @@ public class JournalSegment<E> implements AutoCloseable {
    */
   @Override
   public void close() {
+    unmap();
+    if (open) {
+      checkpoint();
+    }
+    writer.close();
+    readers.forEach(reader -> reader.close());
+    open = false;
+  }
+
+  /**
+   * Closes the segment without checkpointing it.
+   * <p>
+   * Segments are discarded when their files are being deleted or have been replaced by a rewritten copy of the
+   * segment, in which case the checkpoint and index no longer apply to the segment's files.
+   */
+  void discard() {
     unmap();
     writer.close();
     readers.forEach(reader -> reader.close());
@@ -262,6 +371,7 @@ public class JournalSegment<E> implements AutoCloseable {
    */
   public void delete() {
     try {
+      Files.deleteIfExists(file.indexFile().toPath());
       Files.deleteIfExists(file.file().toPath());
     } catch (IOException e) {
       throw new StorageException(e);
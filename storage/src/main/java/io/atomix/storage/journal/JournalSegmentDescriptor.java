@@ -46,6 +46,14 @@ import static com.google.common.base.Preconditions.checkNotNull;
  * <li>{@code locked} (8-bit boolean) - A boolean indicating whether the segment is locked. Segments will be locked once
  * all entries have been committed to the segment. The lock state of each segment is used to determine log compaction
  * and recovery behavior.</li>
+ * <li>{@code checkpointIndex} (64-bit signed integer) - The index of the last entry in the segment at the time the
+ * segment was last checkpointed, or {@code 0} if the segment has not been checkpointed. Entries up to the checkpoint
+ * index do not need to be verified when the segment is recovered.</li>
+ * <li>{@code checkpointPosition} (32-bit signed integer) - The position of the checkpointed entry in the segment.</li>
+ * <li>{@code checksumType} (8-bit signed integer) - The {@link ChecksumType} identifier of the checksum used to verify
+ * entries in the segment. Segments written before the checksum type was recorded use {@link ChecksumType#CRC32}.</li>
+ * <li>{@code compressionType} (8-bit signed integer) - The {@link CompressionType} identifier of the codec with which
+ * entries in the segment are compressed. Segments are only compressed once all their entries have been committed.</li>
  * </ul>
  * The remainder of the 64 segment header bytes are reserved for future metadata.
  *
@@ -65,6 +73,11 @@ public final class JournalSegmentDescriptor {
   private static final int MAX_SIZE_LENGTH = Integer.BYTES;    // 32-bit signed integer
   private static final int MAX_ENTRIES_LENGTH = Integer.BYTES; // 32-bit signed integer
   private static final int UPDATED_LENGTH = Long.BYTES;        // 64-bit signed integer
+  private static final int LOCKED_LENGTH = 1;                  // 8-bit boolean
+  private static final int CHECKPOINT_INDEX_LENGTH = Long.BYTES;       // 64-bit signed integer
+  private static final int CHECKPOINT_POSITION_LENGTH = Integer.BYTES; // 32-bit signed integer
+  private static final int CHECKSUM_TYPE_LENGTH = 1;                   // 8-bit signed integer
+  private static final int COMPRESSION_TYPE_LENGTH = 1;                // 8-bit signed integer
 
   // The positions of each field in the header.
   private static final int VERSION_POSITION = 0;                                         // 0
@@ -73,6 +86,17 @@ public final class JournalSegmentDescriptor {
   private static final int MAX_SIZE_POSITION = INDEX_POSITION + INDEX_LENGTH;            // 20
   private static final int MAX_ENTRIES_POSITION = MAX_SIZE_POSITION + MAX_SIZE_LENGTH;   // 24
   private static final int UPDATED_POSITION = MAX_ENTRIES_POSITION + MAX_ENTRIES_LENGTH; // 28
+  private static final int LOCKED_POSITION = UPDATED_POSITION + UPDATED_LENGTH;          // 36
+  private static final int CHECKPOINT_INDEX_POSITION = LOCKED_POSITION + LOCKED_LENGTH;  // 37
+  private static final int CHECKPOINT_POSITION_POSITION =
+      CHECKPOINT_INDEX_POSITION + CHECKPOINT_INDEX_LENGTH;                               // 45
+  private static final int CHECKSUM_TYPE_POSITION =
+      CHECKPOINT_POSITION_POSITION + CHECKPOINT_POSITION_LENGTH;                         // 49
+  private static final int COMPRESSION_TYPE_POSITION = CHECKSUM_TYPE_POSITION + CHECKSUM_TYPE_LENGTH; // 50
+
+  // The position and length of the checkpoint in the header.
+  static final int CHECKPOINT_POSITION = CHECKPOINT_INDEX_POSITION;
+  static final int CHECKPOINT_LENGTH = CHECKPOINT_INDEX_LENGTH + CHECKPOINT_POSITION_LENGTH;
 
   /**
    * Returns a descriptor builder.
@@ -104,6 +128,10 @@ public final class JournalSegmentDescriptor {
   private final int maxEntries;
   private volatile long updated;
   private volatile boolean locked;
+  private volatile long checkpointIndex;
+  private volatile int checkpointPosition;
+  private final ChecksumType checksumType;
+  private final CompressionType compressionType;
 
   /**
    * @throws NullPointerException if {@code buffer} is null
@@ -117,6 +145,10 @@ public final class JournalSegmentDescriptor {
     this.maxEntries = buffer.getInt();
     this.updated = buffer.getLong();
     this.locked = buffer.get() == 1;
+    this.checkpointIndex = buffer.getLong();
+    this.checkpointPosition = buffer.getInt();
+    this.checksumType = ChecksumType.forId(buffer.get());
+    this.compressionType = CompressionType.forId(buffer.get());
   }
 
   /**
@@ -195,6 +227,72 @@ public final class JournalSegmentDescriptor {
     }
   }
 
+  /**
+   * Returns the index of the last checkpointed entry in the segment.
+   * <p>
+   * Entries up to and including the checkpoint index were durably written when the segment was last checkpointed and
+   * do not need to be verified on recovery. If the segment has not been checkpointed, the checkpoint index is less
+   * than the segment {@link #index()}.
+   *
+   * @return The index of the last checkpointed entry in the segment.
+   */
+  public long checkpointIndex() {
+    return checkpointIndex;
+  }
+
+  /**
+   * Returns the position of the last checkpointed entry in the segment.
+   *
+   * @return The position of the last checkpointed entry in the segment.
+   */
+  public int checkpointPosition() {
+    return checkpointPosition;
+  }
+
+  /**
+   * Returns the checksum type used to verify entries in the segment.
+   *
+   * @return The checksum type used to verify entries in the segment.
+   */
+  public ChecksumType checksumType() {
+    return checksumType;
+  }
+
+  /**
+   * Returns the compression type with which entries in the segment are compressed.
+   *
+   * @return The compression type with which entries in the segment are compressed.
+   */
+  public CompressionType compressionType() {
+    return compressionType;
+  }
+
+  /**
+   * Updates the segment checkpoint.
+   *
+   * @param index the index of the checkpointed entry
+   * @param position the position of the checkpointed entry
+   */
+  void checkpoint(long index, int position) {
+    buffer.putLong(CHECKPOINT_INDEX_POSITION, index);
+    buffer.putInt(CHECKPOINT_POSITION_POSITION, position);
+    this.checkpointIndex = index;
+    this.checkpointPosition = position;
+  }
+
+  /**
+   * Writes the given checkpoint to the given buffer.
+   *
+   * @param buffer the buffer to which to write the checkpoint
+   * @param offset the offset of the checkpoint in the buffer
+   * @param index the index of the checkpointed entry
+   * @param position the position of the checkpointed entry
+   */
+  static void writeCheckpoint(ByteBuffer buffer, int offset, long index, int position) {
+    buffer.putLong(offset + CHECKPOINT_INDEX_POSITION - CHECKPOINT_POSITION, index);
+    buffer.putInt(offset + CHECKPOINT_POSITION_POSITION - CHECKPOINT_POSITION, position);
+  }
+
   /**
    * Copies the segment to a new buffer.
    */
@@ -206,6 +304,10 @@ public final class JournalSegmentDescriptor {
     buffer.putInt(maxEntries);
     buffer.putLong(updated);
     buffer.put(locked ? (byte) 1 : (byte) 0);
+    buffer.putLong(checkpointIndex);
+    buffer.putInt(checkpointPosition);
+    buffer.put((byte) checksumType.id());
+    buffer.put((byte) compressionType.id());
     return this;
   }
 
@@ -216,6 +318,8 @@ public final class JournalSegmentDescriptor {
         .add("id", id)
         .add("index", index)
         .add("updated", updated)
+        .add("checksumType", checksumType)
+        .add("compressionType", compressionType)
         .toString();
   }
 
@@ -276,6 +380,28 @@ public final class JournalSegmentDescriptor {
       return this;
     }
 
+    /**
+     * Sets the checksum type used to verify entries in the segment.
+     *
+     * @param checksumType The checksum type used to verify entries in the segment.
+     * @return The segment descriptor builder.
+     */
+    public Builder withChecksumType(ChecksumType checksumType) {
+      buffer.put(CHECKSUM_TYPE_POSITION, (byte) checksumType.id());
+      return this;
+    }
+
+    /**
+     * Sets the compression type with which entries in the segment are compressed.
+     *
+     * @param compressionType The compression type with which entries in the segment are compressed.
+     * @return The segment descriptor builder.
+     */
+    public Builder withCompressionType(CompressionType compressionType) {
+      buffer.put(COMPRESSION_TYPE_POSITION, (byte) compressionType.id());
+      return this;
+    }
+
     /**
      * Builds the segment descriptor.
      *
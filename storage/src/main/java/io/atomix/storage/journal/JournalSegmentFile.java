@@ -28,6 +28,9 @@ public final class JournalSegmentFile {
   private static final char PART_SEPARATOR = '-';
   private static final char EXTENSION_SEPARATOR = '.';
   private static final String EXTENSION = "log";
+  private static final String INDEX_EXTENSION = "index";
+  private static final String ALLOCATED_EXTENSION = "alloc";
+  private static final String TEMPORARY_EXTENSION = "tmp";
   private final File file;
 
   /**
@@ -69,6 +72,71 @@ public final class JournalSegmentFile {
     return fileName.startsWith(journalName);
   }
 
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a parsable segment index file.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @throws NullPointerException if {@code file} is null
+   */
+  public static boolean isIndexFile(String journalName, File file) {
+    checkNotNull(journalName, "journalName cannot be null");
+    String fileName = checkNotNull(file, "file cannot be null").getName();
+    int extensionSeparator = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+    return extensionSeparator != -1
+        && fileName.endsWith(EXTENSION_SEPARATOR + INDEX_EXTENSION)
+        && isSegmentFile(journalName, fileName.substring(0, extensionSeparator + 1) + EXTENSION);
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a pre-allocated segment file.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @throws NullPointerException if {@code file} is null
+   */
+  public static boolean isAllocatedFile(String journalName, File file) {
+    checkNotNull(journalName, "journalName cannot be null");
+    String fileName = checkNotNull(file, "file cannot be null").getName();
+    int extensionSeparator = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+    return extensionSeparator != -1
+        && fileName.endsWith(EXTENSION_SEPARATOR + ALLOCATED_EXTENSION)
+        && isSegmentFile(journalName, fileName.substring(0, extensionSeparator + 1) + EXTENSION);
+  }
+
+  /**
+   * Returns a boolean value indicating whether the given file appears to be a temporary segment file.
+   * <p>
+   * Temporary segment files are written when a segment is rewritten, e.g. when it's compressed, and replace the
+   * original segment file once they have been completely written.
+   *
+   * @param journalName the name of the journal
+   * @param file the file to check
+   * @throws NullPointerException if {@code file} is null
+   */
+  public static boolean isTemporaryFile(String journalName, File file) {
+    checkNotNull(journalName, "journalName cannot be null");
+    String fileName = checkNotNull(file, "file cannot be null").getName();
+    int extensionSeparator = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+    return extensionSeparator != -1
+        && fileName.endsWith(EXTENSION_SEPARATOR + TEMPORARY_EXTENSION)
+        && isSegmentFile(journalName, fileName.substring(0, extensionSeparator + 1) + EXTENSION);
+  }
+
+  /**
+   * Creates a pre-allocated segment file for the given directory, log name, and allocation ID.
+   */
+  static File createAllocatedFile(String name, File directory, long id) {
+    return new File(directory, String.format("%s-%d.%s", checkNotNull(name, "name cannot be null"), id, ALLOCATED_EXTENSION));
+  }
+
+  /**
+   * Creates a temporary segment file for the given directory, log name, and segment ID.
+   */
+  static File createTemporaryFile(String name, File directory, long id) {
+    return new File(directory, String.format("%s-%d.%s", checkNotNull(name, "name cannot be null"), id, TEMPORARY_EXTENSION));
+  }
+
   /**
    * Creates a segment file for the given directory, log name, segment ID, and segment version.
    */
@@ -91,4 +159,18 @@ public final class JournalSegmentFile {
   public File file() {
     return file;
   }
+
+  /**
+   * Returns the index file for the segment.
+   * <p>
+   * The index file is stored alongside the segment file with the same name and an {@code index} extension.
+   *
+   * @return The segment index file.
+   */
+  public File indexFile() {
+    String fileName = file.getName();
+    int extensionSeparator = fileName.lastIndexOf(EXTENSION_SEPARATOR);
+    String baseName = extensionSeparator != -1 ? fileName.substring(0, extensionSeparator) : fileName;
+    return new File(file.getParentFile(), baseName + EXTENSION_SEPARATOR + INDEX_EXTENSION);
+  }
 }
@@ -15,6 +15,8 @@
  */
 package io.atomix.storage.journal;
 
+import java.util.List;
+
 /**
  * Log writer.
  *
@@ -51,6 +53,18 @@ public interface JournalWriter<E> extends AutoCloseable {
    */
   <T extends E> Indexed<T> append(T entry);
 
+  /**
+   * Appends a batch of entries to the journal.
+   * <p>
+   * Appending a batch of entries is equivalent to appending each entry in order, but allows the writer to serialize
+   * and write the entries in a single pass. If an entry in the batch cannot be appended, the entries preceding it
+   * will have been appended when the exception is thrown.
+   *
+   * @param entries The entries to append.
+   * @return The appended indexed entries.
+   */
+  <T extends E> List<Indexed<T>> appendAll(List<T> entries);
+
   /**
    * Appends an indexed entry to the log.
    *
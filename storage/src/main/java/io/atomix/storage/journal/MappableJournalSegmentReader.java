@@ -32,7 +32,7 @@ class MappableJournalSegmentReader<E> implements JournalReader<E> {
   private final int maxEntrySize;
   private final JournalIndex index;
   private final Namespace namespace;
-  private JournalReader<E> reader;
+  private volatile JournalReader<E> reader;
 
   MappableJournalSegmentReader(
       FileChannel channel,
@@ -104,6 +104,11 @@ class MappableJournalSegmentReader<E> implements JournalReader<E> {
     return reader.next();
   }
 
+  @Override
+  public RawEntry nextRaw() {
+    return reader.nextRaw();
+  }
+
   @Override
   public void reset() {
     reader.reset();
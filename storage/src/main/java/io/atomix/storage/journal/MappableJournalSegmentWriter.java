@@ -22,6 +22,7 @@ import io.atomix.utils.serializer.Namespace;
 import java.io.IOException;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.List;
 
 /**
  * Mappable log segment writer.
@@ -32,7 +33,7 @@ class MappableJournalSegmentWriter<E> implements JournalWriter<E> {
   private final int maxEntrySize;
   private final JournalIndex index;
   private final Namespace namespace;
-  private JournalWriter<E> writer;
+  private volatile JournalWriter<E> writer;
 
   MappableJournalSegmentWriter(
       FileChannel channel,
@@ -130,6 +131,28 @@ class MappableJournalSegmentWriter<E> implements JournalWriter<E> {
     return writer.append(entry);
   }
 
+  @Override
+  public <T extends E> List<Indexed<T>> appendAll(List<T> entries) {
+    return writer.appendAll(entries);
+  }
+
+  /**
+   * Appends as many of the given entries as fit in the segment.
+   *
+   * @param entries the entries to append
+   * @param offset the offset of the first entry to append
+   * @param appended the list to which to add appended entries
+   * @return the number of entries appended to the segment
+   */
+  <T extends E> int appendBatch(List<T> entries, int offset, List<Indexed<T>> appended) {
+    JournalWriter<E> writer = this.writer;
+    if (writer instanceof MappedJournalSegmentWriter) {
+      return ((MappedJournalSegmentWriter<E>) writer).appendBatch(entries, offset, appended);
+    } else {
+      return ((FileChannelJournalSegmentWriter<E>) writer).appendBatch(entries, offset, appended);
+    }
+  }
+
   @Override
   public void append(Indexed<E> entry) {
     writer.append(entry);
@@ -150,6 +173,22 @@ class MappableJournalSegmentWriter<E> implements JournalWriter<E> {
     writer.truncate(index);
   }
 
+  /**
+   * Flushes the segment to disk and checkpoints the last entry in the segment.
+   * <p>
+   * Once a segment has been checkpointed, entries up to the checkpoint do not need to be verified when the segment
+   * is recovered.
+   */
+  void checkpoint() {
+    JournalWriter<E> writer = this.writer;
+    writer.flush();
+    if (writer instanceof MappedJournalSegmentWriter) {
+      ((MappedJournalSegmentWriter<E>) writer).checkpoint();
+    } else {
+      ((FileChannelJournalSegmentWriter<E>) writer).checkpoint();
+    }
+  }
+
   @Override
   public void flush() {
     writer.flush();
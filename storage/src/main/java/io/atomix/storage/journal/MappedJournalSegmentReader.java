@@ -16,13 +16,12 @@
 package io.atomix.storage.journal;
 
 import io.atomix.storage.journal.index.JournalIndex;
-import io.atomix.storage.journal.index.Position;
+import io.atomix.storage.journal.index.MutablePosition;
 import io.atomix.utils.serializer.Namespace;
 
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.NoSuchElementException;
-import java.util.zip.CRC32;
 
 /**
  * Log segment reader.
@@ -33,10 +32,16 @@ class MappedJournalSegmentReader<E> implements JournalReader<E> {
   private final ByteBuffer buffer;
   private final int maxEntrySize;
   private final JournalIndex index;
+  private final MutablePosition indexPosition = new MutablePosition();
   private final Namespace namespace;
   private final long firstIndex;
+  private final JournalChecksum crc;
+  private final JournalCodec codec;
+  private long currentIndex;
+  private int currentPosition = -1;
   private Indexed<E> currentEntry;
-  private Indexed<E> nextEntry;
+  private RawEntry nextEntry;
+  private int nextPosition;
 
   MappedJournalSegmentReader(
       ByteBuffer buffer,
@@ -49,6 +54,8 @@ class MappedJournalSegmentReader<E> implements JournalReader<E> {
     this.index = index;
     this.namespace = namespace;
     this.firstIndex = segment.index();
+    this.crc = JournalChecksum.create(segment.descriptor().checksumType());
+    this.codec = JournalCodec.create(segment.descriptor().compressionType());
     reset();
   }
 
@@ -59,36 +66,51 @@ class MappedJournalSegmentReader<E> implements JournalReader<E> {
 
   @Override
   public long getCurrentIndex() {
-    return currentEntry != null ? currentEntry.index() : 0;
+    return currentIndex;
   }
 
   @Override
   public Indexed<E> getCurrentEntry() {
+    if (currentEntry == null && currentIndex != 0) {
+      if (currentPosition < 0) {
+        return new Indexed<>(currentIndex, null, 0);
+      }
+
+      // The current entry was read without being deserialized. Deserialize it from the segment.
+      ByteBuffer slice = buffer.duplicate();
+      slice.position(currentPosition);
+      int length = slice.getInt();
+      slice.position(slice.position() + Integer.BYTES);
+      slice.limit(slice.position() + length);
+      ByteBuffer entry = codec.decompress(slice);
+      currentEntry = new Indexed<>(currentIndex, namespace.deserialize(entry.duplicate()), entry.remaining());
+    }
     return currentEntry;
   }
 
   @Override
   public long getNextIndex() {
-    return currentEntry != null ? currentEntry.index() + 1 : firstIndex;
+    return currentIndex != 0 ? currentIndex + 1 : firstIndex;
   }
 
   @Override
   public void reset(long index) {
     reset();
-    Position position = this.index.lookup(index - 1);
-    if (position != null) {
-      currentEntry = new Indexed<>(position.index() - 1, null, 0);
-      buffer.position(position.position());
+    if (this.index.lookup(index - 1, indexPosition)) {
+      currentIndex = indexPosition.index() - 1;
+      buffer.position(indexPosition.position());
       readNext();
     }
     while (getNextIndex() < index && hasNext()) {
-      next();
+      nextRaw();
     }
   }
 
   @Override
   public void reset() {
     buffer.position(JournalSegmentDescriptor.BYTES);
+    currentIndex = 0;
+    currentPosition = -1;
     currentEntry = null;
     nextEntry = null;
     readNext();
@@ -105,32 +127,37 @@ class MappedJournalSegmentReader<E> implements JournalReader<E> {
 
   @Override
   public Indexed<E> next() {
+    RawEntry entry = nextRaw();
+    currentEntry = new Indexed<>(entry.index(), namespace.deserialize(entry.buffer()), entry.size());
+    return currentEntry;
+  }
+
+  @Override
+  public RawEntry nextRaw() {
     if (!hasNext()) {
       throw new NoSuchElementException();
     }
 
-    // Set the current entry to the next entry.
-    currentEntry = nextEntry;
+    // Set the current entry to the next entry. The current entry will be deserialized on demand.
+    RawEntry entry = nextEntry;
+    currentIndex = entry.index();
+    currentPosition = nextPosition;
+    currentEntry = null;
 
-    // Reset the next entry to null.
+    // Reset the next entry to null. The next entry will be read on the next call to hasNext().
     nextEntry = null;
-
-    // Read the next entry in the segment.
-    readNext();
-
-    // Return the current entry.
-    return currentEntry;
+    return entry;
   }
 
   /**
-   * Reads the next entry in the segment.
+   * Reads and verifies the next entry in the segment.
    */
-  @SuppressWarnings("unchecked")
   private void readNext() {
     // Compute the index of the next entry in the segment.
     final long index = getNextIndex();
 
     // Mark the buffer so it can be reset if necessary.
+    final int position = buffer.position();
     buffer.mark();
 
     try {
@@ -147,17 +174,19 @@ class MappedJournalSegmentReader<E> implements JournalReader<E> {
       // Read the checksum of the entry.
       long checksum = buffer.getInt() & 0xFFFFFFFFL;
 
-      // Compute the checksum for the entry bytes.
-      final CRC32 crc32 = new CRC32();
-      ByteBuffer slice = buffer.slice();
-      slice.limit(length);
-      crc32.update(slice);
+      // If the entry extends beyond the end of the segment then return.
+      if (length > buffer.remaining()) {
+        buffer.reset();
+        nextEntry = null;
+        return;
+      }
 
       // If the stored checksum equals the computed checksum, return the entry.
-      if (checksum == crc32.getValue()) {
-        slice.rewind();
-        E entry = namespace.deserialize(slice);
-        nextEntry = new Indexed<>(index, entry, length);
+      if (checksum == crc.compute(buffer, buffer.position(), length)) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        nextEntry = newRawEntry(index, checksum, slice);
+        nextPosition = position;
         buffer.position(buffer.position() + length);
       } else {
         buffer.reset();
@@ -169,6 +198,20 @@ class MappedJournalSegmentReader<E> implements JournalReader<E> {
     }
   }
 
+  /**
+   * Creates a raw entry from the given stored entry bytes.
+   * <p>
+   * Stored checksums cover the entry as written to the segment. For compressed segments, the checksum of the
+   * uncompressed entry is computed so the raw entry's checksum always matches its buffer.
+   */
+  private RawEntry newRawEntry(long index, long checksum, ByteBuffer stored) {
+    ByteBuffer entry = codec.decompress(stored);
+    if (entry != stored) {
+      checksum = crc.compute(entry, entry.position(), entry.remaining());
+    }
+    return new RawEntry(index, checksum, entry.asReadOnlyBuffer());
+  }
+
   @Override
   public void close() {
     // Do nothing. The writer is responsible for cleaning the mapped buffer.
@@ -26,7 +26,8 @@ import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
-import java.util.zip.CRC32;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Segment writer.
@@ -51,7 +52,10 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
   private final JournalIndex index;
   private final Namespace namespace;
   private final long firstIndex;
+  private final JournalChecksum crc;
+  private final JournalCodec codec;
   private Indexed<E> lastEntry;
+  private int lastPosition;
 
   MappedJournalSegmentWriter(
       MappedByteBuffer buffer,
@@ -66,6 +70,8 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
     this.index = index;
     this.namespace = namespace;
     this.firstIndex = segment.index();
+    this.crc = JournalChecksum.create(segment.descriptor().checksumType());
+    this.codec = JournalCodec.create(segment.descriptor().compressionType());
     reset(0);
   }
 
@@ -80,10 +86,29 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
 
   @Override
   public void reset(long index) {
-    long nextIndex = firstIndex;
+    // If the segment has been checkpointed, skip to the checkpointed entry and verify only the entries following it.
+    // If the checkpointed entry cannot be read, fall back to verifying the entire segment.
+    if (index == 0) {
+      JournalSegmentDescriptor descriptor = segment.descriptor();
+      if (descriptor.checkpointIndex() >= firstIndex && descriptor.checkpointPosition() >= JournalSegmentDescriptor.BYTES) {
+        reset(index, descriptor.checkpointIndex(), descriptor.checkpointPosition());
+        if (lastEntry != null) {
+          return;
+        }
+      }
+    }
+    reset(index, firstIndex, JournalSegmentDescriptor.BYTES);
+  }
+
+  /**
+   * Resets the writer to the given index, reading entries starting at the given index and position.
+   */
+  private void reset(long index, long nextIndex, int startPosition) {
+    final long startIndex = nextIndex;
+    lastEntry = null;
 
     // Clear the buffer indexes.
-    buffer.position(JournalSegmentDescriptor.BYTES);
+    buffer.position(startPosition);
 
     // Record the current buffer position.
     int position = buffer.position();
@@ -100,17 +125,9 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
         // Read the checksum of the entry.
         final long checksum = buffer.getInt() & 0xFFFFFFFFL;
 
-        // Compute the checksum for the entry bytes.
-        final CRC32 crc32 = new CRC32();
-        ByteBuffer slice = buffer.slice();
-        slice.limit(length);
-        crc32.update(slice);
-
-        // If the stored checksum equals the computed checksum, return the entry.
-        if (checksum == crc32.getValue()) {
-          slice.rewind();
-          final E entry = namespace.deserialize(slice);
-          lastEntry = new Indexed<>(nextIndex, entry, length);
+        // If the stored checksum equals the computed checksum, index the entry.
+        if (length <= buffer.remaining() && checksum == crc.compute(buffer, buffer.position(), length)) {
+          lastPosition = position;
           this.index.index(nextIndex, position);
           nextIndex++;
         } else {
@@ -130,6 +147,20 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
     } catch (BufferUnderflowException e) {
       buffer.reset();
     }
+
+    // Entries are verified without being deserialized. Deserialize only the last entry in the segment.
+    if (nextIndex > startIndex) {
+      ByteBuffer slice = buffer.duplicate();
+      slice.position(lastPosition);
+      int length = slice.getInt();
+      slice.position(slice.position() + Integer.BYTES);
+      slice.limit(slice.position() + length);
+      ByteBuffer entry = codec.decompress(slice);
+      lastEntry = new Indexed<>(nextIndex - 1, namespace.deserialize(entry.duplicate()), entry.remaining());
+    }
+
+    // Remove any stale index entries following the last entry in the segment.
+    this.index.truncate(nextIndex - 1);
   }
 
   @Override
@@ -193,17 +224,43 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
     final long index = getNextIndex();
 
     // Serialize the entry.
-    int position = buffer.position();
-    if (position + Integer.BYTES + Integer.BYTES > buffer.limit()) {
+    final int position = buffer.position();
+    final int length = write(entry, position);
+    if (length < 0) {
       throw new BufferOverflowException();
     }
 
+    // Update the last entry with the correct index/term/length.
+    Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
+    this.lastEntry = indexedEntry;
+    this.lastPosition = position;
+    this.index.index(index, position);
+    return (Indexed<T>) indexedEntry;
+  }
+
+  /**
+   * Writes the given entry to the buffer at the given position.
+   * <p>
+   * If the entry is written, the buffer is positioned at the end of the entry. Otherwise, the buffer's position is
+   * left unchanged.
+   *
+   * @param entry the entry to write
+   * @param position the position at which to write the entry
+   * @return the length of the serialized entry or {@code -1} if the entry does not fit in the segment
+   * @throws StorageException.TooLarge if the entry exceeds the maximum entry size
+   */
+  private int write(Object entry, int position) {
+    if (position + Integer.BYTES + Integer.BYTES > buffer.limit()) {
+      return -1;
+    }
+
     buffer.position(position + Integer.BYTES + Integer.BYTES);
 
     try {
       namespace.serialize(entry, buffer);
     } catch (KryoException e) {
-      throw new BufferOverflowException();
+      buffer.position(position);
+      return -1;
     }
 
     final int length = buffer.position() - (position + Integer.BYTES + Integer.BYTES);
@@ -216,24 +273,65 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
     }
 
     // Compute the checksum for the entry.
-    final CRC32 crc32 = new CRC32();
-    buffer.position(position + Integer.BYTES + Integer.BYTES);
-    ByteBuffer slice = buffer.slice();
-    slice.limit(length);
-    crc32.update(slice);
-    final long checksum = crc32.getValue();
+    final long checksum = crc.compute(buffer, position + Integer.BYTES + Integer.BYTES, length);
 
-    // Create a single byte[] in memory for the entire entry and write it as a batch to the underlying buffer.
-    buffer.position(position);
-    buffer.putInt(length);
-    buffer.putInt((int) checksum);
-    buffer.position(position + Integer.BYTES + Integer.BYTES + length);
+    // Write the length and checksum preceding the serialized entry.
+    buffer.putInt(position, length);
+    buffer.putInt(position + Integer.BYTES, (int) checksum);
+    return length;
+  }
 
-    // Update the last entry with the correct index/term/length.
-    Indexed<E> indexedEntry = new Indexed<>(index, entry, length);
-    this.lastEntry = indexedEntry;
-    this.index.index(index, position);
-    return (Indexed<T>) indexedEntry;
+  @Override
+  public <T extends E> List<Indexed<T>> appendAll(List<T> entries) {
+    List<Indexed<T>> appended = new ArrayList<>(entries.size());
+    if (appendBatch(entries, 0, appended) < entries.size()) {
+      throw new BufferOverflowException();
+    }
+    return appended;
+  }
+
+  /**
+   * Appends as many of the given entries as fit in the segment.
+   * <p>
+   * Entries are serialized back to back directly into the mapped buffer, so no intermediate buffer is required. The
+   * end of the segment is detected without throwing, and the last entry is only updated once for the batch. If an
+   * entry fails to append, the entries preceding it remain appended.
+   *
+   * @param entries the entries to append
+   * @param offset the offset of the first entry to append
+   * @param appended the list to which to add appended entries
+   * @return the number of entries appended to the segment
+   */
+  @SuppressWarnings("unchecked")
+  <T extends E> int appendBatch(List<T> entries, int offset, List<Indexed<T>> appended) {
+    long index = getNextIndex();
+    int position = buffer.position();
+    Indexed<T> lastEntry = null;
+    int lastPosition = 0;
+    int count = 0;
+    try {
+      for (int i = offset; i < entries.size(); i++) {
+        T entry = entries.get(i);
+        int length = write(entry, position);
+        if (length < 0) {
+          break;
+        }
+
+        lastEntry = new Indexed<>(index, entry, length);
+        lastPosition = position;
+        appended.add(lastEntry);
+        this.index.index(index, position);
+        position += Integer.BYTES + Integer.BYTES + length;
+        index++;
+        count++;
+      }
+    } finally {
+      if (lastEntry != null) {
+        this.lastEntry = (Indexed<E>) lastEntry;
+        this.lastPosition = lastPosition;
+      }
+    }
+    return count;
   }
 
   @Override
@@ -255,6 +353,12 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
     // Truncate the index.
     this.index.truncate(index);
 
+    // If the truncated entries were checkpointed, clear the checkpoint before modifying the segment.
+    if (segment.descriptor().checkpointIndex() > index) {
+      writeCheckpoint(0, 0);
+      mappedBuffer.force();
+    }
+
     if (index < segment.index()) {
       buffer.position(JournalSegmentDescriptor.BYTES);
       buffer.putInt(0);
@@ -272,6 +376,27 @@ class MappedJournalSegmentWriter<E> implements JournalWriter<E> {
     }
   }
 
+  /**
+   * Checkpoints the last entry in the segment.
+   * <p>
+   * The checkpoint should only be written once the entries in the segment have been flushed to disk.
+   */
+  void checkpoint() {
+    if (lastEntry != null) {
+      writeCheckpoint(lastEntry.index(), lastPosition);
+    } else {
+      writeCheckpoint(0, 0);
+    }
+  }
+
+  /**
+   * Writes the given checkpoint to the segment header.
+   */
+  private void writeCheckpoint(long index, int position) {
+    JournalSegmentDescriptor.writeCheckpoint(buffer, JournalSegmentDescriptor.CHECKPOINT_POSITION, index, position);
+    segment.descriptor().checkpoint(index, position);
+  }
+
   @Override
   public void flush() {
     mappedBuffer.force();
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Indexed journal entry in its serialized form.
+ * <p>
+ * Raw entries are returned by {@link JournalReader#nextRaw()} to allow entries to be inspected or copied without
+ * being deserialized. The entry bytes may be backed by a buffer owned by the reader from which the entry was read,
+ * in which case they're only valid until the next call to any method of the reader, including
+ * {@link JournalReader#hasNext()}. Use {@link #copy()} to retain an entry beyond that point.
+ */
+public class RawEntry {
+  private final long index;
+  private final long checksum;
+  private final ByteBuffer buffer;
+
+  public RawEntry(long index, long checksum, ByteBuffer buffer) {
+    this.index = index;
+    this.checksum = checksum;
+    this.buffer = buffer;
+  }
+
+  /**
+   * Returns the entry index.
+   *
+   * @return The entry index.
+   */
+  public long index() {
+    return index;
+  }
+
+  /**
+   * Returns the checksum of the serialized entry.
+   * <p>
+   * The checksum is computed over the bytes returned by {@link #buffer()} using the segment's checksum type, even
+   * when the entry is stored compressed.
+   *
+   * @return The checksum of the serialized entry.
+   */
+  public long checksum() {
+    return checksum;
+  }
+
+  /**
+   * Returns a read-only buffer containing the serialized entry.
+   *
+   * @return A read-only buffer containing the serialized entry.
+   */
+  public ByteBuffer buffer() {
+    return buffer.duplicate();
+  }
+
+  /**
+   * Returns a copy of the entry that does not share its bytes with the reader from which it was read.
+   *
+   * @return A copy of the entry.
+   */
+  public RawEntry copy() {
+    ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+    copy.put(buffer.duplicate());
+    copy.flip();
+    return new RawEntry(index, checksum, copy.asReadOnlyBuffer());
+  }
+
+  /**
+   * Returns the serialized entry size.
+   *
+   * @return The serialized entry size.
+   */
+  public int size() {
+    return buffer.remaining();
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("index", index)
+        .add("checksum", checksum)
+        .add("size", size())
+        .toString();
+  }
+}
@@ -20,9 +20,14 @@ import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.SortedMap;
@@ -66,8 +71,19 @@ public class SegmentedJournal<E> implements Journal<E> {
   private final int maxEntriesPerSegment;
   private final double indexDensity;
   private final boolean flushOnCommit;
+  private final Duration groupCommitWindow;
+  private final int groupCommitBytes;
+  private final ChecksumType checksumType;
+  private final int mappedSegments;
+  private final SegmentedJournalAllocator allocator;
+  private final SegmentedJournalCleaner cleaner;
+  private final SegmentedJournalCompressor<E> compressor;
   private final SegmentedJournalWriter<E> writer;
+  private final SegmentedJournalFlusher flusher;
   private volatile long commitIndex;
+  private volatile long segmentCreationCount;
+  private volatile long segmentCreationNanos;
+  private long compressIndex;
 
   private final NavigableMap<Long, JournalSegment<E>> segments = new ConcurrentSkipListMap<>();
   private final Collection<SegmentedJournalReader> readers = Sets.newConcurrentHashSet();
@@ -85,6 +101,40 @@ public class SegmentedJournal<E> implements Journal<E> {
       int maxEntriesPerSegment,
       double indexDensity,
       boolean flushOnCommit) {
+    this(
+        name,
+        storageLevel,
+        directory,
+        namespace,
+        maxSegmentSize,
+        maxEntrySize,
+        maxEntriesPerSegment,
+        indexDensity,
+        flushOnCommit,
+        Duration.ZERO,
+        0,
+        ChecksumType.CRC32,
+        0,
+        CompressionType.NONE,
+        Builder.DEFAULT_MAPPED_SEGMENTS);
+  }
+
+  public SegmentedJournal(
+      String name,
+      StorageLevel storageLevel,
+      File directory,
+      Namespace namespace,
+      int maxSegmentSize,
+      int maxEntrySize,
+      int maxEntriesPerSegment,
+      double indexDensity,
+      boolean flushOnCommit,
+      Duration groupCommitWindow,
+      int groupCommitBytes,
+      ChecksumType checksumType,
+      int preallocatedSegments,
+      CompressionType compressionType,
+      int mappedSegments) {
     this.name = checkNotNull(name, "name cannot be null");
     this.storageLevel = checkNotNull(storageLevel, "storageLevel cannot be null");
     this.directory = checkNotNull(directory, "directory cannot be null");
@@ -94,8 +144,24 @@ public class SegmentedJournal<E> implements Journal<E> {
     this.maxEntriesPerSegment = maxEntriesPerSegment;
     this.indexDensity = indexDensity;
     this.flushOnCommit = flushOnCommit;
+    this.groupCommitWindow = checkNotNull(groupCommitWindow, "groupCommitWindow cannot be null");
+    this.groupCommitBytes = groupCommitBytes;
+    this.checksumType = checkNotNull(checksumType, "checksumType cannot be null");
+    this.mappedSegments = mappedSegments;
+    directory.mkdirs();
+    this.allocator = preallocatedSegments > 0
+        ? new SegmentedJournalAllocator(name, directory, maxSegmentSize, preallocatedSegments, SEGMENT_BUFFER_FACTOR)
+        : null;
+    this.cleaner = new SegmentedJournalCleaner(name);
+    this.compressor = checkNotNull(compressionType, "compressionType cannot be null") != CompressionType.NONE
+        ? new SegmentedJournalCompressor<>(this, name, directory, maxEntrySize, compressionType)
+        : null;
     open();
     this.writer = openWriter();
+    // The writer's flush is synchronized with appends, so grouped flushes never race with the writing thread.
+    this.flusher = flushOnCommit && !groupCommitWindow.isZero()
+        ? new SegmentedJournalFlusher(name, writer::flush, groupCommitWindow, groupCommitBytes)
+        : null;
   }
 
   /**
@@ -167,6 +233,27 @@ public class SegmentedJournal<E> implements Journal<E> {
     return maxEntriesPerSegment;
   }
 
+  /**
+   * Returns the number of segments created when rolling over to a new segment.
+   *
+   * @return the number of segments created when rolling over to a new segment
+   */
+  public long segmentCreationCount() {
+    return segmentCreationCount;
+  }
+
+  /**
+   * Returns the total time the journal writer has spent waiting for new segments to be created.
+   * <p>
+   * When segments are pre-allocated, the creation time is the time spent claiming and initializing a pre-allocated
+   * segment file. Otherwise, it includes the time spent creating and sizing the segment file.
+   *
+   * @return the total time spent waiting for new segments to be created
+   */
+  public Duration segmentCreationTime() {
+    return Duration.ofNanos(segmentCreationNanos);
+  }
+
   /**
    * Returns the collection of journal segments.
    *
@@ -237,6 +324,7 @@ public class SegmentedJournal<E> implements Journal<E> {
     for (JournalSegment<E> segment : loadSegments()) {
       segments.put(segment.descriptor().index(), segment);
     }
+    updateTiers();
 
     // If a segment doesn't already exist, create an initial segment starting at index 1.
     if (!segments.isEmpty()) {
@@ -247,6 +335,7 @@ public class SegmentedJournal<E> implements Journal<E> {
           .withIndex(1)
           .withMaxSegmentSize(maxSegmentSize)
           .withMaxEntries(maxEntriesPerSegment)
+          .withChecksumType(checksumType)
           .build();
 
       currentSegment = createSegment(descriptor);
@@ -287,6 +376,7 @@ public class SegmentedJournal<E> implements Journal<E> {
           .withIndex(1)
           .withMaxSegmentSize(maxSegmentSize)
           .withMaxEntries(maxEntriesPerSegment)
+          .withChecksumType(checksumType)
           .build();
 
       currentSegment = createSegment(descriptor);
@@ -301,7 +391,7 @@ public class SegmentedJournal<E> implements Journal<E> {
    * @param index the starting index of the journal
    * @return the first segment
    */
-  JournalSegment<E> resetSegments(long index) {
+  synchronized JournalSegment<E> resetSegments(long index) {
     assertOpen();
 
     // If the index already equals the first segment index, skip the reset.
@@ -321,9 +411,11 @@ public class SegmentedJournal<E> implements Journal<E> {
         .withIndex(index)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntries(maxEntriesPerSegment)
+        .withChecksumType(checksumType)
         .build();
     currentSegment = createSegment(descriptor);
     segments.put(index, currentSegment);
+    updateTiers();
     return currentSegment;
   }
 
@@ -359,17 +451,23 @@ public class SegmentedJournal<E> implements Journal<E> {
     assertOpen();
     assertDiskSpace();
 
+    long startTime = System.nanoTime();
+
     JournalSegment lastSegment = getLastSegment();
     JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
         .withId(lastSegment != null ? lastSegment.descriptor().id() + 1 : 1)
         .withIndex(currentSegment.lastIndex() + 1)
         .withMaxSegmentSize(maxSegmentSize)
         .withMaxEntries(maxEntriesPerSegment)
+        .withChecksumType(checksumType)
         .build();
 
     currentSegment = createSegment(descriptor);
 
     segments.put(descriptor.index(), currentSegment);
+    updateTiers();
+    segmentCreationNanos += System.nanoTime() - startTime;
+    segmentCreationCount++;
     return currentSegment;
   }
 
@@ -405,6 +503,46 @@ public class SegmentedJournal<E> implements Journal<E> {
     return getFirstSegment();
   }
 
+  /**
+   * Returns a boolean indicating whether the given segment has been removed from the journal.
+   *
+   * @param segment The segment to check.
+   * @return Indicates whether the segment has been removed from the journal.
+   */
+  boolean isRemoved(JournalSegment<E> segment) {
+    return segments.get(segment.index()) != segment;
+  }
+
+  /**
+   * Replaces the given segment with a rewritten copy of the segment.
+   * <p>
+   * The rewritten segment file is moved over the segment's file, and the replaced segment is closed once it has been
+   * released by all readers. Readers of the replaced segment continue to read the original file until they move to
+   * another segment.
+   *
+   * @param segment The segment to replace.
+   * @param file The rewritten segment file.
+   * @return Indicates whether the segment was replaced.
+   */
+  synchronized boolean replaceSegment(JournalSegment<E> segment, File file) {
+    if (!open || isRemoved(segment)) {
+      return false;
+    }
+
+    // Delete the index file before moving the rewritten file into place since its positions no longer apply.
+    try {
+      Files.deleteIfExists(segment.file().indexFile().toPath());
+      Files.move(file.toPath(), segment.file().file().toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new StorageException(e);
+    }
+
+    segments.put(segment.index(), loadSegment(segment.id()));
+    updateTiers();
+    cleaner.discard(segment);
+    return true;
+  }
+
   /**
    * Removes a segment.
    *
@@ -415,6 +553,21 @@ public class SegmentedJournal<E> implements Journal<E> {
     segment.close();
     segment.delete();
     resetCurrentSegment();
+    updateTiers();
+  }
+
+  /**
+   * Updates the tier of each segment when using {@link StorageLevel#TIERED} storage.
+   * <p>
+   * The newest {@code mappedSegments} segments may be mapped into memory, and older segments are read from disk.
+   */
+  private void updateTiers() {
+    if (storageLevel == StorageLevel.TIERED) {
+      int count = 0;
+      for (JournalSegment<E> segment : segments.descendingMap().values()) {
+        segment.setMappable(count++ < mappedSegments);
+      }
+    }
   }
 
   /**
@@ -423,10 +576,15 @@ public class SegmentedJournal<E> implements Journal<E> {
   JournalSegment<E> createSegment(JournalSegmentDescriptor descriptor) {
     File segmentFile = JournalSegmentFile.createSegmentFile(name, directory, descriptor.id());
 
+    // If a pre-allocated file is available, write the descriptor to the allocated file before moving it into place
+    // to ensure the segment file is never visible without a descriptor.
+    File allocatedFile = allocator != null ? allocator.claim() : null;
+    File file = allocatedFile != null ? allocatedFile : segmentFile;
+
     RandomAccessFile raf;
     FileChannel channel;
     try {
-      raf = new RandomAccessFile(segmentFile, "rw");
+      raf = new RandomAccessFile(file, "rw");
       raf.setLength(descriptor.maxSegmentSize());
       channel =  raf.getChannel();
     } catch (IOException e) {
@@ -447,6 +605,14 @@ public class SegmentedJournal<E> implements Journal<E> {
       } catch (IOException e) {
       }
     }
+
+    if (allocatedFile != null) {
+      try {
+        Files.move(allocatedFile.toPath(), segmentFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (IOException e) {
+        throw new StorageException(e);
+      }
+    }
     JournalSegment<E> segment = newSegment(new JournalSegmentFile(segmentFile), descriptor);
     log.debug("Created segment: {}", segment);
     return segment;
@@ -607,28 +773,38 @@ public class SegmentedJournal<E> implements Journal<E> {
    * Compacts the journal up to the given index.
    * <p>
    * The semantics of compaction are not specified by this interface.
+   * <p>
+   * Compacted segments are removed from the journal and readers are reset before this method returns, but the
+   * segments are closed and their files deleted in the background once they're no longer in use by any reader.
    *
    * @param index The index up to which to compact the journal.
    */
-  public void compact(long index) {
+  public synchronized void compact(long index) {
     Map.Entry<Long, JournalSegment<E>> segmentEntry = segments.floorEntry(index);
     if (segmentEntry != null) {
       SortedMap<Long, JournalSegment<E>> compactSegments = segments.headMap(segmentEntry.getValue().index());
       if (!compactSegments.isEmpty()) {
         log.debug("{} - Compacting {} segment(s)", name, compactSegments.size());
-        for (JournalSegment segment : compactSegments.values()) {
-          log.trace("Deleting segment: {}", segment);
-          segment.close();
-          segment.delete();
-        }
+        List<JournalSegment<E>> deletedSegments = new ArrayList<>(compactSegments.values());
         compactSegments.clear();
         resetHead(segmentEntry.getValue().index());
+        cleaner.delete(deletedSegments);
       }
     }
   }
 
   @Override
   public void close() {
+    if (flusher != null) {
+      flusher.close();
+    }
+    if (compressor != null) {
+      compressor.close();
+    }
+    if (allocator != null) {
+      allocator.close();
+    }
+    cleaner.close();
     segments.values().forEach(segment -> {
       log.debug("Closing segment: {}", segment);
       segment.close();
@@ -646,6 +822,15 @@ public class SegmentedJournal<E> implements Journal<E> {
     return flushOnCommit;
   }
 
+  /**
+   * Returns the group commit flusher for the log.
+   *
+   * @return The group commit flusher or {@code null} if group commit is disabled.
+   */
+  SegmentedJournalFlusher getFlusher() {
+    return flusher;
+  }
+
   /**
    * Commits entries up to the given index.
    *
@@ -653,6 +838,29 @@ public class SegmentedJournal<E> implements Journal<E> {
    */
   void setCommitIndex(long index) {
     this.commitIndex = index;
+    if (compressor != null) {
+      compressSegments(index);
+    }
+  }
+
+  /**
+   * Schedules segments in which all entries have been committed to be compressed.
+   * <p>
+   * Only segments preceding the segment containing the commit index are compressed. Entries up to the commit index
+   * can't be truncated, so compressed segments will never be written to again.
+   *
+   * @param index The commit index.
+   */
+  private void compressSegments(long index) {
+    Long commitSegmentIndex = segments.floorKey(index);
+    if (commitSegmentIndex != null && commitSegmentIndex > compressIndex) {
+      for (JournalSegment<E> segment : segments.subMap(compressIndex, commitSegmentIndex).values()) {
+        if (segment.descriptor().compressionType() == CompressionType.NONE) {
+          compressor.compress(segment);
+        }
+      }
+      compressIndex = commitSegmentIndex;
+    }
   }
 
   /**
@@ -676,6 +884,10 @@ public class SegmentedJournal<E> implements Journal<E> {
     private static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 1024 * 1024;
     private static final double DEFAULT_INDEX_DENSITY = .005;
     private static final int DEFAULT_CACHE_SIZE = 1024;
+    private static final Duration DEFAULT_GROUP_COMMIT_WINDOW = Duration.ZERO;
+    private static final int DEFAULT_GROUP_COMMIT_BYTES = 1024 * 1024;
+    private static final int DEFAULT_PREALLOCATED_SEGMENTS = 0;
+    private static final int DEFAULT_MAPPED_SEGMENTS = 2;
 
     protected String name = DEFAULT_NAME;
     protected StorageLevel storageLevel = StorageLevel.DISK;
@@ -687,6 +899,12 @@ public class SegmentedJournal<E> implements Journal<E> {
     protected double indexDensity = DEFAULT_INDEX_DENSITY;
     protected int cacheSize = DEFAULT_CACHE_SIZE;
     private boolean flushOnCommit = DEFAULT_FLUSH_ON_COMMIT;
+    private Duration groupCommitWindow = DEFAULT_GROUP_COMMIT_WINDOW;
+    private int groupCommitBytes = DEFAULT_GROUP_COMMIT_BYTES;
+    private ChecksumType checksumType = JournalChecksum.defaultType();
+    private int preallocatedSegments = DEFAULT_PREALLOCATED_SEGMENTS;
+    private CompressionType compressionType = CompressionType.NONE;
+    private int mappedSegments = DEFAULT_MAPPED_SEGMENTS;
 
     protected Builder() {
     }
@@ -868,6 +1086,108 @@ public class SegmentedJournal<E> implements Journal<E> {
       return this;
     }
 
+    /**
+     * Sets the group commit window, returning the builder for method chaining.
+     * <p>
+     * When flush-on-commit is enabled and the group commit window is non-zero, commits that occur within the window
+     * will be coalesced into a single flush to disk. The window bounds the amount of time a commit may wait for its
+     * entries to be flushed. By default, the group commit window is zero and each commit is flushed synchronously.
+     *
+     * @param groupCommitWindow the group commit window
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code groupCommitWindow} is negative
+     */
+    public Builder<E> withGroupCommitWindow(Duration groupCommitWindow) {
+      checkNotNull(groupCommitWindow, "groupCommitWindow cannot be null");
+      checkArgument(!groupCommitWindow.isNegative(), "groupCommitWindow cannot be negative");
+      this.groupCommitWindow = groupCommitWindow;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes to group in a single commit, returning the builder for method chaining.
+     * <p>
+     * When group commit is enabled, pending commits will be flushed to disk immediately once the number of bytes
+     * written since the last flush exceeds the configured maximum, regardless of the group commit window.
+     * <p>
+     * By default, the maximum group commit size is {@code 1024 * 1024}.
+     *
+     * @param groupCommitBytes the maximum number of bytes to group in a single commit
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code groupCommitBytes} is not positive
+     */
+    public Builder<E> withGroupCommitBytes(int groupCommitBytes) {
+      checkArgument(groupCommitBytes > 0, "groupCommitBytes must be positive");
+      this.groupCommitBytes = groupCommitBytes;
+      return this;
+    }
+
+    /**
+     * Sets the checksum type used to verify entries in new segments, returning the builder for method chaining.
+     * <p>
+     * The checksum type is recorded in each segment's descriptor, so changing the checksum type does not affect the
+     * ability to read existing segments. By default, {@link ChecksumType#CRC32C} is used when it is supported by the
+     * JVM, and {@link ChecksumType#CRC32} otherwise.
+     *
+     * @param checksumType the checksum type used to verify entries in new segments
+     * @return The storage builder.
+     */
+    public Builder<E> withChecksumType(ChecksumType checksumType) {
+      this.checksumType = checkNotNull(checksumType, "checksumType cannot be null");
+      return this;
+    }
+
+    /**
+     * Sets the number of segments to pre-allocate, returning the builder for method chaining.
+     * <p>
+     * Pre-allocated segment files are created and zero-filled in the background so that rolling over to a new segment
+     * does not block on file creation. Files are only allocated while enough disk space remains for the journal to
+     * roll over to a new segment. By default, pre-allocation is disabled.
+     *
+     * @param preallocatedSegments the number of segments to pre-allocate
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code preallocatedSegments} is negative
+     */
+    public Builder<E> withPreallocatedSegments(int preallocatedSegments) {
+      checkArgument(preallocatedSegments >= 0, "preallocatedSegments cannot be negative");
+      this.preallocatedSegments = preallocatedSegments;
+      return this;
+    }
+
+    /**
+     * Sets the number of segments to map into memory when using {@link StorageLevel#TIERED} storage, returning the
+     * builder for method chaining.
+     * <p>
+     * With tiered storage, only the newest segments are memory-mapped and older segments are read from disk, bounding
+     * the memory used by the journal. As new segments are created, older segments are unmapped once they're no
+     * longer in use and are read from disk thereafter. By default, the newest two segments are memory-mapped.
+     *
+     * @param mappedSegments the number of segments to map into memory
+     * @return The storage builder.
+     * @throws IllegalArgumentException if the {@code mappedSegments} is not positive
+     */
+    public Builder<E> withMappedSegments(int mappedSegments) {
+      checkArgument(mappedSegments > 0, "mappedSegments must be positive");
+      this.mappedSegments = mappedSegments;
+      return this;
+    }
+
+    /**
+     * Sets the compression type for committed segments, returning the builder for method chaining.
+     * <p>
+     * Segments are always written uncompressed. When compression is enabled, segments in which all entries have been
+     * committed are compressed in the background, and entries in compressed segments are decompressed transparently
+     * when they're read. The compression type is recorded in each segment, so changing it does not affect the ability
+     * to read existing segments. By default, segments are not compressed.
+     *
+     * @param compressionType the compression type for committed segments
+     * @return The storage builder.
+     */
+    public Builder<E> withCompressionType(CompressionType compressionType) {
+      this.compressionType = checkNotNull(compressionType, "compressionType cannot be null");
+      return this;
+    }
+
     @Override
     public SegmentedJournal<E> build() {
       return new SegmentedJournal<>(
@@ -879,7 +1199,13 @@ public class SegmentedJournal<E> implements Journal<E> {
           maxEntrySize,
           maxEntriesPerSegment,
           indexDensity,
-          flushOnCommit);
+          flushOnCommit,
+          groupCommitWindow,
+          groupCommitBytes,
+          checksumType,
+          preallocatedSegments,
+          compressionType,
+          mappedSegments);
     }
   }
 }
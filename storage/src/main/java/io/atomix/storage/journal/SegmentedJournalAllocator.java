@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Segment file pre-allocator.
+ * <p>
+ * The allocator keeps a fixed number of empty segment files ready in the background so that rolling over to a new
+ * segment does not require creating and sizing a file on the writer's thread. Allocated files are fully written with
+ * zeros so that the file system allocates the file's blocks ahead of time, and are stored under a name that is not
+ * recognized as a segment until the file is claimed by the journal.
+ * <p>
+ * Files are only allocated while the journal directory has enough usable space left to allocate the file and still
+ * roll over to a new segment, so pre-allocation never causes the journal to run out of disk space.
+ */
+class SegmentedJournalAllocator {
+  private static final int ZERO_BUFFER_SIZE = 1024 * 64;
+
+  private final Logger log = LoggerFactory.getLogger(getClass());
+  private final String name;
+  private final File directory;
+  private final int maxSegmentSize;
+  private final int segments;
+  private final long minFreeSpace;
+  private final ThreadPoolExecutor executor;
+  private final Queue<File> allocated = new ConcurrentLinkedQueue<>();
+  private long nextId = 1;
+  private volatile boolean open = true;
+
+  SegmentedJournalAllocator(String name, File directory, int maxSegmentSize, int segments, int bufferFactor) {
+    this.name = name;
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+    this.segments = segments;
+    // Keep enough space free for the journal itself to roll over after the allocated file is written.
+    this.minFreeSpace = (long) maxSegmentSize * (bufferFactor + 1);
+    this.executor = new ThreadPoolExecutor(
+        1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), namedThreads("atomix-journal-" + name + "-allocator-%d", log));
+    executor.allowCoreThreadTimeOut(true);
+
+    // Delete files that were allocated but never claimed before the journal was last closed.
+    File[] files = directory.listFiles(file -> file.isFile() && JournalSegmentFile.isAllocatedFile(name, file));
+    if (files != null) {
+      for (File file : files) {
+        delete(file);
+      }
+    }
+
+    for (int i = 0; i < segments; i++) {
+      executor.execute(this::allocate);
+    }
+  }
+
+  /**
+   * Claims a pre-allocated segment file.
+   * <p>
+   * Another file will be allocated in the background to replace the claimed file, or to retry an allocation that was
+   * previously skipped for lack of disk space.
+   *
+   * @return a pre-allocated segment file of {@code maxSegmentSize} bytes or {@code null} if no file is ready
+   */
+  File claim() {
+    File file = allocated.poll();
+    if (open) {
+      executor.execute(this::allocate);
+    }
+    return file;
+  }
+
+  /**
+   * Allocates a new segment file.
+   */
+  private void allocate() {
+    if (!open || allocated.size() >= segments) {
+      return;
+    }
+
+    if (directory.getUsableSpace() < minFreeSpace) {
+      log.debug("Skipping segment allocation: not enough usable space in {}", directory);
+      return;
+    }
+
+    File file = JournalSegmentFile.createAllocatedFile(name, directory, nextId++);
+    try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+      raf.setLength(maxSegmentSize);
+      FileChannel channel = raf.getChannel();
+      ByteBuffer zeros = ByteBuffer.allocate(ZERO_BUFFER_SIZE);
+      long position = 0;
+      while (position < maxSegmentSize) {
+        zeros.clear();
+        zeros.limit((int) Math.min(zeros.capacity(), maxSegmentSize - position));
+        position += channel.write(zeros, position);
+      }
+    } catch (IOException e) {
+      log.warn("Failed to allocate segment file {}", file, e);
+      delete(file);
+      return;
+    }
+    allocated.add(file);
+  }
+
+  /**
+   * Deletes the given file.
+   */
+  private void delete(File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException e) {
+      log.warn("Failed to delete allocated segment file {}", file, e);
+    }
+  }
+
+  /**
+   * Stops the allocator and deletes any unclaimed segment files.
+   */
+  void close() {
+    open = false;
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    File file;
+    while ((file = allocated.poll()) != null) {
+      delete(file);
+    }
+  }
+}
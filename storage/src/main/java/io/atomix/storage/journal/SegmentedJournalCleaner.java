@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Removed segment cleaner.
+ * <p>
+ * When the journal is compacted, segments are removed from the journal immediately but are closed and deleted by the
+ * cleaner in the background, so compaction does not block the journal's thread on file system operations. Segments
+ * that are replaced by a rewritten copy are similarly closed by the cleaner, but their files are not deleted. A segment
+ * is only closed once all readers have released it; segments that are still referenced are checked again later.
+ */
+class SegmentedJournalCleaner {
+  private static final long RETRY_INTERVAL_MILLIS = 100;
+
+  private final Logger log = LoggerFactory.getLogger(getClass());
+  private final ScheduledThreadPoolExecutor executor;
+  private final Map<JournalSegment<?>, Boolean> segments = new ConcurrentHashMap<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private volatile boolean open = true;
+
+  SegmentedJournalCleaner(String name) {
+    this.executor = new ScheduledThreadPoolExecutor(1, namedThreads("atomix-journal-" + name + "-cleaner-%d", log));
+    executor.setKeepAliveTime(1, TimeUnit.MINUTES);
+    executor.allowCoreThreadTimeOut(true);
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  /**
+   * Schedules the given compacted segments to be closed and deleted.
+   *
+   * @param compactSegments the segments to delete
+   */
+  void delete(Collection<? extends JournalSegment<?>> compactSegments) {
+    compactSegments.forEach(segment -> segments.put(segment, true));
+    schedule();
+  }
+
+  /**
+   * Schedules the given replaced segment to be closed without deleting its files.
+   *
+   * @param segment the segment to close
+   */
+  void discard(JournalSegment<?> segment) {
+    segments.put(segment, false);
+    schedule();
+  }
+
+  /**
+   * Schedules pending segments to be cleaned.
+   */
+  private void schedule() {
+    if (open && scheduled.compareAndSet(false, true)) {
+      executor.execute(this::clean);
+    }
+  }
+
+  /**
+   * Cleans all segments that are no longer referenced, rescheduling itself if any segments remain.
+   */
+  private void clean() {
+    scheduled.set(false);
+    for (JournalSegment<?> segment : segments.keySet()) {
+      if (segment.references() == 0) {
+        cleanSegment(segment);
+      }
+    }
+    if (!segments.isEmpty() && open && scheduled.compareAndSet(false, true)) {
+      executor.schedule(this::clean, RETRY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Closes the given segment and deletes it if necessary.
+   */
+  private void cleanSegment(JournalSegment<?> segment) {
+    Boolean delete = segments.remove(segment);
+    if (delete == null) {
+      return;
+    }
+    try {
+      segment.discard();
+      if (delete) {
+        log.trace("Deleting segment: {}", segment);
+        segment.delete();
+      }
+    } catch (Exception e) {
+      log.warn("Failed to clean segment {}", segment, e);
+    }
+  }
+
+  /**
+   * Stops the cleaner and cleans any pending segments whether or not they are still referenced.
+   */
+  void close() {
+    open = false;
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    for (JournalSegment<?> segment : segments.keySet()) {
+      cleanSegment(segment);
+    }
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.atomix.storage.StorageException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Committed segment compressor.
+ * <p>
+ * Segments are written uncompressed so that compression does not add to append latency. Once all the entries in a
+ * segment have been committed, the segment can no longer be truncated or appended to, and the compressor rewrites the
+ * segment in the background with each entry compressed. The rewritten segment replaces the original segment once it
+ * has been completely written. Segments are only replaced if compression reduces their size.
+ */
+class SegmentedJournalCompressor<E> {
+  private static final int BUFFER_SIZE = 1024 * 64;
+
+  private final Logger log = LoggerFactory.getLogger(getClass());
+  private final SegmentedJournal<E> journal;
+  private final String name;
+  private final File directory;
+  private final int maxEntrySize;
+  private final CompressionType compressionType;
+  private final ThreadPoolExecutor executor;
+  private volatile boolean open = true;
+
+  SegmentedJournalCompressor(
+      SegmentedJournal<E> journal,
+      String name,
+      File directory,
+      int maxEntrySize,
+      CompressionType compressionType) {
+    this.journal = journal;
+    this.name = name;
+    this.directory = directory;
+    this.maxEntrySize = maxEntrySize;
+    this.compressionType = compressionType;
+    this.executor = new ThreadPoolExecutor(
+        1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), namedThreads("atomix-journal-" + name + "-compressor-%d", log));
+    executor.allowCoreThreadTimeOut(true);
+
+    // Delete segments that were being rewritten when the journal was last closed.
+    File[] files = directory.listFiles(file -> file.isFile() && JournalSegmentFile.isTemporaryFile(name, file));
+    if (files != null) {
+      for (File file : files) {
+        delete(file);
+      }
+    }
+  }
+
+  /**
+   * Schedules the given committed segment to be compressed.
+   *
+   * @param segment the segment to compress
+   */
+  void compress(JournalSegment<E> segment) {
+    if (open) {
+      executor.execute(() -> compressSegment(segment));
+    }
+  }
+
+  /**
+   * Compresses the given segment, replacing it in the journal if compression succeeds.
+   */
+  private void compressSegment(JournalSegment<E> segment) {
+    if (!open || journal.isRemoved(segment)) {
+      return;
+    }
+
+    File file = JournalSegmentFile.createTemporaryFile(name, directory, segment.id());
+    try {
+      if (write(segment, file) && journal.replaceSegment(segment, file)) {
+        log.debug("Compressed segment: {}", segment);
+      }
+    } catch (IOException | StorageException e) {
+      log.warn("Failed to compress segment {}", segment, e);
+    } finally {
+      delete(file);
+    }
+  }
+
+  /**
+   * Writes a compressed copy of the given segment to the given file.
+   *
+   * @return indicates whether the compressed segment was written
+   */
+  private boolean write(JournalSegment<E> segment, File file) throws IOException {
+    JournalSegmentDescriptor descriptor = segment.descriptor();
+    JournalChecksum crc = JournalChecksum.create(descriptor.checksumType());
+    JournalCodec codec = JournalCodec.create(compressionType);
+    long lastIndex = segment.lastIndex();
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment.file().file()), BUFFER_SIZE));
+         FileOutputStream fileOut = new FileOutputStream(file);
+         DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut, BUFFER_SIZE))) {
+      ByteBuffer header = ByteBuffer.allocate(JournalSegmentDescriptor.BYTES);
+      JournalSegmentDescriptor.builder(header)
+          .withId(descriptor.id())
+          .withIndex(descriptor.index())
+          .withMaxSegmentSize(descriptor.maxSegmentSize())
+          .withMaxEntries(descriptor.maxEntries())
+          .withChecksumType(descriptor.checksumType())
+          .withCompressionType(compressionType)
+          .build()
+          .update(descriptor.updated());
+      out.write(header.array());
+      in.readFully(new byte[JournalSegmentDescriptor.BYTES]);
+
+      int size = JournalSegmentDescriptor.BYTES;
+      int compressedSize = JournalSegmentDescriptor.BYTES;
+      byte[] bytes = new byte[maxEntrySize];
+      for (long index = descriptor.index(); index <= lastIndex; index++) {
+        int length = in.readInt();
+        long checksum = in.readInt() & 0xFFFFFFFFL;
+        if (length <= 0 || length > maxEntrySize) {
+          return false;
+        }
+        in.readFully(bytes, 0, length);
+        if (checksum != crc.compute(bytes, 0, length)) {
+          return false;
+        }
+
+        byte[] compressed = codec.compress(bytes, 0, length);
+        if (compressed.length > maxEntrySize) {
+          return false;
+        }
+        out.writeInt(compressed.length);
+        out.writeInt((int) crc.compute(compressed, 0, compressed.length));
+        out.write(compressed);
+        size += Integer.BYTES + Integer.BYTES + length;
+        compressedSize += Integer.BYTES + Integer.BYTES + compressed.length;
+      }
+
+      // Only replace the segment if compression actually reduces its size.
+      if (compressedSize >= size) {
+        return false;
+      }
+      out.flush();
+      fileOut.getFD().sync();
+    }
+    return true;
+  }
+
+  /**
+   * Deletes the given file.
+   */
+  private void delete(File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (IOException e) {
+      log.warn("Failed to delete temporary segment file {}", file, e);
+    }
+  }
+
+  /**
+   * Stops the compressor, waiting for any in-progress compression to complete.
+   */
+  void close() {
+    open = false;
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Group commit flusher.
+ * <p>
+ * The flusher coalesces commit flushes that occur within a bounded window into a single flush of the journal.
+ * A flush is performed once the window has elapsed since the first pending commit or once the number of bytes
+ * committed since the last flush exceeds the configured maximum, whichever comes first. All commits waiting on
+ * a flush are completed together once the flush has completed.
+ */
+class SegmentedJournalFlusher {
+  private final Logger log = LoggerFactory.getLogger(getClass());
+  private final Runnable flusher;
+  private final long windowNanos;
+  private final int maxBytes;
+  private final ScheduledThreadPoolExecutor executor;
+  private List<CompletableFuture<Void>> waiters = new ArrayList<>();
+  private long pendingBytes;
+  private boolean scheduled;
+  private boolean open = true;
+
+  SegmentedJournalFlusher(String name, Runnable flusher, Duration window, int maxBytes) {
+    this.flusher = flusher;
+    this.windowNanos = window.toNanos();
+    this.maxBytes = maxBytes;
+    this.executor = new ScheduledThreadPoolExecutor(1, namedThreads("atomix-journal-" + name + "-flusher-%d", log));
+    executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+  }
+
+  /**
+   * Requests a flush of the journal.
+   *
+   * @param bytes the number of bytes written since the last flush request
+   * @return a future to be completed once the bytes have been flushed to disk
+   */
+  synchronized CompletableFuture<Void> flush(int bytes) {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (!open) {
+      future.completeExceptionally(new IllegalStateException("journal not open"));
+      return future;
+    }
+
+    waiters.add(future);
+    pendingBytes += bytes;
+    if (pendingBytes >= maxBytes) {
+      scheduled = true;
+      executor.execute(this::doFlush);
+    } else if (!scheduled) {
+      scheduled = true;
+      executor.schedule(this::doFlush, windowNanos, TimeUnit.NANOSECONDS);
+    }
+    return future;
+  }
+
+  /**
+   * Flushes the journal and completes all pending waiters.
+   */
+  private void doFlush() {
+    List<CompletableFuture<Void>> waiters;
+    synchronized (this) {
+      waiters = this.waiters;
+      if (waiters.isEmpty()) {
+        return;
+      }
+      this.waiters = new ArrayList<>();
+      this.pendingBytes = 0;
+      this.scheduled = false;
+    }
+
+    try {
+      flusher.run();
+      waiters.forEach(waiter -> waiter.complete(null));
+    } catch (Exception e) {
+      log.warn("Failed to flush journal", e);
+      waiters.forEach(waiter -> waiter.completeExceptionally(e));
+    }
+  }
+
+  /**
+   * Flushes any pending commits and stops the flusher.
+   */
+  void close() {
+    synchronized (this) {
+      if (!open) {
+        return;
+      }
+      open = false;
+    }
+    // Wait for an in-progress flush to complete rather than interrupting it, since interrupting a thread
+    // blocked on a file channel will close the channel.
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    doFlush();
+  }
+}
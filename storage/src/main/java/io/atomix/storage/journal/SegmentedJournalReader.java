@@ -43,7 +43,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
     currentReader = currentSegment.createReader();
     long nextIndex = getNextIndex();
     while (index > nextIndex && hasNext()) {
-      next();
+      nextRaw();
       nextIndex = getNextIndex();
     }
   }
@@ -91,8 +91,8 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
 
   @Override
   public void reset(long index) {
-    // If the current segment is not open, it has been replaced. Reset the segments.
-    if (!currentSegment.isOpen()) {
+    // If the current segment is not open or has been compacted, it has been replaced. Reset the segments.
+    if (!currentSegment.isOpen() || journal.isRemoved(currentSegment)) {
       reset();
     }
 
@@ -129,7 +129,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
    */
   private void forward(long index) {
     while (getNextIndex() < index && hasNext()) {
-      next();
+      nextRaw();
     }
   }
 
@@ -149,6 +149,7 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null && nextSegment.index() == getNextIndex()) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment.release();
         currentSegment = nextSegment;
         currentSegment.acquire();
@@ -162,27 +163,39 @@ public class SegmentedJournalReader<E> implements JournalReader<E> {
 
   @Override
   public Indexed<E> next() {
+    nextSegment();
+    return currentReader.next();
+  }
+
+  @Override
+  public RawEntry nextRaw() {
+    nextSegment();
+    return currentReader.nextRaw();
+  }
+
+  /**
+   * Advances the reader to the next segment if the current segment has no more entries.
+   */
+  private void nextSegment() {
     if (!currentReader.hasNext()) {
       JournalSegment<E> nextSegment = journal.getNextSegment(currentSegment.index());
       if (nextSegment != null && nextSegment.index() == getNextIndex()) {
         previousEntry = currentReader.getCurrentEntry();
+        currentReader.close();
         currentSegment.release();
         currentSegment = nextSegment;
         currentSegment.acquire();
         currentReader = currentSegment.createReader();
-        return currentReader.next();
       } else {
         throw new NoSuchElementException();
       }
-    } else {
-      previousEntry = currentReader.getCurrentEntry();
-      return currentReader.next();
     }
   }
 
   @Override
   public void close() {
     currentReader.close();
+    currentSegment.release();
     journal.closeReader(this);
   }
 }
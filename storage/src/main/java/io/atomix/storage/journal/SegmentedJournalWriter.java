@@ -16,6 +16,9 @@
 package io.atomix.storage.journal;
 
 import java.nio.BufferOverflowException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Raft log writer.
@@ -24,6 +27,7 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
   private final SegmentedJournal<E> journal;
   private JournalSegment<E> currentSegment;
   private MappableJournalSegmentWriter<E> currentWriter;
+  private int uncommittedBytes;
 
   public SegmentedJournalWriter(SegmentedJournal<E> journal) {
     this.journal = journal;
@@ -48,7 +52,7 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
   }
 
   @Override
-  public void reset(long index) {
+  public synchronized void reset(long index) {
     if (index > currentSegment.index()) {
       currentSegment.release();
       currentSegment = journal.resetSegments(index);
@@ -60,52 +64,118 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
     journal.resetHead(index);
   }
 
+  /**
+   * Commits entries up to the given index.
+   * <p>
+   * If group commit is enabled, this method blocks until the grouped flush of the committed entries has completed.
+   * Callers that cannot block should use {@link #commitAsync(long)} and wait on the returned future before treating
+   * committed entries as durable.
+   *
+   * @param index The index up to which to commit entries.
+   */
   @Override
   public void commit(long index) {
+    commitAsync(index).join();
+  }
+
+  /**
+   * Commits entries up to the given index, returning a future to be completed once committed entries are durable.
+   * <p>
+   * If flush-on-commit is disabled, the returned future will be completed immediately. If group commit is enabled,
+   * the flush will be coalesced with other commits within the group commit window and the returned future will be
+   * completed once the grouped flush has completed.
+   *
+   * @param index The index up to which to commit entries.
+   * @return a future to be completed once committed entries have been flushed to disk
+   */
+  public CompletableFuture<Void> commitAsync(long index) {
     if (index > journal.getCommitIndex()) {
       journal.setCommitIndex(index);
       if (journal.isFlushOnCommit()) {
+        SegmentedJournalFlusher flusher = journal.getFlusher();
+        if (flusher != null) {
+          int bytes = uncommittedBytes;
+          uncommittedBytes = 0;
+          return flusher.flush(bytes);
+        }
         flush();
       }
     }
+    return CompletableFuture.completedFuture(null);
   }
 
   @Override
-  public <T extends E> Indexed<T> append(T entry) {
+  public synchronized <T extends E> Indexed<T> append(T entry) {
+    Indexed<T> indexed;
     try {
-      return currentWriter.append(entry);
+      indexed = currentWriter.append(entry);
     } catch (BufferOverflowException e) {
       if (currentSegment.index() == currentWriter.getNextIndex()) {
         throw e;
       }
-      currentWriter.flush();
-      currentSegment.release();
-      currentSegment = journal.getNextSegment();
-      currentSegment.acquire();
-      currentWriter = currentSegment.writer();
-      return currentWriter.append(entry);
+      nextSegment();
+      indexed = currentWriter.append(entry);
+    }
+    uncommittedBytes += indexed.size();
+    return indexed;
+  }
+
+  /**
+   * Appends a batch of entries to the journal.
+   * <p>
+   * Entries are appended to the current segment in a single pass, rolling over to the next segment as each segment
+   * is filled.
+   *
+   * @param entries The entries to append.
+   * @return The appended indexed entries.
+   */
+  @Override
+  public synchronized <T extends E> List<Indexed<T>> appendAll(List<T> entries) {
+    List<Indexed<T>> appended = new ArrayList<>(entries.size());
+    try {
+      while (appended.size() < entries.size()) {
+        if (currentWriter.appendBatch(entries, appended.size(), appended) == 0) {
+          if (currentSegment.index() == currentWriter.getNextIndex()) {
+            throw new BufferOverflowException();
+          }
+          nextSegment();
+        }
+      }
+    } finally {
+      for (Indexed<T> indexed : appended) {
+        uncommittedBytes += indexed.size();
+      }
     }
+    return appended;
   }
 
   @Override
-  public void append(Indexed<E> entry) {
+  public synchronized void append(Indexed<E> entry) {
     try {
       currentWriter.append(entry);
     } catch (BufferOverflowException e) {
       if (currentSegment.index() == currentWriter.getNextIndex()) {
         throw e;
       }
-      currentWriter.flush();
-      currentSegment.release();
-      currentSegment = journal.getNextSegment();
-      currentSegment.acquire();
-      currentWriter = currentSegment.writer();
+      nextSegment();
       currentWriter.append(entry);
     }
+    uncommittedBytes += currentWriter.getLastEntry().size();
+  }
+
+  /**
+   * Checkpoints the current segment and rolls over to the next segment.
+   */
+  private synchronized void nextSegment() {
+    currentSegment.checkpoint();
+    currentSegment.release();
+    currentSegment = journal.getNextSegment();
+    currentSegment.acquire();
+    currentWriter = currentSegment.writer();
   }
 
   @Override
-  public void truncate(long index) {
+  public synchronized void truncate(long index) {
     if (index < journal.getCommitIndex()) {
       throw new IndexOutOfBoundsException("Cannot truncate committed index: " + index);
     }
@@ -127,12 +197,12 @@ public class SegmentedJournalWriter<E> implements JournalWriter<E> {
   }
 
   @Override
-  public void flush() {
+  public synchronized void flush() {
     currentWriter.flush();
   }
 
   @Override
-  public void close() {
+  public synchronized void close() {
     currentWriter.close();
   }
 }
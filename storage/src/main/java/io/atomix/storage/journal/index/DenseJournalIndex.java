@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal.index;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Sparse index backed by sorted primitive arrays.
+ * <p>
+ * Indexes and positions are stored in parallel {@code long[]} and {@code int[]} arrays sorted by index. Since entries
+ * are always indexed in ascending order, new entries are appended to the end of the arrays and lookups are performed
+ * by binary search without boxing. {@link #lookup(long, MutablePosition)} does not allocate.
+ * <p>
+ * Updates are serialized by the index, but lookups do not lock. The arrays are published to readers through a
+ * volatile reference along with the number of valid entries. Entries are only ever written beyond the published size,
+ * and truncation copies the arrays, so a reader never observes a slot being overwritten.
+ * <p>
+ * The index can be copied to and loaded from a {@link ByteBuffer} to allow it to be persisted alongside the segment.
+ */
+public class DenseJournalIndex implements JournalIndex {
+  private static final int MIN_DENSITY = 1000;
+  private static final int INITIAL_CAPACITY = 16;
+  private final int density;
+  private volatile Entries entries = new Entries(new long[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0);
+
+  public DenseJournalIndex(double density) {
+    this.density = (int) Math.ceil(MIN_DENSITY / (density * MIN_DENSITY));
+  }
+
+  /**
+   * Returns the number of entries in the index.
+   *
+   * @return the number of entries in the index
+   */
+  public int size() {
+    return entries.size;
+  }
+
+  @Override
+  public synchronized void index(long index, int position) {
+    if (index % density != 0) {
+      return;
+    }
+
+    Entries entries = this.entries;
+    long[] indexes = entries.indexes;
+    int[] positions = entries.positions;
+    int size = entries.size;
+
+    // If the index has already been recorded, e.g. when the index is rebuilt from a loaded copy, skip it if the
+    // position is unchanged. Otherwise, remove all entries following the given index before appending it.
+    if (size > 0 && index <= indexes[size - 1]) {
+      int i = Arrays.binarySearch(indexes, 0, size, index);
+      if (i >= 0 && positions[i] == position) {
+        return;
+      }
+      size = i >= 0 ? i : -(i + 1);
+      indexes = indexes.clone();
+      positions = positions.clone();
+    }
+
+    if (size == indexes.length) {
+      indexes = Arrays.copyOf(indexes, size * 2);
+      positions = Arrays.copyOf(positions, size * 2);
+    }
+    indexes[size] = index;
+    positions[size] = position;
+    this.entries = new Entries(indexes, positions, size + 1);
+  }
+
+  @Override
+  public Position lookup(long index) {
+    Entries entries = this.entries;
+    int i = entries.floor(index);
+    return i >= 0 ? new Position(entries.indexes[i], entries.positions[i]) : null;
+  }
+
+  @Override
+  public boolean lookup(long index, MutablePosition position) {
+    Entries entries = this.entries;
+    int i = entries.floor(index);
+    if (i < 0) {
+      return false;
+    }
+    position.set(entries.indexes[i], entries.positions[i]);
+    return true;
+  }
+
+  @Override
+  public synchronized void truncate(long index) {
+    Entries entries = this.entries;
+    int size = entries.floor(index) + 1;
+    if (size < entries.size) {
+      this.entries = new Entries(entries.indexes.clone(), entries.positions.clone(), size);
+    }
+  }
+
+  /**
+   * Returns the number of bytes required to copy the index to a buffer.
+   *
+   * @return the number of bytes required to copy the index to a buffer
+   */
+  public int bytes() {
+    return Integer.BYTES + entries.size * (Long.BYTES + Integer.BYTES) + Long.BYTES;
+  }
+
+  /**
+   * Copies the index to the given buffer.
+   * <p>
+   * The index is written as a 32-bit entry count followed by the 64-bit index and 32-bit position of each entry and
+   * a 64-bit checksum of the preceding bytes.
+   *
+   * @param buffer the buffer to which to copy the index
+   */
+  public void copyTo(ByteBuffer buffer) {
+    Entries entries = this.entries;
+    int start = buffer.position();
+    buffer.putInt(entries.size);
+    for (int i = 0; i < entries.size; i++) {
+      buffer.putLong(entries.indexes[i]);
+      buffer.putInt(entries.positions[i]);
+    }
+
+    CRC32 crc32 = new CRC32();
+    ByteBuffer slice = buffer.duplicate();
+    slice.flip().position(start);
+    crc32.update(slice);
+    buffer.putLong(crc32.getValue());
+  }
+
+  /**
+   * Loads the index from the given buffer.
+   * <p>
+   * If the buffer does not contain a valid copy of an index, the index is left unchanged.
+   *
+   * @param buffer the buffer from which to load the index
+   * @return indicates whether the index was loaded
+   */
+  public synchronized boolean load(ByteBuffer buffer) {
+    try {
+      int start = buffer.position();
+      int size = buffer.getInt();
+      if (size < 0 || size > buffer.remaining() / (Long.BYTES + Integer.BYTES)) {
+        return false;
+      }
+
+      long[] indexes = new long[Math.max(size, INITIAL_CAPACITY)];
+      int[] positions = new int[Math.max(size, INITIAL_CAPACITY)];
+      for (int i = 0; i < size; i++) {
+        indexes[i] = buffer.getLong();
+        positions[i] = buffer.getInt();
+        if (i > 0 && indexes[i] <= indexes[i - 1]) {
+          return false;
+        }
+      }
+
+      CRC32 crc32 = new CRC32();
+      ByteBuffer slice = buffer.duplicate();
+      slice.flip().position(start);
+      crc32.update(slice);
+      if (buffer.getLong() != crc32.getValue()) {
+        return false;
+      }
+
+      this.entries = new Entries(indexes, positions, size);
+      return true;
+    } catch (BufferUnderflowException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Published index entries.
+   */
+  private static final class Entries {
+    private final long[] indexes;
+    private final int[] positions;
+    private final int size;
+
+    Entries(long[] indexes, int[] positions, int size) {
+      this.indexes = indexes;
+      this.positions = positions;
+      this.size = size;
+    }
+
+    /**
+     * Returns the array offset of the greatest index less than or equal to the given index.
+     */
+    int floor(long index) {
+      int i = Arrays.binarySearch(indexes, 0, size, index);
+      return i >= 0 ? i : -(i + 1) - 1;
+    }
+  }
+}
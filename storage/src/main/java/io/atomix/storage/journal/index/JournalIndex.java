@@ -36,6 +36,24 @@ public interface JournalIndex {
    */
   Position lookup(long index);
 
+  /**
+   * Looks up the position of the given index, storing the result in the given mutable position.
+   * <p>
+   * Implementations may override this method to look up positions without allocating.
+   *
+   * @param index the index to lookup
+   * @param position the mutable position in which to store the index and position of the given index or a lesser index
+   * @return indicates whether the given index or a lesser index was found
+   */
+  default boolean lookup(long index, MutablePosition position) {
+    Position result = lookup(index);
+    if (result == null) {
+      return false;
+    }
+    position.set(result.index(), result.position());
+    return true;
+  }
+
   /**
    * Truncates the index to the given index.
    *
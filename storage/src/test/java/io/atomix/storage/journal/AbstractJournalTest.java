@@ -31,6 +31,7 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -80,6 +81,10 @@ public abstract class AbstractJournalTest {
   }
 
   protected SegmentedJournal<TestEntry> createJournal() {
+    return journalBuilder().build();
+  }
+
+  protected SegmentedJournal.Builder<TestEntry> journalBuilder() {
     return SegmentedJournal.<TestEntry>builder()
         .withName("test")
         .withDirectory(PATH.toFile())
@@ -87,8 +92,7 @@ public abstract class AbstractJournalTest {
         .withStorageLevel(storageLevel())
         .withMaxSegmentSize(maxSegmentSize)
         .withIndexDensity(.2)
-        .withCacheSize(cacheSize)
-        .build();
+        .withCacheSize(cacheSize);
   }
 
   @Test
@@ -308,6 +312,101 @@ public abstract class AbstractJournalTest {
     }
   }
 
+  @Test
+  public void testAppendAll() throws Exception {
+    try (Journal<TestEntry> journal = createJournal()) {
+      JournalWriter<TestEntry> writer = journal.writer();
+      JournalReader<TestEntry> reader = journal.openReader(1);
+
+      writer.append(ENTRY);
+
+      // Append a batch spanning multiple segments.
+      List<TestEntry> entries = new ArrayList<>();
+      for (int i = 0; i < entriesPerSegment * 3; i++) {
+        entries.add(ENTRY);
+      }
+      List<Indexed<TestEntry>> appended = writer.appendAll(entries);
+      assertEquals(entries.size(), appended.size());
+      for (int i = 0; i < appended.size(); i++) {
+        assertEquals(i + 2, appended.get(i).index());
+        assertEquals(NAMESPACE.serialize(ENTRY).length, appended.get(i).size());
+      }
+      assertEquals(entriesPerSegment * 3 + 1, writer.getLastIndex());
+      assertEquals(entriesPerSegment * 3 + 1, writer.getLastEntry().index());
+
+      // Truncate the journal and append another batch.
+      writer.truncate(entriesPerSegment);
+      appended = writer.appendAll(entries.subList(0, 2));
+      assertEquals(entriesPerSegment + 1, appended.get(0).index());
+      assertEquals(entriesPerSegment + 2, writer.getLastIndex());
+
+      for (int i = 1; i <= entriesPerSegment + 2; i++) {
+        assertTrue(reader.hasNext());
+        Indexed<TestEntry> entry = reader.next();
+        assertEquals(i, entry.index());
+        assertEquals(32, entry.entry().bytes().length);
+      }
+      assertFalse(reader.hasNext());
+    }
+  }
+
+  @Test
+  public void testReadRawEntries() throws Exception {
+    try (Journal<TestEntry> journal = createJournal()) {
+      JournalWriter<TestEntry> writer = journal.writer();
+      JournalReader<TestEntry> reader = journal.openReader(1);
+
+      for (int i = 1; i <= entriesPerSegment * 5; i++) {
+        writer.append(ENTRY);
+      }
+
+      for (int i = 1; i <= entriesPerSegment * 5; i++) {
+        assertTrue(reader.hasNext());
+        RawEntry raw = reader.nextRaw();
+        assertEquals(i, raw.index());
+        assertEquals(NAMESPACE.serialize(ENTRY).length, raw.size());
+        TestEntry entry = NAMESPACE.deserialize(raw.buffer());
+        assertEquals(32, entry.bytes().length);
+        assertEquals(i, reader.getCurrentIndex());
+        assertEquals(i, reader.getCurrentEntry().index());
+        assertEquals(32, reader.getCurrentEntry().entry().bytes().length);
+      }
+      assertFalse(reader.hasNext());
+
+      reader.reset(entriesPerSegment * 2 + 1);
+      assertEquals(entriesPerSegment * 2, reader.getCurrentEntry().index());
+      assertEquals(entriesPerSegment * 2 + 1, reader.next().index());
+    }
+  }
+
+  @Test
+  public void testCopyRawEntries() throws Exception {
+    try (Journal<TestEntry> journal = createJournal()) {
+      JournalWriter<TestEntry> writer = journal.writer();
+      JournalReader<TestEntry> reader = journal.openReader(1);
+
+      for (int i = 1; i <= entriesPerSegment * 5; i++) {
+        byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) i);
+        writer.append(new TestEntry(bytes));
+      }
+
+      // Copied entries must remain intact after the reader has moved past them.
+      List<RawEntry> copies = new ArrayList<>();
+      while (reader.hasNext()) {
+        copies.add(reader.nextRaw().copy());
+      }
+      assertEquals(entriesPerSegment * 5, copies.size());
+      for (int i = 1; i <= copies.size(); i++) {
+        RawEntry copy = copies.get(i - 1);
+        assertEquals(i, copy.index());
+        TestEntry entry = NAMESPACE.deserialize(copy.buffer());
+        assertEquals((byte) i, entry.bytes()[0]);
+        assertEquals((byte) i, entry.bytes()[31]);
+      }
+    }
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void testWriteReadCommittedEntries() throws Exception {
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Journal checksum test.
+ */
+public class JournalChecksumTest {
+  private static final byte[] BYTES = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+  @Test
+  public void testCrc32() throws Exception {
+    assertChecksum(JournalChecksum.create(ChecksumType.CRC32), 0xCBF43926L);
+  }
+
+  @Test
+  public void testCrc32c() throws Exception {
+    assertChecksum(JournalChecksum.create(ChecksumType.CRC32C), 0xE3069283L);
+    assertChecksum(new JournalChecksum.Crc32cChecksum(), 0xE3069283L);
+  }
+
+  @Test
+  public void testChecksumType() throws Exception {
+    for (ChecksumType type : ChecksumType.values()) {
+      assertEquals(type, ChecksumType.forId(type.id()));
+    }
+  }
+
+  private void assertChecksum(JournalChecksum checksum, long expected) {
+    // Compute the checksum repeatedly to verify the checksum is reset between entries.
+    for (int i = 0; i < 2; i++) {
+      byte[] bytes = new byte[BYTES.length + 2];
+      System.arraycopy(BYTES, 0, bytes, 1, BYTES.length);
+      assertEquals(expected, checksum.compute(bytes, 1, BYTES.length));
+
+      ByteBuffer heap = ByteBuffer.wrap(bytes);
+      assertEquals(expected, checksum.compute(heap, 1, BYTES.length));
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes);
+      direct.position(3);
+      assertEquals(expected, checksum.compute(direct, 1, BYTES.length));
+      assertEquals(3, direct.position());
+      assertEquals(bytes.length, direct.limit());
+    }
+  }
+}
@@ -76,4 +76,87 @@ public class JournalSegmentDescriptorTest {
     assertEquals(2048, descriptor.maxEntries());
     assertEquals(time, descriptor.updated());
   }
+
+  /**
+   * Tests checkpointing the segment descriptor.
+   */
+  @Test
+  public void testDescriptorCheckpoint() {
+    JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
+        .withId(2)
+        .withIndex(1025)
+        .withMaxSegmentSize(1024 * 1024)
+        .withMaxEntries(2048)
+        .build();
+
+    assertEquals(0, descriptor.checkpointIndex());
+    assertEquals(0, descriptor.checkpointPosition());
+
+    descriptor.checkpoint(2000, 4096);
+    assertEquals(2000, descriptor.checkpointIndex());
+    assertEquals(4096, descriptor.checkpointPosition());
+
+    descriptor = descriptor.copyTo(ByteBuffer.allocate(JournalSegmentDescriptor.BYTES));
+    assertEquals(1025, descriptor.index());
+    assertEquals(2000, descriptor.checkpointIndex());
+    assertEquals(4096, descriptor.checkpointPosition());
+  }
+
+  /**
+   * Tests recording the checksum type in the segment descriptor.
+   */
+  @Test
+  public void testDescriptorChecksumType() {
+    JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
+        .withId(2)
+        .withIndex(1025)
+        .withMaxSegmentSize(1024 * 1024)
+        .withMaxEntries(2048)
+        .build();
+    assertEquals(ChecksumType.CRC32, descriptor.checksumType());
+
+    descriptor = JournalSegmentDescriptor.builder()
+        .withId(2)
+        .withIndex(1025)
+        .withMaxSegmentSize(1024 * 1024)
+        .withMaxEntries(2048)
+        .withChecksumType(ChecksumType.CRC32C)
+        .build();
+    assertEquals(ChecksumType.CRC32C, descriptor.checksumType());
+
+    descriptor = descriptor.copyTo(ByteBuffer.allocate(JournalSegmentDescriptor.BYTES));
+    assertEquals(ChecksumType.CRC32C, descriptor.checksumType());
+  }
+
+  /**
+   * Tests the segment compression type.
+   */
+  @Test
+  public void testDescriptorCompressionType() {
+    JournalSegmentDescriptor descriptor = JournalSegmentDescriptor.builder()
+        .withId(2)
+        .withIndex(1025)
+        .withMaxSegmentSize(1024 * 1024)
+        .withMaxEntries(2048)
+        .build();
+    assertEquals(CompressionType.NONE, descriptor.compressionType());
+
+    descriptor = JournalSegmentDescriptor.builder()
+        .withId(2)
+        .withIndex(1025)
+        .withMaxSegmentSize(1024 * 1024)
+        .withMaxEntries(2048)
+        .withChecksumType(ChecksumType.CRC32C)
+        .withCompressionType(CompressionType.DEFLATE)
+        .build();
+    assertEquals(ChecksumType.CRC32C, descriptor.checksumType());
+    assertEquals(CompressionType.DEFLATE, descriptor.compressionType());
+
+    ByteBuffer buffer = ByteBuffer.allocate(JournalSegmentDescriptor.BYTES);
+    descriptor.copyTo(buffer);
+    buffer.flip();
+    descriptor = new JournalSegmentDescriptor(buffer);
+    assertEquals(ChecksumType.CRC32C, descriptor.checksumType());
+    assertEquals(CompressionType.DEFLATE, descriptor.compressionType());
+  }
 }
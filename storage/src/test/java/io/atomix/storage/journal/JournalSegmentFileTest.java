@@ -40,4 +40,24 @@ public class JournalSegmentFileTest {
     assertTrue(JournalSegmentFile.isSegmentFile("foo", file));
   }
 
+  @Test
+  public void testIndexFile() throws Exception {
+    File file = JournalSegmentFile.createSegmentFile("foo", new File(System.getProperty("user.dir")), 1);
+    File indexFile = new JournalSegmentFile(file).indexFile();
+    assertTrue(JournalSegmentFile.isIndexFile("foo", indexFile));
+    assertFalse(JournalSegmentFile.isIndexFile("bar", indexFile));
+    assertFalse(JournalSegmentFile.isIndexFile("foo", file));
+    assertFalse(JournalSegmentFile.isSegmentFile("foo", indexFile));
+  }
+
+  @Test
+  public void testAllocatedFile() throws Exception {
+    File directory = new File(System.getProperty("user.dir"));
+    File file = JournalSegmentFile.createAllocatedFile("foo", directory, 1);
+    assertTrue(JournalSegmentFile.isAllocatedFile("foo", file));
+    assertFalse(JournalSegmentFile.isAllocatedFile("bar", file));
+    assertFalse(JournalSegmentFile.isSegmentFile("foo", file));
+    assertFalse(JournalSegmentFile.isAllocatedFile("foo", JournalSegmentFile.createSegmentFile("foo", directory, 1)));
+  }
+
 }
@@ -15,9 +15,19 @@
  */
 package io.atomix.storage.journal;
 
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -64,4 +74,327 @@ public abstract class PersistentJournalTest extends AbstractJournalTest {
     assertEquals(reader.getFirstIndex(), reader.getNextIndex());
     assertEquals(entriesPerSegment + 1, reader.next().index());
   }
+
+  /**
+   * Tests grouping commits into a single flush.
+   */
+  @Test
+  public void testGroupCommit() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withFlushOnCommit()
+        .withGroupCommitWindow(Duration.ofMillis(10))
+        .build();
+
+    // Append and commit entries across multiple segments.
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 1; i <= entriesPerSegment * 3; i++) {
+      assertEquals(i, writer.append(ENTRY).index());
+      futures.add(writer.commitAsync(i));
+    }
+
+    // Ensure all commits are completed by the grouped flushes.
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(10, TimeUnit.SECONDS);
+    journal.close();
+
+    // Reopen the journal and ensure the committed entries were persisted.
+    journal = createJournal();
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= entriesPerSegment * 3; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    journal.close();
+  }
+
+  /**
+   * Tests persisting segment indexes.
+   */
+  @Test
+  public void testPersistIndex() throws Exception {
+    SegmentedJournal<TestEntry> journal = createJournal();
+
+    // Write three segments to the journal.
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 3; i++) {
+      writer.append(ENTRY);
+    }
+
+    // Close the journal and ensure an index file was written for each segment.
+    List<JournalSegment<TestEntry>> segments = new ArrayList<>(journal.segments());
+    journal.close();
+    for (JournalSegment<TestEntry> segment : segments) {
+      assertTrue(segment.file().indexFile().exists());
+    }
+
+    // Reopen the journal and read entries using the persisted indexes.
+    journal = createJournal();
+    JournalReader<TestEntry> reader = journal.openReader(entriesPerSegment * 2);
+    assertEquals(entriesPerSegment * 2, reader.getNextIndex());
+    assertTrue(reader.hasNext());
+    assertEquals(entriesPerSegment * 2, reader.next().index());
+    reader.reset(entriesPerSegment + 1);
+    assertEquals(entriesPerSegment + 1, reader.next().index());
+    assertEquals(entriesPerSegment * 3, journal.writer().getLastIndex());
+
+    // Ensure index files are removed along with compacted segments.
+    journal.writer().commit(entriesPerSegment * 3);
+    journal.compact(entriesPerSegment * 2 + 1);
+    assertFalse(segments.get(0).file().indexFile().exists());
+    journal.close();
+  }
+
+  /**
+   * Tests recovering checkpointed segments.
+   */
+  @Test
+  public void testCheckpointRecovery() throws Exception {
+    SegmentedJournal<TestEntry> journal = createJournal();
+
+    // Write two and a half segments to the journal.
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 2 + entriesPerSegment / 2; i++) {
+      writer.append(ENTRY);
+    }
+    long lastIndex = writer.getLastIndex();
+
+    // Rolled over segments are checkpointed at their last entry.
+    JournalSegment<TestEntry> first = journal.getFirstSegment();
+    assertEquals(first.lastIndex(), first.descriptor().checkpointIndex());
+    journal.close();
+
+    // Reopen the journal and verify the checkpointed segments were recovered.
+    journal = createJournal();
+    assertEquals(lastIndex, journal.getLastSegment().descriptor().checkpointIndex());
+    writer = journal.writer();
+    assertEquals(lastIndex, writer.getLastIndex());
+    assertEquals(lastIndex + 1, writer.append(ENTRY).index());
+
+    // Truncate below the checkpoint and ensure the checkpoint is cleared.
+    writer.truncate(lastIndex - 1);
+    assertEquals(0, journal.getLastSegment().descriptor().checkpointIndex());
+    assertEquals(lastIndex, writer.append(ENTRY).index());
+    journal.close();
+
+    journal = createJournal();
+    assertEquals(lastIndex, journal.writer().getLastIndex());
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    long index = 0;
+    while (reader.hasNext()) {
+      index = reader.next().index();
+    }
+    assertEquals(lastIndex, index);
+    journal.close();
+  }
+
+  /**
+   * Tests reading segments written with a different checksum type.
+   */
+  @Test
+  public void testChecksumTypeChange() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withChecksumType(ChecksumType.CRC32)
+        .build();
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 2; i++) {
+      writer.append(ENTRY);
+    }
+    journal.close();
+
+    // Reopen the journal with a different checksum type and append to a new segment.
+    journal = journalBuilder()
+        .withChecksumType(ChecksumType.CRC32C)
+        .build();
+    assertEquals(ChecksumType.CRC32, journal.getFirstSegment().descriptor().checksumType());
+    writer = journal.writer();
+    assertEquals(entriesPerSegment * 2, writer.getLastIndex());
+    for (int i = 0; i < entriesPerSegment; i++) {
+      writer.append(ENTRY);
+    }
+    assertEquals(ChecksumType.CRC32C, journal.getLastSegment().descriptor().checksumType());
+    journal.close();
+
+    journal = createJournal();
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= entriesPerSegment * 3; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  /**
+   * Tests rolling over to pre-allocated segments.
+   */
+  @Test
+  public void testPreallocatedSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withPreallocatedSegments(2)
+        .build();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 5; i++) {
+      writer.append(ENTRY);
+    }
+    assertEquals(4, journal.segmentCreationCount());
+    assertTrue(journal.segmentCreationTime().toNanos() > 0);
+    File directory = journal.directory();
+    journal.close();
+
+    // Ensure unclaimed segment files are removed when the journal is closed.
+    assertEquals(0, directory.listFiles(file -> JournalSegmentFile.isAllocatedFile("test", file)).length);
+
+    journal = createJournal();
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= entriesPerSegment * 5; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  /**
+   * Tests that segments are not pre-allocated by default.
+   */
+  @Test
+  public void testPreallocationDisabledByDefault() throws Exception {
+    SegmentedJournal<TestEntry> journal = createJournal();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 2; i++) {
+      writer.append(ENTRY);
+    }
+    assertEquals(0, journal.directory().listFiles(file -> JournalSegmentFile.isAllocatedFile("test", file)).length);
+    journal.close();
+  }
+
+  /**
+   * Tests deleting compacted segments in the background.
+   */
+  @Test
+  public void testCompactInBackground() throws Exception {
+    SegmentedJournal<TestEntry> journal = createJournal();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 3; i++) {
+      writer.append(ENTRY);
+    }
+    writer.commit(entriesPerSegment * 3);
+
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    assertEquals(1, reader.next().index());
+
+    File file = JournalSegmentFile.createSegmentFile("test", journal.directory(), 1);
+    assertTrue(file.exists());
+    journal.compact(entriesPerSegment + 1);
+
+    // Readers are reset to the new head of the journal before compact returns.
+    assertEquals(entriesPerSegment + 1, reader.getNextIndex());
+    assertEquals(entriesPerSegment + 1, reader.next().index());
+
+    // The compacted segment is deleted in the background once it has been released.
+    long deadline = System.currentTimeMillis() + 10000;
+    while (file.exists() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertFalse(file.exists());
+    reader.close();
+    journal.close();
+  }
+
+  /**
+   * Tests compressing committed segments.
+   */
+  @Test
+  public void testCompressCommittedSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withCompressionType(CompressionType.DEFLATE)
+        .build();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment * 4; i++) {
+      writer.append(ENTRY);
+    }
+
+    // Only segments preceding the segment containing the commit index are compressed.
+    writer.commit(entriesPerSegment * 2 + 1);
+    long deadline = System.currentTimeMillis() + 10000;
+    while (journal.getSegment(entriesPerSegment * 2).descriptor().compressionType() == CompressionType.NONE
+        && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(CompressionType.DEFLATE, journal.getSegment(1).descriptor().compressionType());
+    assertEquals(CompressionType.DEFLATE, journal.getSegment(entriesPerSegment * 2).descriptor().compressionType());
+    assertEquals(CompressionType.NONE, journal.getSegment(entriesPerSegment * 2 + 1).descriptor().compressionType());
+
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= entriesPerSegment * 4; i++) {
+      assertTrue(reader.hasNext());
+      Indexed<TestEntry> entry = reader.next();
+      assertEquals(i, entry.index());
+      assertArrayEquals(ENTRY.bytes(), entry.entry().bytes());
+    }
+    assertFalse(reader.hasNext());
+
+    // Raw entry checksums must match the uncompressed bytes for both compressed and uncompressed segments.
+    JournalChecksum crc = JournalChecksum.create(journal.getSegment(1).descriptor().checksumType());
+    reader.reset();
+    for (int i = 1; i <= entriesPerSegment * 4; i++) {
+      RawEntry raw = reader.nextRaw();
+      ByteBuffer buffer = raw.buffer();
+      assertEquals(i, raw.index());
+      assertEquals(crc.compute(buffer, buffer.position(), buffer.remaining()), raw.checksum());
+    }
+
+    reader.reset(entriesPerSegment / 2);
+    assertEquals(entriesPerSegment / 2, reader.next().index());
+    journal.close();
+
+    // Ensure compressed segments are decompressed when the journal is recovered.
+    journal = createJournal();
+    assertEquals(CompressionType.DEFLATE, journal.getSegment(1).descriptor().compressionType());
+    reader = journal.openReader(1);
+    for (int i = 1; i <= entriesPerSegment * 4; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    journal.close();
+  }
+
+  /**
+   * Tests appending entries while grouped flushes are in progress.
+   */
+  @Test
+  public void testGroupCommitConcurrentFlush() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withFlushOnCommit()
+        .withGroupCommitWindow(Duration.ofMillis(1))
+        .withGroupCommitBytes(1)
+        .build();
+
+    // Commit each entry so flushes run on the flusher thread while the next entries are being appended.
+    SegmentedJournalWriter<TestEntry> writer = journal.writer();
+    CompletableFuture<Void> future = null;
+    for (int i = 1; i <= entriesPerSegment * 5; i++) {
+      assertEquals(i, writer.append(ENTRY).index());
+      future = writer.commitAsync(i);
+    }
+
+    // A synchronous commit must not return until the grouped flush has completed.
+    writer.append(ENTRY);
+    writer.commit(entriesPerSegment * 5 + 1);
+    assertTrue(future.isDone());
+    journal.close();
+
+    journal = createJournal();
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 1; i <= entriesPerSegment * 5 + 1; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    journal.close();
+  }
 }
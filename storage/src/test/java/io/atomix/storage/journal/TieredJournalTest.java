@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.atomix.storage.StorageLevel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tiered journal test.
+ */
+public class TieredJournalTest extends PersistentJournalTest {
+  public TieredJournalTest(int maxSegmentSize, int cacheSize) {
+    super(maxSegmentSize, cacheSize);
+  }
+
+  @Override
+  protected StorageLevel storageLevel() {
+    return StorageLevel.TIERED;
+  }
+
+  /**
+   * Tests moving segments between the mapped and disk tiers.
+   */
+  @Test
+  public void testTieredSegments() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withMappedSegments(2)
+        .build();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    JournalReader<TestEntry> reader = journal.openReader(1);
+    for (int i = 0; i < entriesPerSegment; i++) {
+      writer.append(ENTRY);
+    }
+    assertEquals(1, reader.next().index());
+    assertNotNull(journal.getSegment(1).writer().buffer());
+
+    // Once two newer segments have been created, the first segment leaves the mapped tier but remains mapped
+    // while the reader is still reading it.
+    for (int i = 0; i < entriesPerSegment * 2; i++) {
+      writer.append(ENTRY);
+    }
+    assertNotNull(journal.getSegment(1).writer().buffer());
+    assertNotNull(journal.getLastSegment().writer().buffer());
+
+    // Once the reader moves on to the next segment, the first segment is unmapped.
+    for (int i = 2; i <= entriesPerSegment * 3; i++) {
+      assertTrue(reader.hasNext());
+      assertEquals(i, reader.next().index());
+    }
+    assertFalse(reader.hasNext());
+    assertNull(journal.getSegment(1).writer().buffer());
+
+    // Reading the first segment again reads it from disk.
+    reader.reset(1);
+    assertNull(journal.getSegment(1).writer().buffer());
+
+    // Truncating the newest segment moves the first segment back into the mapped tier the next time it's acquired.
+    writer.truncate(entriesPerSegment * 2 - 1);
+    assertNull(journal.getSegment(1).writer().buffer());
+    reader.close();
+    reader = journal.openReader(1);
+    assertNotNull(journal.getSegment(1).writer().buffer());
+    reader.close();
+    journal.close();
+  }
+
+  /**
+   * Tests reading a segment on another thread while segments move between the mapped and disk tiers.
+   */
+  @Test
+  public void testConcurrentReadWhileTiering() throws Exception {
+    SegmentedJournal<TestEntry> journal = journalBuilder()
+        .withMappedSegments(1)
+        .build();
+
+    JournalWriter<TestEntry> writer = journal.writer();
+    for (int i = 0; i < entriesPerSegment; i++) {
+      writer.append(ENTRY);
+    }
+
+    AtomicBoolean running = new AtomicBoolean(true);
+    CompletableFuture<Integer> future = CompletableFuture.supplyAsync(() -> {
+      int passes = 0;
+      try (JournalReader<TestEntry> reader = journal.openReader(1)) {
+        while (running.get() || passes == 0) {
+          reader.reset(1);
+          for (int i = 1; i <= entriesPerSegment; i++) {
+            Indexed<TestEntry> entry = reader.next();
+            assertEquals(i, entry.index());
+            assertArrayEquals(ENTRY.bytes(), entry.entry().bytes());
+          }
+          passes++;
+        }
+      }
+      return passes;
+    });
+
+    // Repeatedly move the first segment out of and back into the mapped tier while it's being read.
+    for (int i = 0; i < 10; i++) {
+      for (int j = 0; j < entriesPerSegment * 2; j++) {
+        writer.append(ENTRY);
+      }
+      writer.truncate(entriesPerSegment);
+    }
+    running.set(false);
+    assertTrue(future.get(10, TimeUnit.SECONDS) > 0);
+    journal.close();
+  }
+}
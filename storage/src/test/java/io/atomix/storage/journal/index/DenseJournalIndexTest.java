@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.storage.journal.index;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Dense journal index test.
+ */
+public class DenseJournalIndexTest {
+  @Test
+  public void testDenseJournalIndex() throws Exception {
+    JournalIndex index = new DenseJournalIndex(.2);
+    assertNull(index.lookup(1));
+    index.index(1, 2);
+    assertNull(index.lookup(1));
+    index.index(2, 4);
+    index.index(3, 6);
+    index.index(4, 8);
+    index.index(5, 10);
+    assertEquals(5, index.lookup(5).index());
+    assertEquals(10, index.lookup(5).position());
+    index.index(6, 12);
+    index.index(7, 14);
+    index.index(8, 16);
+    assertEquals(5, index.lookup(8).index());
+    assertEquals(10, index.lookup(8).position());
+    index.index(9, 18);
+    index.index(10, 20);
+    assertEquals(10, index.lookup(10).index());
+    assertEquals(20, index.lookup(10).position());
+    index.truncate(8);
+    assertEquals(5, index.lookup(8).index());
+    assertEquals(10, index.lookup(8).position());
+    assertEquals(5, index.lookup(10).index());
+    assertEquals(10, index.lookup(10).position());
+    index.truncate(4);
+    assertNull(index.lookup(4));
+    assertNull(index.lookup(8));
+
+    index = new DenseJournalIndex(.2);
+    assertNull(index.lookup(100));
+    index.index(101, 2);
+    assertNull(index.lookup(1));
+    index.index(102, 4);
+    index.index(103, 6);
+    index.index(104, 8);
+    index.index(105, 10);
+    assertEquals(105, index.lookup(105).index());
+    assertEquals(10, index.lookup(105).position());
+    index.index(106, 12);
+    index.index(107, 14);
+    index.index(108, 16);
+    assertEquals(105, index.lookup(108).index());
+    assertEquals(10, index.lookup(108).position());
+    index.index(109, 18);
+    index.index(110, 20);
+    assertEquals(110, index.lookup(110).index());
+    assertEquals(20, index.lookup(110).position());
+    index.truncate(108);
+    assertEquals(105, index.lookup(108).index());
+    assertEquals(10, index.lookup(108).position());
+    assertEquals(105, index.lookup(110).index());
+    assertEquals(10, index.lookup(110).position());
+    index.truncate(104);
+    assertNull(index.lookup(104));
+    assertNull(index.lookup(108));
+  }
+
+  @Test
+  public void testMutableLookup() throws Exception {
+    DenseJournalIndex index = new DenseJournalIndex(.2);
+    MutablePosition position = new MutablePosition();
+    assertFalse(index.lookup(1, position));
+    for (int i = 1; i <= 100; i++) {
+      index.index(i, i * 2);
+    }
+    assertFalse(index.lookup(4, position));
+    assertTrue(index.lookup(54, position));
+    assertEquals(50, position.index());
+    assertEquals(100, position.position());
+    assertTrue(index.lookup(100, position));
+    assertEquals(100, position.index());
+    assertEquals(200, position.position());
+  }
+
+  @Test
+  public void testConcurrentLookup() throws Exception {
+    DenseJournalIndex index = new DenseJournalIndex(1);
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicReference<String> failure = new AtomicReference<>();
+    Thread reader = new Thread(() -> {
+      MutablePosition position = new MutablePosition();
+      while (running.get()) {
+        long i = ThreadLocalRandom.current().nextLong(1, 1000);
+        if (index.lookup(i, position) && (position.index() > i || position.position() != position.index() * 2)) {
+          failure.set("lookup " + i + " returned " + position);
+        }
+      }
+    });
+    reader.start();
+
+    // Repeatedly grow and truncate the index while it's being read.
+    for (int round = 0; round < 100; round++) {
+      for (int i = 1; i <= 1000; i++) {
+        index.index(i, i * 2);
+      }
+      index.truncate(ThreadLocalRandom.current().nextInt(1000));
+    }
+    running.set(false);
+    reader.join();
+    assertNull(failure.get());
+  }
+
+  @Test
+  public void testReindex() throws Exception {
+    DenseJournalIndex index = new DenseJournalIndex(.2);
+    for (int i = 1; i <= 100; i++) {
+      index.index(i, i * 2);
+    }
+    assertEquals(20, index.size());
+
+    // Re-indexing an existing entry at the same position is a no-op.
+    index.index(50, 100);
+    assertEquals(20, index.size());
+    assertEquals(100, index.lookup(100).index());
+
+    // Re-indexing an existing entry at a different position removes all following entries.
+    index.index(50, 101);
+    assertEquals(10, index.size());
+    assertEquals(50, index.lookup(100).index());
+    assertEquals(101, index.lookup(100).position());
+  }
+
+  @Test
+  public void testCopyAndLoad() throws Exception {
+    DenseJournalIndex index = new DenseJournalIndex(.2);
+    for (int i = 1; i <= 100; i++) {
+      index.index(i, i * 2);
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate(index.bytes());
+    index.copyTo(buffer);
+    assertFalse(buffer.hasRemaining());
+    buffer.flip();
+
+    DenseJournalIndex loaded = new DenseJournalIndex(.2);
+    assertTrue(loaded.load(buffer));
+    assertEquals(20, loaded.size());
+    assertEquals(55, loaded.lookup(57).index());
+    assertEquals(110, loaded.lookup(57).position());
+
+    buffer.rewind();
+    buffer.put(Integer.BYTES, (byte) 1);
+    assertFalse(new DenseJournalIndex(.2).load(buffer));
+  }
+}
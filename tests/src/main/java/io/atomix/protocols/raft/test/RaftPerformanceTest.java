@@ -86,6 +86,8 @@ import io.atomix.protocols.raft.protocol.QueryResponse;
 import io.atomix.protocols.raft.protocol.RaftClientProtocol;
 import io.atomix.protocols.raft.protocol.RaftResponse;
 import io.atomix.protocols.raft.protocol.RaftServerProtocol;
+import io.atomix.protocols.raft.protocol.ReadIndexRequest;
+import io.atomix.protocols.raft.protocol.ReadIndexResponse;
 import io.atomix.protocols.raft.protocol.ReconfigureRequest;
 import io.atomix.protocols.raft.protocol.ReconfigureResponse;
 import io.atomix.protocols.raft.protocol.ResetRequest;
@@ -199,6 +201,8 @@ public class RaftPerformanceTest implements Runnable {
       .register(AppendResponse.class)
       .register(PublishRequest.class)
       .register(ResetRequest.class)
+      .register(ReadIndexRequest.class)
+      .register(ReadIndexResponse.class)
       .register(RaftResponse.Status.class)
       .register(RaftError.class)
       .register(RaftError.Type.class)
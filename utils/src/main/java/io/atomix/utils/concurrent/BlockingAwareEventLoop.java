@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Single threaded event loop shared by multiple {@link BlockingAwareEventLoopContext}s.
+ * <p>
+ * While a context blocks the event loop thread, the work queued on the event loop and all work submitted to it until
+ * the context is unblocked is executed on a separate thread pool. This ensures a context blocked on the event loop
+ * thread cannot prevent the other contexts sharing the event loop from making progress, including contexts on which
+ * the blocked context may be waiting.
+ */
+class BlockingAwareEventLoop implements Executor {
+  private final ThreadPoolExecutor executor;
+  private final Executor threadPoolExecutor;
+  private volatile Thread thread;
+  private int blocked;
+
+  BlockingAwareEventLoop(ThreadFactory threadFactory, Executor threadPoolExecutor) {
+    checkNotNull(threadFactory, "threadFactory cannot be null");
+    this.threadPoolExecutor = checkNotNull(threadPoolExecutor, "threadPoolExecutor cannot be null");
+    this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+      Thread thread = threadFactory.newThread(r);
+      this.thread = thread;
+      return thread;
+    });
+  }
+
+  @Override
+  public synchronized void execute(Runnable command) {
+    if (blocked > 0) {
+      threadPoolExecutor.execute(command);
+    } else {
+      executor.execute(command);
+    }
+  }
+
+  /**
+   * Returns whether the current thread is the event loop thread.
+   *
+   * @return whether the current thread is the event loop thread
+   */
+  boolean inEventLoop() {
+    return Thread.currentThread() == thread;
+  }
+
+  /**
+   * Marks the event loop thread as blocked, handing off queued work to the thread pool.
+   */
+  synchronized void block() {
+    blocked++;
+    List<Runnable> tasks = new ArrayList<>();
+    executor.getQueue().drainTo(tasks);
+    tasks.forEach(threadPoolExecutor::execute);
+  }
+
+  /**
+   * Marks the event loop thread as unblocked.
+   */
+  synchronized void unblock() {
+    blocked--;
+  }
+
+  /**
+   * Shuts down the event loop.
+   */
+  void close() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.concurrent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.LinkedList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Blocking aware event loop context.
+ * <p>
+ * The context executes events in order on a single threaded event loop that may be shared with other contexts. While
+ * the context is blocked, its own events are executed on a separate thread pool so that it cannot prevent its own
+ * events from completing. If the context blocks the event loop thread, the event loop also hands off the work of the
+ * other contexts sharing it to the thread pool until the context is unblocked. Scheduled events are dispatched to the
+ * context by a shared scheduler so that timers fire even while the event loop is blocked.
+ */
+public class BlockingAwareEventLoopContext extends AbstractThreadContext {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BlockingAwareEventLoopContext.class);
+  private final BlockingAwareEventLoop eventLoop;
+  private final ScheduledExecutorService scheduler;
+  private final Executor threadPoolExecutor;
+  private final Runnable runner;
+  private final LinkedList<Runnable> tasks = new LinkedList<>();
+  private boolean running;
+  private boolean blockedEventLoop;
+
+  BlockingAwareEventLoopContext(BlockingAwareEventLoop eventLoop, ScheduledExecutorService scheduler, Executor threadPoolExecutor) {
+    this.eventLoop = checkNotNull(eventLoop, "eventLoop cannot be null");
+    this.scheduler = checkNotNull(scheduler, "scheduler cannot be null");
+    this.threadPoolExecutor = checkNotNull(threadPoolExecutor, "threadPoolExecutor cannot be null");
+    this.runner = () -> {
+      ((AtomixThread) Thread.currentThread()).setContext(this);
+      for (;;) {
+        final Runnable task;
+        synchronized (tasks) {
+          task = tasks.poll();
+          if (task == null) {
+            running = false;
+            return;
+          }
+        }
+
+        try {
+          task.run();
+        } catch (Throwable t) {
+          LOGGER.error("An uncaught exception occurred", t);
+          throw t;
+        }
+      }
+    };
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (isBlocked()) {
+      threadPoolExecutor.execute(command);
+    } else {
+      synchronized (tasks) {
+        tasks.add(command);
+        if (!running) {
+          running = true;
+          eventLoop.execute(runner);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void block() {
+    super.block();
+    if (eventLoop.inEventLoop()) {
+      blockedEventLoop = true;
+      eventLoop.block();
+    }
+  }
+
+  @Override
+  public void unblock() {
+    if (blockedEventLoop) {
+      blockedEventLoop = false;
+      eventLoop.unblock();
+    }
+    super.unblock();
+  }
+
+  @Override
+  public Scheduled schedule(Duration delay, Runnable runnable) {
+    ScheduledFuture<?> future = scheduler.schedule(() -> execute(runnable), delay.toMillis(), TimeUnit.MILLISECONDS);
+    return () -> future.cancel(false);
+  }
+
+  @Override
+  public Scheduled schedule(Duration delay, Duration interval, Runnable runnable) {
+    ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> execute(runnable), delay.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    return () -> future.cancel(false);
+  }
+
+  @Override
+  public void close() {
+    // Do nothing.
+  }
+}
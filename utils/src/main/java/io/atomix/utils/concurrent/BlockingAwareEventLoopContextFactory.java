@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.concurrent;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static io.atomix.utils.concurrent.Threads.namedThreads;
+
+/**
+ * Event loop context factory.
+ * <p>
+ * The factory creates a fixed set of single threaded event loops, and each context created by the factory is assigned
+ * to one of the event loops in round robin order. Events for a context are always executed in order on the context's
+ * event loop, so many contexts can share a small number of threads. Scheduled events are dispatched to their contexts
+ * by a single shared scheduler thread, and events are handed off to a shared cached thread pool while an event loop
+ * is blocked.
+ */
+public class BlockingAwareEventLoopContextFactory implements ThreadContextFactory {
+  private final BlockingAwareEventLoop[] eventLoops;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService threadPoolExecutor;
+  private final AtomicInteger counter = new AtomicInteger();
+
+  public BlockingAwareEventLoopContextFactory(String nameFormat, int eventLoops, Logger logger) {
+    this(eventLoops, namedThreads(nameFormat, logger));
+  }
+
+  public BlockingAwareEventLoopContextFactory(int eventLoops, ThreadFactory threadFactory) {
+    checkArgument(eventLoops > 0, "eventLoops must be positive");
+    checkNotNull(threadFactory);
+    this.threadPoolExecutor = Executors.newCachedThreadPool(threadFactory);
+    this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+    this.eventLoops = new BlockingAwareEventLoop[eventLoops];
+    for (int i = 0; i < eventLoops; i++) {
+      this.eventLoops[i] = new BlockingAwareEventLoop(threadFactory, threadPoolExecutor);
+    }
+  }
+
+  @Override
+  public ThreadContext createContext() {
+    int index = Math.floorMod(counter.getAndIncrement(), eventLoops.length);
+    return new BlockingAwareEventLoopContext(eventLoops[index], scheduler, threadPoolExecutor);
+  }
+
+  @Override
+  public void close() {
+    for (BlockingAwareEventLoop eventLoop : eventLoops) {
+      eventLoop.close();
+    }
+    scheduler.shutdownNow();
+    threadPoolExecutor.shutdownNow();
+  }
+}
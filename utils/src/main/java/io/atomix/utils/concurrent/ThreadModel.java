@@ -40,6 +40,19 @@ public enum ThreadModel {
     public ThreadContextFactory factory(String nameFormat, int threadPoolSize, Logger logger) {
       return new BlockingAwareSingleThreadContextFactory(nameFormat, threadPoolSize, logger);
     }
+  },
+
+  /**
+   * A thread model that multiplexes all Raft servers and services onto a fixed set of event loops.
+   * <p>
+   * Each Raft server's internal contexts and each service are assigned to one of {@code threadPoolSize} single
+   * threaded event loops, and events for each are executed in order on their event loop.
+   */
+  SHARED_EVENT_LOOP {
+    @Override
+    public ThreadContextFactory factory(String nameFormat, int threadPoolSize, Logger logger) {
+      return new BlockingAwareEventLoopContextFactory(nameFormat, threadPoolSize, logger);
+    }
   };
 
   /**
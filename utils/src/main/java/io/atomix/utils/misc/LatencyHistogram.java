@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.misc;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Lock-free log-linear latency histogram.
+ * <p>
+ * Values are counted in buckets that double in width with each power of two, and each power of two is divided into
+ * 16 linear sub-buckets. Values are therefore recorded with a relative error of at most 1/16 in a fixed amount of
+ * memory, regardless of how many values are recorded. Recording a value takes a few atomic increments, so values
+ * can be recorded and percentiles read concurrently without locking.
+ * <p>
+ * Negative values are recorded as zero, and values greater than about 2<sup>41</sup> are recorded as the maximum
+ * trackable value.
+ */
+public final class LatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 40;
+  private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(bucketIndex(MAX_VALUE) + 1);
+  private final LongAdder count = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  /**
+   * Records a value.
+   *
+   * @param value the value to record
+   */
+  public void record(long value) {
+    long boundedValue = Math.max(0, Math.min(value, MAX_VALUE));
+    counts.incrementAndGet(bucketIndex(boundedValue));
+    count.increment();
+    long currentMax = max.get();
+    while (boundedValue > currentMax && !max.compareAndSet(currentMax, boundedValue)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Returns the number of recorded values.
+   *
+   * @return the number of recorded values
+   */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Returns the maximum recorded value.
+   *
+   * @return the maximum recorded value
+   */
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Returns the value at the given percentile.
+   * <p>
+   * The returned value is the upper bound of the bucket containing the percentile, so it's no less than the exact
+   * value at the percentile and no greater than the maximum recorded value.
+   *
+   * @param percentile the percentile in the range {@code [0, 100]}
+   * @return the value at the given percentile or {@code 0} if no values have been recorded
+   */
+  public long getValueAtPercentile(double percentile) {
+    checkArgument(percentile >= 0 && percentile <= 100, "percentile must be in the range [0, 100]");
+    long total = getCount();
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * Returns the index of the bucket for the given value.
+   */
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+  }
+
+  /**
+   * Returns the greatest value counted in the bucket at the given index.
+   */
+  static long upperBound(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int shift = index / SUB_BUCKET_COUNT - 1;
+    int subBucket = index % SUB_BUCKET_COUNT;
+    return ((long) (SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+  }
+
+  @Override
+  public String toString() {
+    return toStringHelper(this)
+        .add("count", getCount())
+        .add("p50", getValueAtPercentile(50))
+        .add("p99", getValueAtPercentile(99))
+        .add("p999", getValueAtPercentile(99.9))
+        .add("max", getMax())
+        .toString();
+  }
+}
@@ -20,6 +20,7 @@ import com.esotericsoftware.kryo.Registration;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.ByteBufferInput;
 import com.esotericsoftware.kryo.io.ByteBufferOutput;
+import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.pool.KryoCallback;
 import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
@@ -31,7 +32,6 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.objenesis.strategy.StdInstantiatorStrategy;
 import org.slf4j.Logger;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
@@ -86,7 +86,6 @@ public final class Namespace implements KryoFactory, KryoPool {
       .build();
 
   private final KryoOutputPool kryoOutputPool = new KryoOutputPool();
-  private final KryoInputPool kryoInputPool = new KryoInputPool();
 
   private final ImmutableList<RegistrationBlock> registeredBlocks;
 
@@ -345,6 +344,11 @@ public final class Namespace implements KryoFactory, KryoPool {
     return kryoOutputPool.run(output -> {
       return kryoPool.run(kryo -> {
         kryo.writeClassAndObject(output, obj);
+        // If the object fit in the output buffer, copy the bytes directly out of the buffer rather than
+        // flushing them to the stream and copying them again.
+        if (output.getByteArrayOutputStream().size() == 0) {
+          return output.toBytes();
+        }
         output.flush();
         return output.getByteArrayOutputStream().toByteArray();
       });
@@ -404,14 +408,13 @@ public final class Namespace implements KryoFactory, KryoPool {
    * @return deserialized Object
    */
   public <T> T deserialize(final byte[] bytes) {
-    return kryoInputPool.run(input -> {
-      input.setInputStream(new ByteArrayInputStream(bytes));
-      return kryoPool.run(kryo -> {
-        @SuppressWarnings("unchecked")
-        T obj = (T) kryo.readClassAndObject(input);
-        return obj;
-      });
-    }, DEFAULT_BUFFER_SIZE);
+    // Read directly from the given bytes rather than copying them into a pooled input buffer.
+    Input input = new Input(bytes);
+    return kryoPool.run(kryo -> {
+      @SuppressWarnings("unchecked")
+      T obj = (T) kryo.readClassAndObject(input);
+      return obj;
+    });
   }
 
   /**
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.concurrent;
+
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Event loop context factory test.
+ */
+public class BlockingAwareEventLoopContextFactoryTest {
+
+  /**
+   * Tests that events are executed in order on each context.
+   */
+  @Test
+  public void testOrderedExecution() throws Throwable {
+    ThreadContextFactory factory = new BlockingAwareEventLoopContextFactory(
+        "test-event-loop-%d", 2, LoggerFactory.getLogger(getClass()));
+    try {
+      List<ThreadContext> contexts = new ArrayList<>();
+      List<List<Integer>> results = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        contexts.add(factory.createContext());
+        results.add(new ArrayList<>());
+      }
+
+      for (int i = 0; i < 1000; i++) {
+        int value = i;
+        for (int j = 0; j < contexts.size(); j++) {
+          ThreadContext context = contexts.get(j);
+          List<Integer> result = results.get(j);
+          context.execute(() -> {
+            assertSame(context, ThreadContext.currentContext());
+            result.add(value);
+          });
+        }
+      }
+
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (ThreadContext context : contexts) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        context.execute(() -> future.complete(null));
+        futures.add(future);
+      }
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture[futures.size()])).get(10, TimeUnit.SECONDS);
+
+      for (List<Integer> result : results) {
+        assertEquals(1000, result.size());
+        for (int i = 0; i < result.size(); i++) {
+          assertEquals(i, (int) result.get(i));
+        }
+      }
+    } finally {
+      factory.close();
+    }
+  }
+
+  /**
+   * Tests that contexts share a fixed number of event loop threads.
+   */
+  @Test
+  public void testSharedEventLoops() throws Throwable {
+    ThreadContextFactory factory = new BlockingAwareEventLoopContextFactory(
+        "test-event-loop-%d", 2, LoggerFactory.getLogger(getClass()));
+    try {
+      List<CompletableFuture<Thread>> futures = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        CompletableFuture<Thread> future = new CompletableFuture<>();
+        factory.createContext().execute(() -> future.complete(Thread.currentThread()));
+        futures.add(future);
+      }
+
+      assertSame(futures.get(0).get(10, TimeUnit.SECONDS), futures.get(2).get(10, TimeUnit.SECONDS));
+      assertSame(futures.get(1).get(10, TimeUnit.SECONDS), futures.get(3).get(10, TimeUnit.SECONDS));
+      assertTrue(futures.get(0).get() != futures.get(1).get());
+    } finally {
+      factory.close();
+    }
+  }
+
+  /**
+   * Tests that a context blocked on a future completed by another context on the same event loop does not deadlock.
+   */
+  @Test
+  public void testBlockOnSiblingContext() throws Throwable {
+    ThreadContextFactory factory = new BlockingAwareEventLoopContextFactory(
+        "test-event-loop-%d", 1, LoggerFactory.getLogger(getClass()));
+    try {
+      ThreadContext context1 = factory.createContext();
+      ThreadContext context2 = factory.createContext();
+      CompletableFuture<String> result = new CompletableFuture<>();
+      context1.execute(() -> {
+        // The sibling's event is queued on the shared event loop before the context blocks the event loop thread.
+        CompletableFuture<String> future = new AtomixFuture<>();
+        context2.execute(() -> future.complete("foo"));
+        try {
+          result.complete(future.get(10, TimeUnit.SECONDS));
+        } catch (Exception e) {
+          result.completeExceptionally(e);
+        }
+      });
+      assertEquals("foo", result.get(10, TimeUnit.SECONDS));
+    } finally {
+      factory.close();
+    }
+  }
+
+  /**
+   * Tests that other contexts on an event loop make progress while a context blocks the event loop thread.
+   */
+  @Test
+  public void testProgressWhileBlocked() throws Throwable {
+    ThreadContextFactory factory = new BlockingAwareEventLoopContextFactory(
+        "test-event-loop-%d", 1, LoggerFactory.getLogger(getClass()));
+    try {
+      ThreadContext context1 = factory.createContext();
+      ThreadContext context2 = factory.createContext();
+      ThreadContext context3 = factory.createContext();
+      CompletableFuture<String> result = new CompletableFuture<>();
+      context1.execute(() -> {
+        // The sibling's timer fires and the third context's event is submitted after the event loop is blocked.
+        CompletableFuture<String> future = new AtomixFuture<>();
+        context2.schedule(Duration.ofMillis(100), () -> context3.execute(() -> {
+          assertSame(context3, ThreadContext.currentContext());
+          future.complete("bar");
+        }));
+        try {
+          result.complete(future.get(10, TimeUnit.SECONDS));
+        } catch (Exception e) {
+          result.completeExceptionally(e);
+        }
+      });
+      assertEquals("bar", result.get(10, TimeUnit.SECONDS));
+
+      // Once unblocked, events are executed in order on the event loop again.
+      List<Integer> values = new ArrayList<>();
+      CompletableFuture<Void> done = new CompletableFuture<>();
+      for (int i = 0; i < 100; i++) {
+        int value = i;
+        context2.execute(() -> values.add(value));
+      }
+      context2.execute(() -> done.complete(null));
+      done.get(10, TimeUnit.SECONDS);
+      for (int i = 0; i < values.size(); i++) {
+        assertEquals(i, (int) values.get(i));
+      }
+    } finally {
+      factory.close();
+    }
+  }
+}
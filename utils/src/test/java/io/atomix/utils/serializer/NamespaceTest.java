@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.atomix.utils.serializer;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Namespace test.
+ */
+public class NamespaceTest {
+
+  @Test
+  public void testSerializeSmallObject() {
+    Namespace namespace = Namespaces.BASIC;
+    assertEquals("Hello world!", namespace.deserialize(namespace.serialize("Hello world!")));
+  }
+
+  @Test
+  public void testSerializeLargeObject() {
+    Namespace namespace = Namespaces.BASIC;
+    byte[] bytes = new byte[Namespace.DEFAULT_BUFFER_SIZE * 4];
+    Arrays.fill(bytes, (byte) 1);
+    byte[] result = namespace.deserialize(namespace.serialize(bytes));
+    assertArrayEquals(bytes, result);
+  }
+}